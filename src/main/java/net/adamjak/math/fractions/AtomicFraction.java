@@ -0,0 +1,391 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fraction value which may be updated atomically, similar to <em>java.util.concurrent.atomic.AtomicLong</em>.
+ * <p>
+ * Small fractions, with numerator in int range and denominator less than <em>2<sup>32</sup></em>, are packed to one
+ * 64 bit word and updated by compare and set of the word, without locks and without allocation on retry. Larger
+ * fractions are kept as reference to Fraction and updated under lock of the instance. Value moves between both
+ * representations as it changes, value which can be packed is always kept packed.
+ * </p>
+ * <pre>
+ * AtomicFraction ratio = new AtomicFraction(Fraction.createFraction(1, 2));
+ * ratio.addAndGet(Fraction.createFraction(1, 3));
+ * </pre>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see Fraction
+ */
+public class AtomicFraction extends Number
+{
+	private static final long DENOMINATOR_MASK = 0xFFFFFFFFL;
+
+	/**
+	 * Packed numerator in high and denominator in low 32 bits. Zero denominator marks large value in
+	 * {@link #large}, then high 32 bits hold generation of large value, which is changed on every move
+	 * from packed to large value.
+	 */
+	private final AtomicLong word;
+
+	/**
+	 * Large value, guarded by lock of the instance and valid only while word has zero denominator.
+	 */
+	private volatile Fraction large;
+	private int generation;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create atomic fraction with value zero.
+	 */
+	public AtomicFraction ()
+	{
+		this.word = new AtomicLong(FractionConstants.ONE);
+	}
+
+	/**
+	 * @param fraction (Fraction) initial value
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public AtomicFraction (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		long numerator = fraction.getNumerator();
+		long denominator = fraction.getDenominator();
+
+		if (AtomicFraction.isPackable(numerator, denominator))
+		{
+			this.word = new AtomicLong(AtomicFraction.pack(numerator, denominator));
+		}
+		else
+		{
+			this.large = fraction;
+			this.word = new AtomicLong(FractionConstants.ZERO);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Atomic method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return (Fraction) current value
+	 */
+	public Fraction get ()
+	{
+		while (true)
+		{
+			long word = this.word.get();
+
+			if ((word & DENOMINATOR_MASK) != FractionConstants.ZERO)
+			{
+				return AtomicFraction.unpack(word);
+			}
+
+			Fraction large = this.large;
+
+			// large value is valid if word was not changed while it was read
+			if (this.word.get() == word)
+			{
+				return large;
+			}
+		}
+	}
+
+	/**
+	 * @param fraction (Fraction) new value
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public void set (Fraction fraction)
+	{
+		this.getAndSet(fraction);
+	}
+
+	/**
+	 * @param fraction (Fraction) new value
+	 *
+	 * @return (Fraction) previous value
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public Fraction getAndSet (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		long numerator = fraction.getNumerator();
+		long denominator = fraction.getDenominator();
+
+		if (AtomicFraction.isPackable(numerator, denominator))
+		{
+			long update = AtomicFraction.pack(numerator, denominator);
+			long word;
+
+			while (((word = this.word.get()) & DENOMINATOR_MASK) != FractionConstants.ZERO)
+			{
+				if (this.word.compareAndSet(word, update))
+				{
+					return AtomicFraction.unpack(word);
+				}
+			}
+		}
+
+		synchronized (this)
+		{
+			while (true)
+			{
+				long word = this.word.get();
+				Fraction previous = this.current(word);
+
+				if (this.store(word, fraction))
+				{
+					return previous;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Set value to update if current value is equal to expect.
+	 *
+	 * @param expect (Fraction) expected value
+	 * @param update (Fraction) new value
+	 *
+	 * @return (boolean) true if value was set
+	 *
+	 * @throws NullPointerException if expect or update is null
+	 */
+	public boolean compareAndSet (Fraction expect, Fraction update)
+	{
+		if (expect == null || update == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		long expectNumerator = expect.getNumerator();
+		long expectDenominator = expect.getDenominator();
+
+		if (AtomicFraction.isPackable(expectNumerator, expectDenominator))
+		{
+			long word = AtomicFraction.pack(expectNumerator, expectDenominator);
+
+			if (this.word.get() != word)
+			{
+				return false;
+			}
+
+			long updateNumerator = update.getNumerator();
+			long updateDenominator = update.getDenominator();
+
+			if (AtomicFraction.isPackable(updateNumerator, updateDenominator))
+			{
+				return this.word.compareAndSet(word, AtomicFraction.pack(updateNumerator, updateDenominator));
+			}
+
+			synchronized (this)
+			{
+				return this.store(word, update);
+			}
+		}
+
+		synchronized (this)
+		{
+			long word = this.word.get();
+
+			if ((word & DENOMINATOR_MASK) != FractionConstants.ZERO || !this.large.equals(expect))
+			{
+				return false;
+			}
+
+			return this.store(word, update);
+		}
+	}
+
+	/**
+	 * Atomically add fraction to current value.
+	 *
+	 * @param fraction (Fraction) added fraction
+	 *
+	 * @return (Fraction) updated value
+	 *
+	 * @throws NullPointerException if fraction is null
+	 * @throws ArithmeticException if result does not fit into Fraction
+	 */
+	public Fraction addAndGet (Fraction fraction)
+	{
+		return this.add(fraction, true);
+	}
+
+	/**
+	 * Atomically add fraction to current value.
+	 *
+	 * @param fraction (Fraction) added fraction
+	 *
+	 * @return (Fraction) previous value
+	 *
+	 * @throws NullPointerException if fraction is null
+	 * @throws ArithmeticException if result does not fit into Fraction
+	 */
+	public Fraction getAndAdd (Fraction fraction)
+	{
+		return this.add(fraction, false);
+	}
+
+	// -------------------------------------------------------------------------
+	// Overide method
+	// -------------------------------------------------------------------------
+
+	@Override
+	public int intValue ()
+	{
+		return this.get().intValue();
+	}
+
+	@Override
+	public long longValue ()
+	{
+		return this.get().longValue();
+	}
+
+	@Override
+	public float floatValue ()
+	{
+		return this.get().floatValue();
+	}
+
+	@Override
+	public double doubleValue ()
+	{
+		return this.get().doubleValue();
+	}
+
+	@Override
+	public String toString ()
+	{
+		return this.get().toString();
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private Fraction add (Fraction fraction, boolean returnUpdated)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		long fractionNumerator = fraction.getNumerator();
+		long fractionDenominator = fraction.getDenominator();
+		long word;
+
+		while (((word = this.word.get()) & DENOMINATOR_MASK) != FractionConstants.ZERO)
+		{
+			long numerator = word >> 32;
+			long denominator = word & DENOMINATOR_MASK;
+
+			// operands of packed value have at most 32 bits, so only product with added fraction can overflow
+			long g = LongMath.gcd(denominator, fractionDenominator);
+			long left = numerator * (fractionDenominator / g);
+			long right = fractionNumerator * (denominator / g);
+			long sum = left + right;
+			long newDenominator = denominator * (fractionDenominator / g);
+
+			if (LongMath.isMultiplyOverflow(numerator, fractionDenominator / g, left) ||
+				LongMath.isMultiplyOverflow(fractionNumerator, denominator / g, right) ||
+				LongMath.isMultiplyOverflow(denominator, fractionDenominator / g, newDenominator) ||
+				LongMath.isAddOverflow(left, right, sum))
+			{
+				break;
+			}
+
+			long gcd = sum == FractionConstants.ZERO ? newDenominator : LongMath.gcd(sum, newDenominator);
+			sum /= gcd;
+			newDenominator /= gcd;
+
+			if (!AtomicFraction.isPackable(sum, newDenominator))
+			{
+				break;
+			}
+
+			if (this.word.compareAndSet(word, AtomicFraction.pack(sum, newDenominator)))
+			{
+				return returnUpdated ? Fraction.createReduced(sum, newDenominator) : AtomicFraction.unpack(word);
+			}
+		}
+
+		synchronized (this)
+		{
+			while (true)
+			{
+				word = this.word.get();
+				Fraction previous = this.current(word);
+
+				Fraction.Accumulator accumulator = new Fraction.Accumulator();
+				accumulator.add(previous);
+				accumulator.add(fraction);
+				Fraction updated = accumulator.toFraction();
+
+				if (this.store(word, updated))
+				{
+					return returnUpdated ? updated : previous;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Value represented by word, caller holds lock.
+	 */
+	private Fraction current (long word)
+	{
+		return (word & DENOMINATOR_MASK) == FractionConstants.ZERO ? this.large : AtomicFraction.unpack(word);
+	}
+
+	/**
+	 * Replace value represented by expected word, caller holds lock.
+	 *
+	 * @return false if word was changed by lock free update
+	 */
+	private boolean store (long word, Fraction fraction)
+	{
+		long numerator = fraction.getNumerator();
+		long denominator = fraction.getDenominator();
+
+		if (AtomicFraction.isPackable(numerator, denominator))
+		{
+			return this.word.compareAndSet(word, AtomicFraction.pack(numerator, denominator));
+		}
+
+		// large value can be changed only under lock, so word with zero denominator does not change
+		this.large = fraction;
+
+		if ((word & DENOMINATOR_MASK) == FractionConstants.ZERO)
+		{
+			return true;
+		}
+
+		return this.word.compareAndSet(word, (long) ++this.generation << 32);
+	}
+
+	private static boolean isPackable (long numerator, long denominator)
+	{
+		return numerator == (int) numerator && denominator <= DENOMINATOR_MASK;
+	}
+
+	private static long pack (long numerator, long denominator)
+	{
+		return numerator << 32 | denominator;
+	}
+
+	private static Fraction unpack (long word)
+	{
+		return Fraction.createReduced(word >> 32, word & DENOMINATOR_MASK);
+	}
+}
@@ -5,8 +5,18 @@
 package net.adamjak.math.fractions;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -20,8 +30,26 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class BigFraction extends Number implements Comparable<BigFraction>, Cloneable, Serializable
 {
+	private static final BigInteger FIVE = BigInteger.valueOf(5);
+
+	/**
+	 * Powers <em>5<sup>2<sup>i</sup></sup></em> for stripping of fives from unscaled value of BigDecimal.
+	 */
+	private static final BigInteger[] FIVE_POWERS = new BigInteger[11];
+
+	static
+	{
+		FIVE_POWERS[0] = FIVE;
+
+		for (int i = 1; i < FIVE_POWERS.length; i++)
+		{
+			FIVE_POWERS[i] = FIVE_POWERS[i - 1].multiply(FIVE_POWERS[i - 1]);
+		}
+	}
+
 	private final BigInteger numerator;
 	private final BigInteger denominator;
+	private transient int hash;
 
 	// -------------------------------------------------------------------------
 	// Construct method
@@ -55,7 +83,11 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 
 		BigFraction num, den;
 
-		if (numerator instanceof BigInteger)
+		if (numerator instanceof BigDecimal)
+		{
+			num = BigFraction.fromBigDecimal((BigDecimal) numerator);
+		}
+		else if (numerator instanceof BigInteger)
 		{
 			num = BigFraction.privateCreateFraction((BigInteger) numerator, BigInteger.ONE);
 		}
@@ -74,7 +106,11 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 			num = BigFraction.privateCreateFraction(numerator.doubleValue());
 		}
 
-		if (denominator instanceof BigInteger)
+		if (denominator instanceof BigDecimal)
+		{
+			den = BigFraction.fromBigDecimal((BigDecimal) denominator);
+		}
+		else if (denominator instanceof BigInteger)
 		{
 			den = BigFraction.privateCreateFraction((BigInteger) denominator, BigInteger.ONE);
 		}
@@ -97,6 +133,62 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 
 	}
 
+	/**
+	 * fromBigDecimal - creating fraction with exact value of decimal number
+	 * <p>
+	 * Denominator of decimal is power of ten, so fraction is reduced only by stripping twos and fives from unscaled
+	 * value, without gcd.
+	 * </p>
+	 *
+	 * @param decimal (BigDecimal)
+	 *
+	 * @return (BigFraction) reduced fraction equal to decimal
+	 *
+	 * @throws NullPointerException when decimal is null
+	 */
+	public static BigFraction fromBigDecimal (BigDecimal decimal)
+	{
+		if (decimal == null) throw new NullPointerException(FractionConstants.ERR_NULL_NUMBER);
+
+		BigInteger unscaled = decimal.unscaledValue();
+		int scale = decimal.scale();
+
+		if (unscaled.signum() == FractionConstants.ZERO)
+		{
+			return new BigFraction(BigInteger.ZERO, BigInteger.ONE);
+		}
+
+		if (scale <= FractionConstants.ZERO)
+		{
+			return new BigFraction(unscaled.multiply(BigInteger.TEN.pow(-scale)), BigInteger.ONE);
+		}
+
+		int twos = Math.min(unscaled.getLowestSetBit(), scale);
+		unscaled = unscaled.shiftRight(twos);
+
+		int fives = 0;
+
+		for (int i = FIVE_POWERS.length - 1; i >= 0; i--)
+		{
+			int power = 1 << i;
+
+			while (scale - fives >= power)
+			{
+				BigInteger[] quotientAndRemainder = unscaled.divideAndRemainder(FIVE_POWERS[i]);
+
+				if (quotientAndRemainder[1].signum() != FractionConstants.ZERO)
+				{
+					break;
+				}
+
+				unscaled = quotientAndRemainder[0];
+				fives += power;
+			}
+		}
+
+		return new BigFraction(unscaled, FIVE.pow(scale - fives).shiftLeft(scale - twos));
+	}
+
 	/**
 	 * createFraction - creating fraction from number
 	 *
@@ -142,9 +234,15 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 			return new BigFraction(numerator, BigInteger.ONE);
 		}
 
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
 		BigInteger gcd = numerator.gcd(denominator);
+		BigFraction result = new BigFraction(numerator.divide(gcd), denominator.divide(gcd));
 
-		return new BigFraction(numerator.divide(gcd), denominator.divide(gcd));
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_NORMALIZE, numerator.bitLength(), denominator.bitLength(), start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_NORMALIZE, numerator.bitLength(), denominator.bitLength());
+
+		return result;
 	}
 
 	/**
@@ -232,6 +330,21 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 	 * @throws ParseException If string haven't correct format
 	 */
 	public static BigFraction tryParse (String s, Character separator) throws ParseException
+	{
+		Object event = FractionFlightRecorder.begin();
+
+		if (!FractionMetrics.ENABLED && event == null) return BigFraction.privateTryParse(s, separator);
+
+		long start = System.nanoTime();
+		BigFraction result = BigFraction.privateTryParse(s, separator);
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_PARSE, FractionMetrics.bitLength(result), 0, start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_PARSE, FractionMetrics.bitLength(result), 0);
+
+		return result;
+	}
+
+	private static BigFraction privateTryParse (String s, Character separator) throws ParseException
 	{
 		if (s == null || s.isEmpty()) throw new IllegalArgumentException("String can not by empty.");
 		if (separator == null) throw new IllegalArgumentException("Seprator character can not by empty.");
@@ -321,10 +434,25 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 	 * @throws ParseException If string haven't correct format
 	 */
 	public static BigFraction tryParse (String s) throws ParseException
+	{
+		Object event = FractionFlightRecorder.begin();
+
+		if (!FractionMetrics.ENABLED && event == null) return BigFraction.privateTryParse(s);
+
+		long start = System.nanoTime();
+		BigFraction result = BigFraction.privateTryParse(s);
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_PARSE, FractionMetrics.bitLength(result), 0, start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_PARSE, FractionMetrics.bitLength(result), 0);
+
+		return result;
+	}
+
+	private static BigFraction privateTryParse (String s) throws ParseException
 	{
 		if (s.indexOf("/") > 0)
 		{
-			return BigFraction.tryParse(s, '/');
+			return BigFraction.privateTryParse(s, '/');
 		}
 		else
 		{
@@ -364,6 +492,53 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 		return Fraction.createFraction(this.numerator,this.denominator);
 	}
 
+	/**
+	 * Convert fraction to decimal number with given scale by one integer division.
+	 *
+	 * @param scale (int) scale of decimal number
+	 * @param roundingMode (RoundingMode) rounding of digits behind scale
+	 *
+	 * @return (BigDecimal) fraction rounded to scale
+	 *
+	 * @throws NullPointerException when roundingMode is null
+	 * @throws ArithmeticException when roundingMode is UNNECESSARY and fraction does not fit into scale
+	 */
+	public BigDecimal toBigDecimal (int scale, RoundingMode roundingMode)
+	{
+		if (roundingMode == null) throw new NullPointerException("Rounding mode is null.");
+
+		if (this.denominator.equals(BigInteger.ONE) && scale >= FractionConstants.ZERO)
+		{
+			return new BigDecimal(this.numerator).setScale(scale);
+		}
+
+		BigInteger dividend = this.numerator;
+		BigInteger divisor = this.denominator;
+
+		if (scale > FractionConstants.ZERO)
+		{
+			dividend = dividend.multiply(BigInteger.TEN.pow(scale));
+		}
+		else if (scale < FractionConstants.ZERO)
+		{
+			divisor = divisor.multiply(BigInteger.TEN.pow(-scale));
+		}
+
+		BigInteger[] quotientAndRemainder = dividend.divideAndRemainder(divisor);
+
+		return new BigDecimal(BigFraction.round(quotientAndRemainder[0], quotientAndRemainder[1], divisor, roundingMode), scale);
+	}
+
+	/**
+	 * @return new instance of Rational
+	 *
+	 * @see Rational
+	 */
+	public Rational toRational()
+	{
+		return Rational.createFraction(this);
+	}
+
 	// -------------------------------------------------------------------------
 	// Calculate method
 	// -------------------------------------------------------------------------
@@ -382,6 +557,25 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 		return this.add(BigFraction.createFraction(number));
 	}
 
+	/**
+	 * Fast path for integer, <em>a/b + n = (a + n*b)/b</em>, which is already reduced and needs no gcd.
+	 *
+	 * @param number (long) whitch will add to Fraction
+	 *
+	 * @return New Instance of BigFraction add by number
+	 */
+	public BigFraction add (long number)
+	{
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
+		BigFraction result = new BigFraction(this.numerator.add(BigInteger.valueOf(number).multiply(this.denominator)), this.denominator);
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_ADD, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number), start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_ADD, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number));
+
+		return result;
+	}
+
 	/**
 	 * @param fraction (BigFraction) whitch will add to Fraction
 	 *
@@ -393,7 +587,14 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 	{
 		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
 
-		return BigFraction.createFraction(this.numerator.multiply(fraction.getDenominator()).add(fraction.getNumerator().multiply(this.denominator)), this.denominator.multiply(fraction.getDenominator()));
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
+		BigFraction result = BigFraction.createFraction(this.numerator.multiply(fraction.getDenominator()).add(fraction.getNumerator().multiply(this.denominator)), this.denominator.multiply(fraction.getDenominator()));
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_ADD, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction), start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_ADD, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction));
+
+		return result;
 	}
 
 
@@ -411,6 +612,36 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 		return this.multiply(BigFraction.createFraction(number));
 	}
 
+	/**
+	 * Fast path for integer, <em>a/b * n = (a * n/g) / (b/g)</em> with <em>g = gcd(n, b)</em>.
+	 *
+	 * @param number (long) whitch will multiply Fraction
+	 *
+	 * @return New instance of BigFraction multyply by number
+	 */
+	public BigFraction multiply (long number)
+	{
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
+		BigFraction result;
+
+		if (number == FractionConstants.ZERO)
+		{
+			result = new BigFraction(BigInteger.ZERO, BigInteger.ONE);
+		}
+		else
+		{
+			BigInteger factor = BigInteger.valueOf(number);
+			BigInteger gcd = factor.gcd(this.denominator);
+			result = new BigFraction(this.numerator.multiply(factor.divide(gcd)), this.denominator.divide(gcd));
+		}
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_MULTIPLY, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number), start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_MULTIPLY, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number));
+
+		return result;
+	}
+
 	/**
 	 * @param fraction (BigFraction) whitch will multiply Fraction
 	 *
@@ -422,7 +653,14 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 	{
 		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
 
-		return BigFraction.createFraction(fraction.getNumerator().multiply(this.numerator), fraction.getDenominator().multiply(this.denominator));
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
+		BigFraction result = BigFraction.createFraction(fraction.getNumerator().multiply(this.numerator), fraction.getDenominator().multiply(this.denominator));
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_MULTIPLY, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction), start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_MULTIPLY, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction));
+
+		return result;
 	}
 
 	/**
@@ -439,6 +677,25 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 		return this.subtract(BigFraction.createFraction(number));
 	}
 
+	/**
+	 * Fast path for integer, <em>a/b - n = (a - n*b)/b</em>, which is already reduced and needs no gcd.
+	 *
+	 * @param number (long) whitch will subtract Fraction
+	 *
+	 * @return New instance of BigFraction subtract by number
+	 */
+	public BigFraction subtract (long number)
+	{
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
+		BigFraction result = new BigFraction(this.numerator.subtract(BigInteger.valueOf(number).multiply(this.denominator)), this.denominator);
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_SUBTRACT, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number), start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_SUBTRACT, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number));
+
+		return result;
+	}
+
 	/**
 	 * @param fraction (BigFraction) whitch will subtract Fraction
 	 *
@@ -450,7 +707,14 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 	{
 		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
 
-		return BigFraction.createFraction(this.numerator.multiply(fraction.getDenominator()).subtract(fraction.getNumerator().multiply(this.denominator)), this.denominator.multiply(fraction.getDenominator()));
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
+		BigFraction result = BigFraction.createFraction(this.numerator.multiply(fraction.getDenominator()).subtract(fraction.getNumerator().multiply(this.denominator)), this.denominator.multiply(fraction.getDenominator()));
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_SUBTRACT, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction), start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_SUBTRACT, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction));
+
+		return result;
 	}
 
 	/**
@@ -469,6 +733,40 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 		return this.divide(BigFraction.createFraction(number));
 	}
 
+	/**
+	 * Fast path for integer, <em>a/b / n = (a/g) / (b * n/g)</em> with <em>g = gcd(a, n)</em>.
+	 *
+	 * @param number (long) whitch will divide Fraction
+	 *
+	 * @return New instance of BigFraction divide by number.
+	 *
+	 * @throws ArithmeticException if number is zero
+	 */
+	public BigFraction divide (long number)
+	{
+		if (number == FractionConstants.ZERO) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
+		BigInteger divisor = BigInteger.valueOf(number);
+		BigInteger gcd = this.numerator.gcd(divisor);
+		BigInteger numerator = this.numerator.divide(gcd);
+		BigInteger denominator = this.denominator.multiply(divisor.divide(gcd));
+
+		if (number < 0)
+		{
+			numerator = numerator.negate();
+			denominator = denominator.negate();
+		}
+
+		BigFraction result = new BigFraction(numerator, denominator);
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_DIVIDE, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number), start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_DIVIDE, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number));
+
+		return result;
+	}
+
 	/**
 	 * @param fraction (BigFraction) whitch will divide Fraction
 	 *
@@ -482,7 +780,313 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
 		if (fraction.getNumerator().equals(BigInteger.ZERO)) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
 
-		return BigFraction.createFraction(this.numerator.multiply(fraction.getDenominator()), this.denominator.multiply(fraction.getNumerator()));
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
+		BigFraction result = BigFraction.createFraction(this.numerator.multiply(fraction.getDenominator()), this.denominator.multiply(fraction.getNumerator()));
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_DIVIDE, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction), start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_DIVIDE, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction));
+
+		return result;
+	}
+
+	/**
+	 * Exact sum of fractions.
+	 * <p>
+	 * Numerators of fractions with same denominator are summed as integers first and the groups are combined
+	 * in balanced binary tree, so operands of BigInteger multiplications have similar size.
+	 * </p>
+	 *
+	 * @param fractions (BigFraction...) summed fractions
+	 *
+	 * @return (BigFraction) reduced sum, zero for no fractions
+	 *
+	 * @throws NullPointerException if fractions or some fraction is null
+	 */
+	public static BigFraction sum (BigFraction... fractions)
+	{
+		if (fractions == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		return BigFraction.sum(Arrays.asList(fractions));
+	}
+
+	/**
+	 * Exact sum of fractions.
+	 * <p>
+	 * Numerators of fractions with same denominator are summed as integers first and the groups are combined
+	 * in balanced binary tree, so operands of BigInteger multiplications have similar size.
+	 * </p>
+	 *
+	 * @param fractions (Iterable) summed fractions
+	 *
+	 * @return (BigFraction) reduced sum, zero for no fractions
+	 *
+	 * @throws NullPointerException if fractions or some fraction is null
+	 */
+	public static BigFraction sum (Iterable<BigFraction> fractions)
+	{
+		if (fractions == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		Map<BigInteger, BigInteger> groups = new LinkedHashMap<BigInteger, BigInteger>();
+
+		for (BigFraction f : fractions)
+		{
+			if (f == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+			BigInteger acc = groups.get(f.denominator);
+			groups.put(f.denominator, acc == null ? f.numerator : acc.add(f.numerator));
+		}
+
+		return BigFraction.sumGroups(groups);
+	}
+
+	/**
+	 * Fused multiply-add, exact value of <em>this * fraction + addend</em>.
+	 * <p>
+	 * Product and sum are computed in BigIntegers without intermediate BigFraction, so result is reduced only once.
+	 * </p>
+	 *
+	 * @param fraction (BigFraction) multiplier
+	 * @param addend (BigFraction) added fraction
+	 *
+	 * @return (BigFraction) reduced result
+	 *
+	 * @throws NullPointerException if fraction or addend is null
+	 */
+	public BigFraction fma (BigFraction fraction, BigFraction addend)
+	{
+		if (fraction == null || addend == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		BigInteger numerator = this.numerator.multiply(fraction.numerator);
+		BigInteger denominator = this.denominator.multiply(fraction.denominator);
+
+		if (denominator.equals(addend.denominator))
+		{
+			return BigFraction.privateCreateFraction(numerator.add(addend.numerator), denominator);
+		}
+
+		return BigFraction.privateCreateFraction(numerator.multiply(addend.denominator).add(addend.numerator.multiply(denominator)),
+				denominator.multiply(addend.denominator));
+	}
+
+	/**
+	 * Exact dot product of two vectors of fractions, sum of <em>a[i] * b[i]</em>.
+	 * <p>
+	 * Products are not reduced. Numerators of products with same denominator are summed as integers, the groups are
+	 * combined in balanced binary tree like in {@link #sum(Iterable)} and the result is reduced only once.
+	 * </p>
+	 *
+	 * @param a (BigFraction[]) first vector
+	 * @param b (BigFraction[]) second vector
+	 *
+	 * @return (BigFraction) reduced dot product, zero for empty vectors
+	 *
+	 * @throws NullPointerException if some array or fraction is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 */
+	public static BigFraction dot (BigFraction[] a, BigFraction[] b)
+	{
+		if (a == null || b == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+		if (a.length != b.length) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+
+		Map<BigInteger, BigInteger> groups = new LinkedHashMap<BigInteger, BigInteger>();
+
+		for (int i = 0; i < a.length; i++)
+		{
+			if (a[i] == null || b[i] == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+			BigInteger numerator = a[i].numerator.multiply(b[i].numerator);
+			BigInteger denominator = a[i].denominator.multiply(b[i].denominator);
+			BigInteger acc = groups.get(denominator);
+			groups.put(denominator, acc == null ? numerator : acc.add(numerator));
+		}
+
+		return BigFraction.sumGroups(groups);
+	}
+
+	/**
+	 * Exact product of fractions.
+	 * <p>
+	 * Fractions are multiplied in balanced binary tree, so operands of BigInteger multiplications have similar
+	 * size and Karatsuba or Toom-Cook multiplication is used for large values. Every partial product is cross reduced,
+	 * so no gcd of whole products is needed.
+	 * </p>
+	 *
+	 * @param fractions (Collection) multiplied fractions
+	 *
+	 * @return (BigFraction) reduced product, one for no fractions
+	 *
+	 * @throws NullPointerException if fractions or some fraction is null
+	 */
+	public static BigFraction product (Collection<BigFraction> fractions)
+	{
+		BigFraction[] array = BigFraction.toArray(fractions);
+
+		if (array.length == 0)
+		{
+			return new BigFraction(BigInteger.ONE, BigInteger.ONE);
+		}
+
+		return BigFraction.productTree(array, 0, array.length);
+	}
+
+	/**
+	 * Exact product of fractions calculated in parallel.
+	 * <p>
+	 * Same as {@link #product(Collection)}, but subtrees are multiplied as fork/join tasks in inserted pool.
+	 * </p>
+	 *
+	 * @param fractions (Collection) multiplied fractions
+	 * @param pool (ForkJoinPool) pool which calculates the product
+	 *
+	 * @return (BigFraction) reduced product, one for no fractions
+	 *
+	 * @throws NullPointerException if fractions, some fraction or pool is null
+	 */
+	public static BigFraction product (Collection<BigFraction> fractions, ForkJoinPool pool)
+	{
+		if (pool == null) throw new NullPointerException("Pool is null.");
+
+		BigFraction[] array = BigFraction.toArray(fractions);
+
+		if (array.length == 0)
+		{
+			return new BigFraction(BigInteger.ONE, BigInteger.ONE);
+		}
+
+		return pool.invoke(new ProductTask(array, 0, array.length));
+	}
+
+	/**
+	 * Greatest integer less than or equal to fraction, computed by integer division.
+	 *
+	 * @return (BigInteger) floor of fraction
+	 */
+	public BigInteger floor ()
+	{
+		return this.round(RoundingMode.FLOOR);
+	}
+
+	/**
+	 * Least integer greater than or equal to fraction, computed by integer division.
+	 *
+	 * @return (BigInteger) ceiling of fraction
+	 */
+	public BigInteger ceil ()
+	{
+		return this.round(RoundingMode.CEILING);
+	}
+
+	/**
+	 * Round fraction to integer exactly, computed by one integer division.
+	 *
+	 * @param roundingMode (RoundingMode)
+	 *
+	 * @return (BigInteger) rounded fraction
+	 *
+	 * @throws NullPointerException if roundingMode is null
+	 * @throws ArithmeticException if roundingMode is UNNECESSARY and fraction is not integer
+	 */
+	public BigInteger round (RoundingMode roundingMode)
+	{
+		if (roundingMode == null) throw new NullPointerException("Rounding mode is null.");
+
+		if (this.denominator.equals(BigInteger.ONE))
+		{
+			return this.numerator;
+		}
+
+		BigInteger[] quotientAndRemainder = this.numerator.divideAndRemainder(this.denominator);
+
+		return BigFraction.round(quotientAndRemainder[0], quotientAndRemainder[1], this.denominator, roundingMode);
+	}
+
+	/**
+	 * Integer part of fraction, rounded toward zero.
+	 * <p>
+	 * Example: -7/2 &rarr; -3
+	 * </p>
+	 *
+	 * @return (BigInteger) integer part of fraction
+	 */
+	public BigInteger integerPart ()
+	{
+		return this.numerator.divide(this.denominator);
+	}
+
+	/**
+	 * Fractional part of fraction, which after the sum with {@link #integerPart()} is this fraction. It has sign
+	 * of fraction.
+	 * <p>
+	 * Example: -7/2 &rarr; -1/2
+	 * </p>
+	 *
+	 * @return (BigFraction) fractional part of fraction
+	 */
+	public BigFraction fractionalPart ()
+	{
+		BigInteger remainder = this.numerator.remainder(this.denominator);
+
+		if (remainder.signum() == FractionConstants.ZERO)
+		{
+			return new BigFraction(BigInteger.ZERO, BigInteger.ONE);
+		}
+
+		// gcd(n % d, d) = gcd(n, d) = 1
+		return new BigFraction(remainder, this.denominator);
+	}
+
+	/**
+	 * Greatest integer less than or equal to <em>this / fraction</em>, computed by one integer division.
+	 *
+	 * @param fraction (BigFraction) divisor
+	 *
+	 * @return (BigInteger) floor of quotient
+	 *
+	 * @throws NullPointerException if fraction is null
+	 * @throws ArithmeticException if fraction is zero
+	 */
+	public BigInteger floorDiv (BigFraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		if (fraction.numerator.signum() == FractionConstants.ZERO) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		BigInteger divisor = fraction.numerator.multiply(this.denominator);
+		BigInteger[] quotientAndRemainder = this.numerator.multiply(fraction.denominator).divideAndRemainder(divisor);
+
+		if (quotientAndRemainder[1].signum() * divisor.signum() < FractionConstants.ZERO)
+		{
+			return quotientAndRemainder[0].subtract(BigInteger.ONE);
+		}
+
+		return quotientAndRemainder[0];
+	}
+
+	/**
+	 * Remainder of {@link #floorDiv(BigFraction)}, <em>this - fraction * floorDiv(fraction)</em>. It has sign of
+	 * fraction.
+	 *
+	 * @param fraction (BigFraction) divisor
+	 *
+	 * @return (BigFraction) reduced remainder
+	 *
+	 * @throws NullPointerException if fraction is null
+	 * @throws ArithmeticException if fraction is zero
+	 */
+	public BigFraction floorMod (BigFraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		if (fraction.numerator.signum() == FractionConstants.ZERO) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		BigInteger divisor = fraction.numerator.multiply(this.denominator);
+		BigInteger remainder = this.numerator.multiply(fraction.denominator).remainder(divisor);
+
+		if (remainder.signum() * divisor.signum() < FractionConstants.ZERO)
+		{
+			remainder = remainder.add(divisor);
+		}
+
+		return BigFraction.privateCreateFraction(remainder, this.denominator.multiply(fraction.denominator));
 	}
 
 	/**
@@ -669,15 +1273,31 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 			return this.numerator.compareTo(fraction.getNumerator());
 		}
 
+		if (this.numerator.bitLength() < 64 && this.denominator.bitLength() < 64 &&
+			fraction.getNumerator().bitLength() < 64 && fraction.getDenominator().bitLength() < 64)
+		{
+			return LongMath.compareProducts(this.numerator.longValue(), fraction.getDenominator().longValue(), fraction.getNumerator().longValue(), this.denominator.longValue());
+		}
+
 		return this.numerator.multiply(fraction.getDenominator()).compareTo(this.denominator.multiply(fraction.getNumerator()));
 	}
 
+	/**
+	 * Low 32 bits of {@link #integerPart()}, fraction is truncated toward zero like {@link #longValue()}.
+	 */
 	@Override
 	public int intValue ()
 	{
 		return this.numerator.divide(this.denominator).intValue();
 	}
 
+	/**
+	 * Low 64 bits of {@link #integerPart()}, fraction is truncated toward zero.
+	 * <p>
+	 * {@link Fraction#longValue()} rounds to the closest long instead. Both classes keep their original rule for
+	 * compatibility, use {@link #round(RoundingMode)}, {@link #floor()} or {@link #integerPart()} when the rule matters.
+	 * </p>
+	 */
 	@Override
 	public long longValue ()
 	{
@@ -699,18 +1319,45 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 	@Override
 	public String toString ()
 	{
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Object event = FractionFlightRecorder.begin();
+		String result;
+
 		if (this.denominator.equals(BigInteger.ONE))
 		{
-			return this.numerator.toString();
+			result = this.numerator.toString();
+		}
+		else
+		{
+			result = this.numerator.toString() + "/" + this.denominator.toString();
 		}
 
-		return this.numerator.toString() + "/" + this.denominator.toString();
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_TO_STRING, FractionMetrics.bitLength(this), 0, start);
+		if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_TO_STRING, FractionMetrics.bitLength(this), 0);
+
+		return result;
 	}
 
 	@Override
 	public int hashCode()
 	{
-		return (13 + this.numerator.hashCode()) * 13 + this.denominator.hashCode();
+		int h = this.hash;
+
+		if (h == 0)
+		{
+			if (this.numerator.bitLength() < 64 && this.denominator.bitLength() < 64)
+			{
+				h = LongMath.hash(this.numerator.longValue(), this.denominator.longValue());
+			}
+			else
+			{
+				h = LongMath.hash(this.numerator.hashCode(), this.denominator.hashCode());
+			}
+
+			this.hash = h;
+		}
+
+		return h;
 	}
 
 	@Override
@@ -732,4 +1379,199 @@ public class BigFraction extends Number implements Comparable<BigFraction>, Clon
 			return false;
 		}
 	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Round truncated quotient of integer division.
+	 *
+	 * @param quotient (BigInteger) quotient rounded toward zero
+	 * @param remainder (BigInteger) remainder with sign of dividend
+	 * @param divisor (BigInteger) positive divisor
+	 * @param roundingMode (RoundingMode)
+	 *
+	 * @return (BigInteger) rounded quotient
+	 *
+	 * @throws ArithmeticException when roundingMode is UNNECESSARY and remainder is not zero
+	 */
+	static BigInteger round (BigInteger quotient, BigInteger remainder, BigInteger divisor, RoundingMode roundingMode)
+	{
+		int sign = remainder.signum();
+
+		if (sign == FractionConstants.ZERO)
+		{
+			return quotient;
+		}
+
+		boolean up;
+
+		switch (roundingMode)
+		{
+			case UP:
+				up = true;
+				break;
+			case DOWN:
+				up = false;
+				break;
+			case CEILING:
+				up = sign > FractionConstants.ZERO;
+				break;
+			case FLOOR:
+				up = sign < FractionConstants.ZERO;
+				break;
+			case HALF_UP:
+			case HALF_DOWN:
+			case HALF_EVEN:
+				int half = remainder.abs().shiftLeft(1).compareTo(divisor);
+
+				if (half == FractionConstants.ZERO)
+				{
+					up = roundingMode == RoundingMode.HALF_UP || (roundingMode == RoundingMode.HALF_EVEN && quotient.testBit(0));
+				}
+				else
+				{
+					up = half > FractionConstants.ZERO;
+				}
+				break;
+			default:
+				throw new ArithmeticException("Rounding necessary.");
+		}
+
+		return up ? quotient.add(BigInteger.valueOf(sign)) : quotient;
+	}
+
+	/**
+	 * Reduced sum of numerators grouped by denominator.
+	 */
+	private static BigFraction sumGroups (Map<BigInteger, BigInteger> groups)
+	{
+		if (groups.isEmpty())
+		{
+			return new BigFraction(BigInteger.ZERO, BigInteger.ONE);
+		}
+
+		List<BigInteger[]> terms = new ArrayList<BigInteger[]>(groups.size());
+
+		for (Map.Entry<BigInteger, BigInteger> group : groups.entrySet())
+		{
+			terms.add(new BigInteger[] {group.getValue(), group.getKey()});
+		}
+
+		BigInteger[] result = BigFraction.sumTree(terms, 0, terms.size());
+
+		return BigFraction.privateCreateFraction(result[0], result[1]);
+	}
+
+	/**
+	 * Unreduced sum of terms <em>[from, to)</em> as numerator and denominator. Denominators are combined
+	 * through their gcd, so result denominator is least common multiple of term denominators.
+	 */
+	private static BigInteger[] sumTree (List<BigInteger[]> terms, int from, int to)
+	{
+		if (to - from == 1)
+		{
+			return terms.get(from);
+		}
+
+		int middle = (from + to) >>> 1;
+		BigInteger[] left = BigFraction.sumTree(terms, from, middle);
+		BigInteger[] right = BigFraction.sumTree(terms, middle, to);
+
+		BigInteger g = left[1].gcd(right[1]);
+		BigInteger leftFactor = right[1].divide(g);
+		BigInteger rightFactor = left[1].divide(g);
+
+		return new BigInteger[] {
+				left[0].multiply(leftFactor).add(right[0].multiply(rightFactor)),
+				left[1].multiply(leftFactor)
+		};
+	}
+
+	private static BigFraction[] toArray (Collection<BigFraction> fractions)
+	{
+		if (fractions == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		BigFraction[] array = fractions.toArray(new BigFraction[fractions.size()]);
+
+		for (BigFraction f : array)
+		{
+			if (f == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		}
+
+		return array;
+	}
+
+	/**
+	 * Product of fractions <em>[from, to)</em> multiplied in balanced binary tree.
+	 */
+	private static BigFraction productTree (BigFraction[] fractions, int from, int to)
+	{
+		if (to - from == 1)
+		{
+			return fractions[from];
+		}
+
+		int middle = (from + to) >>> 1;
+
+		return BigFraction.multiplyReduced(BigFraction.productTree(fractions, from, middle), BigFraction.productTree(fractions, middle, to));
+	}
+
+	/**
+	 * Multiply two reduced fractions. Numerator of each fraction is reduced with denominator of the other one,
+	 * so the result is reduced too.
+	 */
+	private static BigFraction multiplyReduced (BigFraction x, BigFraction y)
+	{
+		if (x.numerator.signum() == 0 || y.numerator.signum() == 0)
+		{
+			return new BigFraction(BigInteger.ZERO, BigInteger.ONE);
+		}
+
+		BigInteger g1 = x.numerator.gcd(y.denominator);
+		BigInteger g2 = y.numerator.gcd(x.denominator);
+
+		BigInteger numerator = x.numerator.divide(g1).multiply(y.numerator.divide(g2));
+		BigInteger denominator = x.denominator.divide(g2).multiply(y.denominator.divide(g1));
+
+		return new BigFraction(numerator, denominator);
+	}
+
+	/**
+	 * Fork/join task for parallel product of fractions.
+	 */
+	private static class ProductTask extends RecursiveTask<BigFraction>
+	{
+		private static final int THRESHOLD = 64;
+
+		private final BigFraction[] fractions;
+		private final int from;
+		private final int to;
+
+		ProductTask (BigFraction[] fractions, int from, int to)
+		{
+			this.fractions = fractions;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected BigFraction compute ()
+		{
+			if (this.to - this.from <= THRESHOLD)
+			{
+				return BigFraction.productTree(this.fractions, this.from, this.to);
+			}
+
+			int middle = (this.from + this.to) >>> 1;
+			ProductTask left = new ProductTask(this.fractions, this.from, middle);
+			ProductTask right = new ProductTask(this.fractions, middle, this.to);
+
+			left.fork();
+			BigFraction rightResult = right.compute();
+
+			return BigFraction.multiplyReduced(left.join(), rightResult);
+		}
+	}
 }
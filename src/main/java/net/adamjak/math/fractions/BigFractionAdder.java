@@ -0,0 +1,174 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.math.BigInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exact running sum of big fractions for many writing threads, similar to
+ * <em>java.util.concurrent.atomic.LongAdder</em>.
+ * <p>
+ * Sum is spread over striped cells. Every cell keeps unreduced numerator and denominator of its part of the sum,
+ * denominator is least common multiple of added denominators, and the parts are combined and reduced only by
+ * {@link #sum()}. Threads which add concurrently are moved to different cells, so adding scales with number of
+ * processors. Sum read concurrently with updates is not an atomic snapshot, it may miss updates made during the read.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see FractionAdder
+ */
+public class BigFractionAdder
+{
+	private final FractionStripes<Cell> stripes = new FractionStripes<Cell>()
+	{
+		@Override
+		Cell newCell ()
+		{
+			return new Cell();
+		}
+
+		@Override
+		Cell[] newArray (int size)
+		{
+			return new Cell[size];
+		}
+	};
+
+	// -------------------------------------------------------------------------
+	// Adder method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param fraction (BigFraction) added fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public void add (BigFraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		Cell cell = this.stripes.lock();
+
+		try
+		{
+			cell.add(fraction.getNumerator(), fraction.getDenominator());
+		}
+		finally
+		{
+			cell.unlock();
+		}
+	}
+
+	/**
+	 * @param number (long) added integer
+	 */
+	public void add (long number)
+	{
+		Cell cell = this.stripes.lock();
+
+		try
+		{
+			cell.add(BigInteger.valueOf(number), BigInteger.ONE);
+		}
+		finally
+		{
+			cell.unlock();
+		}
+	}
+
+	/**
+	 * @return (BigFraction) reduced sum of added fractions, zero if nothing was added
+	 */
+	public BigFraction sum ()
+	{
+		return this.combine(false);
+	}
+
+	/**
+	 * Set sum to zero.
+	 */
+	public void reset ()
+	{
+		this.combine(true);
+	}
+
+	/**
+	 * Same as {@link #sum()} followed by {@link #reset()}, but every cell is read and reset at once, so no added
+	 * fraction is lost.
+	 *
+	 * @return (BigFraction) reduced sum of added fractions, zero if nothing was added
+	 */
+	public BigFraction sumThenReset ()
+	{
+		return this.combine(true);
+	}
+
+	@Override
+	public String toString ()
+	{
+		return this.sum().toString();
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private BigFraction combine (boolean reset)
+	{
+		Cell total = new Cell();
+
+		for (Cell cell : this.stripes.cells())
+		{
+			cell.lock();
+
+			try
+			{
+				total.add(cell.numerator, cell.denominator);
+
+				if (reset)
+				{
+					cell.numerator = BigInteger.ZERO;
+					cell.denominator = BigInteger.ONE;
+				}
+			}
+			finally
+			{
+				cell.unlock();
+			}
+		}
+
+		return BigFraction.createFraction(total.numerator, total.denominator);
+	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	private static final class Cell extends ReentrantLock
+	{
+		private BigInteger numerator = BigInteger.ZERO;
+		private BigInteger denominator = BigInteger.ONE;
+
+		/**
+		 * Add n/d with positive denominator, denominators are combined through their greatest common divisor.
+		 */
+		private void add (BigInteger n, BigInteger d)
+		{
+			if (this.denominator.equals(d))
+			{
+				this.numerator = this.numerator.add(n);
+				return;
+			}
+
+			BigInteger g = this.denominator.gcd(d);
+			BigInteger dg = d.divide(g);
+
+			this.numerator = this.numerator.multiply(dg).add(n.multiply(this.denominator.divide(g)));
+			this.denominator = this.denominator.multiply(dg);
+		}
+	}
+}
@@ -0,0 +1,482 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of results of expensive BigFraction operations.
+ * <p>
+ * Cache is useful when the same operations are repeated on a working set of large constants. Results are keyed by
+ * operation and values of operands. Cache is divided to segments with own lock and every segment uses segmented LRU
+ * eviction: new results are stored in probationary part and results used again are moved to protected part, so
+ * a scan of one time operations doesn't evict frequently used results. Cache counts hits, misses and evictions.
+ * </p>
+ * <p>
+ * Result is calculated outside of lock, so when two threads ask for the same missing result, it can be calculated twice.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see BigFraction
+ */
+public class BigFractionCache
+{
+	private static final int SEGMENTS = 16;
+
+	private final Segment[] segments;
+	private final int maximumSize;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param maximumSize (int) maximum number of cached results
+	 *
+	 * @throws IllegalArgumentException if maximumSize is less than 1
+	 */
+	public BigFractionCache (int maximumSize)
+	{
+		if (maximumSize < 1) throw new IllegalArgumentException("Maximum size is less than 1.");
+
+		int segmentCount = Math.min(SEGMENTS, maximumSize);
+		this.segments = new Segment[segmentCount];
+		this.maximumSize = maximumSize;
+
+		for (int i = 0; i < segmentCount; i++)
+		{
+			int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+			this.segments[i] = new Segment(capacity);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Calculate method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Cached {@link BigFraction#pow(Integer)}.
+	 *
+	 * @param fraction (BigFraction) base
+	 * @param exponent (int) exponent
+	 *
+	 * @return (BigFraction)
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public BigFraction pow (BigFraction fraction, int exponent)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		Key key = new Key(Operation.POW, fraction, exponent);
+		Object result = this.get(key);
+
+		if (result == null)
+		{
+			result = this.put(key, fraction.pow(exponent));
+		}
+
+		return (BigFraction) result;
+	}
+
+	/**
+	 * Cached {@link BigFraction#reciprocal()}.
+	 *
+	 * @param fraction (BigFraction)
+	 *
+	 * @return (BigFraction)
+	 *
+	 * @throws NullPointerException if fraction is null
+	 * @throws ArithmeticException if fraction is zero
+	 */
+	public BigFraction reciprocal (BigFraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		Key key = new Key(Operation.RECIPROCAL, fraction, null);
+		Object result = this.get(key);
+
+		if (result == null)
+		{
+			result = this.put(key, fraction.reciprocal());
+		}
+
+		return (BigFraction) result;
+	}
+
+	/**
+	 * Cached {@link BigFraction#divide(BigFraction)}.
+	 *
+	 * @param dividend (BigFraction)
+	 * @param divisor (BigFraction)
+	 *
+	 * @return (BigFraction)
+	 *
+	 * @throws NullPointerException if dividend or divisor is null
+	 * @throws ArithmeticException if divisor is zero
+	 */
+	public BigFraction divide (BigFraction dividend, BigFraction divisor)
+	{
+		if (dividend == null || divisor == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		Key key = new Key(Operation.DIVIDE, dividend, divisor);
+		Object result = this.get(key);
+
+		if (result == null)
+		{
+			result = this.put(key, dividend.divide(divisor));
+		}
+
+		return (BigFraction) result;
+	}
+
+	/**
+	 * Cached {@link BigFraction#toString()}. Conversion of large BigIntegers to decimal string is expensive.
+	 *
+	 * @param fraction (BigFraction)
+	 *
+	 * @return (String)
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public String toString (BigFraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		Key key = new Key(Operation.TO_STRING, fraction, null);
+		Object result = this.get(key);
+
+		if (result == null)
+		{
+			result = this.put(key, fraction.toString());
+		}
+
+		return (String) result;
+	}
+
+	/**
+	 * Cached {@link BigFraction#toBigDecimal(int, RoundingMode)}. Multiplication by power of ten and division of
+	 * large BigIntegers is expensive.
+	 *
+	 * @param fraction (BigFraction)
+	 * @param scale (int) scale of decimal number
+	 * @param roundingMode (RoundingMode) rounding of digits behind scale
+	 *
+	 * @return (BigDecimal)
+	 *
+	 * @throws NullPointerException if fraction or roundingMode is null
+	 * @throws ArithmeticException if roundingMode is UNNECESSARY and fraction does not fit into scale
+	 */
+	public BigDecimal toBigDecimal (BigFraction fraction, int scale, RoundingMode roundingMode)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		if (roundingMode == null) throw new NullPointerException("Rounding mode is null.");
+
+		Key key = new Key(Operation.TO_BIG_DECIMAL, fraction, scale, roundingMode);
+		Object result = this.get(key);
+
+		if (result == null)
+		{
+			result = this.put(key, fraction.toBigDecimal(scale, roundingMode));
+		}
+
+		return (BigDecimal) result;
+	}
+
+	// -------------------------------------------------------------------------
+	// Cache method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return number of cached results
+	 */
+	public int size ()
+	{
+		int size = 0;
+
+		for (Segment segment : this.segments)
+		{
+			synchronized (segment)
+			{
+				size += segment.size();
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 * @return maximum number of cached results
+	 */
+	public int getMaximumSize ()
+	{
+		return this.maximumSize;
+	}
+
+	/**
+	 * Remove all results from cache. Statistics are not reset.
+	 */
+	public void clear ()
+	{
+		for (Segment segment : this.segments)
+		{
+			synchronized (segment)
+			{
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * @return number of results found in cache
+	 */
+	public long getHitCount ()
+	{
+		return this.hits.get();
+	}
+
+	/**
+	 * @return number of results which were calculated
+	 */
+	public long getMissCount ()
+	{
+		return this.misses.get();
+	}
+
+	/**
+	 * @return number of results removed from full cache
+	 */
+	public long getEvictionCount ()
+	{
+		return this.evictions.get();
+	}
+
+	/**
+	 * @return ratio of hits to all requests, 0 when nothing was requested
+	 */
+	public double getHitRate ()
+	{
+		long hits = this.hits.get();
+		long total = hits + this.misses.get();
+
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	/**
+	 * Reset hit, miss and eviction counters.
+	 */
+	public void resetStatistics ()
+	{
+		this.hits.set(0);
+		this.misses.set(0);
+		this.evictions.set(0);
+	}
+
+	@Override
+	public String toString ()
+	{
+		return "BigFractionCache[size=" + this.size() + ", maximumSize=" + this.maximumSize + ", hits=" + this.getHitCount() +
+				", misses=" + this.getMissCount() + ", evictions=" + this.getEvictionCount() + "]";
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private Segment segmentFor (Key key)
+	{
+		int h = key.hashCode();
+
+		return this.segments[(((h >>> 16) ^ h) & 0x7FFFFFFF) % this.segments.length];
+	}
+
+	private Object get (Key key)
+	{
+		Segment segment = this.segmentFor(key);
+		Object result;
+
+		synchronized (segment)
+		{
+			result = segment.get(key);
+		}
+
+		if (result != null)
+		{
+			this.hits.incrementAndGet();
+		}
+		else
+		{
+			this.misses.incrementAndGet();
+		}
+
+		return result;
+	}
+
+	private Object put (Key key, Object result)
+	{
+		Segment segment = this.segmentFor(key);
+
+		synchronized (segment)
+		{
+			segment.put(key, result);
+		}
+
+		return result;
+	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	private enum Operation
+	{
+		POW, RECIPROCAL, DIVIDE, TO_STRING, TO_BIG_DECIMAL
+	}
+
+	/**
+	 * Key of cached result, operation and values of operands.
+	 */
+	private static final class Key
+	{
+		private final Operation operation;
+		private final Object first;
+		private final Object second;
+		private final Object third;
+		private final int hash;
+
+		Key (Operation operation, Object first, Object second)
+		{
+			this(operation, first, second, null);
+		}
+
+		Key (Operation operation, Object first, Object second, Object third)
+		{
+			this.operation = operation;
+			this.first = first;
+			this.second = second;
+			this.third = third;
+			this.hash = ((operation.hashCode() * 31 + first.hashCode()) * 31 + (second == null ? 0 : second.hashCode())) * 31 +
+					(third == null ? 0 : third.hashCode());
+		}
+
+		@Override
+		public int hashCode ()
+		{
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals (Object o)
+		{
+			if (o == this)
+			{
+				return true;
+			}
+
+			if (!(o instanceof Key))
+			{
+				return false;
+			}
+
+			Key k = (Key) o;
+
+			return this.hash == k.hash && this.operation == k.operation && this.first.equals(k.first) &&
+					(this.second == null ? k.second == null : this.second.equals(k.second)) &&
+					(this.third == null ? k.third == null : this.third.equals(k.third));
+		}
+	}
+
+	/**
+	 * Segment of cache with segmented LRU eviction. Probationary part holds results used once,
+	 * protected part holds results used again and has 80 % of segment capacity.
+	 */
+	private class Segment
+	{
+		private final int protectedCapacity;
+		private final int capacity;
+		private final LinkedHashMap<Key, Object> probation = new LinkedHashMap<Key, Object>(16, 0.75f, true);
+		private final LinkedHashMap<Key, Object> protect = new LinkedHashMap<Key, Object>(16, 0.75f, true);
+
+		Segment (int capacity)
+		{
+			this.capacity = capacity;
+			this.protectedCapacity = capacity * 4 / 5;
+		}
+
+		Object get (Key key)
+		{
+			Object result = this.protect.get(key);
+
+			if (result != null)
+			{
+				return result;
+			}
+
+			result = this.probation.remove(key);
+
+			if (result == null)
+			{
+				return null;
+			}
+
+			if (this.protectedCapacity == 0)
+			{
+				this.probation.put(key, result);
+				return result;
+			}
+
+			this.protect.put(key, result);
+
+			if (this.protect.size() > this.protectedCapacity)
+			{
+				Iterator<Map.Entry<Key, Object>> eldest = this.protect.entrySet().iterator();
+				Map.Entry<Key, Object> entry = eldest.next();
+				eldest.remove();
+				this.probation.put(entry.getKey(), entry.getValue());
+			}
+
+			return result;
+		}
+
+		void put (Key key, Object result)
+		{
+			if (this.protect.containsKey(key) || this.probation.containsKey(key))
+			{
+				return;
+			}
+
+			this.probation.put(key, result);
+
+			if (this.size() > this.capacity)
+			{
+				Iterator<Map.Entry<Key, Object>> eldest = this.probation.entrySet().iterator();
+				eldest.next();
+				eldest.remove();
+				BigFractionCache.this.evictions.incrementAndGet();
+			}
+		}
+
+		int size ()
+		{
+			return this.probation.size() + this.protect.size();
+		}
+
+		void clear ()
+		{
+			this.probation.clear();
+			this.protect.clear();
+		}
+	}
+}
@@ -0,0 +1,479 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+
+/**
+ * Closed interval of rational numbers with BigFraction endpoints and exact interval arithmetic.
+ * <p>
+ * Result of every operation contains all results of the operation on numbers from operand intervals.
+ * Interval can have maximal denominator of endpoints, then endpoints of results are widened outwards to the nearest
+ * fractions with bounded denominator, so endpoints don't grow without bound in long calculations. Result of operation
+ * on two intervals uses smaller of their maximal denominators.
+ * </p>
+ * <p>
+ * Examples:<br>
+ * - [1/2, 1] + [1/3, 1/2] = [5/6, 3/2]<br>
+ * - [-1, 2] * [3, 4] = [-4, 8]<br>
+ * - [-1, 2]<sup>2</sup> = [0, 4]<br>
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see FractionInterval
+ */
+public class BigFractionInterval implements Serializable
+{
+	/**
+	 * Maximal denominator of interval without bound.
+	 */
+	private static final long EXACT = 0;
+
+	private final BigFraction lower;
+	private final BigFraction upper;
+	private final long maxDenominator;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	private BigFractionInterval (BigFraction lower, BigFraction upper, long maxDenominator)
+	{
+		this.lower = lower;
+		this.upper = upper;
+		this.maxDenominator = maxDenominator;
+	}
+
+	// -------------------------------------------------------------------------
+	// Fabric method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create exact interval <em>[lower, upper]</em>.
+	 *
+	 * @param lower (BigFraction) lower endpoint
+	 * @param upper (BigFraction) upper endpoint
+	 *
+	 * @return (BigFractionInterval)
+	 *
+	 * @throws NullPointerException if some endpoint is null
+	 * @throws IllegalArgumentException if lower endpoint is bigger than upper endpoint
+	 */
+	public static BigFractionInterval createInterval (BigFraction lower, BigFraction upper)
+	{
+		if (lower == null || upper == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		if (lower.compareTo(upper) > 0) throw new IllegalArgumentException("Lower endpoint is bigger than upper endpoint.");
+
+		return new BigFractionInterval(lower, upper, EXACT);
+	}
+
+	/**
+	 * Create exact interval which contains only one number.
+	 *
+	 * @param point (BigFraction)
+	 *
+	 * @return (BigFractionInterval)
+	 *
+	 * @throws NullPointerException if point is null
+	 */
+	public static BigFractionInterval createInterval (BigFraction point)
+	{
+		return BigFractionInterval.createInterval(point, point);
+	}
+
+	/**
+	 * Create interval which widens its endpoints and endpoints of all results to fractions with denominator at most
+	 * <em>maxDenominator</em>.
+	 *
+	 * @param maxDenominator (long) maximal denominator of endpoints
+	 *
+	 * @return (BigFractionInterval) interval which contains this interval
+	 *
+	 * @throws IllegalArgumentException if maxDenominator is not positive
+	 */
+	public BigFractionInterval withMaxDenominator (long maxDenominator)
+	{
+		if (maxDenominator < 1) throw new IllegalArgumentException("Maximal denominator is not positive.");
+
+		return BigFractionInterval.widen(this.lower, this.upper, maxDenominator);
+	}
+
+	/**
+	 * @return (BigFractionInterval) exact interval with the same endpoints
+	 */
+	public BigFractionInterval exact ()
+	{
+		return this.maxDenominator == EXACT ? this : new BigFractionInterval(this.lower, this.upper, EXACT);
+	}
+
+	// -------------------------------------------------------------------------
+	// Calculate method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param interval (BigFractionInterval) summand
+	 *
+	 * @return (BigFractionInterval) <em>[a + c, b + d]</em>
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public BigFractionInterval add (BigFractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return BigFractionInterval.widen(this.lower.add(interval.lower), this.upper.add(interval.upper),
+				BigFractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	/**
+	 * @param interval (BigFractionInterval) subtrahend
+	 *
+	 * @return (BigFractionInterval) <em>[a - d, b - c]</em>
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public BigFractionInterval subtract (BigFractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return BigFractionInterval.widen(this.lower.subtract(interval.upper), this.upper.subtract(interval.lower),
+				BigFractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	/**
+	 * @param interval (BigFractionInterval) factor
+	 *
+	 * @return (BigFractionInterval) interval from the smallest to the biggest product of endpoints
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public BigFractionInterval multiply (BigFractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		BigFraction ac = this.lower.multiply(interval.lower);
+		BigFraction ad = this.lower.multiply(interval.upper);
+		BigFraction bc = this.upper.multiply(interval.lower);
+		BigFraction bd = this.upper.multiply(interval.upper);
+
+		return BigFractionInterval.widen(ac.min(ad).min(bc.min(bd)), ac.max(ad).max(bc.max(bd)),
+				BigFractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	/**
+	 * @param interval (BigFractionInterval) divisor
+	 *
+	 * @return (BigFractionInterval) product of this interval and reciprocal of divisor
+	 *
+	 * @throws NullPointerException if interval is null
+	 * @throws ArithmeticException if divisor contains zero
+	 */
+	public BigFractionInterval divide (BigFractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return this.multiply(interval.reciprocal());
+	}
+
+	/**
+	 * @return (BigFractionInterval) <em>[-b, -a]</em>
+	 */
+	public BigFractionInterval negate ()
+	{
+		return new BigFractionInterval(this.upper.multiply(-1), this.lower.multiply(-1), this.maxDenominator);
+	}
+
+	/**
+	 * @return (BigFractionInterval) <em>[1/b, 1/a]</em>
+	 *
+	 * @throws ArithmeticException if interval contains zero
+	 */
+	public BigFractionInterval reciprocal ()
+	{
+		if (this.lower.getNumerator().signum() <= 0 && this.upper.getNumerator().signum() >= 0)
+		{
+			throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+		}
+
+		return BigFractionInterval.widen(this.upper.reciprocal(), this.lower.reciprocal(), this.maxDenominator);
+	}
+
+	/**
+	 * Power of interval. Even power of interval which contains zero starts at zero.
+	 *
+	 * @param exponent (int)
+	 *
+	 * @return (BigFractionInterval) interval of all powers of numbers from this interval
+	 *
+	 * @throws ArithmeticException if exponent is negative and interval contains zero or exponent is Integer.MIN_VALUE
+	 */
+	public BigFractionInterval pow (int exponent)
+	{
+		if (exponent == 0)
+		{
+			return BigFractionInterval.widen(BigFraction.createFraction(1), BigFraction.createFraction(1), this.maxDenominator);
+		}
+		else if (exponent == Integer.MIN_VALUE)
+		{
+			// -Integer.MIN_VALUE is Integer.MIN_VALUE, so the exponent can not be negated
+			throw new ArithmeticException(FractionConstants.ERR_EXPONENT_OUT_OF_RANGE);
+		}
+		else if (exponent < 0)
+		{
+			return this.reciprocal().pow(-exponent);
+		}
+
+		BigFraction a = this.lower.pow(exponent);
+		BigFraction b = this.upper.pow(exponent);
+
+		if (exponent % 2 == 1 || this.lower.getNumerator().signum() >= 0)
+		{
+			return BigFractionInterval.widen(a, b, this.maxDenominator);
+		}
+		else if (this.upper.getNumerator().signum() <= 0)
+		{
+			return BigFractionInterval.widen(b, a, this.maxDenominator);
+		}
+		else
+		{
+			return BigFractionInterval.widen(BigFraction.createFraction(0), a.max(b), this.maxDenominator);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Set method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param fraction (BigFraction)
+	 *
+	 * @return true if interval contains fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public boolean contains (BigFraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.lower.compareTo(fraction) <= 0 && fraction.compareTo(this.upper) <= 0;
+	}
+
+	/**
+	 * @param interval (BigFractionInterval)
+	 *
+	 * @return true if this interval contains whole inserted interval
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public boolean contains (BigFractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return this.lower.compareTo(interval.lower) <= 0 && interval.upper.compareTo(this.upper) <= 0;
+	}
+
+	/**
+	 * @param interval (BigFractionInterval)
+	 *
+	 * @return true if intervals have some common number
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public boolean intersects (BigFractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return this.lower.compareTo(interval.upper) <= 0 && interval.lower.compareTo(this.upper) <= 0;
+	}
+
+	/**
+	 * @param interval (BigFractionInterval)
+	 *
+	 * @return (BigFractionInterval) common part of intervals or null if intervals don't intersect
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public BigFractionInterval intersection (BigFractionInterval interval)
+	{
+		if (!this.intersects(interval))
+		{
+			return null;
+		}
+
+		return BigFractionInterval.widen(this.lower.max(interval.lower), this.upper.min(interval.upper),
+				BigFractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	/**
+	 * @param interval (BigFractionInterval)
+	 *
+	 * @return (BigFractionInterval) the smallest interval which contains both intervals
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public BigFractionInterval hull (BigFractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return BigFractionInterval.widen(this.lower.min(interval.lower), this.upper.max(interval.upper),
+				BigFractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	// -------------------------------------------------------------------------
+	// Getters
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return (BigFraction) lower endpoint
+	 */
+	public BigFraction getLower ()
+	{
+		return this.lower;
+	}
+
+	/**
+	 * @return (BigFraction) upper endpoint
+	 */
+	public BigFraction getUpper ()
+	{
+		return this.upper;
+	}
+
+	/**
+	 * @return (long) maximal denominator of endpoints or 0 if interval is exact
+	 */
+	public long getMaxDenominator ()
+	{
+		return this.maxDenominator;
+	}
+
+	/**
+	 * @return (BigFraction) <em>b - a</em>
+	 */
+	public BigFraction width ()
+	{
+		return this.upper.subtract(this.lower);
+	}
+
+	/**
+	 * @return (BigFraction) <em>(a + b) / 2</em>
+	 */
+	public BigFraction midpoint ()
+	{
+		return this.lower.add(this.upper).divide(2);
+	}
+
+	// -------------------------------------------------------------------------
+	// Overide method
+	// -------------------------------------------------------------------------
+
+	@Override
+	public boolean equals (Object o)
+	{
+		if (o == this)
+		{
+			return true;
+		}
+
+		if((o == null) || (o.getClass() != this.getClass()))
+		{
+			return false;
+		}
+
+		BigFractionInterval interval = (BigFractionInterval) o;
+
+		return this.lower.equals(interval.lower) && this.upper.equals(interval.upper) && this.maxDenominator == interval.maxDenominator;
+	}
+
+	@Override
+	public int hashCode ()
+	{
+		int result = this.lower.hashCode();
+		result = 31 * result + this.upper.hashCode();
+		result = 31 * result + (int) (this.maxDenominator ^ (this.maxDenominator >>> 32));
+
+		return result;
+	}
+
+	@Override
+	public String toString ()
+	{
+		return "[" + this.lower.toString() + ", " + this.upper.toString() + "]";
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private static long combine (long maxDenominator1, long maxDenominator2)
+	{
+		if (maxDenominator1 == EXACT) return maxDenominator2;
+		if (maxDenominator2 == EXACT) return maxDenominator1;
+
+		return Math.min(maxDenominator1, maxDenominator2);
+	}
+
+	private static BigFractionInterval widen (BigFraction lower, BigFraction upper, long maxDenominator)
+	{
+		if (maxDenominator == EXACT)
+		{
+			return new BigFractionInterval(lower, upper, EXACT);
+		}
+
+		BigInteger bound = BigInteger.valueOf(maxDenominator);
+
+		return new BigFractionInterval(BigFractionInterval.bracket(lower, bound)[0],
+				BigFractionInterval.bracket(upper, bound)[1], maxDenominator);
+	}
+
+	/**
+	 * The nearest fractions with denominator at most <em>maxDenominator</em> below and above fraction. Both are the
+	 * fraction itself if its denominator is small enough.
+	 * <p>
+	 * Fraction is found by descent in Stern-Brocot tree, where every step moves one bound over all mediants
+	 * on the same side, so number of steps is number of continued fraction terms.
+	 * </p>
+	 *
+	 * @return (BigFraction[]) lower and upper bound
+	 */
+	static BigFraction[] bracket (BigFraction fraction, BigInteger maxDenominator)
+	{
+		BigInteger p = fraction.getNumerator();
+		BigInteger q = fraction.getDenominator();
+
+		if (q.compareTo(maxDenominator) <= 0)
+		{
+			return new BigFraction[] {fraction, fraction};
+		}
+
+		// a/b <= p/q <= c/d, with bc - ad = 1
+		BigInteger[] division = p.divideAndRemainder(q);
+		BigInteger a = division[1].signum() < 0 ? division[0].subtract(BigInteger.ONE) : division[0];
+		BigInteger b = BigInteger.ONE;
+		BigInteger c = a.add(BigInteger.ONE);
+		BigInteger d = BigInteger.ONE;
+
+		while (true)
+		{
+			// denominator of fraction is bigger than any b or d, so p/q never equals a bound
+			BigInteger k = p.multiply(b).subtract(q.multiply(a)).divide(q.multiply(c).subtract(p.multiply(d)))
+					.min(maxDenominator.subtract(b).divide(d));
+			a = a.add(k.multiply(c));
+			b = b.add(k.multiply(d));
+
+			BigInteger m = q.multiply(c).subtract(p.multiply(d)).divide(p.multiply(b).subtract(q.multiply(a)))
+					.min(maxDenominator.subtract(d).divide(b));
+			c = c.add(m.multiply(a));
+			d = d.add(m.multiply(b));
+
+			if (k.signum() == 0 && m.signum() == 0)
+			{
+				return new BigFraction[] {BigFraction.createFraction(a, b), BigFraction.createFraction(c, d)};
+			}
+		}
+	}
+}
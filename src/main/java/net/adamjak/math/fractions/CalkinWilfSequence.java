@@ -0,0 +1,246 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Calkin-Wilf sequence, breadth first traversal of Calkin-Wilf tree which contains every positive rational number
+ * exactly once: 1/1, 1/2, 2/1, 1/3, 3/2, 2/3, 3/1, 1/4, ...
+ * <p>
+ * Terms are indexed from 1. Next term is generated from previous one by Newman's formula
+ * <em>x' = 1 / (2 floor(x) - x + 1)</em> in constant work and any term can be found directly from its index
+ * by path in the tree, so sequence can be split to parts by ranges of indexes. Level <em>k</em> of the tree contains
+ * terms <em>2<sup>k</sup></em> to <em>2<sup>k+1</sup> - 1</em>, which are the same fractions as level <em>k</em> of
+ * Stern-Brocot tree.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see FareySequence
+ */
+public class CalkinWilfSequence implements Iterable<Fraction>
+{
+	private final long from;
+	private final long to;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create sequence of all terms with index up to Long.MAX_VALUE.
+	 */
+	public CalkinWilfSequence ()
+	{
+		this(1, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Create sequence of terms with index from <em>from</em> to <em>to</em>, inclusive.
+	 *
+	 * @param from (long) index of first term
+	 * @param to (long) index of last term
+	 *
+	 * @throws IllegalArgumentException if from is not positive or to is less than from
+	 */
+	public CalkinWilfSequence (long from, long to)
+	{
+		if (from < 1) throw new IllegalArgumentException("Index is not positive.");
+		if (to < from) throw new IllegalArgumentException("Last index is less than first index.");
+
+		this.from = from;
+		this.to = to;
+	}
+
+	// -------------------------------------------------------------------------
+	// Sequence method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Term of Calkin-Wilf sequence with index <em>index</em>, found in <em>O(log index)</em>.
+	 *
+	 * @param index (long) index of term, from 1
+	 *
+	 * @return (Fraction)
+	 *
+	 * @throws IllegalArgumentException if index is not positive
+	 */
+	public static Fraction term (long index)
+	{
+		if (index < 1) throw new IllegalArgumentException("Index is not positive.");
+
+		long[] term = CalkinWilfSequence.termAt(index);
+
+		return Fraction.createReduced(term[0], term[1]);
+	}
+
+	/**
+	 * @return (long) number of terms
+	 */
+	public long size ()
+	{
+		return this.to - this.from + 1;
+	}
+
+	/**
+	 * Split sequence to two halves by indexes.
+	 *
+	 * @return (CalkinWilfSequence[]) two parts which together contain all terms of sequence,
+	 * or null if sequence has only one term
+	 */
+	public CalkinWilfSequence[] split ()
+	{
+		if (this.from == this.to)
+		{
+			return null;
+		}
+
+		long middle = this.from + (this.to - this.from) / 2;
+
+		return new CalkinWilfSequence[] {
+				new CalkinWilfSequence(this.from, middle),
+				new CalkinWilfSequence(middle + 1, this.to)
+		};
+	}
+
+	/**
+	 * @return (Cursor) new iterator over terms of sequence
+	 */
+	@Override
+	public Cursor iterator ()
+	{
+		return new Cursor(this.from, this.to);
+	}
+
+	@Override
+	public String toString ()
+	{
+		return "CalkinWilfSequence{from=" + this.from + ", to=" + this.to + "}";
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Walk from root 1/1 by bits of index below the highest one, bit 0 is left child <em>a/(a+b)</em>
+	 * and bit 1 is right child <em>(a+b)/b</em>.
+	 */
+	private static long[] termAt (long index)
+	{
+		long a = FractionConstants.ONE;
+		long b = FractionConstants.ONE;
+
+		for (int bit = 62 - Long.numberOfLeadingZeros(index); bit >= 0; bit--)
+		{
+			if (((index >>> bit) & 1) == 0)
+			{
+				b += a;
+			}
+			else
+			{
+				a += b;
+			}
+		}
+
+		return new long[] {a, b};
+	}
+
+	// -------------------------------------------------------------------------
+	// Public class
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Iterator over terms of Calkin-Wilf sequence. Terms can be read as fractions or as primitive longs.
+	 */
+	public static final class Cursor implements Iterator<Fraction>
+	{
+		private final long to;
+		private long index;
+		private long a;
+		private long b;
+
+		private Cursor (long from, long to)
+		{
+			long[] term = CalkinWilfSequence.termAt(from);
+
+			this.to = to;
+			this.index = from;
+			this.a = term[0];
+			this.b = term[1];
+		}
+
+		@Override
+		public boolean hasNext ()
+		{
+			return this.index <= this.to && this.index > 0;
+		}
+
+		@Override
+		public Fraction next ()
+		{
+			if (!this.hasNext()) throw new NoSuchElementException();
+
+			Fraction term = Fraction.createReduced(this.a, this.b);
+			this.advance();
+
+			return term;
+		}
+
+		/**
+		 * Write next terms to arrays, without creating any objects.
+		 *
+		 * @param numerators (long[]) target numerators
+		 * @param denominators (long[]) target denominators
+		 *
+		 * @return (int) number of written terms, less than length of arrays only at the end of sequence
+		 *
+		 * @throws NullPointerException if some array is null
+		 * @throws IllegalArgumentException if arrays have different length
+		 */
+		public int fill (long[] numerators, long[] denominators)
+		{
+			if (numerators == null || denominators == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+			if (numerators.length != denominators.length) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+
+			int count = 0;
+
+			while (count < numerators.length && this.hasNext())
+			{
+				numerators[count] = this.a;
+				denominators[count++] = this.b;
+				this.advance();
+			}
+
+			return count;
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public void remove ()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		private void advance ()
+		{
+			// index overflows after Long.MAX_VALUE, which ends iteration
+			this.index++;
+
+			if (!this.hasNext())
+			{
+				return;
+			}
+
+			long next = (2 * (this.a / this.b) + 1) * this.b - this.a;
+			this.a = this.b;
+			this.b = next;
+		}
+	}
+}
@@ -0,0 +1,292 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Farey sequence of order <em>n</em>, all reduced fractions from 0 to 1 with denominator at most <em>n</em>
+ * in ascending order.
+ * <p>
+ * Terms are generated lazily by the neighbour recurrence of Farey sequence, so every term costs constant work and no
+ * sorting or reduction is needed. Sequence can be split to parts with disjoint ranges of values, which can be iterated
+ * in parallel:
+ * </p>
+ * <pre>
+ * FareySequence[] parts = new FareySequence(1000).split();
+ * </pre>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see CalkinWilfSequence
+ */
+public class FareySequence implements Iterable<Fraction>
+{
+	private final int order;
+	private final long firstNumerator;
+	private final long firstDenominator;
+	private final long lastNumerator;
+	private final long lastDenominator;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create Farey sequence of order <em>order</em>, from 0/1 to 1/1.
+	 *
+	 * @param order (int) maximal denominator
+	 *
+	 * @throws IllegalArgumentException if order is not positive
+	 */
+	public FareySequence (int order)
+	{
+		this(order, FractionConstants.ZERO, FractionConstants.ONE, FractionConstants.ONE, FractionConstants.ONE);
+
+		if (order < 1) throw new IllegalArgumentException("Order is not positive.");
+	}
+
+	private FareySequence (int order, long firstNumerator, long firstDenominator, long lastNumerator, long lastDenominator)
+	{
+		this.order = order;
+		this.firstNumerator = firstNumerator;
+		this.firstDenominator = firstDenominator;
+		this.lastNumerator = lastNumerator;
+		this.lastDenominator = lastDenominator;
+	}
+
+	// -------------------------------------------------------------------------
+	// Sequence method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return (int) maximal denominator of terms
+	 */
+	public int getOrder ()
+	{
+		return this.order;
+	}
+
+	/**
+	 * @return (Fraction) first term of sequence
+	 */
+	public Fraction getFirst ()
+	{
+		return Fraction.createReduced(this.firstNumerator, this.firstDenominator);
+	}
+
+	/**
+	 * @return (Fraction) last term of sequence
+	 */
+	public Fraction getLast ()
+	{
+		return Fraction.createReduced(this.lastNumerator, this.lastDenominator);
+	}
+
+	/**
+	 * Split sequence near middle of its values. First part ends with term at most the middle value, second part
+	 * starts with next term. Finding the split term costs <em>O(order)</em>.
+	 *
+	 * @return (FareySequence[]) two parts which together contain all terms of sequence,
+	 * or null if sequence has only one term
+	 */
+	public FareySequence[] split ()
+	{
+		if (this.firstNumerator == this.lastNumerator && this.firstDenominator == this.lastDenominator)
+		{
+			return null;
+		}
+
+		double middle = ((double) this.firstNumerator / this.firstDenominator + (double) this.lastNumerator / this.lastDenominator) / 2;
+		long bestNumerator = this.firstNumerator;
+		long bestDenominator = this.firstDenominator;
+
+		// largest term at most middle value, which is at least first term and less than last term
+		for (long q = 1; q <= this.order; q++)
+		{
+			long p = (long) Math.floor(middle * q);
+
+			if (FractionSort.compare(p, q, bestNumerator, bestDenominator) > 0 &&
+				FractionSort.compare(p, q, this.lastNumerator, this.lastDenominator) < 0)
+			{
+				bestNumerator = p;
+				bestDenominator = q;
+			}
+		}
+
+		long gcd = LongMath.gcd(bestNumerator, bestDenominator);
+		bestNumerator /= gcd;
+		bestDenominator /= gcd;
+
+		long[] next = FareySequence.successor(bestNumerator, bestDenominator, this.order);
+
+		return new FareySequence[] {
+				new FareySequence(this.order, this.firstNumerator, this.firstDenominator, bestNumerator, bestDenominator),
+				new FareySequence(this.order, next[0], next[1], this.lastNumerator, this.lastDenominator)
+		};
+	}
+
+	/**
+	 * @return (Cursor) new iterator over terms of sequence
+	 */
+	@Override
+	public Cursor iterator ()
+	{
+		long[] next = FareySequence.successor(this.firstNumerator, this.firstDenominator, this.order);
+
+		return new Cursor(this.order, this.firstNumerator, this.firstDenominator, next[0], next[1], this.lastNumerator, this.lastDenominator);
+	}
+
+	@Override
+	public String toString ()
+	{
+		return "FareySequence{order=" + this.order + ", first=" + this.firstNumerator + "/" + this.firstDenominator
+				+ ", last=" + this.lastNumerator + "/" + this.lastDenominator + "}";
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Next term after <em>a/b</em> in Farey sequence of order <em>n</em>. Next term <em>c/d</em> is the one with
+	 * <em>bc - ad = 1</em> and largest <em>d</em> at most <em>n</em>.
+	 */
+	private static long[] successor (long a, long b, long n)
+	{
+		// d = -a^-1 (mod b)
+		long d = b == FractionConstants.ONE ? FractionConstants.ONE : b - FareySequence.inverse(a % b, b);
+		d += (n - d) / b * b;
+
+		return new long[] {(FractionConstants.ONE + a * d) / b, d};
+	}
+
+	/**
+	 * Multiplicative inverse of <em>a</em> modulo <em>m</em> by extended Euclidean algorithm.
+	 */
+	private static long inverse (long a, long m)
+	{
+		long r0 = m;
+		long r1 = a;
+		long t0 = 0;
+		long t1 = 1;
+
+		while (r1 != 0)
+		{
+			long q = r0 / r1;
+			long tmp = r0 - q * r1;
+			r0 = r1;
+			r1 = tmp;
+			tmp = t0 - q * t1;
+			t0 = t1;
+			t1 = tmp;
+		}
+
+		return t0 < 0 ? t0 + m : t0;
+	}
+
+	// -------------------------------------------------------------------------
+	// Public class
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Iterator over terms of Farey sequence. Terms can be read as fractions or as primitive longs.
+	 */
+	public static final class Cursor implements Iterator<Fraction>
+	{
+		private final long order;
+		private final long lastNumerator;
+		private final long lastDenominator;
+		private long a;
+		private long b;
+		private long c;
+		private long d;
+		private boolean done;
+
+		private Cursor (long order, long a, long b, long c, long d, long lastNumerator, long lastDenominator)
+		{
+			this.order = order;
+			this.a = a;
+			this.b = b;
+			this.c = c;
+			this.d = d;
+			this.lastNumerator = lastNumerator;
+			this.lastDenominator = lastDenominator;
+		}
+
+		@Override
+		public boolean hasNext ()
+		{
+			return !this.done;
+		}
+
+		@Override
+		public Fraction next ()
+		{
+			if (this.done) throw new NoSuchElementException();
+
+			Fraction term = Fraction.createReduced(this.a, this.b);
+			this.advance();
+
+			return term;
+		}
+
+		/**
+		 * Write next terms to arrays, without creating any objects.
+		 *
+		 * @param numerators (long[]) target numerators
+		 * @param denominators (long[]) target denominators
+		 *
+		 * @return (int) number of written terms, less than length of arrays only at the end of sequence
+		 *
+		 * @throws NullPointerException if some array is null
+		 * @throws IllegalArgumentException if arrays have different length
+		 */
+		public int fill (long[] numerators, long[] denominators)
+		{
+			if (numerators == null || denominators == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+			if (numerators.length != denominators.length) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+
+			int count = 0;
+
+			while (count < numerators.length && !this.done)
+			{
+				numerators[count] = this.a;
+				denominators[count++] = this.b;
+				this.advance();
+			}
+
+			return count;
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public void remove ()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		private void advance ()
+		{
+			if (this.a == this.lastNumerator && this.b == this.lastDenominator)
+			{
+				this.done = true;
+				return;
+			}
+
+			long k = (this.order + this.b) / this.d;
+			long e = k * this.c - this.a;
+			long f = k * this.d - this.b;
+
+			this.a = this.c;
+			this.b = this.d;
+			this.c = e;
+			this.d = f;
+		}
+	}
+}
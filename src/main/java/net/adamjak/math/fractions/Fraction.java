@@ -7,7 +7,11 @@ package net.adamjak.math.fractions;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.text.ParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -22,6 +26,8 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 {
 	private final Long numerator;
 	private final Long denominator;
+
+	private static volatile FractionInterner interner;
 	
 	// -------------------------------------------------------------------------
 	// Construct method
@@ -131,12 +137,15 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 
 		if (numerator.equals(FractionConstants.ZERO))
 		{
-			return new Fraction(numerator, FractionConstants.ONE);
+			return Fraction.canonical(new Fraction(numerator, FractionConstants.ONE));
 		}
 		
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
 		long gcd = Fraction.greatestCommonDivisor((long) Math.abs(numerator), (long) Math.abs(denominator));
 		
-		return new Fraction(numerator / gcd, denominator / gcd);
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.FRACTION_NORMALIZE, FractionMetrics.bitLength(numerator), FractionMetrics.bitLength(denominator), start);
+		
+		return Fraction.canonical(new Fraction(numerator / gcd, denominator / gcd));
 	}
 	
 	/**
@@ -152,7 +161,36 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	{
 		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
 		
-		return new Fraction(fraction.getNumerator(), fraction.getDenominator());
+		return Fraction.canonical(new Fraction(fraction.getNumerator(), fraction.getDenominator()));
+	}
+
+	/**
+	 * Set pool which interns all created fractions and results of math operations, so equal fractions share
+	 * one instance. Interning is disabled by default.
+	 *
+	 * @param interner (FractionInterner) pool of fractions or null to disable interning
+	 *
+	 * @see FractionInterner
+	 */
+	public static void setInterner (FractionInterner interner)
+	{
+		Fraction.interner = interner;
+	}
+
+	/**
+	 * @return (FractionInterner) pool which interns created fractions or null if interning is disabled
+	 */
+	public static FractionInterner getInterner ()
+	{
+		return Fraction.interner;
+	}
+
+	/**
+	 * Create fraction from parts which are already reduced, with positive denominator. Parts are not checked.
+	 */
+	static Fraction createReduced (long numerator, long denominator)
+	{
+		return Fraction.canonical(new Fraction(numerator, denominator));
 	}
 	
 	/**
@@ -174,7 +212,7 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 
 		if(d == 0)
 		{
-			return new Fraction(FractionConstants.ZERO, FractionConstants.ONE);
+			return Fraction.canonical(new Fraction(FractionConstants.ZERO, FractionConstants.ONE));
 		}
 
 		boolean negative = false;
@@ -212,6 +250,16 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	{
 		return BigFraction.createFraction(this.numerator, this.denominator);
 	}
+
+	/**
+	 * @return new instance of Rational
+	 *
+	 * @see Rational
+	 */
+	public Rational toRational()
+	{
+		return Rational.createFraction(this);
+	}
 	
 	// -------------------------------------------------------------------------
 	// Calculate method
@@ -230,6 +278,33 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 		
 		return this.add(Fraction.createFraction(number));
 	}
+
+	/**
+	 * Fast path for integer, <em>a/b + n = (a + n*b)/b</em>, which is already reduced and needs no gcd.
+	 *
+	 * @param number (long) whitch will add to Fraction
+	 *
+	 * @return New Instance of fraction add by number
+	 *
+	 * @throws ArithmeticException if result does not fit into Fraction
+	 */
+	public Fraction add (long number)
+	{
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		long product = number * this.denominator;
+		long numerator = this.numerator + product;
+
+		if (LongMath.isMultiplyOverflow(number, this.denominator, product) || LongMath.isAddOverflow(this.numerator, product, numerator))
+		{
+			throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+		}
+
+		Fraction result = Fraction.createReduced(numerator, this.denominator);
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.FRACTION_ADD, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number), start);
+
+		return result;
+	}
 	
 	/**
 	 * @param fraction (Fraction) whitch will add to Fraction
@@ -242,7 +317,12 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	{
 		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
 		
-		return Fraction.createFraction(this.numerator * fraction.getDenominator() + fraction.getNumerator() * this.denominator, this.denominator * fraction.getDenominator());
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Fraction result = Fraction.createFraction(this.numerator * fraction.getDenominator() + fraction.getNumerator() * this.denominator, this.denominator * fraction.getDenominator());
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.FRACTION_ADD, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction), start);
+
+		return result;
 	}
 	
 	
@@ -259,6 +339,41 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 		
 		return this.multiply(Fraction.createFraction(number));
 	}
+
+	/**
+	 * Fast path for integer, <em>a/b * n = (a * n/g) / (b/g)</em> with <em>g = gcd(n, b)</em>.
+	 *
+	 * @param number (long) whitch will multiply Fraction
+	 *
+	 * @return New instance of Fraction multyply by number
+	 *
+	 * @throws ArithmeticException if result does not fit into Fraction
+	 */
+	public Fraction multiply (long number)
+	{
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Fraction result;
+
+		if (number == FractionConstants.ZERO)
+		{
+			result = Fraction.createReduced(FractionConstants.ZERO, FractionConstants.ONE);
+		}
+		else
+		{
+			// gcd divides positive denominator, so it is positive and reduced denominator stays positive
+			long gcd = LongMath.gcd(number, this.denominator);
+			long factor = number / gcd;
+			long numerator = this.numerator * factor;
+
+			if (LongMath.isMultiplyOverflow(this.numerator, factor, numerator)) throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+
+			result = Fraction.createReduced(numerator, this.denominator / gcd);
+		}
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.FRACTION_MULTIPLY, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number), start);
+
+		return result;
+	}
 	
 	/**
 	 * @param fraction (Fraction) whitch will multiply Fraction
@@ -271,7 +386,12 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	{
 		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
 		
-		return Fraction.createFraction(fraction.getNumerator() * this.numerator, fraction.getDenominator() * this.denominator);
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Fraction result = Fraction.createFraction(fraction.getNumerator() * this.numerator, fraction.getDenominator() * this.denominator);
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.FRACTION_MULTIPLY, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction), start);
+
+		return result;
 	}
 	
 	/**
@@ -287,6 +407,34 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 		
 		return this.subtract(Fraction.createFraction(number));
 	}
+
+	/**
+	 * Fast path for integer, <em>a/b - n = (a - n*b)/b</em>, which is already reduced and needs no gcd.
+	 *
+	 * @param number (long) whitch will subtract Fraction
+	 *
+	 * @return New instance of Fraction subtract by number
+	 *
+	 * @throws ArithmeticException if result does not fit into Fraction
+	 */
+	public Fraction subtract (long number)
+	{
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		long product = number * this.denominator;
+		long numerator = this.numerator - product;
+
+		// subtraction overflows when operands have different signs and result has sign of subtrahend
+		if (LongMath.isMultiplyOverflow(number, this.denominator, product) || ((this.numerator ^ product) & (this.numerator ^ numerator)) < 0)
+		{
+			throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+		}
+
+		Fraction result = Fraction.createReduced(numerator, this.denominator);
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.FRACTION_SUBTRACT, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number), start);
+
+		return result;
+	}
 	
 	/**
 	 * @param fraction (Fraction) whitch will subtract Fraction
@@ -299,7 +447,12 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	{
 		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
 		
-		return Fraction.createFraction(this.numerator * fraction.getDenominator() - fraction.getNumerator() * this.denominator, this.denominator * fraction.getDenominator());
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Fraction result = Fraction.createFraction(this.numerator * fraction.getDenominator() - fraction.getNumerator() * this.denominator, this.denominator * fraction.getDenominator());
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.FRACTION_SUBTRACT, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction), start);
+
+		return result;
 	}
 	
 	/**
@@ -317,6 +470,47 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 		
 		return this.divide(Fraction.createFraction(number));
 	}
+
+	/**
+	 * Fast path for integer, <em>a/b / n = (a/g) / (b * n/g)</em> with <em>g = gcd(a, n)</em>.
+	 *
+	 * @param number (long) whitch will divide Fraction
+	 *
+	 * @return New instance of Fraction divide by number.
+	 *
+	 * @throws ArithmeticException if number is zero
+	 * @throws ArithmeticException if result does not fit into Fraction
+	 */
+	public Fraction divide (long number)
+	{
+		if (number == FractionConstants.ZERO) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		long gcd = LongMath.gcd(this.numerator, number);
+		long numerator = this.numerator / gcd;
+		long factor = number / gcd;
+		long denominator = this.denominator * factor;
+
+		if (LongMath.isMultiplyOverflow(this.denominator, factor, denominator) || denominator == Long.MIN_VALUE)
+		{
+			throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+		}
+
+		if (denominator < 0)
+		{
+			// -Long.MIN_VALUE does not fit into long
+			if (numerator == Long.MIN_VALUE) throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+
+			numerator = -numerator;
+			denominator = -denominator;
+		}
+
+		Fraction result = Fraction.createReduced(numerator, denominator);
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.FRACTION_DIVIDE, FractionMetrics.bitLength(this), FractionMetrics.bitLength(number), start);
+
+		return result;
+	}
 	
 	/**
 	 * @param fraction (Fraction) whitch will divide Fraction
@@ -331,9 +525,340 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
 		if (fraction.getNumerator() == FractionConstants.ZERO) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
 		
-		return Fraction.createFraction(this.numerator * fraction.getDenominator(), this.denominator * fraction.getNumerator());
+		long start = FractionMetrics.ENABLED ? System.nanoTime() : 0;
+		Fraction result = Fraction.createFraction(this.numerator * fraction.getDenominator(), this.denominator * fraction.getNumerator());
+
+		if (FractionMetrics.ENABLED) FractionMetrics.record(FractionMetrics.Operation.FRACTION_DIVIDE, FractionMetrics.bitLength(this), FractionMetrics.bitLength(fraction), start);
+
+		return result;
 	}
 	
+	/**
+	 * Exact sum of fractions.
+	 * <p>
+	 * Numerators of fractions with same denominator are summed as integers first and the groups are combined
+	 * through least common multiple of denominators, so the sum is reduced once per denominator and not once per fraction.
+	 * </p>
+	 *
+	 * @param fractions (Fraction...) summed fractions
+	 *
+	 * @return (Fraction) reduced sum, zero for no fractions
+	 *
+	 * @throws NullPointerException if fractions or some fraction is null
+	 * @throws ArithmeticException if sum does not fit into Fraction
+	 */
+	public static Fraction sum (Fraction... fractions)
+	{
+		if (fractions == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		return Fraction.sum(Arrays.asList(fractions));
+	}
+
+	/**
+	 * Exact sum of fractions.
+	 * <p>
+	 * Numerators of fractions with same denominator are summed as integers first and the groups are combined
+	 * through least common multiple of denominators, so the sum is reduced once per denominator and not once per fraction.
+	 * </p>
+	 *
+	 * @param fractions (Iterable) summed fractions
+	 *
+	 * @return (Fraction) reduced sum, zero for no fractions
+	 *
+	 * @throws NullPointerException if fractions or some fraction is null
+	 * @throws ArithmeticException if sum does not fit into Fraction
+	 */
+	public static Fraction sum (Iterable<Fraction> fractions)
+	{
+		if (fractions == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		Map<Long, long[]> groups = new HashMap<Long, long[]>();
+		Map<Long, BigInteger> bigGroups = null;
+
+		for (Fraction f : fractions)
+		{
+			if (f == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+			long[] acc = groups.get(f.denominator);
+
+			if (acc == null)
+			{
+				groups.put(f.denominator, new long[] {f.numerator});
+				continue;
+			}
+
+			long sum = acc[0] + f.numerator;
+
+			if (LongMath.isAddOverflow(acc[0], f.numerator, sum))
+			{
+				if (bigGroups == null)
+				{
+					bigGroups = new HashMap<Long, BigInteger>();
+				}
+
+				BigInteger big = bigGroups.get(f.denominator);
+				big = (big == null ? BigInteger.ZERO : big).add(BigInteger.valueOf(acc[0])).add(BigInteger.valueOf(f.numerator));
+				bigGroups.put(f.denominator, big);
+				acc[0] = FractionConstants.ZERO;
+			}
+			else
+			{
+				acc[0] = sum;
+			}
+		}
+
+		if (bigGroups == null)
+		{
+			Fraction result = Fraction.sumGroups(groups);
+
+			if (result != null)
+			{
+				return result;
+			}
+		}
+
+		return Fraction.sumBigGroups(groups, bigGroups);
+	}
+
+	/**
+	 * Fused multiply-add, exact value of <em>this * fraction + addend</em>.
+	 * <p>
+	 * Product is cross reduced and added to addend without intermediate Fraction, so result is reduced only once.
+	 * When intermediate values overflow long, computation continues in BigInteger and only final result must fit
+	 * into Fraction.
+	 * </p>
+	 *
+	 * @param fraction (Fraction) multiplier
+	 * @param addend (Fraction) added fraction
+	 *
+	 * @return (Fraction) reduced result
+	 *
+	 * @throws NullPointerException if fraction or addend is null
+	 * @throws ArithmeticException if result does not fit into Fraction
+	 */
+	public Fraction fma (Fraction fraction, Fraction addend)
+	{
+		if (fraction == null || addend == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		Accumulator accumulator = new Accumulator();
+		accumulator.addProduct(this, fraction);
+		accumulator.add(addend.numerator, addend.denominator);
+
+		return accumulator.toFraction();
+	}
+
+	/**
+	 * Exact dot product of two vectors of fractions, sum of <em>a[i] * b[i]</em>.
+	 * <p>
+	 * Products are accumulated in one numerator and denominator pair, denominators are combined through their
+	 * least common multiple and the sum is reduced only once at the end. When accumulator overflows long,
+	 * computation continues in BigInteger and only final result must fit into Fraction.
+	 * </p>
+	 *
+	 * @param a (Fraction[]) first vector
+	 * @param b (Fraction[]) second vector
+	 *
+	 * @return (Fraction) reduced dot product, zero for empty vectors
+	 *
+	 * @throws NullPointerException if some array or fraction is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 * @throws ArithmeticException if result does not fit into Fraction
+	 */
+	public static Fraction dot (Fraction[] a, Fraction[] b)
+	{
+		if (a == null || b == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+		if (a.length != b.length) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+
+		Accumulator accumulator = new Accumulator();
+
+		for (int i = 0; i < a.length; i++)
+		{
+			if (a[i] == null || b[i] == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+			accumulator.addProduct(a[i], b[i]);
+		}
+
+		return accumulator.toFraction();
+	}
+
+	/**
+	 * Greatest integer less than or equal to fraction, computed by integer division without creating objects.
+	 *
+	 * @return (long) floor of fraction
+	 */
+	public long floor()
+	{
+		long n = this.numerator;
+		long d = this.denominator;
+		long q = n / d;
+
+		return n % d < 0 ? q - 1 : q;
+	}
+
+	/**
+	 * Least integer greater than or equal to fraction, computed by integer division without creating objects.
+	 *
+	 * @return (long) ceiling of fraction
+	 */
+	public long ceil()
+	{
+		long n = this.numerator;
+		long d = this.denominator;
+		long q = n / d;
+
+		return n % d > 0 ? q + 1 : q;
+	}
+
+	/**
+	 * Round fraction to integer exactly, computed by integer division without creating objects.
+	 *
+	 * @param roundingMode (RoundingMode)
+	 *
+	 * @return (long) rounded fraction
+	 *
+	 * @throws NullPointerException if roundingMode is null
+	 * @throws ArithmeticException if roundingMode is UNNECESSARY and fraction is not integer
+	 */
+	public long round(RoundingMode roundingMode)
+	{
+		if (roundingMode == null) throw new NullPointerException("Rounding mode is null.");
+
+		long n = this.numerator;
+		long d = this.denominator;
+
+		return Fraction.round(n / d, n % d, d, roundingMode);
+	}
+
+	/**
+	 * Integer part of fraction, rounded toward zero.
+	 * <p>
+	 * Example: -7/2 &rarr; -3
+	 * </p>
+	 *
+	 * @return (long) integer part of fraction
+	 */
+	public long integerPart()
+	{
+		return this.numerator / this.denominator;
+	}
+
+	/**
+	 * Fractional part of fraction, which after the sum with {@link #integerPart()} is this fraction. It has sign
+	 * of fraction.
+	 * <p>
+	 * Example: -7/2 &rarr; -1/2
+	 * </p>
+	 *
+	 * @return (Fraction) fractional part of fraction
+	 */
+	public Fraction fractionalPart()
+	{
+		long r = this.numerator % this.denominator;
+
+		if (r == FractionConstants.ZERO)
+		{
+			return Fraction.createReduced(FractionConstants.ZERO, FractionConstants.ONE);
+		}
+
+		// gcd(n % d, d) = gcd(n, d) = 1
+		return r == this.numerator ? this : Fraction.createReduced(r, this.denominator);
+	}
+
+	/**
+	 * Greatest integer less than or equal to <em>this / fraction</em>.
+	 * <p>
+	 * Both fractions are scaled to the least common denominator and their numerators are divided. Objects are created
+	 * only when scaled numerators overflow long.
+	 * </p>
+	 *
+	 * @param fraction (Fraction) divisor
+	 *
+	 * @return (long) floor of quotient
+	 *
+	 * @throws NullPointerException if fraction is null
+	 * @throws ArithmeticException if fraction is zero or quotient does not fit into long
+	 */
+	public long floorDiv(Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		if (fraction.numerator == 0) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		long b = this.denominator;
+		long d = fraction.denominator;
+		long g = LongMath.gcd(b, d);
+		long x = this.numerator * (d / g);
+		long y = fraction.numerator * (b / g);
+
+		if (!LongMath.isMultiplyOverflow(this.numerator, d / g, x) &&
+			!LongMath.isMultiplyOverflow(fraction.numerator, b / g, y) &&
+			!(x == Long.MIN_VALUE && y == -1))
+		{
+			long q = x / y;
+
+			return (x % y != 0 && (x ^ y) < 0) ? q - 1 : q;
+		}
+
+		BigInteger q = this.toBigFraction().floorDiv(fraction.toBigFraction());
+
+		if (q.bitLength() > 63) throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+
+		return q.longValue();
+	}
+
+	/**
+	 * Remainder of {@link #floorDiv(Fraction)}, <em>this - fraction * floorDiv(fraction)</em>. It has sign of
+	 * fraction.
+	 *
+	 * @param fraction (Fraction) divisor
+	 *
+	 * @return (Fraction) reduced remainder
+	 *
+	 * @throws NullPointerException if fraction is null
+	 * @throws ArithmeticException if fraction is zero or remainder does not fit into Fraction
+	 */
+	public Fraction floorMod(Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		if (fraction.numerator == 0) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		long b = this.denominator;
+		long d = fraction.denominator;
+		long g = LongMath.gcd(b, d);
+		long x = this.numerator * (d / g);
+		long y = fraction.numerator * (b / g);
+		long lcm = b * (d / g);
+
+		if (!LongMath.isMultiplyOverflow(this.numerator, d / g, x) &&
+			!LongMath.isMultiplyOverflow(fraction.numerator, b / g, y) &&
+			!LongMath.isMultiplyOverflow(b, d / g, lcm))
+		{
+			long r = x % y;
+
+			if (r != 0 && (r ^ y) < 0)
+			{
+				r += y;
+			}
+
+			if (r == 0)
+			{
+				return Fraction.createReduced(FractionConstants.ZERO, FractionConstants.ONE);
+			}
+
+			long gcd = LongMath.gcd(r, lcm);
+
+			return Fraction.createReduced(r / gcd, lcm / gcd);
+		}
+
+		BigFraction r = this.toBigFraction().floorMod(fraction.toBigFraction());
+
+		if (r.getNumerator().bitLength() > 63 || r.getDenominator().bitLength() > 63)
+		{
+			throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+		}
+
+		return Fraction.createReduced(r.getNumerator().longValue(), r.getDenominator().longValue());
+	}
+
 	/**
 	 * Returns the bigger fraction. If instance is bigger that inserted fraction return instance else return inserted fraction.
 	 * 
@@ -516,6 +1041,17 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	 * @throws ParseException If string haven't correct format
 	 */
 	public static Fraction tryParse (String s, Character separator) throws ParseException
+	{
+		if (!FractionMetrics.ENABLED) return Fraction.privateTryParse(s, separator);
+
+		long start = System.nanoTime();
+		Fraction result = Fraction.privateTryParse(s, separator);
+		FractionMetrics.record(FractionMetrics.Operation.FRACTION_PARSE, FractionMetrics.bitLength(result), 0, start);
+
+		return result;
+	}
+
+	private static Fraction privateTryParse (String s, Character separator) throws ParseException
 	{
 		if (s == null || s.isEmpty()) throw new IllegalArgumentException("String can not by empty.");
 		if (separator == null) throw new IllegalArgumentException("Seprator character can not by empty.");
@@ -605,10 +1141,21 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	 * @throws ParseException If string haven't correct format
 	 */
 	public static Fraction tryParse (String s) throws ParseException
+	{
+		if (!FractionMetrics.ENABLED) return Fraction.privateTryParse(s);
+
+		long start = System.nanoTime();
+		Fraction result = Fraction.privateTryParse(s);
+		FractionMetrics.record(FractionMetrics.Operation.FRACTION_PARSE, FractionMetrics.bitLength(result), 0, start);
+
+		return result;
+	}
+
+	private static Fraction privateTryParse (String s) throws ParseException
 	{
 		if (s.indexOf("/") > 0)
 		{
-			return Fraction.tryParse(s, '/');
+			return Fraction.privateTryParse(s, '/');
 		}
 		else
 		{
@@ -642,16 +1189,27 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	// Overide method
 	// -------------------------------------------------------------------------
 	
+	/**
+	 * {@link #longValue()} clamped to range of int.
+	 */
 	@Override
 	public int intValue()
 	{
 		return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, longValue()));
 	}
 
+	/**
+	 * Fraction rounded to the closest long, ties toward positive infinity like <em>Math.round()</em>, computed exactly
+	 * by integer division.
+	 * <p>
+	 * {@link BigFraction#longValue()} truncates toward zero instead. Both classes keep their original rule for
+	 * compatibility, use {@link #round(RoundingMode)}, {@link #floor()} or {@link #integerPart()} when the rule matters.
+	 * </p>
+	 */
 	@Override
 	public long longValue()
 	{
-		return Math.round(this.doubleValue());
+		return this.round(this.numerator < 0 ? RoundingMode.HALF_DOWN : RoundingMode.HALF_UP);
 	}
 
 	@Override
@@ -681,12 +1239,17 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 			return this.numerator.compareTo(fraction.getNumerator());
 		}
 
-		return Long.valueOf(this.numerator * fraction.getDenominator()).compareTo(this.denominator * fraction.getNumerator());
+		return LongMath.compareProducts(this.numerator, fraction.getDenominator(), fraction.getNumerator(), this.denominator);
 	}
 
 	@Override
 	public boolean equals(Object o)
 	{
+		if (o == this)
+		{
+			return true;
+		}
+
 		if((o == null) || (o.getClass() != this.getClass()))
 		{
 			return false;
@@ -707,7 +1270,7 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	@Override
 	public int hashCode()
 	{
-		return (13 + this.numerator.hashCode()) * 13 + this.denominator.hashCode();
+		return LongMath.hash(this.numerator, this.denominator);
 	}
 
 	/**
@@ -735,7 +1298,157 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 	// -------------------------------------------------------------------------
 	// Private method
 	// -------------------------------------------------------------------------
+
+	/**
+	 * @return canonical instance of fraction when interning is enabled, otherwise fraction itself
+	 */
+	private static Fraction canonical(Fraction fraction)
+	{
+		FractionInterner pool = Fraction.interner;
+
+		return pool == null ? fraction : pool.intern(fraction);
+	}
+
+	/**
+	 * Combine numerator sums grouped by denominator in longs.
+	 *
+	 * @return reduced sum or null when long overflows
+	 */
+	private static Fraction sumGroups(Map<Long, long[]> groups)
+	{
+		long num = FractionConstants.ZERO;
+		long den = FractionConstants.ONE;
+
+		for (Map.Entry<Long, long[]> group : groups.entrySet())
+		{
+			long d = group.getKey();
+			long n = group.getValue()[0];
+
+			long g = LongMath.gcd(den, d);
+			long dg = d / g;
+			long newDen = den * dg;
+			long left = num * dg;
+			long right = n * (den / g);
+
+			if (LongMath.isMultiplyOverflow(den, dg, newDen) ||
+				LongMath.isMultiplyOverflow(num, dg, left) ||
+				LongMath.isMultiplyOverflow(n, den / g, right))
+			{
+				return null;
+			}
+
+			long newNum = left + right;
+
+			if (LongMath.isAddOverflow(left, right, newNum) || newNum == Long.MIN_VALUE)
+			{
+				return null;
+			}
+
+			long gcd = LongMath.gcd(newNum, newDen);
+			num = newNum / gcd;
+			den = newDen / gcd;
+		}
+
+		return Fraction.canonical(new Fraction(num, den));
+	}
+
+	/**
+	 * Combine numerator sums grouped by denominator in BigIntegers.
+	 *
+	 * @throws ArithmeticException if sum does not fit into Fraction
+	 */
+	private static Fraction sumBigGroups(Map<Long, long[]> groups, Map<Long, BigInteger> bigGroups)
+	{
+		BigInteger num = BigInteger.ZERO;
+		BigInteger den = BigInteger.ONE;
+
+		for (Map.Entry<Long, long[]> group : groups.entrySet())
+		{
+			BigInteger d = BigInteger.valueOf(group.getKey());
+			BigInteger n = BigInteger.valueOf(group.getValue()[0]);
+
+			if (bigGroups != null && bigGroups.containsKey(group.getKey()))
+			{
+				n = n.add(bigGroups.get(group.getKey()));
+			}
+
+			BigInteger g = den.gcd(d);
+			num = num.multiply(d.divide(g)).add(n.multiply(den.divide(g)));
+			den = den.multiply(d.divide(g));
+		}
+
+		BigInteger gcd = num.gcd(den);
+
+		if (num.signum() == 0)
+		{
+			return Fraction.canonical(new Fraction(FractionConstants.ZERO, FractionConstants.ONE));
+		}
+
+		num = num.divide(gcd);
+		den = den.divide(gcd);
+
+		if (num.bitLength() > 63 || den.bitLength() > 63) throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+
+		return Fraction.canonical(new Fraction(num.longValue(), den.longValue()));
+	}
 	
+	/**
+	 * Round truncated quotient of integer division.
+	 *
+	 * @param q quotient rounded toward zero
+	 * @param r remainder with sign of dividend
+	 * @param d positive divisor
+	 *
+	 * @return rounded quotient
+	 */
+	private static long round(long q, long r, long d, RoundingMode roundingMode)
+	{
+		if (r == 0)
+		{
+			return q;
+		}
+
+		int sign = r < 0 ? -1 : 1;
+		boolean up;
+
+		switch (roundingMode)
+		{
+			case UP:
+				up = true;
+				break;
+			case DOWN:
+				up = false;
+				break;
+			case CEILING:
+				up = sign > 0;
+				break;
+			case FLOOR:
+				up = sign < 0;
+				break;
+			case HALF_UP:
+			case HALF_DOWN:
+			case HALF_EVEN:
+				// |r| < d, so compare |r| with d - |r| instead of 2|r| with d to avoid overflow
+				long abs = Math.abs(r);
+				long rest = d - abs;
+
+				if (abs == rest)
+				{
+					up = roundingMode == RoundingMode.HALF_UP || (roundingMode == RoundingMode.HALF_EVEN && (q & 1) != 0);
+				}
+				else
+				{
+					up = abs > rest;
+				}
+				break;
+			default:
+				throw new ArithmeticException("Rounding necessary.");
+		}
+
+		// r != 0 implies d > 1, so |q| < Long.MAX_VALUE / 2 and q + sign can not overflow
+		return up ? q + sign : q;
+	}
+
 	private static Long greatestCommonDivisor(long a, long b)
 	{
 		if (a < 1 || b < 1) throw new IllegalArgumentException("One of the specified numbers is less than 1.");
@@ -781,4 +1494,160 @@ public class Fraction extends Number implements Comparable<Fraction>, Cloneable,
 		BigDecimal bigDecimal = new BigDecimal(d);
 		return bigDecimal.toPlainString();
 	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Unreduced sum of fractions in longs, promoted to BigInteger after first overflow.
+	 * Denominator is least common multiple of added denominators. Accumulator is not thread safe.
+	 */
+	static final class Accumulator
+	{
+		private long numerator = FractionConstants.ZERO;
+		private long denominator = FractionConstants.ONE;
+		private BigInteger bigNumerator;
+		private BigInteger bigDenominator;
+
+		/**
+		 * Add fraction.
+		 */
+		void add (Fraction fraction)
+		{
+			this.add(fraction.numerator, fraction.denominator);
+		}
+
+		/**
+		 * Add value of other accumulator.
+		 */
+		void add (Accumulator accumulator)
+		{
+			if (accumulator.bigNumerator == null)
+			{
+				this.add(accumulator.numerator, accumulator.denominator);
+			}
+			else
+			{
+				this.addBig(accumulator.bigNumerator, accumulator.bigDenominator);
+			}
+		}
+
+		/**
+		 * Add cross reduced product of fractions.
+		 */
+		void addProduct (Fraction x, Fraction y)
+		{
+			this.addProduct(x.numerator, x.denominator, y.numerator, y.denominator);
+		}
+
+		/**
+		 * Add cross reduced product of fractions <em>xn/xd</em> and <em>yn/yd</em> with positive denominators.
+		 */
+		void addProduct (long xn, long xd, long yn, long yd)
+		{
+			long g1 = LongMath.gcd(xn, yd);
+			long g2 = LongMath.gcd(yn, xd);
+			long n1 = xn / g1;
+			long n2 = yn / g2;
+			long d1 = xd / g2;
+			long d2 = yd / g1;
+			long n = n1 * n2;
+			long d = d1 * d2;
+
+			if (LongMath.isMultiplyOverflow(n1, n2, n) || LongMath.isMultiplyOverflow(d1, d2, d))
+			{
+				this.addBig(BigInteger.valueOf(n1).multiply(BigInteger.valueOf(n2)), BigInteger.valueOf(d1).multiply(BigInteger.valueOf(d2)));
+			}
+			else
+			{
+				this.add(n, d);
+			}
+		}
+
+		/**
+		 * Add fraction n/d with positive denominator.
+		 */
+		void add (long n, long d)
+		{
+			if (this.bigNumerator == null)
+			{
+				long g = LongMath.gcd(this.denominator, d);
+				long dg = d / g;
+				long newDenominator = this.denominator * dg;
+				long left = this.numerator * dg;
+				long right = n * (this.denominator / g);
+				long newNumerator = left + right;
+
+				if (!LongMath.isMultiplyOverflow(this.denominator, dg, newDenominator) &&
+					!LongMath.isMultiplyOverflow(this.numerator, dg, left) &&
+					!LongMath.isMultiplyOverflow(n, this.denominator / g, right) &&
+					!LongMath.isAddOverflow(left, right, newNumerator) && newNumerator != Long.MIN_VALUE)
+				{
+					this.numerator = newNumerator;
+					this.denominator = newDenominator;
+					return;
+				}
+			}
+
+			this.addBig(BigInteger.valueOf(n), BigInteger.valueOf(d));
+		}
+
+		/**
+		 * Add fraction n/d with positive denominator in BigIntegers.
+		 */
+		void addBig (BigInteger n, BigInteger d)
+		{
+			if (this.bigNumerator == null)
+			{
+				this.bigNumerator = BigInteger.valueOf(this.numerator);
+				this.bigDenominator = BigInteger.valueOf(this.denominator);
+			}
+
+			BigInteger g = this.bigDenominator.gcd(d);
+			BigInteger dg = d.divide(g);
+
+			this.bigNumerator = this.bigNumerator.multiply(dg).add(n.multiply(this.bigDenominator.divide(g)));
+			this.bigDenominator = this.bigDenominator.multiply(dg);
+		}
+
+		/**
+		 * @return reduced sum
+		 */
+		BigFraction toBigFraction ()
+		{
+			if (this.bigNumerator != null)
+			{
+				return BigFraction.createFraction(this.bigNumerator, this.bigDenominator);
+			}
+
+			return BigFraction.createFraction(this.numerator, this.denominator);
+		}
+
+		/**
+		 * @throws ArithmeticException if sum does not fit into Fraction
+		 */
+		Fraction toFraction ()
+		{
+			if (this.bigNumerator != null)
+			{
+				BigInteger gcd = this.bigNumerator.gcd(this.bigDenominator);
+				BigInteger n = this.bigNumerator.divide(gcd);
+				BigInteger d = this.bigDenominator.divide(gcd);
+
+				if (n.bitLength() > 63 || d.bitLength() > 63) throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+
+				return Fraction.canonical(new Fraction(n.longValue(), d.longValue()));
+			}
+
+			if (this.numerator == FractionConstants.ZERO)
+			{
+				return Fraction.canonical(new Fraction(FractionConstants.ZERO, FractionConstants.ONE));
+			}
+
+			long gcd = LongMath.gcd(this.numerator, this.denominator);
+
+			return Fraction.canonical(new Fraction(this.numerator / gcd, this.denominator / gcd));
+		}
+	}
 }
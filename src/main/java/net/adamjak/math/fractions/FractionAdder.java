@@ -0,0 +1,189 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exact running sum of fractions for many writing threads, similar to <em>java.util.concurrent.atomic.LongAdder</em>.
+ * <p>
+ * Sum is spread over striped cells. Every cell keeps unreduced numerator and denominator of its part of the sum,
+ * promoted from longs to BigIntegers when they overflow, and the parts are combined and reduced only by
+ * {@link #sum()}. Threads which add concurrently are moved to different cells, so adding scales with number of
+ * processors. Sum read concurrently with updates is not an atomic snapshot, it may miss updates made during the read.
+ * </p>
+ * <pre>
+ * FractionAdder total = new FractionAdder();
+ * total.add(Fraction.createFraction(1, 3));
+ * Fraction sum = total.sum();
+ * </pre>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see BigFractionAdder
+ */
+public class FractionAdder
+{
+	private final FractionStripes<Cell> stripes = new FractionStripes<Cell>()
+	{
+		@Override
+		Cell newCell ()
+		{
+			return new Cell();
+		}
+
+		@Override
+		Cell[] newArray (int size)
+		{
+			return new Cell[size];
+		}
+	};
+
+	// -------------------------------------------------------------------------
+	// Adder method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param fraction (Fraction) added fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public void add (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		Cell cell = this.stripes.lock();
+
+		try
+		{
+			cell.accumulator.add(fraction);
+		}
+		finally
+		{
+			cell.unlock();
+		}
+	}
+
+	/**
+	 * @param number (long) added integer
+	 */
+	public void add (long number)
+	{
+		Cell cell = this.stripes.lock();
+
+		try
+		{
+			cell.accumulator.add(number, FractionConstants.ONE);
+		}
+		finally
+		{
+			cell.unlock();
+		}
+	}
+
+	/**
+	 * @return (Fraction) reduced sum of added fractions, zero if nothing was added
+	 *
+	 * @throws ArithmeticException if sum does not fit into Fraction
+	 */
+	public Fraction sum ()
+	{
+		return this.combine(false).toFraction();
+	}
+
+	/**
+	 * Set sum to zero.
+	 */
+	public void reset ()
+	{
+		this.combine(true);
+	}
+
+	/**
+	 * Same as {@link #sum()} followed by {@link #reset()}, but all cells are locked while the sum is read and
+	 * converted to Fraction, so no added fraction is lost. Cells are reset only when the conversion succeeds.
+	 *
+	 * @return (Fraction) reduced sum of added fractions, zero if nothing was added
+	 *
+	 * @throws ArithmeticException if sum does not fit into Fraction, sum is not reset then
+	 */
+	public Fraction sumThenReset ()
+	{
+		Cell[] cells = this.stripes.cells();
+		Fraction.Accumulator total = new Fraction.Accumulator();
+		int locked = 0;
+
+		try
+		{
+			for (Cell cell : cells)
+			{
+				cell.lock();
+				locked++;
+				total.add(cell.accumulator);
+			}
+
+			Fraction sum = total.toFraction();
+
+			for (Cell cell : cells)
+			{
+				cell.accumulator = new Fraction.Accumulator();
+			}
+
+			return sum;
+		}
+		finally
+		{
+			for (int i = 0; i < locked; i++)
+			{
+				cells[i].unlock();
+			}
+		}
+	}
+
+	@Override
+	public String toString ()
+	{
+		return this.sum().toString();
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private Fraction.Accumulator combine (boolean reset)
+	{
+		Fraction.Accumulator total = new Fraction.Accumulator();
+
+		for (Cell cell : this.stripes.cells())
+		{
+			cell.lock();
+
+			try
+			{
+				total.add(cell.accumulator);
+
+				if (reset)
+				{
+					cell.accumulator = new Fraction.Accumulator();
+				}
+			}
+			finally
+			{
+				cell.unlock();
+			}
+		}
+
+		return total;
+	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	private static final class Cell extends ReentrantLock
+	{
+		private Fraction.Accumulator accumulator = new Fraction.Accumulator();
+	}
+}
@@ -0,0 +1,382 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bulk operations over fractions stored in columns, as array of numerators and array of denominators.
+ * <p>
+ * Kernels work only with primitive longs, they don't create any objects and results are exact and reduced.
+ * Input fractions must be reduced with positive denominators, as created by {@link #split(Fraction[], long[], long[])}
+ * or {@link #reduce(long[], long[])}. Result arrays may be the same arrays as input arrays.
+ * </p>
+ * <p>
+ * On Java 17 and newer with module <em>jdk.incubator.vector</em>, multiply, add and compare kernels compute
+ * blocks of small fractions in vector lanes. Scalar loops are used for other fractions and on other runtimes.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see Fraction
+ */
+public final class FractionArrays
+{
+	private FractionArrays ()
+	{
+	}
+
+	// -------------------------------------------------------------------------
+	// Convert method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Split fractions to array of numerators and array of denominators.
+	 *
+	 * @param fractions (Fraction[]) source fractions
+	 * @param numerators (long[]) target numerators
+	 * @param denominators (long[]) target denominators
+	 *
+	 * @throws NullPointerException if some array or fraction is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 */
+	public static void split (Fraction[] fractions, long[] numerators, long[] denominators)
+	{
+		if (fractions == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		int length = FractionArrays.checkLength(numerators, denominators);
+
+		if (fractions.length != length) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+
+		for (int i = 0; i < length; i++)
+		{
+			if (fractions[i] == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+			numerators[i] = fractions[i].getNumerator();
+			denominators[i] = fractions[i].getDenominator();
+		}
+	}
+
+	/**
+	 * Create fractions from array of numerators and array of denominators.
+	 *
+	 * @param numerators (long[]) numerators
+	 * @param denominators (long[]) denominators
+	 *
+	 * @return (Fraction[])
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 * @throws ArithmeticException if some denominator is zero
+	 */
+	public static Fraction[] toFractions (long[] numerators, long[] denominators)
+	{
+		int length = FractionArrays.checkLength(numerators, denominators);
+		Fraction[] fractions = new Fraction[length];
+
+		for (int i = 0; i < length; i++)
+		{
+			fractions[i] = Fraction.createFraction(numerators[i], denominators[i]);
+		}
+
+		return fractions;
+	}
+
+	/**
+	 * Reduce fractions in place and move sign to numerators.
+	 *
+	 * @param numerators (long[]) numerators
+	 * @param denominators (long[]) denominators
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 * @throws ArithmeticException if some denominator is zero or fraction contains Long.MIN_VALUE
+	 */
+	public static void reduce (long[] numerators, long[] denominators)
+	{
+		int length = FractionArrays.checkLength(numerators, denominators);
+
+		for (int i = 0; i < length; i++)
+		{
+			long n = numerators[i];
+			long d = denominators[i];
+
+			if (d == FractionConstants.ZERO) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+			if (n == Long.MIN_VALUE || d == Long.MIN_VALUE) throw new ArithmeticException(FractionConstants.ERR_LONG_OVERFLOW);
+
+			if (d < 0)
+			{
+				n = -n;
+				d = -d;
+			}
+
+			long gcd = n == FractionConstants.ZERO ? d : LongMath.gcd(n, d);
+			numerators[i] = n / gcd;
+			denominators[i] = d / gcd;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Calculate method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Elementwise <em>result[i] = a[i] * b[i]</em>.
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 * @throws ArithmeticException if some result does not fit into longs
+	 */
+	public static void multiply (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, long[] resultNumerators, long[] resultDenominators)
+	{
+		int length = FractionArrays.checkLength(aNumerators, aDenominators, bNumerators, bDenominators, resultNumerators, resultDenominators);
+
+		if (FractionVectors.isAvailable())
+		{
+			FractionVectors.multiply(aNumerators, aDenominators, bNumerators, bDenominators, resultNumerators, resultDenominators, length);
+			return;
+		}
+
+		for (int i = 0; i < length; i++)
+		{
+			FractionArrays.multiplyAt(aNumerators[i], aDenominators[i], bNumerators[i], bDenominators[i], resultNumerators, resultDenominators, i);
+		}
+	}
+
+	/**
+	 * Elementwise <em>result[i] = a[i] + b[i]</em>.
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 * @throws ArithmeticException if some result does not fit into longs
+	 */
+	public static void add (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, long[] resultNumerators, long[] resultDenominators)
+	{
+		int length = FractionArrays.checkLength(aNumerators, aDenominators, bNumerators, bDenominators, resultNumerators, resultDenominators);
+
+		if (FractionVectors.isAvailable())
+		{
+			FractionVectors.add(aNumerators, aDenominators, bNumerators, bDenominators, resultNumerators, resultDenominators, length);
+			return;
+		}
+
+		for (int i = 0; i < length; i++)
+		{
+			FractionArrays.addAt(aNumerators[i], aDenominators[i], bNumerators[i], bDenominators[i], resultNumerators, resultDenominators, i);
+		}
+	}
+
+	/**
+	 * Elementwise <em>result[i] = a[i] * b[i] + c[i]</em>.
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 * @throws ArithmeticException if some result does not fit into longs
+	 */
+	public static void multiplyAdd (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators,
+									long[] cNumerators, long[] cDenominators, long[] resultNumerators, long[] resultDenominators)
+	{
+		int length = FractionArrays.checkLength(aNumerators, aDenominators, bNumerators, bDenominators, cNumerators, cDenominators, resultNumerators, resultDenominators);
+
+		if (FractionVectors.isAvailable())
+		{
+			FractionVectors.multiplyAdd(aNumerators, aDenominators, bNumerators, bDenominators, cNumerators, cDenominators, resultNumerators, resultDenominators, length);
+			return;
+		}
+
+		for (int i = 0; i < length; i++)
+		{
+			FractionArrays.multiplyAddAt(aNumerators[i], aDenominators[i], bNumerators[i], bDenominators[i], cNumerators[i], cDenominators[i], resultNumerators, resultDenominators, i);
+		}
+	}
+
+	/**
+	 * Elementwise exact comparison. Cross products are compared in 128 bits, so comparison never overflows.
+	 *
+	 * @param result (int[]) negative number, zero or positive number as <em>a[i]</em> is less than, equal to or greater than <em>b[i]</em>
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 */
+	public static void compare (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, int[] result)
+	{
+		int length = FractionArrays.checkLength(aNumerators, aDenominators, bNumerators, bDenominators);
+
+		if (result == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+		if (result.length != length) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+
+		if (FractionVectors.isAvailable())
+		{
+			FractionVectors.compare(aNumerators, aDenominators, bNumerators, bDenominators, result, length);
+			return;
+		}
+
+		for (int i = 0; i < length; i++)
+		{
+			result[i] = LongMath.compareProducts(aNumerators[i], bDenominators[i], bNumerators[i], aDenominators[i]);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Sort method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Sort fractions in ascending order. Fractions are pre-sorted by radix sort of a key made from their double
+	 * value and only fractions which can't be ordered by the key are compared exactly.
+	 *
+	 * @param numerators (long[]) numerators
+	 * @param denominators (long[]) positive denominators
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length or some denominator is not positive
+	 */
+	public static void sort (long[] numerators, long[] denominators)
+	{
+		int length = FractionArrays.checkLength(numerators, denominators);
+		FractionArrays.checkDenominators(denominators);
+
+		FractionSort.sort(numerators, denominators, 0, length);
+	}
+
+	/**
+	 * Sort fractions in ascending order in parallel. Parts of arrays are sorted as in {@link #sort(long[], long[])}
+	 * by fork/join tasks in inserted pool and then merged.
+	 *
+	 * @param numerators (long[]) numerators
+	 * @param denominators (long[]) positive denominators
+	 * @param pool (ForkJoinPool) pool which sorts fractions
+	 *
+	 * @throws NullPointerException if some array or pool is null
+	 * @throws IllegalArgumentException if arrays have different length or some denominator is not positive
+	 */
+	public static void parallelSort (long[] numerators, long[] denominators, ForkJoinPool pool)
+	{
+		if (pool == null) throw new NullPointerException("Pool is null.");
+
+		int length = FractionArrays.checkLength(numerators, denominators);
+		FractionArrays.checkDenominators(denominators);
+
+		FractionSort.parallelSort(numerators, denominators, 0, length, pool);
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	static int checkLength (long[]... arrays)
+	{
+		int length = -1;
+
+		for (long[] array : arrays)
+		{
+			if (array == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+
+			if (length == -1)
+			{
+				length = array.length;
+			}
+			else if (array.length != length)
+			{
+				throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+			}
+		}
+
+		return length;
+	}
+
+	static void checkDenominators (long[] denominators)
+	{
+		for (long denominator : denominators)
+		{
+			if (denominator <= 0) throw new IllegalArgumentException(FractionConstants.ERR_DENOMINATOR_NOT_POSITIVE);
+		}
+	}
+
+	/**
+	 * Divisor which reduces fraction to the form used by Fraction. Divisor has sign of denominator,
+	 * so reduced denominator is always positive and zero is reduced to 0/1.
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	static long reducer (long numerator, long denominator)
+	{
+		if (denominator == FractionConstants.ZERO) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		long gcd = LongMath.gcd(numerator, denominator);
+
+		if (denominator > 0)
+		{
+			return gcd;
+		}
+
+		// Long.MIN_VALUE divided by -1 stays negative, negated fraction needs 2^63 in numerator or denominator
+		if (gcd == FractionConstants.ONE && (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE))
+		{
+			throw new ArithmeticException(FractionConstants.ERR_LONG_OVERFLOW);
+		}
+
+		return -gcd;
+	}
+
+	/**
+	 * a/b * c/d with cross reduction, result is stored to index <em>i</em>.
+	 */
+	static void multiplyAt (long a, long b, long c, long d, long[] resultNumerators, long[] resultDenominators, int i)
+	{
+		if (a == FractionConstants.ZERO || c == FractionConstants.ZERO)
+		{
+			resultNumerators[i] = FractionConstants.ZERO;
+			resultDenominators[i] = FractionConstants.ONE;
+			return;
+		}
+
+		long g1 = LongMath.gcd(a, d);
+		long g2 = LongMath.gcd(c, b);
+
+		resultNumerators[i] = LongMath.multiplyExact(a / g1, c / g2);
+		resultDenominators[i] = LongMath.multiplyExact(b / g2, d / g1);
+	}
+
+	/**
+	 * a/b + c/d through gcd of denominators, result is stored to index <em>i</em>.
+	 */
+	static void addAt (long a, long b, long c, long d, long[] resultNumerators, long[] resultDenominators, int i)
+	{
+		if (b == d)
+		{
+			long t = LongMath.addExact(a, c);
+			long g = t == FractionConstants.ZERO ? b : LongMath.gcd(t, b);
+			resultNumerators[i] = t / g;
+			resultDenominators[i] = b / g;
+			return;
+		}
+
+		long g = LongMath.gcd(b, d);
+		long bg = b / g;
+		long t = LongMath.addExact(LongMath.multiplyExact(a, d / g), LongMath.multiplyExact(c, bg));
+
+		if (t == FractionConstants.ZERO)
+		{
+			resultNumerators[i] = FractionConstants.ZERO;
+			resultDenominators[i] = FractionConstants.ONE;
+			return;
+		}
+
+		long g2 = g == FractionConstants.ONE ? g : LongMath.gcd(t, g);
+		resultNumerators[i] = t / g2;
+		resultDenominators[i] = LongMath.multiplyExact(bg, d / g2);
+	}
+
+	/**
+	 * a/b * c/d + e/f, result is stored to index <em>i</em>.
+	 */
+	static void multiplyAddAt (long a, long b, long c, long d, long e, long f, long[] resultNumerators, long[] resultDenominators, int i)
+	{
+		FractionArrays.multiplyAt(a, b, c, d, resultNumerators, resultDenominators, i);
+		FractionArrays.addAt(resultNumerators[i], resultDenominators[i], e, f, resultNumerators, resultDenominators, i);
+	}
+}
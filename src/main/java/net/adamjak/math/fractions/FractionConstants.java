@@ -24,9 +24,17 @@ public class FractionConstants
 	public final static String ERR_NULL_DENOMINATOR = "Denominator is null.";
 	public final static String ERR_NULL_FRACTION = "Fraction is null.";
 	public final static String ERR_NULL_NUMBER = "Number is null.";
+	public final static String ERR_NULL_FRACTIONS = "Fractions are null.";
+	public final static String ERR_NULL_ARRAY = "Array is null.";
+	public final static String ERR_NULL_POLYNOMIAL = "Polynomial is null.";
+	public final static String ERR_ARRAY_LENGTH = "Arrays have different length.";
+	public final static String ERR_DENOMINATOR_NOT_POSITIVE = "Denominator is not positive.";
 	public final static String ERR_DIVITE_BY_ZERO = "Divide by zero.";
 	public final static String ERR_NUMBER_NAN = "Number is NaN.";
 	public final static String ERR_NUMBER_INFINITE = "Number is infinite.";
+	public final static String ERR_LONG_OVERFLOW = "Long overflow.";
+	public final static String ERR_FRACTION_OVERFLOW = "Value does not fit into Fraction.";
+	public final static String ERR_EXPONENT_OUT_OF_RANGE = "Exponent is out of range.";
 
 	// -------------------------------------------------------------------------
 	// The most popular fractions
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Package private array of concurrent counters used by {@link FractionMetrics}.
+ * <p>
+ * Java 17 version of the class from multi-release JAR uses <em>LongAdder</em> cells, which do not contend
+ * between threads.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+final class FractionCounters
+{
+	private final AtomicLongArray counters;
+
+	FractionCounters (int size)
+	{
+		this.counters = new AtomicLongArray(size);
+	}
+
+	/**
+	 * @param index index of counter
+	 * @param value added value
+	 */
+	void add (int index, long value)
+	{
+		this.counters.addAndGet(index, value);
+	}
+
+	/**
+	 * @param index index of counter
+	 *
+	 * @return current value of counter
+	 */
+	long get (int index)
+	{
+		return this.counters.get(index);
+	}
+
+	/**
+	 * Set all counters to zero. Concurrent updates may survive reset.
+	 */
+	void reset ()
+	{
+		for (int i = 0; i < this.counters.length(); i++)
+		{
+			this.counters.set(i, 0);
+		}
+	}
+}
@@ -0,0 +1,318 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Asynchronous evaluation of batches of independent exact computations.
+ * <p>
+ * Jobs run on executor of the evaluator. Default executor creates virtual thread for every job on Java 21 and newer
+ * and it is fork/join pool with one thread per processor otherwise. Jobs with large operands can use a lot of memory,
+ * so number of large jobs running at the same time is limited. Other large jobs wait in queue of the evaluator and
+ * they are passed to executor when running large job finishes, so waiting jobs never block threads of executor and
+ * small jobs can run in the meantime. Expression rows are large when some value has numerator or denominator with at least
+ * <em>largeBitLength</em> bits, other jobs tell it on submit.
+ * </p>
+ * <pre>
+ * FractionEvaluator evaluator = new FractionEvaluator();
+ * List&lt;Future&lt;BigFraction&gt;&gt; results = evaluator.evaluateAll(FractionExpression.compile("x * y + 1"), rows);
+ * </pre>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see FractionExpression
+ */
+public class FractionEvaluator
+{
+	/**
+	 * Default bit length of large operand.
+	 */
+	public static final int DEFAULT_LARGE_BIT_LENGTH = 1 << 12;
+
+	private final ExecutorService executor;
+	private final boolean ownExecutor;
+	private final Semaphore largeJobs;
+	private final Queue<LargeJob<?>> pendingLargeJobs = new ConcurrentLinkedQueue<LargeJob<?>>();
+	private final int maxLargeJobs;
+	private final int largeBitLength;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create evaluator with default executor, which is shut down by {@link #shutdown()}, one large job per processor
+	 * and {@link #DEFAULT_LARGE_BIT_LENGTH}.
+	 */
+	public FractionEvaluator ()
+	{
+		this(FractionEvaluator.defaultExecutor(), true, Runtime.getRuntime().availableProcessors(), DEFAULT_LARGE_BIT_LENGTH);
+	}
+
+	/**
+	 * Create evaluator with own executor. Executor is not shut down by {@link #shutdown()}.
+	 *
+	 * @param executor (ExecutorService) executor which runs jobs
+	 * @param maxLargeJobs (int) maximal number of large jobs running at the same time
+	 * @param largeBitLength (int) bit length from which operand of expression is large
+	 *
+	 * @throws NullPointerException if executor is null
+	 * @throws IllegalArgumentException if maxLargeJobs or largeBitLength is not positive
+	 */
+	public FractionEvaluator (ExecutorService executor, int maxLargeJobs, int largeBitLength)
+	{
+		this(executor, false, maxLargeJobs, largeBitLength);
+	}
+
+	private FractionEvaluator (ExecutorService executor, boolean ownExecutor, int maxLargeJobs, int largeBitLength)
+	{
+		if (executor == null) throw new NullPointerException("Executor is null.");
+		if (maxLargeJobs < 1) throw new IllegalArgumentException("Maximal number of large jobs is not positive.");
+		if (largeBitLength < 1) throw new IllegalArgumentException("Bit length is not positive.");
+
+		this.executor = executor;
+		this.ownExecutor = ownExecutor;
+		this.largeJobs = new Semaphore(maxLargeJobs);
+		this.maxLargeJobs = maxLargeJobs;
+		this.largeBitLength = largeBitLength;
+	}
+
+	// -------------------------------------------------------------------------
+	// Evaluate method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Evaluate expression asynchronously.
+	 *
+	 * @param expression (FractionExpression) evaluated expression
+	 * @param values (BigFraction...) values of variables
+	 *
+	 * @return (Future) value of expression, exceptions of evaluation are thrown by its get method
+	 *
+	 * @throws NullPointerException if expression or values are null
+	 */
+	public Future<BigFraction> evaluate (FractionExpression expression, BigFraction... values)
+	{
+		if (expression == null) throw new NullPointerException("Expression is null.");
+		if (values == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		return this.submit(new ExpressionJob(expression, values), this.isLarge(values));
+	}
+
+	/**
+	 * Evaluate expression for every row of values asynchronously, rows are evaluated in parallel.
+	 *
+	 * @param expression (FractionExpression) evaluated expression
+	 * @param rows (List) values of variables for every row
+	 *
+	 * @return (List) values of expression in order of rows
+	 *
+	 * @throws NullPointerException if expression, rows or some row is null
+	 */
+	public List<Future<BigFraction>> evaluateAll (FractionExpression expression, List<BigFraction[]> rows)
+	{
+		if (expression == null) throw new NullPointerException("Expression is null.");
+		if (rows == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		List<Future<BigFraction>> results = new ArrayList<Future<BigFraction>>(rows.size());
+
+		for (BigFraction[] row : rows)
+		{
+			results.add(this.evaluate(expression, row));
+		}
+
+		return results;
+	}
+
+	/**
+	 * Run any job, for example chain of BigFraction operations, asynchronously.
+	 *
+	 * @param job (Callable) computation
+	 * @param large (boolean) true if job works with large operands and must wait for permit of large jobs
+	 *
+	 * @return (Future) result of job, when executor rejects large job its get method throws exception with cause
+	 * RejectedExecutionException
+	 *
+	 * @throws NullPointerException if job is null
+	 */
+	public <T> Future<T> submit (Callable<T> job, boolean large)
+	{
+		if (job == null) throw new NullPointerException("Job is null.");
+
+		if (!large)
+		{
+			return this.executor.submit(job);
+		}
+
+		LargeJob<T> task = new LargeJob<T>(job);
+		this.pendingLargeJobs.add(task);
+		this.dispatchLargeJobs();
+
+		return task;
+	}
+
+	/**
+	 * Shut down executor created by evaluator. Own executor given to constructor is not shut down.
+	 */
+	public void shutdown ()
+	{
+		if (this.ownExecutor)
+		{
+			this.executor.shutdown();
+		}
+	}
+
+	/**
+	 * @return (ExecutorService) executor which runs jobs
+	 */
+	public ExecutorService getExecutor ()
+	{
+		return this.executor;
+	}
+
+	/**
+	 * @return (int) maximal number of large jobs running at the same time
+	 */
+	public int getMaxLargeJobs ()
+	{
+		return this.maxLargeJobs;
+	}
+
+	/**
+	 * @return (int) bit length from which operand of expression is large
+	 */
+	public int getLargeBitLength ()
+	{
+		return this.largeBitLength;
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Pass waiting large jobs to executor while permits are available. Called after new large job is queued and after
+	 * large job releases its permit, so one of these calls always sees both the job and the permit.
+	 */
+	private void dispatchLargeJobs ()
+	{
+		while (!this.pendingLargeJobs.isEmpty() && this.largeJobs.tryAcquire())
+		{
+			LargeJob<?> task = this.pendingLargeJobs.poll();
+
+			if (task == null)
+			{
+				this.largeJobs.release();
+				continue;
+			}
+
+			try
+			{
+				this.executor.execute(task);
+			}
+			catch (RejectedExecutionException e)
+			{
+				this.largeJobs.release();
+				task.reject(e);
+			}
+		}
+	}
+
+	private boolean isLarge (BigFraction[] values)
+	{
+		for (BigFraction value : values)
+		{
+			if (value != null && FractionMetrics.bitLength(value) >= this.largeBitLength)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Executor with virtual thread per job, which is available from Java 21, or fork/join pool.
+	 */
+	private static ExecutorService defaultExecutor ()
+	{
+		try
+		{
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+			return (ExecutorService) factory.invoke(null);
+		}
+		catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e)
+		{
+			return new ForkJoinPool();
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Large job holding permit while it runs, cancelled job only gives permit back.
+	 */
+	private final class LargeJob<T> extends FutureTask<T>
+	{
+		LargeJob (Callable<T> job)
+		{
+			super(job);
+		}
+
+		@Override
+		public void run ()
+		{
+			try
+			{
+				super.run();
+			}
+			finally
+			{
+				FractionEvaluator.this.largeJobs.release();
+				FractionEvaluator.this.dispatchLargeJobs();
+			}
+		}
+
+		void reject (RejectedExecutionException e)
+		{
+			this.setException(e);
+		}
+	}
+
+	private static final class ExpressionJob implements Callable<BigFraction>
+	{
+		private final FractionExpression expression;
+		private final BigFraction[] values;
+
+		ExpressionJob (FractionExpression expression, BigFraction[] values)
+		{
+			this.expression = expression;
+			this.values = values.clone();
+		}
+
+		@Override
+		public BigFraction call ()
+		{
+			return this.expression.evaluateBig(this.values);
+		}
+	}
+}
@@ -0,0 +1,1043 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Arithmetic expression with rational numbers and variables, compiled to reusable evaluation plan.
+ * <p>
+ * Expression can contain integer and decimal literals (decimal separator is '.'), variables, operators
+ * <em>+ - * /</em>, power with integer exponent <em>^</em> and parentheses, for example <em>(a + b/3) * c - 7/8</em>.
+ * </p>
+ * <p>
+ * Compilation flattens sums and products, folds constants and compiles expression to program for stack machine.
+ * Sum of many terms is evaluated over their common denominator and reduced only once. Plan evaluates rows of
+ * primitive columns in longs without creating objects. Row which overflows longs is evaluated again with BigIntegers,
+ * so results are always exact.
+ * </p>
+ * <pre>
+ * FractionExpression expression = FractionExpression.compile("(a + b/3) * c - 7/8", "a", "b", "c");
+ * Fraction result = expression.evaluate(a, b, c);
+ * expression.evaluateColumns(numerators, denominators, resultNumerators, resultDenominators);
+ * </pre>
+ * <p>
+ * Compiled expression is immutable and thread safe.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+public final class FractionExpression
+{
+	private static final int CONST = 0;
+	private static final int VAR = 1;
+	private static final int NEG = 2;
+	private static final int INV = 3;
+	private static final int POW = 4;
+	private static final int SUM = 5;
+	private static final int PRODUCT = 6;
+
+	private static final Overflow OVERFLOW = new Overflow();
+
+	private final String[] variables;
+	private final Node root;
+	private final int[] code;
+	private final int stackSize;
+	private final long[] constantNumerators;
+	private final long[] constantDenominators;
+	private final BigFraction[] constants;
+
+	/**
+	 * Some constant does not fit into longs, so every row is evaluated with BigIntegers.
+	 */
+	private final boolean bigOnly;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	private FractionExpression (String[] variables, Node root)
+	{
+		List<Integer> program = new ArrayList<Integer>();
+		List<BigFraction> constantList = new ArrayList<BigFraction>();
+
+		this.variables = variables;
+		this.root = root;
+		this.stackSize = root.emit(program, constantList);
+		this.code = new int[program.size()];
+
+		for (int i = 0; i < this.code.length; i++)
+		{
+			this.code[i] = program.get(i);
+		}
+
+		this.constants = constantList.toArray(new BigFraction[constantList.size()]);
+		this.constantNumerators = new long[this.constants.length];
+		this.constantDenominators = new long[this.constants.length];
+		boolean big = false;
+
+		for (int i = 0; i < this.constants.length; i++)
+		{
+			BigInteger numerator = this.constants[i].getNumerator();
+			BigInteger denominator = this.constants[i].getDenominator();
+
+			if (numerator.bitLength() > 62 || denominator.bitLength() > 62)
+			{
+				big = true;
+			}
+
+			this.constantNumerators[i] = numerator.longValue();
+			this.constantDenominators[i] = denominator.longValue();
+		}
+
+		this.bigOnly = big;
+	}
+
+	// -------------------------------------------------------------------------
+	// Fabric method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Compile expression. Variables are ordered as they first appear in expression.
+	 *
+	 * @param expression (String)
+	 *
+	 * @return (FractionExpression)
+	 *
+	 * @throws IllegalArgumentException if expression is null or empty
+	 * @throws ParseException if expression haven't correct format
+	 * @throws ArithmeticException if expression divides by constant zero
+	 */
+	public static FractionExpression compile (String expression) throws ParseException
+	{
+		return FractionExpression.compile(expression, (String[]) null);
+	}
+
+	/**
+	 * Compile expression with variables in inserted order. Order of variables is order of values and columns
+	 * in evaluation methods.
+	 *
+	 * @param expression (String)
+	 * @param variables (String...) names of variables
+	 *
+	 * @return (FractionExpression)
+	 *
+	 * @throws IllegalArgumentException if expression is null or empty or variables are not unique
+	 * @throws ParseException if expression haven't correct format or contains unknown variable
+	 * @throws ArithmeticException if expression divides by constant zero
+	 */
+	public static FractionExpression compile (String expression, String... variables) throws ParseException
+	{
+		if (expression == null || expression.trim().isEmpty()) throw new IllegalArgumentException("Expression can not by empty.");
+
+		List<String> names = new ArrayList<String>();
+
+		if (variables != null)
+		{
+			for (String variable : variables)
+			{
+				if (variable == null || names.contains(variable)) throw new IllegalArgumentException("Variables are not unique.");
+
+				names.add(variable);
+			}
+		}
+
+		Parser parser = new Parser(expression, names, variables == null);
+		Node root = parser.parse().fold();
+
+		return new FractionExpression(names.toArray(new String[names.size()]), root);
+	}
+
+	// -------------------------------------------------------------------------
+	// Evaluate method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return (String[]) names of variables in order of values
+	 */
+	public String[] getVariables ()
+	{
+		return this.variables.clone();
+	}
+
+	/**
+	 * @param values (Fraction...) values of variables
+	 *
+	 * @return (Fraction) value of expression
+	 *
+	 * @throws NullPointerException if some value is null
+	 * @throws IllegalArgumentException if number of values is not number of variables
+	 * @throws ArithmeticException if expression divides by zero or result does not fit into Fraction
+	 */
+	public Fraction evaluate (Fraction... values)
+	{
+		if (values == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+		if (values.length != this.variables.length) throw new IllegalArgumentException("Wrong number of values.");
+
+		long[][] numerators = new long[values.length][1];
+		long[][] denominators = new long[values.length][1];
+
+		for (int i = 0; i < values.length; i++)
+		{
+			if (values[i] == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+			numerators[i][0] = values[i].getNumerator();
+			denominators[i][0] = values[i].getDenominator();
+		}
+
+		long[] resultNumerators = new long[1];
+		long[] resultDenominators = new long[1];
+		this.evaluateColumns(numerators, denominators, resultNumerators, resultDenominators);
+
+		return Fraction.createReduced(resultNumerators[0], resultDenominators[0]);
+	}
+
+	/**
+	 * @param values (BigFraction...) values of variables
+	 *
+	 * @return (BigFraction) value of expression
+	 *
+	 * @throws NullPointerException if some value is null
+	 * @throws IllegalArgumentException if number of values is not number of variables
+	 * @throws ArithmeticException if expression divides by zero
+	 */
+	public BigFraction evaluateBig (BigFraction... values)
+	{
+		if (values == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+		if (values.length != this.variables.length) throw new IllegalArgumentException("Wrong number of values.");
+
+		for (BigFraction value : values)
+		{
+			if (value == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		}
+
+		return this.evaluateBig(new BigFraction[this.stackSize], values);
+	}
+
+	/**
+	 * Evaluate expression for every row of columns. Column <em>i</em> contains values of variable <em>i</em>,
+	 * fractions in columns must be reduced with positive denominators. Results are reduced.
+	 *
+	 * @param numerators (long[][]) numerators of variables
+	 * @param denominators (long[][]) denominators of variables
+	 * @param resultNumerators (long[]) target numerators
+	 * @param resultDenominators (long[]) target denominators
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if number of columns is not number of variables or arrays have different length
+	 * @throws ArithmeticException if expression divides by zero or some result does not fit into longs
+	 */
+	public void evaluateColumns (long[][] numerators, long[][] denominators, long[] resultNumerators, long[] resultDenominators)
+	{
+		if (numerators == null || denominators == null || resultNumerators == null || resultDenominators == null)
+		{
+			throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+		}
+
+		if (numerators.length != this.variables.length || denominators.length != this.variables.length)
+		{
+			throw new IllegalArgumentException("Wrong number of columns.");
+		}
+
+		int rows = resultNumerators.length;
+
+		if (resultDenominators.length != rows) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+
+		for (int i = 0; i < this.variables.length; i++)
+		{
+			if (numerators[i] == null || denominators[i] == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+			if (numerators[i].length != rows || denominators[i].length != rows) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+		}
+
+		long[] stackNumerators = new long[this.stackSize];
+		long[] stackDenominators = new long[this.stackSize];
+
+		for (int row = 0; row < rows; row++)
+		{
+			if (!this.bigOnly)
+			{
+				try
+				{
+					this.evaluateLong(numerators, denominators, row, stackNumerators, stackDenominators);
+					resultNumerators[row] = stackNumerators[0];
+					resultDenominators[row] = stackDenominators[0];
+					continue;
+				}
+				catch (Overflow o)
+				{
+					// evaluated again with BigIntegers
+				}
+			}
+
+			BigFraction[] values = new BigFraction[this.variables.length];
+
+			for (int i = 0; i < values.length; i++)
+			{
+				values[i] = BigFraction.createFraction(numerators[i][row], denominators[i][row]);
+			}
+
+			BigFraction result = this.evaluateBig(new BigFraction[this.stackSize], values);
+
+			if (result.getNumerator().bitLength() > 63 || result.getDenominator().bitLength() > 63)
+			{
+				throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+			}
+
+			resultNumerators[row] = result.getNumerator().longValue();
+			resultDenominators[row] = result.getDenominator().longValue();
+		}
+	}
+
+	/**
+	 * Evaluate expression for every row of columns. Column <em>i</em> contains values of variable <em>i</em>.
+	 *
+	 * @param columns (BigFraction[][]) values of variables
+	 *
+	 * @return (BigFraction[]) values of expression for rows
+	 *
+	 * @throws NullPointerException if some column or value is null
+	 * @throws IllegalArgumentException if number of columns is not number of variables or columns have different length
+	 * @throws ArithmeticException if expression divides by zero
+	 */
+	public BigFraction[] evaluateBigColumns (BigFraction[][] columns)
+	{
+		if (columns == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+		if (columns.length != this.variables.length) throw new IllegalArgumentException("Wrong number of columns.");
+
+		int rows = -1;
+
+		for (BigFraction[] column : columns)
+		{
+			if (column == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+			if (rows != -1 && column.length != rows) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+
+			rows = column.length;
+		}
+
+		if (rows == -1)
+		{
+			throw new IllegalArgumentException("Expression without variables has no rows.");
+		}
+
+		BigFraction[] results = new BigFraction[rows];
+		BigFraction[] stack = new BigFraction[this.stackSize];
+		BigFraction[] values = new BigFraction[columns.length];
+
+		for (int row = 0; row < rows; row++)
+		{
+			for (int i = 0; i < columns.length; i++)
+			{
+				if (columns[i][row] == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+				values[i] = columns[i][row];
+			}
+
+			results[row] = this.evaluateBig(stack, values);
+		}
+
+		return results;
+	}
+
+	/**
+	 * @return expression after constant folding, with parentheses around every operation
+	 */
+	@Override
+	public String toString ()
+	{
+		return this.root.toString(this.variables);
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Evaluate one row in longs, result is on the bottom of stack.
+	 *
+	 * @throws Overflow if some operation overflows longs
+	 */
+	private void evaluateLong (long[][] numerators, long[][] denominators, int row, long[] sn, long[] sd)
+	{
+		int sp = 0;
+		int pc = 0;
+
+		while (pc < this.code.length)
+		{
+			switch (this.code[pc])
+			{
+				case CONST:
+					sn[sp] = this.constantNumerators[this.code[pc + 1]];
+					sd[sp++] = this.constantDenominators[this.code[pc + 1]];
+					pc += 2;
+					break;
+				case VAR:
+					sn[sp] = numerators[this.code[pc + 1]][row];
+					sd[sp++] = denominators[this.code[pc + 1]][row];
+					pc += 2;
+					break;
+				case NEG:
+					if (sn[sp - 1] == Long.MIN_VALUE) throw OVERFLOW;
+
+					sn[sp - 1] = -sn[sp - 1];
+					pc++;
+					break;
+				case INV:
+				{
+					long n = sn[sp - 1];
+
+					if (n == FractionConstants.ZERO) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+					if (n == Long.MIN_VALUE) throw OVERFLOW;
+
+					sn[sp - 1] = n < 0 ? -sd[sp - 1] : sd[sp - 1];
+					sd[sp - 1] = Math.abs(n);
+					pc++;
+					break;
+				}
+				case POW:
+				{
+					long n = FractionConstants.ONE;
+					long d = FractionConstants.ONE;
+					long bn = sn[sp - 1];
+					long bd = sd[sp - 1];
+
+					for (int e = this.code[pc + 1]; e > 0; e >>= 1)
+					{
+						if ((e & 1) == 1)
+						{
+							n = FractionExpression.multiply(n, bn);
+							d = FractionExpression.multiply(d, bd);
+						}
+
+						if (e > 1)
+						{
+							bn = FractionExpression.multiply(bn, bn);
+							bd = FractionExpression.multiply(bd, bd);
+						}
+					}
+
+					sn[sp - 1] = n;
+					sd[sp - 1] = d;
+					pc += 2;
+					break;
+				}
+				case SUM:
+				{
+					int k = this.code[pc + 1];
+					sp -= k;
+					long n = sn[sp];
+					long d = sd[sp];
+
+					// common denominator of all terms, reduced only at the end
+					for (int i = sp + 1; i < sp + k; i++)
+					{
+						if (sd[i] == d)
+						{
+							n = FractionExpression.add(n, sn[i]);
+						}
+						else
+						{
+							long g = LongMath.gcd(d, sd[i]);
+							long dg = sd[i] / g;
+							n = FractionExpression.add(FractionExpression.multiply(n, dg), FractionExpression.multiply(sn[i], d / g));
+							d = FractionExpression.multiply(d, dg);
+						}
+					}
+
+					long g = n == FractionConstants.ZERO ? d : LongMath.gcd(n, d);
+					sn[sp] = n / g;
+					sd[sp++] = d / g;
+					pc += 2;
+					break;
+				}
+				case PRODUCT:
+				{
+					int k = this.code[pc + 1];
+					sp -= k;
+					long n = sn[sp];
+					long d = sd[sp];
+
+					// cross reduction keeps product reduced
+					for (int i = sp + 1; i < sp + k; i++)
+					{
+						long g1 = LongMath.gcd(sn[i], d);
+						long g2 = LongMath.gcd(n, sd[i]);
+						n = FractionExpression.multiply(n / g2, sn[i] / g1);
+						d = FractionExpression.multiply(d / g1, sd[i] / g2);
+					}
+
+					sn[sp] = n;
+					sd[sp++] = d;
+					pc += 2;
+					break;
+				}
+				default:
+					throw new IllegalStateException();
+			}
+		}
+
+		// variables and constants are reduced, result of POW or NEG of them too
+		long g = sn[0] == FractionConstants.ZERO ? sd[0] : LongMath.gcd(sn[0], sd[0]);
+		sn[0] /= g;
+		sd[0] /= g;
+	}
+
+	private BigFraction evaluateBig (BigFraction[] stack, BigFraction[] values)
+	{
+		int sp = 0;
+		int pc = 0;
+
+		while (pc < this.code.length)
+		{
+			switch (this.code[pc])
+			{
+				case CONST:
+					stack[sp++] = this.constants[this.code[pc + 1]];
+					pc += 2;
+					break;
+				case VAR:
+					stack[sp++] = values[this.code[pc + 1]];
+					pc += 2;
+					break;
+				case NEG:
+					stack[sp - 1] = stack[sp - 1].multiply(-1);
+					pc++;
+					break;
+				case INV:
+					stack[sp - 1] = stack[sp - 1].reciprocal();
+					pc++;
+					break;
+				case POW:
+					stack[sp - 1] = stack[sp - 1].pow(this.code[pc + 1]);
+					pc += 2;
+					break;
+				case SUM:
+				{
+					int k = this.code[pc + 1];
+					sp -= k;
+					BigInteger n = stack[sp].getNumerator();
+					BigInteger d = stack[sp].getDenominator();
+
+					for (int i = sp + 1; i < sp + k; i++)
+					{
+						BigInteger termDenominator = stack[i].getDenominator();
+
+						if (termDenominator.equals(d))
+						{
+							n = n.add(stack[i].getNumerator());
+						}
+						else
+						{
+							BigInteger g = d.gcd(termDenominator);
+							BigInteger dg = termDenominator.divide(g);
+							n = n.multiply(dg).add(stack[i].getNumerator().multiply(d.divide(g)));
+							d = d.multiply(dg);
+						}
+					}
+
+					stack[sp++] = BigFraction.createFraction(n, d);
+					pc += 2;
+					break;
+				}
+				case PRODUCT:
+				{
+					int k = this.code[pc + 1];
+					sp -= k;
+					BigInteger n = stack[sp].getNumerator();
+					BigInteger d = stack[sp].getDenominator();
+
+					for (int i = sp + 1; i < sp + k; i++)
+					{
+						n = n.multiply(stack[i].getNumerator());
+						d = d.multiply(stack[i].getDenominator());
+					}
+
+					stack[sp++] = BigFraction.createFraction(n, d);
+					pc += 2;
+					break;
+				}
+				default:
+					throw new IllegalStateException();
+			}
+		}
+
+		return stack[0];
+	}
+
+	private static long multiply (long x, long y)
+	{
+		long r = x * y;
+
+		if (LongMath.isMultiplyOverflow(x, y, r) || r == Long.MIN_VALUE) throw OVERFLOW;
+
+		return r;
+	}
+
+	private static long add (long x, long y)
+	{
+		long r = x + y;
+
+		if (LongMath.isAddOverflow(x, y, r) || r == Long.MIN_VALUE) throw OVERFLOW;
+
+		return r;
+	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Shared exception without stack trace which switches evaluation of row to BigIntegers.
+	 */
+	private static final class Overflow extends RuntimeException
+	{
+		private Overflow ()
+		{
+			super(FractionConstants.ERR_LONG_OVERFLOW, null, false, false);
+		}
+	}
+
+	/**
+	 * Node of expression tree.
+	 */
+	private static final class Node
+	{
+		private final int type;
+		private final BigFraction value;
+		private final int index;
+		private final List<Node> children;
+
+		private Node (int type, BigFraction value, int index, List<Node> children)
+		{
+			this.type = type;
+			this.value = value;
+			this.index = index;
+			this.children = children;
+		}
+
+		static Node constant (BigFraction value)
+		{
+			return new Node(CONST, value, 0, null);
+		}
+
+		static Node variable (int index)
+		{
+			return new Node(VAR, null, index, null);
+		}
+
+		static Node unary (int type, Node child, int index)
+		{
+			List<Node> children = new ArrayList<Node>(1);
+			children.add(child);
+
+			return new Node(type, null, index, children);
+		}
+
+		static Node nary (int type, List<Node> children)
+		{
+			return children.size() == 1 ? children.get(0) : new Node(type, null, 0, children);
+		}
+
+		boolean isConstant ()
+		{
+			return this.type == CONST;
+		}
+
+		/**
+		 * Fold constants bottom up. Nested sums and products are flattened and their constants are combined
+		 * to one constant. Rewrites which could drop division by zero, like <em>1/(1/x) = x</em> or
+		 * <em>x^0 = 1</em>, are applied only to constants.
+		 */
+		Node fold ()
+		{
+			switch (this.type)
+			{
+				case CONST:
+				case VAR:
+					return this;
+				case NEG:
+				{
+					Node child = this.children.get(0).fold();
+
+					if (child.isConstant()) return Node.constant(child.value.multiply(-1));
+					if (child.type == NEG) return child.children.get(0);
+
+					return Node.unary(NEG, child, 0);
+				}
+				case INV:
+				{
+					Node child = this.children.get(0).fold();
+
+					if (child.isConstant()) return Node.constant(child.value.reciprocal());
+
+					return Node.unary(INV, child, 0);
+				}
+				case POW:
+				{
+					Node child = this.children.get(0).fold();
+
+					if (this.index == 1) return child;
+					if (child.isConstant()) return Node.constant(child.value.pow(this.index));
+
+					return Node.unary(POW, child, this.index);
+				}
+				default:
+					return this.foldNary();
+			}
+		}
+
+		private Node foldNary ()
+		{
+			List<Node> folded = new ArrayList<Node>();
+			BigFraction constant = this.type == SUM ? BigFraction.createFraction(0) : BigFraction.createFraction(1);
+
+			for (Node child : this.children)
+			{
+				Node node = child.fold();
+				List<Node> parts = node.type == this.type ? node.children : Collections.singletonList(node);
+
+				for (Node part : parts)
+				{
+					if (part.isConstant())
+					{
+						constant = this.type == SUM ? constant.add(part.value) : constant.multiply(part.value);
+					}
+					else
+					{
+						folded.add(part);
+					}
+				}
+			}
+
+			if (folded.isEmpty())
+			{
+				return Node.constant(constant);
+			}
+
+			if (this.type == SUM)
+			{
+				if (constant.getNumerator().signum() != 0) folded.add(Node.constant(constant));
+			}
+			else if (constant.equals(BigFraction.createFraction(-1)))
+			{
+				return Node.unary(NEG, Node.nary(PRODUCT, folded), 0);
+			}
+			else if (!constant.equals(BigFraction.createFraction(1)))
+			{
+				folded.add(0, Node.constant(constant));
+			}
+
+			return Node.nary(this.type, folded);
+		}
+
+		/**
+		 * Emit program in postfix order.
+		 *
+		 * @return size of stack needed by node
+		 */
+		int emit (List<Integer> program, List<BigFraction> constants)
+		{
+			switch (this.type)
+			{
+				case CONST:
+					program.add(CONST);
+					program.add(constants.size());
+					constants.add(this.value);
+					return 1;
+				case VAR:
+					program.add(VAR);
+					program.add(this.index);
+					return 1;
+				case NEG:
+				case INV:
+				{
+					int size = this.children.get(0).emit(program, constants);
+					program.add(this.type);
+					return size;
+				}
+				case POW:
+				{
+					int size = this.children.get(0).emit(program, constants);
+					program.add(POW);
+					program.add(this.index);
+					return size;
+				}
+				default:
+				{
+					int size = 0;
+
+					for (int i = 0; i < this.children.size(); i++)
+					{
+						size = Math.max(size, i + this.children.get(i).emit(program, constants));
+					}
+
+					program.add(this.type);
+					program.add(this.children.size());
+					return size;
+				}
+			}
+		}
+
+		String toString (String[] variables)
+		{
+			switch (this.type)
+			{
+				case CONST:
+					return this.value.getDenominator().equals(BigInteger.ONE) ? this.value.getNumerator().toString() : "(" + this.value.toString() + ")";
+				case VAR:
+					return variables[this.index];
+				case NEG:
+					return "(-" + this.children.get(0).toString(variables) + ")";
+				case INV:
+					return "(1/" + this.children.get(0).toString(variables) + ")";
+				case POW:
+					return this.children.get(0).toString(variables) + "^" + this.index;
+				default:
+				{
+					StringBuilder sb = new StringBuilder("(");
+
+					for (int i = 0; i < this.children.size(); i++)
+					{
+						if (i > 0) sb.append(this.type == SUM ? " + " : " * ");
+
+						sb.append(this.children.get(i).toString(variables));
+					}
+
+					return sb.append(")").toString();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Recursive descent parser.
+	 * <pre>
+	 * sum     = product (('+' | '-') product)*
+	 * product = unary (('*' | '/') unary)*
+	 * unary   = '-' unary | power
+	 * power   = primary ('^' '-'? integer)?
+	 * primary = number | variable | '(' sum ')'
+	 * </pre>
+	 */
+	private static final class Parser
+	{
+		private final String s;
+		private final List<String> variables;
+		private final boolean addVariables;
+		private int position;
+
+		private Parser (String s, List<String> variables, boolean addVariables)
+		{
+			this.s = s;
+			this.variables = variables;
+			this.addVariables = addVariables;
+		}
+
+		Node parse () throws ParseException
+		{
+			Node node = this.sum();
+			this.skipSpaces();
+
+			if (this.position < this.s.length()) throw new ParseException("Unexpected character '" + this.s.charAt(this.position) + "'.", this.position);
+
+			return node;
+		}
+
+		private Node sum () throws ParseException
+		{
+			List<Node> terms = new ArrayList<Node>();
+			terms.add(this.product());
+
+			while (true)
+			{
+				if (this.accept('+'))
+				{
+					terms.add(this.product());
+				}
+				else if (this.accept('-'))
+				{
+					terms.add(Node.unary(NEG, this.product(), 0));
+				}
+				else
+				{
+					return Node.nary(SUM, terms);
+				}
+			}
+		}
+
+		private Node product () throws ParseException
+		{
+			List<Node> factors = new ArrayList<Node>();
+			factors.add(this.unary());
+
+			while (true)
+			{
+				if (this.accept('*'))
+				{
+					factors.add(this.unary());
+				}
+				else if (this.accept('/'))
+				{
+					factors.add(Node.unary(INV, this.unary(), 0));
+				}
+				else
+				{
+					return Node.nary(PRODUCT, factors);
+				}
+			}
+		}
+
+		private Node unary () throws ParseException
+		{
+			if (this.accept('-'))
+			{
+				return Node.unary(NEG, this.unary(), 0);
+			}
+
+			return this.power();
+		}
+
+		private Node power () throws ParseException
+		{
+			Node base = this.primary();
+
+			if (!this.accept('^'))
+			{
+				return base;
+			}
+
+			boolean negative = this.accept('-');
+			this.skipSpaces();
+			int start = this.position;
+
+			while (this.position < this.s.length() && Character.isDigit(this.s.charAt(this.position)))
+			{
+				this.position++;
+			}
+
+			if (start == this.position) throw new ParseException("Exponent must be integer.", start);
+
+			int exponent;
+
+			try
+			{
+				exponent = Integer.parseInt(this.s.substring(start, this.position));
+			}
+			catch (NumberFormatException nfe)
+			{
+				throw new ParseException("Exponent is too big.", start);
+			}
+
+			return negative ? Node.unary(POW, Node.unary(INV, base, 0), exponent) : Node.unary(POW, base, exponent);
+		}
+
+		private Node primary () throws ParseException
+		{
+			this.skipSpaces();
+
+			if (this.position >= this.s.length()) throw new ParseException("Unexpected end of expression.", this.position);
+
+			char c = this.s.charAt(this.position);
+
+			if (this.accept('('))
+			{
+				Node node = this.sum();
+
+				if (!this.accept(')')) throw new ParseException("Missing ')'.", this.position);
+
+				return node;
+			}
+			else if (Character.isDigit(c) || c == '.')
+			{
+				return this.number();
+			}
+			else if (Character.isJavaIdentifierStart(c))
+			{
+				return this.variable();
+			}
+
+			throw new ParseException("Unexpected character '" + c + "'.", this.position);
+		}
+
+		/**
+		 * Integer or decimal literal, decimal literal is converted exactly.
+		 */
+		private Node number () throws ParseException
+		{
+			int start = this.position;
+
+			while (this.position < this.s.length() && (Character.isDigit(this.s.charAt(this.position)) || this.s.charAt(this.position) == '.'))
+			{
+				this.position++;
+			}
+
+			BigDecimal decimal;
+
+			try
+			{
+				decimal = new BigDecimal(this.s.substring(start, this.position));
+			}
+			catch (NumberFormatException nfe)
+			{
+				throw new ParseException("Wrong number.", start);
+			}
+
+			if (decimal.scale() <= 0)
+			{
+				return Node.constant(BigFraction.createFraction(decimal.toBigIntegerExact()));
+			}
+
+			return Node.constant(BigFraction.createFraction(decimal.unscaledValue(), BigInteger.TEN.pow(decimal.scale())));
+		}
+
+		private Node variable () throws ParseException
+		{
+			int start = this.position;
+
+			while (this.position < this.s.length() && Character.isJavaIdentifierPart(this.s.charAt(this.position)))
+			{
+				this.position++;
+			}
+
+			String name = this.s.substring(start, this.position);
+			int index = this.variables.indexOf(name);
+
+			if (index == -1)
+			{
+				if (!this.addVariables) throw new ParseException("Unknown variable '" + name + "'.", start);
+
+				index = this.variables.size();
+				this.variables.add(name);
+			}
+
+			return Node.variable(index);
+		}
+
+		private boolean accept (char c)
+		{
+			this.skipSpaces();
+
+			if (this.position < this.s.length() && this.s.charAt(this.position) == c)
+			{
+				this.position++;
+				return true;
+			}
+
+			return false;
+		}
+
+		private void skipSpaces ()
+		{
+			while (this.position < this.s.length() && Character.isWhitespace(this.s.charAt(this.position)))
+			{
+				this.position++;
+			}
+		}
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+/**
+ * Package private bridge from BigFraction to Java Flight Recorder.
+ * <p>
+ * Java Flight Recorder API is not available before Java 11, so baseline version of the class does not emit any
+ * events. Java 17 version of the class from multi-release JAR emits events for slow BigFraction operations and
+ * operations with large operands.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+final class FractionFlightRecorder
+{
+	private FractionFlightRecorder ()
+	{
+	}
+
+	/**
+	 * Start timing of operation.
+	 *
+	 * @return started event, null if event is not enabled in any running recording
+	 */
+	static Object begin ()
+	{
+		return null;
+	}
+
+	/**
+	 * Finish timing of operation and commit event when its duration passes threshold of recording.
+	 *
+	 * @param event event returned by {@link #begin()}, not null
+	 * @param operation finished operation
+	 * @param leftBitLength bit length of first operand
+	 * @param rightBitLength bit length of second operand, 0 for operations with one operand
+	 */
+	static void end (Object event, FractionMetrics.Operation operation, int leftBitLength, int rightBitLength)
+	{
+	}
+}
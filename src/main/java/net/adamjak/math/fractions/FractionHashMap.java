@@ -0,0 +1,377 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+/**
+ * Hash map with fraction keys stored as two primitive longs.
+ * <p>
+ * Map uses open addressing with linear probing, so it doesn't create any object for key or entry.
+ * Keys given as numerator and denominator are reduced, so 2/4 and 1/2 are the same key.
+ * Map is not thread safe.
+ * </p>
+ *
+ * @param <V> type of values
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see FractionHashSet
+ */
+public class FractionHashMap<V>
+{
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	/**
+	 * Denominator of free slot. Denominator of fraction is never zero.
+	 */
+	private static final long FREE = 0;
+
+	private long[] numerators;
+	private long[] denominators;
+	private Object[] values;
+	private int size;
+	private int mask;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create empty map with default capacity.
+	 */
+	public FractionHashMap ()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create empty map which holds <em>expectedSize</em> keys without resize.
+	 *
+	 * @param expectedSize (int) expected number of keys
+	 *
+	 * @throws IllegalArgumentException if expectedSize is negative
+	 */
+	public FractionHashMap (int expectedSize)
+	{
+		if (expectedSize < 0) throw new IllegalArgumentException("Expected size is negative.");
+
+		this.allocate(FractionHashMap.tableSize(expectedSize));
+	}
+
+	// -------------------------------------------------------------------------
+	// Map method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param numerator (long) numerator of key
+	 * @param denominator (long) denominator of key
+	 *
+	 * @return value of key or null if map doesn't contain key
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public V get (long numerator, long denominator)
+	{
+		long gcd = FractionArrays.reducer(numerator, denominator);
+
+		return this.getReduced(numerator / gcd, denominator / gcd);
+	}
+
+	/**
+	 * @param fraction (Fraction) key
+	 *
+	 * @return value of key or null if map doesn't contain key
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public V get (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.getReduced(fraction.getNumerator(), fraction.getDenominator());
+	}
+
+	/**
+	 * @param numerator (long) numerator of key
+	 * @param denominator (long) denominator of key
+	 *
+	 * @return true if map contains key
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public boolean containsKey (long numerator, long denominator)
+	{
+		long gcd = FractionArrays.reducer(numerator, denominator);
+
+		return this.indexOf(numerator / gcd, denominator / gcd) >= 0;
+	}
+
+	/**
+	 * @param fraction (Fraction) key
+	 *
+	 * @return true if map contains key
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public boolean containsKey (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.indexOf(fraction.getNumerator(), fraction.getDenominator()) >= 0;
+	}
+
+	/**
+	 * @param numerator (long) numerator of key
+	 * @param denominator (long) denominator of key
+	 * @param value (V) new value of key
+	 *
+	 * @return previous value of key or null
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public V put (long numerator, long denominator, V value)
+	{
+		long gcd = FractionArrays.reducer(numerator, denominator);
+
+		return this.putReduced(numerator / gcd, denominator / gcd, value);
+	}
+
+	/**
+	 * @param fraction (Fraction) key
+	 * @param value (V) new value of key
+	 *
+	 * @return previous value of key or null
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public V put (Fraction fraction, V value)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.putReduced(fraction.getNumerator(), fraction.getDenominator(), value);
+	}
+
+	/**
+	 * @param numerator (long) numerator of key
+	 * @param denominator (long) denominator of key
+	 *
+	 * @return removed value of key or null
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public V remove (long numerator, long denominator)
+	{
+		long gcd = FractionArrays.reducer(numerator, denominator);
+
+		return this.removeReduced(numerator / gcd, denominator / gcd);
+	}
+
+	/**
+	 * @param fraction (Fraction) key
+	 *
+	 * @return removed value of key or null
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public V remove (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.removeReduced(fraction.getNumerator(), fraction.getDenominator());
+	}
+
+	/**
+	 * @return number of keys in map
+	 */
+	public int size ()
+	{
+		return this.size;
+	}
+
+	/**
+	 * @return true if map is empty
+	 */
+	public boolean isEmpty ()
+	{
+		return this.size == 0;
+	}
+
+	/**
+	 * Remove all keys from map.
+	 */
+	public void clear ()
+	{
+		for (int i = 0; i < this.denominators.length; i++)
+		{
+			this.denominators[i] = FREE;
+			this.values[i] = null;
+		}
+
+		this.size = 0;
+	}
+
+	/**
+	 * @return new array with all keys in map, in no particular order
+	 */
+	public Fraction[] keys ()
+	{
+		Fraction[] keys = new Fraction[this.size];
+		int j = 0;
+
+		for (int i = 0; i < this.denominators.length; i++)
+		{
+			if (this.denominators[i] != FREE)
+			{
+				keys[j++] = Fraction.createFraction(this.numerators[i], this.denominators[i]);
+			}
+		}
+
+		return keys;
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	@SuppressWarnings("unchecked")
+	private V getReduced (long numerator, long denominator)
+	{
+		int index = this.indexOf(numerator, denominator);
+
+		return index < 0 ? null : (V) this.values[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	private V putReduced (long numerator, long denominator, V value)
+	{
+		int index = LongMath.hash(numerator, denominator) & this.mask;
+
+		while (this.denominators[index] != FREE)
+		{
+			if (this.numerators[index] == numerator && this.denominators[index] == denominator)
+			{
+				V old = (V) this.values[index];
+				this.values[index] = value;
+				return old;
+			}
+
+			index = (index + 1) & this.mask;
+		}
+
+		this.numerators[index] = numerator;
+		this.denominators[index] = denominator;
+		this.values[index] = value;
+
+		if (++this.size > (this.denominators.length >>> 1))
+		{
+			this.resize();
+		}
+
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V removeReduced (long numerator, long denominator)
+	{
+		int index = this.indexOf(numerator, denominator);
+
+		if (index < 0)
+		{
+			return null;
+		}
+
+		V old = (V) this.values[index];
+		this.size--;
+
+		// backward shift deletion keeps probe sequences without tombstones
+		int free = index;
+		int next = (index + 1) & this.mask;
+
+		while (this.denominators[next] != FREE)
+		{
+			int home = LongMath.hash(this.numerators[next], this.denominators[next]) & this.mask;
+
+			if (((next - home) & this.mask) >= ((next - free) & this.mask))
+			{
+				this.numerators[free] = this.numerators[next];
+				this.denominators[free] = this.denominators[next];
+				this.values[free] = this.values[next];
+				free = next;
+			}
+
+			next = (next + 1) & this.mask;
+		}
+
+		this.denominators[free] = FREE;
+		this.values[free] = null;
+
+		return old;
+	}
+
+	private int indexOf (long numerator, long denominator)
+	{
+		int index = LongMath.hash(numerator, denominator) & this.mask;
+
+		while (this.denominators[index] != FREE)
+		{
+			if (this.numerators[index] == numerator && this.denominators[index] == denominator)
+			{
+				return index;
+			}
+
+			index = (index + 1) & this.mask;
+		}
+
+		return -1;
+	}
+
+	private void allocate (int capacity)
+	{
+		this.numerators = new long[capacity];
+		this.denominators = new long[capacity];
+		this.values = new Object[capacity];
+		this.mask = capacity - 1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void resize ()
+	{
+		if (this.denominators.length == MAX_CAPACITY) throw new IllegalStateException("Map is full.");
+
+		long[] oldNumerators = this.numerators;
+		long[] oldDenominators = this.denominators;
+		Object[] oldValues = this.values;
+
+		this.allocate(oldDenominators.length << 1);
+		this.size = 0;
+
+		for (int i = 0; i < oldDenominators.length; i++)
+		{
+			if (oldDenominators[i] != FREE)
+			{
+				this.putReduced(oldNumerators[i], oldDenominators[i], (V) oldValues[i]);
+			}
+		}
+	}
+
+	/**
+	 * Power of two table size with load factor at most 0.5.
+	 */
+	private static int tableSize (int expectedSize)
+	{
+		int capacity = DEFAULT_CAPACITY;
+
+		while (capacity < MAX_CAPACITY && capacity / 2 < expectedSize)
+		{
+			capacity <<= 1;
+		}
+
+		return capacity;
+	}
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+/**
+ * Hash set of fractions stored as two primitive longs.
+ * <p>
+ * Set is backed by {@link FractionHashMap}, so it doesn't create any object for added fraction.
+ * Fractions given as numerator and denominator are reduced, so 2/4 and 1/2 are the same fraction.
+ * Set is not thread safe.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see FractionHashMap
+ */
+public class FractionHashSet
+{
+	private static final Object PRESENT = new Object();
+
+	private final FractionHashMap<Object> map;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create empty set with default capacity.
+	 */
+	public FractionHashSet ()
+	{
+		this.map = new FractionHashMap<Object>();
+	}
+
+	/**
+	 * Create empty set which holds <em>expectedSize</em> fractions without resize.
+	 *
+	 * @param expectedSize (int) expected number of fractions
+	 *
+	 * @throws IllegalArgumentException if expectedSize is negative
+	 */
+	public FractionHashSet (int expectedSize)
+	{
+		this.map = new FractionHashMap<Object>(expectedSize);
+	}
+
+	// -------------------------------------------------------------------------
+	// Set method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param numerator (long) numerator of fraction
+	 * @param denominator (long) denominator of fraction
+	 *
+	 * @return true if set didn't contain fraction
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public boolean add (long numerator, long denominator)
+	{
+		return this.map.put(numerator, denominator, PRESENT) == null;
+	}
+
+	/**
+	 * @param fraction (Fraction) added fraction
+	 *
+	 * @return true if set didn't contain fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public boolean add (Fraction fraction)
+	{
+		return this.map.put(fraction, PRESENT) == null;
+	}
+
+	/**
+	 * @param numerator (long) numerator of fraction
+	 * @param denominator (long) denominator of fraction
+	 *
+	 * @return true if set contains fraction
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public boolean contains (long numerator, long denominator)
+	{
+		return this.map.containsKey(numerator, denominator);
+	}
+
+	/**
+	 * @param fraction (Fraction) searched fraction
+	 *
+	 * @return true if set contains fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public boolean contains (Fraction fraction)
+	{
+		return this.map.containsKey(fraction);
+	}
+
+	/**
+	 * @param numerator (long) numerator of fraction
+	 * @param denominator (long) denominator of fraction
+	 *
+	 * @return true if set contained fraction
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public boolean remove (long numerator, long denominator)
+	{
+		return this.map.remove(numerator, denominator) != null;
+	}
+
+	/**
+	 * @param fraction (Fraction) removed fraction
+	 *
+	 * @return true if set contained fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public boolean remove (Fraction fraction)
+	{
+		return this.map.remove(fraction) != null;
+	}
+
+	/**
+	 * @return number of fractions in set
+	 */
+	public int size ()
+	{
+		return this.map.size();
+	}
+
+	/**
+	 * @return true if set is empty
+	 */
+	public boolean isEmpty ()
+	{
+		return this.map.isEmpty();
+	}
+
+	/**
+	 * Remove all fractions from set.
+	 */
+	public void clear ()
+	{
+		this.map.clear();
+	}
+
+	/**
+	 * @return new array with all fractions in set, in no particular order
+	 */
+	public Fraction[] toArray ()
+	{
+		return this.map.keys();
+	}
+}
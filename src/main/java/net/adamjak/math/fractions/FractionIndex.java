@@ -0,0 +1,348 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sorted index of fractions stored as two parallel arrays of primitive longs.
+ * <p>
+ * Index answers floor, ceiling and range queries in logarithmic time without creating objects. Fractions are compared
+ * exactly. Index can contain equal fractions. Range of fractions can be iterated by positions:
+ * </p>
+ * <pre>
+ * for (int i = index.lowerBound(3, 7); i &lt; index.upperBound(5, 11); i++)
+ * {
+ *     long numerator = index.getNumerator(i);
+ *     long denominator = index.getDenominator(i);
+ * }
+ * </pre>
+ * <p>
+ * Index is not thread safe.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+public class FractionIndex
+{
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private long[] numerators;
+	private long[] denominators;
+	private int size;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create empty index.
+	 */
+	public FractionIndex ()
+	{
+		this.numerators = new long[DEFAULT_CAPACITY];
+		this.denominators = new long[DEFAULT_CAPACITY];
+	}
+
+	private FractionIndex (long[] numerators, long[] denominators)
+	{
+		this.numerators = numerators;
+		this.denominators = denominators;
+		this.size = numerators.length;
+	}
+
+	// -------------------------------------------------------------------------
+	// Fabric method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Build index from array of numerators and array of denominators. Arrays are copied and fractions are reduced.
+	 *
+	 * @param numerators (long[]) numerators
+	 * @param denominators (long[]) denominators
+	 *
+	 * @return (FractionIndex)
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 * @throws ArithmeticException if some denominator is zero
+	 */
+	public static FractionIndex build (long[] numerators, long[] denominators)
+	{
+		FractionIndex index = FractionIndex.copy(numerators, denominators);
+		FractionSort.sort(index.numerators, index.denominators, 0, index.size);
+
+		return index;
+	}
+
+	/**
+	 * Build index from array of numerators and array of denominators. Arrays are copied, fractions are reduced
+	 * and sorted in parallel in inserted pool.
+	 *
+	 * @param numerators (long[]) numerators
+	 * @param denominators (long[]) denominators
+	 * @param pool (ForkJoinPool) pool which sorts fractions
+	 *
+	 * @return (FractionIndex)
+	 *
+	 * @throws NullPointerException if some array or pool is null
+	 * @throws IllegalArgumentException if arrays have different length
+	 * @throws ArithmeticException if some denominator is zero
+	 */
+	public static FractionIndex build (long[] numerators, long[] denominators, ForkJoinPool pool)
+	{
+		if (pool == null) throw new NullPointerException("Pool is null.");
+
+		FractionIndex index = FractionIndex.copy(numerators, denominators);
+		FractionSort.parallelSort(index.numerators, index.denominators, 0, index.size, pool);
+
+		return index;
+	}
+
+	/**
+	 * Build index from fractions.
+	 *
+	 * @param fractions (Fraction[]) fractions
+	 *
+	 * @return (FractionIndex)
+	 *
+	 * @throws NullPointerException if fractions or some fraction is null
+	 */
+	public static FractionIndex build (Fraction[] fractions)
+	{
+		if (fractions == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		FractionIndex index = new FractionIndex(new long[fractions.length], new long[fractions.length]);
+		FractionArrays.split(fractions, index.numerators, index.denominators);
+		FractionSort.sort(index.numerators, index.denominators, 0, index.size);
+
+		return index;
+	}
+
+	// -------------------------------------------------------------------------
+	// Index method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Insert fraction to its sorted position. Insert moves all greater fractions, so it is linear in size of index.
+	 *
+	 * @param numerator (long) numerator
+	 * @param denominator (long) denominator
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public void insert (long numerator, long denominator)
+	{
+		long gcd = FractionArrays.reducer(numerator, denominator);
+		numerator /= gcd;
+		denominator /= gcd;
+
+		int position = this.upperBound(numerator, denominator);
+
+		if (this.size == this.numerators.length)
+		{
+			int capacity = Math.max(DEFAULT_CAPACITY, this.size + (this.size >> 1));
+			this.numerators = Arrays.copyOf(this.numerators, capacity);
+			this.denominators = Arrays.copyOf(this.denominators, capacity);
+		}
+
+		System.arraycopy(this.numerators, position, this.numerators, position + 1, this.size - position);
+		System.arraycopy(this.denominators, position, this.denominators, position + 1, this.size - position);
+		this.numerators[position] = numerator;
+		this.denominators[position] = denominator;
+		this.size++;
+	}
+
+	/**
+	 * Insert fraction to its sorted position.
+	 *
+	 * @param fraction (Fraction) inserted fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public void insert (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		this.insert(fraction.getNumerator(), fraction.getDenominator());
+	}
+
+	/**
+	 * @return number of fractions in index
+	 */
+	public int size ()
+	{
+		return this.size;
+	}
+
+	/**
+	 * @param position (int) position in index
+	 *
+	 * @return numerator of fraction on position
+	 *
+	 * @throws IndexOutOfBoundsException if position is out of index
+	 */
+	public long getNumerator (int position)
+	{
+		this.checkPosition(position);
+
+		return this.numerators[position];
+	}
+
+	/**
+	 * @param position (int) position in index
+	 *
+	 * @return denominator of fraction on position
+	 *
+	 * @throws IndexOutOfBoundsException if position is out of index
+	 */
+	public long getDenominator (int position)
+	{
+		this.checkPosition(position);
+
+		return this.denominators[position];
+	}
+
+	/**
+	 * @param position (int) position in index
+	 *
+	 * @return (Fraction) fraction on position
+	 *
+	 * @throws IndexOutOfBoundsException if position is out of index
+	 */
+	public Fraction get (int position)
+	{
+		this.checkPosition(position);
+
+		return Fraction.createFraction(this.numerators[position], this.denominators[position]);
+	}
+
+	/**
+	 * @return position of first fraction greater than or equal to inserted fraction, or size of index
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public int lowerBound (long numerator, long denominator)
+	{
+		long gcd = FractionArrays.reducer(numerator, denominator);
+
+		return this.search(numerator / gcd, denominator / gcd, false);
+	}
+
+	/**
+	 * @return position of first fraction greater than inserted fraction, or size of index
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public int upperBound (long numerator, long denominator)
+	{
+		long gcd = FractionArrays.reducer(numerator, denominator);
+
+		return this.search(numerator / gcd, denominator / gcd, true);
+	}
+
+	/**
+	 * @return position of the greatest fraction less than or equal to inserted fraction, or -1
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public int floor (long numerator, long denominator)
+	{
+		return this.upperBound(numerator, denominator) - 1;
+	}
+
+	/**
+	 * @return position of the least fraction greater than or equal to inserted fraction, or -1
+	 *
+	 * @throws ArithmeticException if denominator is zero
+	 * @throws ArithmeticException if reduced fraction with positive denominator does not fit into longs
+	 */
+	public int ceiling (long numerator, long denominator)
+	{
+		int position = this.lowerBound(numerator, denominator);
+
+		return position == this.size ? -1 : position;
+	}
+
+	/**
+	 * @return number of fractions between <em>low</em> and <em>high</em>, both inclusive
+	 *
+	 * @throws ArithmeticException if some denominator is zero
+	 * @throws ArithmeticException if some reduced fraction with positive denominator does not fit into longs
+	 */
+	public int rangeCount (long lowNumerator, long lowDenominator, long highNumerator, long highDenominator)
+	{
+		return Math.max(0, this.upperBound(highNumerator, highDenominator) - this.lowerBound(lowNumerator, lowDenominator));
+	}
+
+	/**
+	 * @param low (Fraction) lower bound, inclusive
+	 * @param high (Fraction) upper bound, inclusive
+	 *
+	 * @return (Fraction[]) sorted fractions between <em>low</em> and <em>high</em>
+	 *
+	 * @throws NullPointerException if low or high is null
+	 */
+	public Fraction[] range (Fraction low, Fraction high)
+	{
+		if (low == null || high == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		int from = this.lowerBound(low.getNumerator(), low.getDenominator());
+		int to = this.upperBound(high.getNumerator(), high.getDenominator());
+
+		return FractionArrays.toFractions(Arrays.copyOfRange(this.numerators, from, Math.max(from, to)),
+				Arrays.copyOfRange(this.denominators, from, Math.max(from, to)));
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private static FractionIndex copy (long[] numerators, long[] denominators)
+	{
+		if (numerators == null || denominators == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+
+		FractionIndex index = new FractionIndex(numerators.clone(), denominators.clone());
+		FractionArrays.reduce(index.numerators, index.denominators);
+
+		return index;
+	}
+
+	/**
+	 * Binary search of first position with fraction greater than (upper) or greater than or equal to (lower) inserted fraction.
+	 */
+	private int search (long numerator, long denominator, boolean upper)
+	{
+		int low = 0;
+		int high = this.size;
+
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+			int c = FractionSort.compare(this.numerators[middle], this.denominators[middle], numerator, denominator);
+
+			if (c < 0 || (upper && c == 0))
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	private void checkPosition (int position)
+	{
+		if (position < 0 || position >= this.size) throw new IndexOutOfBoundsException("Position: " + position + ", size: " + this.size);
+	}
+}
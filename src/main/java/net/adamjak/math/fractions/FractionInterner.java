@@ -0,0 +1,226 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of canonical fraction instances.
+ * <p>
+ * Equal fractions interned by the pool share one instance, so memory is saved when many fractions have the same value
+ * and <em>equals</em> ends on identity check. Pool is divided to segments with own lock and every segment evicts least
+ * recently used fractions when it is full. Pool counts hits, misses and evictions, so it can be sized by its hit rate.
+ * </p>
+ * <p>
+ * Pool can be used directly or it can be set to {@link Fraction#setInterner(FractionInterner)}, then all created
+ * fractions and results of math operations are interned.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see Fraction#setInterner(FractionInterner)
+ */
+public class FractionInterner
+{
+	private static final int SEGMENTS = 16;
+
+	private final Segment[] segments;
+	private final int maximumSize;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param maximumSize (int) maximum number of fractions in pool
+	 *
+	 * @throws IllegalArgumentException if maximumSize is less than 1
+	 */
+	public FractionInterner (int maximumSize)
+	{
+		if (maximumSize < 1) throw new IllegalArgumentException("Maximum size is less than 1.");
+
+		int segmentCount = Math.min(SEGMENTS, maximumSize);
+		this.segments = new Segment[segmentCount];
+		this.maximumSize = maximumSize;
+
+		for (int i = 0; i < segmentCount; i++)
+		{
+			int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+			this.segments[i] = new Segment(capacity);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Pool method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Returns canonical instance of fraction. If pool contains equal fraction, it is returned, otherwise
+	 * inserted fraction is added to pool and returned.
+	 *
+	 * @param fraction (Fraction) interned fraction
+	 *
+	 * @return (Fraction) canonical instance equal to fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public Fraction intern (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		int h = fraction.hashCode();
+		Segment segment = this.segments[(((h >>> 16) ^ h) & 0x7FFFFFFF) % this.segments.length];
+
+		synchronized (segment)
+		{
+			Fraction canonical = segment.get(fraction);
+
+			if (canonical != null)
+			{
+				this.hits.incrementAndGet();
+				return canonical;
+			}
+
+			segment.put(fraction, fraction);
+		}
+
+		this.misses.incrementAndGet();
+
+		return fraction;
+	}
+
+	/**
+	 * @return number of fractions in pool
+	 */
+	public int size ()
+	{
+		int size = 0;
+
+		for (Segment segment : this.segments)
+		{
+			synchronized (segment)
+			{
+				size += segment.size();
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 * @return maximum number of fractions in pool
+	 */
+	public int getMaximumSize ()
+	{
+		return this.maximumSize;
+	}
+
+	/**
+	 * Remove all fractions from pool. Statistics are not reset.
+	 */
+	public void clear ()
+	{
+		for (Segment segment : this.segments)
+		{
+			synchronized (segment)
+			{
+				segment.clear();
+			}
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Statistics method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return number of interned fractions, which were found in pool
+	 */
+	public long getHitCount ()
+	{
+		return this.hits.get();
+	}
+
+	/**
+	 * @return number of interned fractions, which were added to pool
+	 */
+	public long getMissCount ()
+	{
+		return this.misses.get();
+	}
+
+	/**
+	 * @return number of fractions removed from full pool
+	 */
+	public long getEvictionCount ()
+	{
+		return this.evictions.get();
+	}
+
+	/**
+	 * @return ratio of hits to all interned fractions, 0 when nothing was interned
+	 */
+	public double getHitRate ()
+	{
+		long hits = this.hits.get();
+		long total = hits + this.misses.get();
+
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	/**
+	 * Reset hit, miss and eviction counters.
+	 */
+	public void resetStatistics ()
+	{
+		this.hits.set(0);
+		this.misses.set(0);
+		this.evictions.set(0);
+	}
+
+	@Override
+	public String toString ()
+	{
+		return "FractionInterner[size=" + this.size() + ", maximumSize=" + this.maximumSize + ", hits=" + this.getHitCount() +
+				", misses=" + this.getMissCount() + ", evictions=" + this.getEvictionCount() + "]";
+	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Segment of pool, least recently used map guarded by its own monitor.
+	 */
+	private class Segment extends LinkedHashMap<Fraction, Fraction>
+	{
+		private final int capacity;
+
+		Segment (int capacity)
+		{
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry (Map.Entry<Fraction, Fraction> eldest)
+		{
+			if (this.size() > this.capacity)
+			{
+				FractionInterner.this.evictions.incrementAndGet();
+				return true;
+			}
+
+			return false;
+		}
+	}
+}
@@ -0,0 +1,458 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+
+/**
+ * Closed interval of rational numbers with Fraction endpoints and exact interval arithmetic.
+ * <p>
+ * Endpoints are calculated exactly with Rational arithmetic and operations throw ArithmeticException only when
+ * endpoint of result does not fit into Fraction. Bounded denominator keeps endpoints small.
+ * </p>
+ * <p>
+ * Result of every operation contains all results of the operation on numbers from operand intervals.
+ * Interval can have maximal denominator of endpoints, then endpoints of results are widened outwards to the nearest
+ * fractions with bounded denominator, so endpoints don't grow without bound in long calculations. Result of operation
+ * on two intervals uses smaller of their maximal denominators.
+ * </p>
+ * <p>
+ * Examples:<br>
+ * - [1/2, 1] + [1/3, 1/2] = [5/6, 3/2]<br>
+ * - [-1, 2] * [3, 4] = [-4, 8]<br>
+ * - [-1, 2]<sup>2</sup> = [0, 4]<br>
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see BigFractionInterval
+ */
+public class FractionInterval implements Serializable
+{
+	/**
+	 * Maximal denominator of interval without bound.
+	 */
+	private static final long EXACT = 0;
+
+	private final Fraction lower;
+	private final Fraction upper;
+	private final long maxDenominator;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	private FractionInterval (Fraction lower, Fraction upper, long maxDenominator)
+	{
+		this.lower = lower;
+		this.upper = upper;
+		this.maxDenominator = maxDenominator;
+	}
+
+	// -------------------------------------------------------------------------
+	// Fabric method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create exact interval <em>[lower, upper]</em>.
+	 *
+	 * @param lower (Fraction) lower endpoint
+	 * @param upper (Fraction) upper endpoint
+	 *
+	 * @return (FractionInterval)
+	 *
+	 * @throws NullPointerException if some endpoint is null
+	 * @throws IllegalArgumentException if lower endpoint is bigger than upper endpoint
+	 */
+	public static FractionInterval createInterval (Fraction lower, Fraction upper)
+	{
+		if (lower == null || upper == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		if (lower.compareTo(upper) > 0) throw new IllegalArgumentException("Lower endpoint is bigger than upper endpoint.");
+
+		return new FractionInterval(lower, upper, EXACT);
+	}
+
+	/**
+	 * Create exact interval which contains only one number.
+	 *
+	 * @param point (Fraction)
+	 *
+	 * @return (FractionInterval)
+	 *
+	 * @throws NullPointerException if point is null
+	 */
+	public static FractionInterval createInterval (Fraction point)
+	{
+		return FractionInterval.createInterval(point, point);
+	}
+
+	/**
+	 * Create interval which widens its endpoints and endpoints of all results to fractions with denominator at most
+	 * <em>maxDenominator</em>.
+	 *
+	 * @param maxDenominator (long) maximal denominator of endpoints
+	 *
+	 * @return (FractionInterval) interval which contains this interval
+	 *
+	 * @throws IllegalArgumentException if maxDenominator is not positive
+	 */
+	public FractionInterval withMaxDenominator (long maxDenominator)
+	{
+		if (maxDenominator < 1) throw new IllegalArgumentException("Maximal denominator is not positive.");
+
+		return FractionInterval.widen(this.lower.toRational(), this.upper.toRational(), maxDenominator);
+	}
+
+	/**
+	 * @return (FractionInterval) exact interval with the same endpoints
+	 */
+	public FractionInterval exact ()
+	{
+		return this.maxDenominator == EXACT ? this : new FractionInterval(this.lower, this.upper, EXACT);
+	}
+
+	// -------------------------------------------------------------------------
+	// Calculate method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param interval (FractionInterval) summand
+	 *
+	 * @return (FractionInterval) <em>[a + c, b + d]</em>
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public FractionInterval add (FractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return FractionInterval.widen(this.lower.toRational().add(interval.lower.toRational()), this.upper.toRational().add(interval.upper.toRational()),
+				FractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	/**
+	 * @param interval (FractionInterval) subtrahend
+	 *
+	 * @return (FractionInterval) <em>[a - d, b - c]</em>
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public FractionInterval subtract (FractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return FractionInterval.widen(this.lower.toRational().subtract(interval.upper.toRational()), this.upper.toRational().subtract(interval.lower.toRational()),
+				FractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	/**
+	 * @param interval (FractionInterval) factor
+	 *
+	 * @return (FractionInterval) interval from the smallest to the biggest product of endpoints
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public FractionInterval multiply (FractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		Rational a = this.lower.toRational();
+		Rational b = this.upper.toRational();
+		Rational ac = a.multiply(interval.lower.toRational());
+		Rational ad = a.multiply(interval.upper.toRational());
+		Rational bc = b.multiply(interval.lower.toRational());
+		Rational bd = b.multiply(interval.upper.toRational());
+
+		return FractionInterval.widen(ac.min(ad).min(bc.min(bd)), ac.max(ad).max(bc.max(bd)),
+				FractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	/**
+	 * @param interval (FractionInterval) divisor
+	 *
+	 * @return (FractionInterval) product of this interval and reciprocal of divisor
+	 *
+	 * @throws NullPointerException if interval is null
+	 * @throws ArithmeticException if divisor contains zero
+	 */
+	public FractionInterval divide (FractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return this.multiply(interval.reciprocal());
+	}
+
+	/**
+	 * @return (FractionInterval) <em>[-b, -a]</em>
+	 */
+	public FractionInterval negate ()
+	{
+		return FractionInterval.widen(this.upper.toRational().multiply(-1), this.lower.toRational().multiply(-1), this.maxDenominator);
+	}
+
+	/**
+	 * @return (FractionInterval) <em>[1/b, 1/a]</em>
+	 *
+	 * @throws ArithmeticException if interval contains zero
+	 */
+	public FractionInterval reciprocal ()
+	{
+		if (Long.signum(this.lower.getNumerator()) <= 0 && Long.signum(this.upper.getNumerator()) >= 0)
+		{
+			throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+		}
+
+		return FractionInterval.widen(this.upper.toRational().reciprocal(), this.lower.toRational().reciprocal(), this.maxDenominator);
+	}
+
+	/**
+	 * Power of interval. Even power of interval which contains zero starts at zero.
+	 *
+	 * @param exponent (int)
+	 *
+	 * @return (FractionInterval) interval of all powers of numbers from this interval
+	 *
+	 * @throws ArithmeticException if exponent is negative and interval contains zero or exponent is Integer.MIN_VALUE
+	 */
+	public FractionInterval pow (int exponent)
+	{
+		if (exponent == 0)
+		{
+			return FractionInterval.widen(Rational.createFraction(1), Rational.createFraction(1), this.maxDenominator);
+		}
+		else if (exponent == Integer.MIN_VALUE)
+		{
+			// -Integer.MIN_VALUE is Integer.MIN_VALUE, so the exponent can not be negated
+			throw new ArithmeticException(FractionConstants.ERR_EXPONENT_OUT_OF_RANGE);
+		}
+		else if (exponent < 0)
+		{
+			return this.reciprocal().pow(-exponent);
+		}
+
+		Rational a = this.lower.toRational().pow(exponent);
+		Rational b = this.upper.toRational().pow(exponent);
+
+		if (exponent % 2 == 1 || Long.signum(this.lower.getNumerator()) >= 0)
+		{
+			return FractionInterval.widen(a, b, this.maxDenominator);
+		}
+		else if (Long.signum(this.upper.getNumerator()) <= 0)
+		{
+			return FractionInterval.widen(b, a, this.maxDenominator);
+		}
+		else
+		{
+			return FractionInterval.widen(Rational.createFraction(0), a.max(b), this.maxDenominator);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Set method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param fraction (Fraction)
+	 *
+	 * @return true if interval contains fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public boolean contains (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.lower.compareTo(fraction) <= 0 && fraction.compareTo(this.upper) <= 0;
+	}
+
+	/**
+	 * @param interval (FractionInterval)
+	 *
+	 * @return true if this interval contains whole inserted interval
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public boolean contains (FractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return this.lower.compareTo(interval.lower) <= 0 && interval.upper.compareTo(this.upper) <= 0;
+	}
+
+	/**
+	 * @param interval (FractionInterval)
+	 *
+	 * @return true if intervals have some common number
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public boolean intersects (FractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return this.lower.compareTo(interval.upper) <= 0 && interval.lower.compareTo(this.upper) <= 0;
+	}
+
+	/**
+	 * @param interval (FractionInterval)
+	 *
+	 * @return (FractionInterval) common part of intervals or null if intervals don't intersect
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public FractionInterval intersection (FractionInterval interval)
+	{
+		if (!this.intersects(interval))
+		{
+			return null;
+		}
+
+		return FractionInterval.widen(this.lower.max(interval.lower).toRational(), this.upper.min(interval.upper).toRational(),
+				FractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	/**
+	 * @param interval (FractionInterval)
+	 *
+	 * @return (FractionInterval) the smallest interval which contains both intervals
+	 *
+	 * @throws NullPointerException if interval is null
+	 */
+	public FractionInterval hull (FractionInterval interval)
+	{
+		if (interval == null) throw new NullPointerException("Interval is null.");
+
+		return FractionInterval.widen(this.lower.min(interval.lower).toRational(), this.upper.max(interval.upper).toRational(),
+				FractionInterval.combine(this.maxDenominator, interval.maxDenominator));
+	}
+
+	// -------------------------------------------------------------------------
+	// Getters
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return (Fraction) lower endpoint
+	 */
+	public Fraction getLower ()
+	{
+		return this.lower;
+	}
+
+	/**
+	 * @return (Fraction) upper endpoint
+	 */
+	public Fraction getUpper ()
+	{
+		return this.upper;
+	}
+
+	/**
+	 * @return (long) maximal denominator of endpoints or 0 if interval is exact
+	 */
+	public long getMaxDenominator ()
+	{
+		return this.maxDenominator;
+	}
+
+	/**
+	 * @return (Fraction) <em>b - a</em>
+	 */
+	public Fraction width ()
+	{
+		return this.upper.subtract(this.lower);
+	}
+
+	/**
+	 * @return (Fraction) <em>(a + b) / 2</em>
+	 */
+	public Fraction midpoint ()
+	{
+		return this.lower.add(this.upper).divide(2);
+	}
+
+	// -------------------------------------------------------------------------
+	// Overide method
+	// -------------------------------------------------------------------------
+
+	@Override
+	public boolean equals (Object o)
+	{
+		if (o == this)
+		{
+			return true;
+		}
+
+		if((o == null) || (o.getClass() != this.getClass()))
+		{
+			return false;
+		}
+
+		FractionInterval interval = (FractionInterval) o;
+
+		return this.lower.equals(interval.lower) && this.upper.equals(interval.upper) && this.maxDenominator == interval.maxDenominator;
+	}
+
+	@Override
+	public int hashCode ()
+	{
+		int result = this.lower.hashCode();
+		result = 31 * result + this.upper.hashCode();
+		result = 31 * result + (int) (this.maxDenominator ^ (this.maxDenominator >>> 32));
+
+		return result;
+	}
+
+	@Override
+	public String toString ()
+	{
+		return "[" + this.lower.toString() + ", " + this.upper.toString() + "]";
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private static long combine (long maxDenominator1, long maxDenominator2)
+	{
+		if (maxDenominator1 == EXACT) return maxDenominator2;
+		if (maxDenominator2 == EXACT) return maxDenominator1;
+
+		return Math.min(maxDenominator1, maxDenominator2);
+	}
+
+	private static FractionInterval widen (Rational lower, Rational upper, long maxDenominator)
+	{
+		return new FractionInterval(FractionInterval.widen(lower, maxDenominator, 0), FractionInterval.widen(upper, maxDenominator, 1), maxDenominator);
+	}
+
+	/**
+	 * @param side 0 for the nearest fraction below, 1 for the nearest fraction above
+	 *
+	 * @throws ArithmeticException if endpoint does not fit into Fraction
+	 */
+	private static Fraction widen (Rational fraction, long maxDenominator, int side)
+	{
+		if (fraction.isSmall())
+		{
+			Fraction small = fraction.toFraction();
+
+			if (maxDenominator == EXACT || small.getDenominator() <= maxDenominator)
+			{
+				return small;
+			}
+		}
+		else if (maxDenominator == EXACT)
+		{
+			throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+		}
+
+		BigFraction widened = BigFractionInterval.bracket(fraction.toBigFraction(), BigInteger.valueOf(maxDenominator))[side];
+
+		if (widened.getNumerator().bitLength() > 63) throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+
+		return Fraction.createReduced(widened.getNumerator().longValue(), widened.getDenominator().longValue());
+	}
+}
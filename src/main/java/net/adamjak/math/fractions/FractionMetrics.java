@@ -0,0 +1,278 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.math.BigInteger;
+
+/**
+ * Optional instrumentation of {@link Fraction} and {@link BigFraction} arithmetic, normalization and parsing.
+ * <p>
+ * Metrics are disabled by default and are enabled by system property <em>net.adamjak.math.fractions.metrics=true</em>
+ * set before the first use of the library. Flag is a static final constant, so when metrics are disabled JIT removes
+ * all instrumentation code from the hot paths.
+ * </p>
+ * <p>
+ * For every operation are collected count of calls, total time in nanoseconds and histogram of operand bit lengths.
+ * Bucket <em>0</em> of histogram counts operands with zero bit length and bucket <em>k</em> counts operands with bit
+ * length from <em>2<sup>k-1</sup></em> to <em>2<sup>k</sup> - 1</em>. Operations of Fraction with operand of at least
+ * {@link #NEAR_OVERFLOW_BIT_LENGTH} bits are counted as near overflow. Every operation is also reported to
+ * the listener, when one is set.
+ * </p>
+ * <p>
+ * On Java 17 and newer slow operations of BigFraction are also recorded as Java Flight Recorder events
+ * <em>net.adamjak.math.fractions.BigFractionOperation</em> with operation name, operand bit lengths, duration
+ * and stack trace. Events do not depend on the metrics property, they are enabled by default with threshold 10 ms
+ * and are configured by settings of the recording (<em>enabled</em>, <em>threshold</em>, <em>stackTrace</em> and
+ * <em>minBitLength</em>, minimal bit length of larger operand, default 0).
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+public final class FractionMetrics
+{
+	/**
+	 * Name of system property which enables metrics.
+	 */
+	public static final String ENABLED_PROPERTY = "net.adamjak.math.fractions.metrics";
+
+	/**
+	 * Bit length of Fraction operand from which the operation is counted as near overflow.
+	 */
+	public static final int NEAR_OVERFLOW_BIT_LENGTH = 60;
+
+	/**
+	 * Number of buckets in histogram of operand bit lengths.
+	 */
+	public static final int HISTOGRAM_BUCKETS = 33;
+
+	static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	private static final int OPERATIONS = Operation.values().length;
+	private static final FractionCounters COUNTS = new FractionCounters(OPERATIONS + 1);
+	private static final FractionCounters NANOS = new FractionCounters(OPERATIONS);
+	private static final FractionCounters HISTOGRAM = new FractionCounters(OPERATIONS * HISTOGRAM_BUCKETS);
+
+	private static volatile Listener listener;
+
+	private FractionMetrics ()
+	{
+	}
+
+	// -------------------------------------------------------------------------
+	// Metrics method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return (boolean) true if metrics were enabled by system property
+	 */
+	public static boolean isEnabled ()
+	{
+		return FractionMetrics.ENABLED;
+	}
+
+	/**
+	 * @param operation (Operation)
+	 *
+	 * @return (long) number of calls of operation
+	 *
+	 * @throws NullPointerException if operation is null
+	 */
+	public static long getCount (Operation operation)
+	{
+		return FractionMetrics.COUNTS.get(operation.ordinal());
+	}
+
+	/**
+	 * @param operation (Operation)
+	 *
+	 * @return (long) total time of operation in nanoseconds
+	 *
+	 * @throws NullPointerException if operation is null
+	 */
+	public static long getNanos (Operation operation)
+	{
+		return FractionMetrics.NANOS.get(operation.ordinal());
+	}
+
+	/**
+	 * @param operation (Operation)
+	 *
+	 * @return (long[]) histogram of operand bit lengths with {@link #HISTOGRAM_BUCKETS} buckets
+	 *
+	 * @throws NullPointerException if operation is null
+	 */
+	public static long[] getHistogram (Operation operation)
+	{
+		long[] histogram = new long[HISTOGRAM_BUCKETS];
+		int offset = operation.ordinal() * HISTOGRAM_BUCKETS;
+
+		for (int i = 0; i < HISTOGRAM_BUCKETS; i++)
+		{
+			histogram[i] = FractionMetrics.HISTOGRAM.get(offset + i);
+		}
+
+		return histogram;
+	}
+
+	/**
+	 * @return (long) number of Fraction operations with operand of at least {@link #NEAR_OVERFLOW_BIT_LENGTH} bits
+	 */
+	public static long getNearOverflowCount ()
+	{
+		return FractionMetrics.COUNTS.get(OPERATIONS);
+	}
+
+	/**
+	 * Set all metrics to zero.
+	 */
+	public static void reset ()
+	{
+		FractionMetrics.COUNTS.reset();
+		FractionMetrics.NANOS.reset();
+		FractionMetrics.HISTOGRAM.reset();
+	}
+
+	/**
+	 * @return (Listener) current listener or null
+	 */
+	public static Listener getListener ()
+	{
+		return FractionMetrics.listener;
+	}
+
+	/**
+	 * Set listener which is called after every instrumented operation, in the thread of the operation.
+	 * Listener is called only when metrics are enabled.
+	 *
+	 * @param listener (Listener) new listener, null removes listener
+	 */
+	public static void setListener (Listener listener)
+	{
+		FractionMetrics.listener = listener;
+	}
+
+	// -------------------------------------------------------------------------
+	// Package private method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Record finished operation. Callers check {@link #ENABLED} first.
+	 *
+	 * @param operation operation
+	 * @param leftBitLength bit length of first operand
+	 * @param rightBitLength bit length of second operand, 0 for operations with one operand
+	 * @param start value of System.nanoTime() at start of operation
+	 */
+	static void record (Operation operation, int leftBitLength, int rightBitLength, long start)
+	{
+		long nanos = System.nanoTime() - start;
+		int index = operation.ordinal();
+		int bitLength = Math.max(leftBitLength, rightBitLength);
+
+		FractionMetrics.COUNTS.add(index, 1);
+		FractionMetrics.NANOS.add(index, nanos);
+		FractionMetrics.HISTOGRAM.add(index * HISTOGRAM_BUCKETS + 32 - Integer.numberOfLeadingZeros(bitLength), 1);
+
+		if (operation.isFraction() && bitLength >= NEAR_OVERFLOW_BIT_LENGTH)
+		{
+			FractionMetrics.COUNTS.add(OPERATIONS, 1);
+		}
+
+		Listener current = FractionMetrics.listener;
+
+		if (current != null)
+		{
+			current.operation(operation, leftBitLength, rightBitLength, nanos);
+		}
+	}
+
+	/**
+	 * @return bit length of number without sign, same as BigInteger.bitLength()
+	 */
+	static int bitLength (long number)
+	{
+		return Long.SIZE - Long.numberOfLeadingZeros(number ^ (number >> 63));
+	}
+
+	/**
+	 * @return larger bit length of numerator and denominator of fraction
+	 */
+	static int bitLength (Fraction fraction)
+	{
+		return Math.max(FractionMetrics.bitLength(fraction.getNumerator()), FractionMetrics.bitLength(fraction.getDenominator()));
+	}
+
+	/**
+	 * @return larger bit length of numerator and denominator of fraction
+	 */
+	static int bitLength (BigFraction fraction)
+	{
+		return FractionMetrics.bitLength(fraction.getNumerator(), fraction.getDenominator());
+	}
+
+	/**
+	 * @return larger bit length of numerator and denominator
+	 */
+	static int bitLength (BigInteger numerator, BigInteger denominator)
+	{
+		return Math.max(numerator.bitLength(), denominator.bitLength());
+	}
+
+	// -------------------------------------------------------------------------
+	// Public class
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Instrumented operations.
+	 */
+	public enum Operation
+	{
+		FRACTION_ADD(true),
+		FRACTION_SUBTRACT(true),
+		FRACTION_MULTIPLY(true),
+		FRACTION_DIVIDE(true),
+		/** reduction of new Fraction by greatest common divisor */
+		FRACTION_NORMALIZE(true),
+		FRACTION_PARSE(true),
+		BIG_FRACTION_ADD(false),
+		BIG_FRACTION_SUBTRACT(false),
+		BIG_FRACTION_MULTIPLY(false),
+		BIG_FRACTION_DIVIDE(false),
+		/** reduction of new BigFraction by greatest common divisor */
+		BIG_FRACTION_NORMALIZE(false),
+		BIG_FRACTION_PARSE(false),
+		BIG_FRACTION_TO_STRING(false);
+
+		private final boolean fraction;
+
+		private Operation (boolean fraction)
+		{
+			this.fraction = fraction;
+		}
+
+		/**
+		 * @return (boolean) true for operations of Fraction, false for operations of BigFraction
+		 */
+		public boolean isFraction ()
+		{
+			return this.fraction;
+		}
+	}
+
+	/**
+	 * Listener of instrumented operations. Implementation must be thread safe and fast, because it is called
+	 * from arithmetic of fractions.
+	 */
+	public interface Listener
+	{
+		/**
+		 * @param operation (Operation) finished operation
+		 * @param leftBitLength (int) bit length of first operand, larger of numerator and denominator
+		 * @param rightBitLength (int) bit length of second operand, 0 for operations with one operand
+		 * @param nanos (long) duration of operation in nanoseconds
+		 */
+		void operation (Operation operation, int leftBitLength, int rightBitLength, long nanos);
+	}
+}
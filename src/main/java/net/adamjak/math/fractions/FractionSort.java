@@ -0,0 +1,301 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Package private sort of fractions stored as array of numerators and array of positive denominators.
+ * <p>
+ * Fractions are pre-sorted by radix sort of monotone 64 bit key made from their double value. When all numerators and
+ * denominators are exactly representable as double, the key order is exact and only fractions with equal keys are
+ * sorted by exact comparison. Otherwise the pre-sorted array is finished by adaptive merge sort with exact comparison,
+ * which is nearly linear for nearly sorted input. Exact comparison uses 128 bit cross products.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+final class FractionSort
+{
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+	private static final int RADIX_SORT_THRESHOLD = 256;
+	private static final long EXACT_DOUBLE_LIMIT = 1L << 53;
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	private FractionSort ()
+	{
+	}
+
+	/**
+	 * Exact comparison of fractions with positive denominators.
+	 */
+	static int compare (long n1, long d1, long n2, long d2)
+	{
+		if (d1 == d2)
+		{
+			return n1 < n2 ? -1 : (n1 == n2 ? 0 : 1);
+		}
+
+		return LongMath.compareProducts(n1, d2, n2, d1);
+	}
+
+	/**
+	 * Sort fractions <em>[from, to)</em>.
+	 */
+	static void sort (long[] numerators, long[] denominators, int from, int to)
+	{
+		if (to - from < RADIX_SORT_THRESHOLD)
+		{
+			FractionSort.mergeSort(numerators, denominators, from, to);
+			return;
+		}
+
+		FractionSort.keySort(numerators, denominators, from, to);
+	}
+
+	/**
+	 * Sort fractions <em>[from, to)</em> with fork/join tasks in inserted pool.
+	 */
+	static void parallelSort (long[] numerators, long[] denominators, int from, int to, ForkJoinPool pool)
+	{
+		long[] bufferNumerators = new long[to - from];
+		long[] bufferDenominators = new long[to - from];
+
+		pool.invoke(new SortTask(numerators, denominators, bufferNumerators, bufferDenominators, from, to, from));
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private static void mergeSort (long[] numerators, long[] denominators, int from, int to)
+	{
+		long[] bufferNumerators = new long[to - from];
+		long[] bufferDenominators = new long[to - from];
+
+		FractionSort.mergeSort(numerators, denominators, bufferNumerators, bufferDenominators, from, to, from);
+	}
+
+	/**
+	 * Radix sort by double value key, then exact sort of fractions with equal keys or of whole range.
+	 */
+	private static void keySort (long[] numerators, long[] denominators, int from, int to)
+	{
+		int length = to - from;
+		long[] keys = new long[length];
+		boolean exact = true;
+
+		for (int i = 0; i < length; i++)
+		{
+			long n = numerators[from + i];
+			long d = denominators[from + i];
+
+			if (n > EXACT_DOUBLE_LIMIT || n < -EXACT_DOUBLE_LIMIT || d > EXACT_DOUBLE_LIMIT)
+			{
+				exact = false;
+			}
+
+			long bits = Double.doubleToLongBits((double) n / (double) d);
+			keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+		}
+
+		long[] sortedNumerators = new long[length];
+		long[] sortedDenominators = new long[length];
+		System.arraycopy(numerators, from, sortedNumerators, 0, length);
+		System.arraycopy(denominators, from, sortedDenominators, 0, length);
+
+		FractionSort.radixSort(keys, sortedNumerators, sortedDenominators);
+
+		System.arraycopy(sortedNumerators, 0, numerators, from, length);
+		System.arraycopy(sortedDenominators, 0, denominators, from, length);
+
+		if (!exact)
+		{
+			FractionSort.mergeSort(numerators, denominators, from, to);
+			return;
+		}
+
+		int run = 0;
+
+		for (int i = 1; i <= length; i++)
+		{
+			if (i == length || keys[i] != keys[run])
+			{
+				if (i - run > 1)
+				{
+					FractionSort.mergeSort(numerators, denominators, from + run, from + i);
+				}
+
+				run = i;
+			}
+		}
+	}
+
+	/**
+	 * Stable LSD radix sort of unsigned keys by bytes. Numerators and denominators are moved with keys.
+	 * Byte positions where all keys have the same byte are skipped.
+	 */
+	private static void radixSort (long[] keys, long[] numerators, long[] denominators)
+	{
+		int length = keys.length;
+		long[] bufferKeys = new long[length];
+		long[] bufferNumerators = new long[length];
+		long[] bufferDenominators = new long[length];
+		int[] counts = new int[256];
+
+		for (int shift = 0; shift < 64; shift += 8)
+		{
+			Arrays.fill(counts, 0);
+
+			for (int i = 0; i < length; i++)
+			{
+				counts[(int) (keys[i] >>> shift) & 0xFF]++;
+			}
+
+			if (counts[(int) (keys[0] >>> shift) & 0xFF] == length)
+			{
+				continue;
+			}
+
+			int position = 0;
+
+			for (int b = 0; b < 256; b++)
+			{
+				int count = counts[b];
+				counts[b] = position;
+				position += count;
+			}
+
+			for (int i = 0; i < length; i++)
+			{
+				int target = counts[(int) (keys[i] >>> shift) & 0xFF]++;
+				bufferKeys[target] = keys[i];
+				bufferNumerators[target] = numerators[i];
+				bufferDenominators[target] = denominators[i];
+			}
+
+			System.arraycopy(bufferKeys, 0, keys, 0, length);
+			System.arraycopy(bufferNumerators, 0, numerators, 0, length);
+			System.arraycopy(bufferDenominators, 0, denominators, 0, length);
+		}
+	}
+
+	/**
+	 * Merge sort of <em>[from, to)</em>, buffer is indexed from <em>offset</em>.
+	 */
+	private static void mergeSort (long[] numerators, long[] denominators, long[] bufferNumerators, long[] bufferDenominators, int from, int to, int offset)
+	{
+		if (to - from <= INSERTION_SORT_THRESHOLD)
+		{
+			FractionSort.insertionSort(numerators, denominators, from, to);
+			return;
+		}
+
+		int middle = (from + to) >>> 1;
+		FractionSort.mergeSort(numerators, denominators, bufferNumerators, bufferDenominators, from, middle, offset);
+		FractionSort.mergeSort(numerators, denominators, bufferNumerators, bufferDenominators, middle, to, offset);
+		FractionSort.merge(numerators, denominators, bufferNumerators, bufferDenominators, from, middle, to, offset);
+	}
+
+	private static void insertionSort (long[] numerators, long[] denominators, int from, int to)
+	{
+		for (int i = from + 1; i < to; i++)
+		{
+			long n = numerators[i];
+			long d = denominators[i];
+			int j = i - 1;
+
+			while (j >= from && FractionSort.compare(numerators[j], denominators[j], n, d) > 0)
+			{
+				numerators[j + 1] = numerators[j];
+				denominators[j + 1] = denominators[j];
+				j--;
+			}
+
+			numerators[j + 1] = n;
+			denominators[j + 1] = d;
+		}
+	}
+
+	private static void merge (long[] numerators, long[] denominators, long[] bufferNumerators, long[] bufferDenominators, int from, int middle, int to, int offset)
+	{
+		if (FractionSort.compare(numerators[middle - 1], denominators[middle - 1], numerators[middle], denominators[middle]) <= 0)
+		{
+			return;
+		}
+
+		int length = middle - from;
+		System.arraycopy(numerators, from, bufferNumerators, from - offset, length);
+		System.arraycopy(denominators, from, bufferDenominators, from - offset, length);
+
+		int i = from - offset;
+		int end = i + length;
+		int j = middle;
+		int k = from;
+
+		while (i < end && j < to)
+		{
+			if (FractionSort.compare(numerators[j], denominators[j], bufferNumerators[i], bufferDenominators[i]) < 0)
+			{
+				numerators[k] = numerators[j];
+				denominators[k++] = denominators[j++];
+			}
+			else
+			{
+				numerators[k] = bufferNumerators[i];
+				denominators[k++] = bufferDenominators[i++];
+			}
+		}
+
+		System.arraycopy(bufferNumerators, i, numerators, k, end - i);
+		System.arraycopy(bufferDenominators, i, denominators, k, end - i);
+	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	private static class SortTask extends RecursiveAction
+	{
+		private final long[] numerators;
+		private final long[] denominators;
+		private final long[] bufferNumerators;
+		private final long[] bufferDenominators;
+		private final int from;
+		private final int to;
+		private final int offset;
+
+		SortTask (long[] numerators, long[] denominators, long[] bufferNumerators, long[] bufferDenominators, int from, int to, int offset)
+		{
+			this.numerators = numerators;
+			this.denominators = denominators;
+			this.bufferNumerators = bufferNumerators;
+			this.bufferDenominators = bufferDenominators;
+			this.from = from;
+			this.to = to;
+			this.offset = offset;
+		}
+
+		@Override
+		protected void compute ()
+		{
+			if (this.to - this.from <= PARALLEL_THRESHOLD)
+			{
+				FractionSort.sort(this.numerators, this.denominators, this.from, this.to);
+				return;
+			}
+
+			int middle = (this.from + this.to) >>> 1;
+
+			RecursiveAction.invokeAll(
+					new SortTask(this.numerators, this.denominators, this.bufferNumerators, this.bufferDenominators, this.from, middle, this.offset),
+					new SortTask(this.numerators, this.denominators, this.bufferNumerators, this.bufferDenominators, middle, this.to, this.offset));
+
+			FractionSort.merge(this.numerators, this.denominators, this.bufferNumerators, this.bufferDenominators, this.from, middle, this.to, this.offset);
+		}
+	}
+}
@@ -0,0 +1,428 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exact descriptive statistics of fractions.
+ * <p>
+ * Instance collects count, sum and sum of squares of added fractions in one pass. Sums are kept unreduced in longs,
+ * promoted to BigIntegers when they overflow, with denominator which is least common multiple of added denominators,
+ * and they are reduced only when mean or variance is read. Statistics of parts of data can be combined, so large
+ * columns of fractions are processed in parallel by {@link #of(long[], long[], ForkJoinPool)}.
+ * </p>
+ * <p>
+ * Static methods work over fractions stored in columns, as array of numerators and array of denominators, with
+ * positive denominators, like {@link FractionArrays}. Median and quantiles are found by selection in linear expected
+ * time without sorting and input arrays are not changed. All results are exact BigFractions.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see FractionArrays
+ */
+public class FractionStatistics
+{
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	private long count;
+	private final Fraction.Accumulator sum = new Fraction.Accumulator();
+	private final Fraction.Accumulator sumOfSquares = new Fraction.Accumulator();
+
+	// -------------------------------------------------------------------------
+	// Fabric method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param numerators (long[]) numerators of fractions
+	 * @param denominators (long[]) positive denominators of fractions
+	 *
+	 * @return (FractionStatistics) statistics of fractions
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length or some denominator is not positive
+	 */
+	public static FractionStatistics of (long[] numerators, long[] denominators)
+	{
+		FractionArrays.checkLength(numerators, denominators);
+		FractionArrays.checkDenominators(denominators);
+
+		return FractionStatistics.of(numerators, denominators, 0, numerators.length);
+	}
+
+	/**
+	 * Collect statistics of parts of columns in parallel and combine them.
+	 *
+	 * @param numerators (long[]) numerators of fractions
+	 * @param denominators (long[]) positive denominators of fractions
+	 * @param pool (ForkJoinPool) pool which collects statistics
+	 *
+	 * @return (FractionStatistics) statistics of fractions
+	 *
+	 * @throws NullPointerException if some array or pool is null
+	 * @throws IllegalArgumentException if arrays have different length or some denominator is not positive
+	 */
+	public static FractionStatistics of (long[] numerators, long[] denominators, ForkJoinPool pool)
+	{
+		if (pool == null) throw new NullPointerException("Pool is null.");
+
+		FractionArrays.checkLength(numerators, denominators);
+		FractionArrays.checkDenominators(denominators);
+
+		return pool.invoke(new StatisticsTask(numerators, denominators, 0, numerators.length));
+	}
+
+	// -------------------------------------------------------------------------
+	// Statistics method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param fraction (Fraction) added fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public void add (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		this.add(fraction.getNumerator(), fraction.getDenominator());
+	}
+
+	/**
+	 * @param numerator (long) numerator of added fraction
+	 * @param denominator (long) positive denominator of added fraction
+	 *
+	 * @throws IllegalArgumentException if denominator is not positive
+	 */
+	public void add (long numerator, long denominator)
+	{
+		if (denominator <= 0) throw new IllegalArgumentException(FractionConstants.ERR_DENOMINATOR_NOT_POSITIVE);
+
+		this.count++;
+		this.sum.add(numerator, denominator);
+		this.sumOfSquares.addProduct(numerator, denominator, numerator, denominator);
+	}
+
+	/**
+	 * Add all fractions collected by other statistics.
+	 *
+	 * @param statistics (FractionStatistics) other statistics
+	 *
+	 * @throws NullPointerException if statistics is null
+	 */
+	public void combine (FractionStatistics statistics)
+	{
+		if (statistics == null) throw new NullPointerException("Statistics are null.");
+
+		this.count += statistics.count;
+		this.sum.add(statistics.sum);
+		this.sumOfSquares.add(statistics.sumOfSquares);
+	}
+
+	/**
+	 * @return (long) number of fractions
+	 */
+	public long getCount ()
+	{
+		return this.count;
+	}
+
+	/**
+	 * @return (BigFraction) sum of fractions
+	 */
+	public BigFraction getSum ()
+	{
+		return this.sum.toBigFraction();
+	}
+
+	/**
+	 * @return (BigFraction) arithmetic mean of fractions
+	 *
+	 * @throws IllegalStateException if there are no fractions
+	 */
+	public BigFraction getMean ()
+	{
+		if (this.count == 0) throw new IllegalStateException("Statistics have no values.");
+
+		return this.sum.toBigFraction().divide(this.count);
+	}
+
+	/**
+	 * @return (BigFraction) population variance, mean of squared deviations from mean
+	 *
+	 * @throws IllegalStateException if there are no fractions
+	 */
+	public BigFraction getVariance ()
+	{
+		if (this.count == 0) throw new IllegalStateException("Statistics have no values.");
+
+		return this.sumOfSquaredDeviations().divide(this.count);
+	}
+
+	/**
+	 * @return (BigFraction) sample variance, sum of squared deviations from mean divided by count - 1
+	 *
+	 * @throws IllegalStateException if there are less than two fractions
+	 */
+	public BigFraction getSampleVariance ()
+	{
+		if (this.count < 2) throw new IllegalStateException("Statistics have less than two values.");
+
+		return this.sumOfSquaredDeviations().divide(this.count - 1);
+	}
+
+	@Override
+	public String toString ()
+	{
+		return "FractionStatistics{count=" + this.count + ", sum=" + this.getSum() + "}";
+	}
+
+	// -------------------------------------------------------------------------
+	// Column method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Weighted arithmetic mean, <em>sum(w[i] * x[i]) / sum(w[i])</em>.
+	 *
+	 * @param numerators (long[]) numerators of fractions
+	 * @param denominators (long[]) positive denominators of fractions
+	 * @param weightNumerators (long[]) numerators of weights
+	 * @param weightDenominators (long[]) positive denominators of weights
+	 *
+	 * @return (BigFraction) weighted mean
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays have different length or some denominator is not positive
+	 * @throws ArithmeticException if sum of weights is zero
+	 */
+	public static BigFraction weightedMean (long[] numerators, long[] denominators, long[] weightNumerators, long[] weightDenominators)
+	{
+		int length = FractionArrays.checkLength(numerators, denominators, weightNumerators, weightDenominators);
+		FractionArrays.checkDenominators(denominators);
+		FractionArrays.checkDenominators(weightDenominators);
+
+		Fraction.Accumulator weightedSum = new Fraction.Accumulator();
+		Fraction.Accumulator weights = new Fraction.Accumulator();
+
+		for (int i = 0; i < length; i++)
+		{
+			weightedSum.addProduct(numerators[i], denominators[i], weightNumerators[i], weightDenominators[i]);
+			weights.add(weightNumerators[i], weightDenominators[i]);
+		}
+
+		return weightedSum.toBigFraction().divide(weights.toBigFraction());
+	}
+
+	/**
+	 * Median, middle value or mean of two middle values.
+	 *
+	 * @param numerators (long[]) numerators of fractions
+	 * @param denominators (long[]) positive denominators of fractions
+	 *
+	 * @return (BigFraction) median
+	 *
+	 * @throws NullPointerException if some array is null
+	 * @throws IllegalArgumentException if arrays are empty, have different length or some denominator is not positive
+	 */
+	public static BigFraction median (long[] numerators, long[] denominators)
+	{
+		return FractionStatistics.quantile(numerators, denominators, Fraction.createFraction(1, 2));
+	}
+
+	/**
+	 * Quantile with linear interpolation between order statistics. Value with rank <em>h = (n - 1) * p</em>, counted
+	 * from 0, is interpolated between values with ranks <em>floor(h)</em> and <em>floor(h) + 1</em>, so quantile 0 is
+	 * minimum, 1/2 is median and 1 is maximum.
+	 *
+	 * @param numerators (long[]) numerators of fractions
+	 * @param denominators (long[]) positive denominators of fractions
+	 * @param probability (Fraction) probability from 0 to 1
+	 *
+	 * @return (BigFraction) quantile
+	 *
+	 * @throws NullPointerException if some array or probability is null
+	 * @throws IllegalArgumentException if arrays are empty, have different length, some denominator is not positive
+	 * or probability is not from 0 to 1
+	 */
+	public static BigFraction quantile (long[] numerators, long[] denominators, Fraction probability)
+	{
+		int length = FractionArrays.checkLength(numerators, denominators);
+		FractionArrays.checkDenominators(denominators);
+
+		if (probability == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+		if (probability.getNumerator() < 0 || probability.getNumerator() > probability.getDenominator())
+		{
+			throw new IllegalArgumentException("Probability is not from 0 to 1.");
+		}
+		if (length == 0) throw new IllegalArgumentException("Arrays are empty.");
+
+		BigInteger[] rank = BigInteger.valueOf(length - 1).multiply(BigInteger.valueOf(probability.getNumerator()))
+				.divideAndRemainder(BigInteger.valueOf(probability.getDenominator()));
+		int k = rank[0].intValue();
+
+		long[] n = numerators.clone();
+		long[] d = denominators.clone();
+		FractionStatistics.select(n, d, k);
+
+		BigFraction lower = BigFraction.createFraction(n[k], d[k]);
+
+		if (rank[1].signum() == 0)
+		{
+			return lower;
+		}
+
+		// values after k are not less than value k, next order statistic is their minimum
+		int next = k + 1;
+
+		for (int i = k + 2; i < length; i++)
+		{
+			if (FractionSort.compare(n[i], d[i], n[next], d[next]) < 0)
+			{
+				next = i;
+			}
+		}
+
+		BigFraction upper = BigFraction.createFraction(n[next], d[next]);
+		BigFraction fraction = BigFraction.createFraction(rank[1], BigInteger.valueOf(probability.getDenominator()));
+
+		return lower.add(upper.subtract(lower).multiply(fraction));
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private static FractionStatistics of (long[] numerators, long[] denominators, int from, int to)
+	{
+		FractionStatistics statistics = new FractionStatistics();
+
+		for (int i = from; i < to; i++)
+		{
+			statistics.add(numerators[i], denominators[i]);
+		}
+
+		return statistics;
+	}
+
+	/**
+	 * Sum of squared deviations from mean, <em>sum(x^2) - sum(x)^2 / n</em>, which is exact in rationals.
+	 */
+	private BigFraction sumOfSquaredDeviations ()
+	{
+		BigFraction sum = this.sum.toBigFraction();
+
+		return this.sumOfSquares.toBigFraction().subtract(sum.multiply(sum).divide(this.count));
+	}
+
+	/**
+	 * Move value with rank k to index k, smaller values before it and not smaller values after it.
+	 * Quickselect with median of three pivot and three way partition.
+	 */
+	private static void select (long[] n, long[] d, int k)
+	{
+		int from = 0;
+		int to = n.length - 1;
+
+		while (from < to)
+		{
+			int middle = (from + to) >>> 1;
+
+			if (FractionSort.compare(n[middle], d[middle], n[from], d[from]) < 0) FractionStatistics.swap(n, d, middle, from);
+			if (FractionSort.compare(n[to], d[to], n[from], d[from]) < 0) FractionStatistics.swap(n, d, to, from);
+			if (FractionSort.compare(n[to], d[to], n[middle], d[middle]) < 0) FractionStatistics.swap(n, d, to, middle);
+
+			long pivotNumerator = n[middle];
+			long pivotDenominator = d[middle];
+
+			// [from, lt) less than pivot, [lt, i) equal to pivot, (gt, to] greater than pivot
+			int lt = from;
+			int gt = to;
+			int i = from;
+
+			while (i <= gt)
+			{
+				int c = FractionSort.compare(n[i], d[i], pivotNumerator, pivotDenominator);
+
+				if (c < 0)
+				{
+					FractionStatistics.swap(n, d, lt++, i++);
+				}
+				else if (c > 0)
+				{
+					FractionStatistics.swap(n, d, i, gt--);
+				}
+				else
+				{
+					i++;
+				}
+			}
+
+			if (k < lt)
+			{
+				to = lt - 1;
+			}
+			else if (k > gt)
+			{
+				from = gt + 1;
+			}
+			else
+			{
+				return;
+			}
+		}
+	}
+
+	private static void swap (long[] n, long[] d, int i, int j)
+	{
+		long tmp = n[i];
+		n[i] = n[j];
+		n[j] = tmp;
+		tmp = d[i];
+		d[i] = d[j];
+		d[j] = tmp;
+	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	private static class StatisticsTask extends RecursiveTask<FractionStatistics>
+	{
+		private final long[] numerators;
+		private final long[] denominators;
+		private final int from;
+		private final int to;
+
+		StatisticsTask (long[] numerators, long[] denominators, int from, int to)
+		{
+			this.numerators = numerators;
+			this.denominators = denominators;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected FractionStatistics compute ()
+		{
+			if (this.to - this.from <= PARALLEL_THRESHOLD)
+			{
+				return FractionStatistics.of(this.numerators, this.denominators, this.from, this.to);
+			}
+
+			int middle = (this.from + this.to) >>> 1;
+			StatisticsTask left = new StatisticsTask(this.numerators, this.denominators, this.from, middle);
+			StatisticsTask right = new StatisticsTask(this.numerators, this.denominators, middle, this.to);
+
+			left.fork();
+			FractionStatistics statistics = right.compute();
+			statistics.combine(left.join());
+
+			return statistics;
+		}
+	}
+}
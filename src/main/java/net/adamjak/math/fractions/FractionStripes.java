@@ -0,0 +1,118 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Package private table of striped cells for concurrent accumulators.
+ * <p>
+ * Every thread has a probe which selects its cell. Table starts with one cell. When a thread finds its cell locked
+ * by other thread, its probe is changed and the table is doubled, up to the number of processors, so threads which
+ * write concurrently end in different cells and do not wait for each other.
+ * </p>
+ *
+ * @param <C> type of cell
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see FractionAdder
+ * @see BigFractionAdder
+ */
+abstract class FractionStripes<C extends ReentrantLock>
+{
+	private static final int MAXIMUM_CELLS = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+
+	private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>()
+	{
+		@Override
+		protected int[] initialValue ()
+		{
+			long id = Thread.currentThread().getId();
+
+			return new int[] {(int) (id * 0x9E3779B97F4A7C15L >>> 32) | 1};
+		}
+	};
+
+	private volatile C[] cells;
+
+	FractionStripes ()
+	{
+		C[] cells = this.newArray(1);
+		cells[0] = this.newCell();
+		this.cells = cells;
+	}
+
+	/**
+	 * @return new empty cell
+	 */
+	abstract C newCell ();
+
+	/**
+	 * @return new array of cells
+	 */
+	abstract C[] newArray (int size);
+
+	/**
+	 * Lock cell of current thread. Caller must unlock the cell.
+	 *
+	 * @return locked cell
+	 */
+	final C lock ()
+	{
+		int[] probe = PROBE.get();
+		C[] cells = this.cells;
+		C cell = cells[probe[0] & (cells.length - 1)];
+
+		if (cell.tryLock())
+		{
+			return cell;
+		}
+
+		// contention, move thread to other cell by xorshift of its probe
+		int h = probe[0];
+		h ^= h << 13;
+		h ^= h >>> 17;
+		h ^= h << 5;
+		probe[0] = h;
+
+		if (cells.length < MAXIMUM_CELLS)
+		{
+			this.grow(cells);
+		}
+
+		cells = this.cells;
+		cell = cells[h & (cells.length - 1)];
+		cell.lock();
+
+		return cell;
+	}
+
+	/**
+	 * @return current cells, cells can be added later but never removed
+	 */
+	final C[] cells ()
+	{
+		return this.cells;
+	}
+
+	private synchronized void grow (C[] expected)
+	{
+		if (this.cells != expected)
+		{
+			return;
+		}
+
+		C[] cells = this.newArray(expected.length << 1);
+		System.arraycopy(expected, 0, cells, 0, expected.length);
+
+		for (int i = expected.length; i < cells.length; i++)
+		{
+			cells[i] = this.newCell();
+		}
+
+		this.cells = cells;
+	}
+}
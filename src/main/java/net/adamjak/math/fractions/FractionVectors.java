@@ -0,0 +1,76 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+/**
+ * Package private bridge from {@link FractionArrays} to vector kernels.
+ * <p>
+ * Vector API is not available before Java 16, so baseline version of the class has no kernels and
+ * {@link FractionArrays} uses its scalar loops. Methods of baseline version run the same scalar loops, so they give
+ * correct results even when they are called without checking {@link #isAvailable()}. Java 17 version of the class from multi-release JAR uses
+ * <em>jdk.incubator.vector</em> when the module is present at runtime.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+final class FractionVectors
+{
+	private FractionVectors ()
+	{
+	}
+
+	/**
+	 * @return true if vector kernels are available
+	 */
+	static boolean isAvailable ()
+	{
+		return false;
+	}
+
+	/**
+	 * Elementwise <em>result[i] = a[i] * b[i]</em> for checked arrays of given length.
+	 */
+	static void multiply (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, long[] resultNumerators, long[] resultDenominators, int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			FractionArrays.multiplyAt(aNumerators[i], aDenominators[i], bNumerators[i], bDenominators[i], resultNumerators, resultDenominators, i);
+		}
+	}
+
+	/**
+	 * Elementwise <em>result[i] = a[i] + b[i]</em> for checked arrays of given length.
+	 */
+	static void add (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, long[] resultNumerators, long[] resultDenominators, int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			FractionArrays.addAt(aNumerators[i], aDenominators[i], bNumerators[i], bDenominators[i], resultNumerators, resultDenominators, i);
+		}
+	}
+
+	/**
+	 * Elementwise <em>result[i] = a[i] * b[i] + c[i]</em> for checked arrays of given length.
+	 */
+	static void multiplyAdd (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators,
+							 long[] cNumerators, long[] cDenominators, long[] resultNumerators, long[] resultDenominators, int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			FractionArrays.multiplyAddAt(aNumerators[i], aDenominators[i], bNumerators[i], bDenominators[i], cNumerators[i], cDenominators[i], resultNumerators, resultDenominators, i);
+		}
+	}
+
+	/**
+	 * Elementwise comparison of <em>a[i]</em> and <em>b[i]</em> for checked arrays of given length.
+	 */
+	static void compare (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, int[] result, int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			result[i] = LongMath.compareProducts(aNumerators[i], bDenominators[i], bNumerators[i], aDenominators[i]);
+		}
+	}
+}
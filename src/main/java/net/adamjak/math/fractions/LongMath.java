@@ -0,0 +1,169 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+/**
+ * Package private helper with overflow aware arithmetic on primitive longs.
+ * <p>
+ * Library is compiled for Java 7, so <em>Math.multiplyExact</em> and friends are not available.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+final class LongMath
+{
+	private LongMath ()
+	{
+	}
+
+	/**
+	 * Greatest common divisor of two numbers. Signs of numbers are ignored.
+	 *
+	 * @param a first number
+	 * @param b second number
+	 *
+	 * @return non negative greatest common divisor, gcd(0, 0) is 0. Only gcd of Long.MIN_VALUE with 0 or with itself,
+	 * which is 2<sup>63</sup>, does not fit into long and is returned as Long.MIN_VALUE.
+	 */
+	static long gcd (long a, long b)
+	{
+		// remainder has sign of dividend and magnitude smaller than divisor, so Euclid works on signed numbers
+		// and Math.abs(Long.MIN_VALUE) is never needed before the last step
+		while (b != 0)
+		{
+			long tmp = a % b;
+			a = b;
+			b = tmp;
+		}
+
+		return Math.abs(a);
+	}
+
+	/**
+	 * @param x first factor
+	 * @param y second factor
+	 * @param r result of <em>x * y</em>
+	 *
+	 * @return true if <em>r</em> is not exact product of <em>x</em> and <em>y</em>
+	 */
+	static boolean isMultiplyOverflow (long x, long y, long r)
+	{
+		long ax = Math.abs(x);
+		long ay = Math.abs(y);
+
+		if (((ax | ay) >>> 31) != 0)
+		{
+			if ((y != 0 && r / y != x) || (x == Long.MIN_VALUE && y == -1))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @param x first summand
+	 * @param y second summand
+	 * @param r result of <em>x + y</em>
+	 *
+	 * @return true if <em>r</em> is not exact sum of <em>x</em> and <em>y</em>
+	 */
+	static boolean isAddOverflow (long x, long y, long r)
+	{
+		return ((x ^ r) & (y ^ r)) < 0;
+	}
+
+	/**
+	 * @return product of <em>x</em> and <em>y</em>
+	 *
+	 * @throws ArithmeticException if result overflows a long
+	 */
+	static long multiplyExact (long x, long y)
+	{
+		long r = x * y;
+
+		if (LongMath.isMultiplyOverflow(x, y, r)) throw new ArithmeticException(FractionConstants.ERR_LONG_OVERFLOW);
+
+		return r;
+	}
+
+	/**
+	 * @return sum of <em>x</em> and <em>y</em>
+	 *
+	 * @throws ArithmeticException if result overflows a long
+	 */
+	static long addExact (long x, long y)
+	{
+		long r = x + y;
+
+		if (LongMath.isAddOverflow(x, y, r)) throw new ArithmeticException(FractionConstants.ERR_LONG_OVERFLOW);
+
+		return r;
+	}
+
+	/**
+	 * High 64 bits of 128 bit product of two longs.
+	 *
+	 * @param x first factor
+	 * @param y second factor
+	 *
+	 * @return high 64 bits of <em>x * y</em>
+	 */
+	static long multiplyHigh (long x, long y)
+	{
+		long x1 = x >> 32;
+		long x2 = x & 0xFFFFFFFFL;
+		long y1 = y >> 32;
+		long y2 = y & 0xFFFFFFFFL;
+
+		long z2 = x2 * y2;
+		long t = x1 * y2 + (z2 >>> 32);
+		long z1 = t & 0xFFFFFFFFL;
+		long z0 = t >> 32;
+		z1 += x2 * y1;
+
+		return x1 * y1 + z0 + (z1 >> 32);
+	}
+
+	/**
+	 * Exact comparison of two products without overflow.
+	 *
+	 * @return negative number, zero or positive number as <em>a * b</em> is less than, equal to or greater than <em>c * d</em>
+	 */
+	static int compareProducts (long a, long b, long c, long d)
+	{
+		long high1 = LongMath.multiplyHigh(a, b);
+		long high2 = LongMath.multiplyHigh(c, d);
+
+		if (high1 != high2)
+		{
+			return high1 < high2 ? -1 : 1;
+		}
+
+		long low1 = (a * b) + Long.MIN_VALUE;
+		long low2 = (c * d) + Long.MIN_VALUE;
+
+		return low1 < low2 ? -1 : (low1 == low2 ? 0 : 1);
+	}
+
+	/**
+	 * Well distributed hash of fraction numerator and denominator. Pair is combined with golden ratio
+	 * multiplier and mixed with finalizer of MurmurHash3.
+	 *
+	 * @return hash code of fraction
+	 */
+	static int hash (long numerator, long denominator)
+	{
+		long h = numerator * 0x9E3779B97F4A7C15L + denominator;
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+
+		return (int) h;
+	}
+}
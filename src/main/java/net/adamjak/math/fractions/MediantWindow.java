@@ -0,0 +1,273 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+
+/**
+ * Sliding window of ratios with running mediant, <em>sum of numerators / sum of denominators</em>.
+ * <p>
+ * Window keeps last <em>capacity</em> added pairs of numerator and denominator unreduced, as counts, in primitive
+ * ring buffer. Sums are kept in 128 bit integers made of two longs, which can not overflow for any window of longs,
+ * so adding and evicting cost constant work without gcd and without creating objects. Current mediant is reduced only
+ * when it is read. Window is not thread safe.
+ * </p>
+ * <pre>
+ * MediantWindow window = new MediantWindow(1000);
+ * window.add(hits, requests);
+ * Fraction ratio = window.getValue();
+ * </pre>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+public class MediantWindow
+{
+	private final long[] numerators;
+	private final long[] denominators;
+	private int head;
+	private int size;
+
+	private long numeratorHigh;
+	private long numeratorLow;
+	private long denominatorHigh;
+	private long denominatorLow;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param capacity (int) maximal number of pairs in window
+	 *
+	 * @throws IllegalArgumentException if capacity is not positive
+	 */
+	public MediantWindow (int capacity)
+	{
+		if (capacity < 1) throw new IllegalArgumentException("Capacity is not positive.");
+
+		this.numerators = new long[capacity];
+		this.denominators = new long[capacity];
+	}
+
+	// -------------------------------------------------------------------------
+	// Window method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Add pair to window. When window is full, the oldest pair is evicted.
+	 *
+	 * @param numerator (long) numerator count
+	 * @param denominator (long) non negative denominator count
+	 *
+	 * @throws IllegalArgumentException if denominator is negative
+	 */
+	public void add (long numerator, long denominator)
+	{
+		if (denominator < 0) throw new IllegalArgumentException("Denominator is negative.");
+
+		if (this.size == this.numerators.length)
+		{
+			this.evict();
+		}
+
+		int tail = this.head + this.size;
+
+		if (tail >= this.numerators.length)
+		{
+			tail -= this.numerators.length;
+		}
+
+		this.numerators[tail] = numerator;
+		this.denominators[tail] = denominator;
+		this.size++;
+
+		long low = this.numeratorLow + numerator;
+		this.numeratorHigh += (numerator >> 63) + MediantWindow.carry(this.numeratorLow, low);
+		this.numeratorLow = low;
+
+		low = this.denominatorLow + denominator;
+		this.denominatorHigh += MediantWindow.carry(this.denominatorLow, low);
+		this.denominatorLow = low;
+	}
+
+	/**
+	 * Add fraction to window as pair of its numerator and denominator.
+	 *
+	 * @param fraction (Fraction) added fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public void add (Fraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		this.add(fraction.getNumerator(), fraction.getDenominator());
+	}
+
+	/**
+	 * Remove the oldest pair from window.
+	 *
+	 * @throws NoSuchElementException if window is empty
+	 */
+	public void evict ()
+	{
+		if (this.size == 0) throw new NoSuchElementException();
+
+		long numerator = this.numerators[this.head];
+		long denominator = this.denominators[this.head];
+
+		if (++this.head == this.numerators.length)
+		{
+			this.head = 0;
+		}
+
+		this.size--;
+
+		long low = this.numeratorLow - numerator;
+		this.numeratorHigh -= (numerator >> 63) + MediantWindow.borrow(this.numeratorLow, low);
+		this.numeratorLow = low;
+
+		low = this.denominatorLow - denominator;
+		this.denominatorHigh -= MediantWindow.borrow(this.denominatorLow, low);
+		this.denominatorLow = low;
+	}
+
+	/**
+	 * Remove all pairs from window.
+	 */
+	public void clear ()
+	{
+		this.head = 0;
+		this.size = 0;
+		this.numeratorHigh = 0;
+		this.numeratorLow = 0;
+		this.denominatorHigh = 0;
+		this.denominatorLow = 0;
+	}
+
+	/**
+	 * @return (int) number of pairs in window
+	 */
+	public int size ()
+	{
+		return this.size;
+	}
+
+	/**
+	 * @return (int) maximal number of pairs in window
+	 */
+	public int getCapacity ()
+	{
+		return this.numerators.length;
+	}
+
+	/**
+	 * @return (boolean) true if window is empty
+	 */
+	public boolean isEmpty ()
+	{
+		return this.size == 0;
+	}
+
+	/**
+	 * @return (BigInteger) sum of numerators in window
+	 */
+	public BigInteger getNumeratorSum ()
+	{
+		return MediantWindow.toBigInteger(this.numeratorHigh, this.numeratorLow);
+	}
+
+	/**
+	 * @return (BigInteger) sum of denominators in window
+	 */
+	public BigInteger getDenominatorSum ()
+	{
+		return MediantWindow.toBigInteger(this.denominatorHigh, this.denominatorLow);
+	}
+
+	/**
+	 * @return (Fraction) reduced mediant of window
+	 *
+	 * @throws ArithmeticException if sum of denominators is zero or mediant does not fit into Fraction
+	 */
+	public Fraction getValue ()
+	{
+		if (this.denominatorHigh == 0 && this.denominatorLow == 0) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		if (this.numeratorHigh == this.numeratorLow >> 63 && this.numeratorLow != Long.MIN_VALUE && this.denominatorHigh == 0 && this.denominatorLow > 0)
+		{
+			if (this.numeratorLow == FractionConstants.ZERO)
+			{
+				return Fraction.createReduced(FractionConstants.ZERO, FractionConstants.ONE);
+			}
+
+			long gcd = LongMath.gcd(this.numeratorLow, this.denominatorLow);
+
+			return Fraction.createReduced(this.numeratorLow / gcd, this.denominatorLow / gcd);
+		}
+
+		BigFraction value = this.getBigValue();
+
+		if (value.getNumerator().bitLength() > 63 || value.getDenominator().bitLength() > 63)
+		{
+			throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+		}
+
+		return Fraction.createReduced(value.getNumerator().longValue(), value.getDenominator().longValue());
+	}
+
+	/**
+	 * @return (BigFraction) reduced mediant of window
+	 *
+	 * @throws ArithmeticException if sum of denominators is zero
+	 */
+	public BigFraction getBigValue ()
+	{
+		if (this.denominatorHigh == 0 && this.denominatorLow == 0) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		return BigFraction.createFraction(this.getNumeratorSum(), this.getDenominatorSum());
+	}
+
+	@Override
+	public String toString ()
+	{
+		return "MediantWindow{size=" + this.size + ", capacity=" + this.numerators.length + ", numeratorSum=" +
+				this.getNumeratorSum() + ", denominatorSum=" + this.getDenominatorSum() + "}";
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return 1 if unsigned addition of low words overflowed
+	 */
+	private static long carry (long before, long after)
+	{
+		return (after ^ Long.MIN_VALUE) < (before ^ Long.MIN_VALUE) ? 1 : 0;
+	}
+
+	/**
+	 * @return 1 if unsigned subtraction of low words underflowed
+	 */
+	private static long borrow (long before, long after)
+	{
+		return (after ^ Long.MIN_VALUE) > (before ^ Long.MIN_VALUE) ? 1 : 0;
+	}
+
+	private static BigInteger toBigInteger (long high, long low)
+	{
+		BigInteger value = BigInteger.valueOf(high).shiftLeft(64);
+		BigInteger lowValue = BigInteger.valueOf(low & Long.MAX_VALUE);
+
+		if (low < 0)
+		{
+			lowValue = lowValue.setBit(63);
+		}
+
+		return value.add(lowValue);
+	}
+}
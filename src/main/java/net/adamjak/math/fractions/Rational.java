@@ -0,0 +1,942 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class which represent a fraction as two longs while the value fits into them and as two BigIntegers
+ * only when an operation would overflow.
+ * <p>
+ * Small values are calculated with primitive longs like {@link Fraction}, but the result is always exact
+ * like {@link BigFraction}. When a result fits into longs again, it is stored as two longs.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ *
+ * @see <a href="http://utils.adamjak.net">Utils.adamjak.net</a>
+ * @see Fraction
+ * @see BigFraction
+ */
+public class Rational extends Number implements Comparable<Rational>, Cloneable, Serializable
+{
+	private static final BigInteger BIG_LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+
+	private final long numerator;
+	private final long denominator;
+	private final BigInteger bigNumerator;
+	private final BigInteger bigDenominator;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	private Rational (long numerator, long denominator)
+	{
+		this.numerator = numerator;
+		this.denominator = denominator;
+		this.bigNumerator = null;
+		this.bigDenominator = null;
+	}
+
+	private Rational (BigInteger numerator, BigInteger denominator)
+	{
+		this.numerator = FractionConstants.ZERO;
+		this.denominator = FractionConstants.ONE;
+		this.bigNumerator = numerator;
+		this.bigDenominator = denominator;
+	}
+
+	// -------------------------------------------------------------------------
+	// Fabric method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * createFraction - creating fraction from numerator and denominator
+	 *
+	 * @param numerator (Number)
+	 * @param denominator (Number)
+	 *
+	 * @return (Rational)
+	 *
+	 * @throws NullPointerException when numerator or denominator is null
+	 * @throws ArithmeticException when denominator is zero
+	 */
+	public static Rational createFraction (Number numerator, Number denominator)
+	{
+		if(numerator == null) throw new NullPointerException(FractionConstants.ERR_NULL_NUMERATOR);
+		if(denominator == null) throw new NullPointerException(FractionConstants.ERR_NULL_DENOMINATOR);
+
+		return Rational.valueOf(numerator).divide(Rational.valueOf(denominator));
+	}
+
+	/**
+	 * createFraction - creating fraction from number
+	 *
+	 * @param number (Number)
+	 *
+	 * @return (Rational)
+	 *
+	 * @throws NullPointerException when number is null
+	 */
+	public static Rational createFraction (Number number)
+	{
+		if (number == null) throw new NullPointerException(FractionConstants.ERR_NULL_NUMBER);
+
+		return Rational.valueOf(number);
+	}
+
+	/**
+	 * createFraction - creating fraction from other fraction
+	 *
+	 * @param fraction (Rational)
+	 *
+	 * @return (Rational)
+	 *
+	 * @throws NullPointerException when fraction is null
+	 */
+	public static Rational createFraction (Rational fraction)
+	{
+		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		if (fraction.isSmall())
+		{
+			return new Rational(fraction.numerator, fraction.denominator);
+		}
+
+		return new Rational(fraction.bigNumerator, fraction.bigDenominator);
+	}
+
+	/**
+	 * valueOf - convert number to Rational. Integer types and fractions are converted exactly,
+	 * other numbers are converted through their double value.
+	 */
+	private static Rational valueOf (Number number)
+	{
+		if (number instanceof Rational)
+		{
+			return (Rational) number;
+		}
+		else if (number instanceof Fraction)
+		{
+			Fraction f = (Fraction) number;
+			return Rational.privateCreateFraction(f.getNumerator(), f.getDenominator());
+		}
+		else if (number instanceof BigFraction)
+		{
+			BigFraction f = (BigFraction) number;
+			return Rational.createReduced(f.getNumerator(), f.getDenominator());
+		}
+		else if (number instanceof BigInteger)
+		{
+			return Rational.createReduced((BigInteger) number, BigInteger.ONE);
+		}
+		else if (number instanceof Long ||
+				number instanceof Integer ||
+				number instanceof Short ||
+				number instanceof Byte ||
+				number instanceof AtomicInteger ||
+				number instanceof AtomicLong)
+		{
+			return Rational.privateCreateFraction(number.longValue(), FractionConstants.ONE);
+		}
+		else
+		{
+			BigFraction f = BigFraction.createFraction(number);
+			return Rational.createReduced(f.getNumerator(), f.getDenominator());
+		}
+	}
+
+	/**
+	 * privateCreateFraction - creating fraction from primitive numerator and denominator
+	 *
+	 * @throws ArithmeticException when denominator is zero
+	 */
+	private static Rational privateCreateFraction (long numerator, long denominator)
+	{
+		if (denominator == FractionConstants.ZERO) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		if (numerator == FractionConstants.ZERO)
+		{
+			return new Rational(FractionConstants.ZERO, FractionConstants.ONE);
+		}
+
+		if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE)
+		{
+			return Rational.privateCreateFraction(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+		}
+
+		if (denominator < 0)
+		{
+			numerator = -numerator;
+			denominator = -denominator;
+		}
+
+		long gcd = LongMath.gcd(numerator, denominator);
+
+		return new Rational(numerator / gcd, denominator / gcd);
+	}
+
+	/**
+	 * privateCreateFraction - creating fraction from BigInteger numerator and denominator
+	 *
+	 * @throws ArithmeticException when denominator is zero
+	 */
+	private static Rational privateCreateFraction (BigInteger numerator, BigInteger denominator)
+	{
+		if (denominator.signum() == 0) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		if (numerator.signum() == 0)
+		{
+			return new Rational(FractionConstants.ZERO, FractionConstants.ONE);
+		}
+
+		if (denominator.signum() < 0)
+		{
+			numerator = numerator.negate();
+			denominator = denominator.negate();
+		}
+
+		BigInteger gcd = numerator.gcd(denominator);
+
+		if (gcd.equals(BigInteger.ONE))
+		{
+			return Rational.createReduced(numerator, denominator);
+		}
+
+		return Rational.createReduced(numerator.divide(gcd), denominator.divide(gcd));
+	}
+
+	/**
+	 * createReduced - creating fraction from already reduced numerator and positive denominator.
+	 * Stores value as two longs when it is possible.
+	 */
+	private static Rational createReduced (BigInteger numerator, BigInteger denominator)
+	{
+		if (Rational.fitsLong(numerator) && Rational.fitsLong(denominator))
+		{
+			return new Rational(numerator.longValue(), denominator.longValue());
+		}
+
+		return new Rational(numerator, denominator);
+	}
+
+	/**
+	 * Long.MIN_VALUE is not stored as small value, because it can not be negated.
+	 */
+	private static boolean fitsLong (BigInteger number)
+	{
+		return number.bitLength() <= 63 && !number.equals(BIG_LONG_MIN);
+	}
+
+	/**
+	 * Creating small fraction from exact reduced result or null when it is not possible.
+	 */
+	private static Rational smallOrNull (long numerator, long denominator)
+	{
+		if (numerator == FractionConstants.ZERO)
+		{
+			return new Rational(FractionConstants.ZERO, FractionConstants.ONE);
+		}
+
+		if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE)
+		{
+			return null;
+		}
+
+		return new Rational(numerator, denominator);
+	}
+
+	/**
+	 * tryParse - create Rational from string and separator.
+	 *
+	 * @param s (String)
+	 * @param separator (Character)
+	 *
+	 * @return new instance of Rational
+	 *
+	 * @throws IllegalArgumentException If string is null or empty
+	 * @throws IllegalArgumentException If separator is null
+	 * @throws ParseException If string haven't correct format
+	 *
+	 * @see BigFraction#tryParse(String, Character)
+	 */
+	public static Rational tryParse (String s, Character separator) throws ParseException
+	{
+		return Rational.valueOf(BigFraction.tryParse(s, separator));
+	}
+
+	/**
+	 * tryParse - create Rational from string and default '/' separator or if in string is regular number.
+	 *
+	 * @param s (String)
+	 *
+	 * @return new instance of Rational
+	 *
+	 * @throws ParseException If string haven't correct format
+	 *
+	 * @see BigFraction#tryParse(String)
+	 */
+	public static Rational tryParse (String s) throws ParseException
+	{
+		return Rational.valueOf(BigFraction.tryParse(s));
+	}
+
+	/**
+	 * @return new instance of simple Fraction
+	 *
+	 * @throws ArithmeticException if value does not fit into Fraction
+	 *
+	 * @see Fraction
+	 */
+	public Fraction toFraction()
+	{
+		if (!this.isSmall()) throw new ArithmeticException(FractionConstants.ERR_FRACTION_OVERFLOW);
+
+		return Fraction.createFraction(this.numerator, this.denominator);
+	}
+
+	/**
+	 * @return new instance of BigFraction
+	 *
+	 * @see BigFraction
+	 */
+	public BigFraction toBigFraction()
+	{
+		return BigFraction.createFraction(this.getNumerator(), this.getDenominator());
+	}
+
+	// -------------------------------------------------------------------------
+	// Calculate method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param number (Number) whitch will add to Rational
+	 *
+	 * @return New Instance of Rational add by number
+	 *
+	 * @throws NullPointerException if number is null
+	 */
+	public Rational add (Number number)
+	{
+		if(number == null) throw new NullPointerException(FractionConstants.ERR_NULL_NUMBER);
+
+		return this.add(Rational.valueOf(number));
+	}
+
+	/**
+	 * @param fraction (Rational) whitch will add to Rational
+	 *
+	 * @return New Instance of Rational add by fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public Rational add (Rational fraction)
+	{
+		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		if (this.isSmall() && fraction.isSmall())
+		{
+			Rational result = Rational.addSmall(this.numerator, this.denominator, fraction.numerator, fraction.denominator);
+
+			if (result != null)
+			{
+				return result;
+			}
+		}
+
+		return Rational.privateCreateFraction(this.bigNumerator().multiply(fraction.bigDenominator()).add(fraction.bigNumerator().multiply(this.bigDenominator())), this.bigDenominator().multiply(fraction.bigDenominator()));
+	}
+
+	/**
+	 * @param number (Number) whitch will multiply Rational
+	 *
+	 * @return New instance of Rational multyply by number
+	 *
+	 * @throws NullPointerException if number is null
+	 */
+	public Rational multiply (Number number)
+	{
+		if(number == null) throw new NullPointerException(FractionConstants.ERR_NULL_NUMBER);
+
+		return this.multiply(Rational.valueOf(number));
+	}
+
+	/**
+	 * @param fraction (Rational) whitch will multiply Rational
+	 *
+	 * @return New instance of Rational multyply by fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public Rational multiply (Rational fraction)
+	{
+		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		if (this.isSmall() && fraction.isSmall())
+		{
+			Rational result = Rational.multiplySmall(this.numerator, this.denominator, fraction.numerator, fraction.denominator);
+
+			if (result != null)
+			{
+				return result;
+			}
+		}
+
+		return Rational.privateCreateFraction(this.bigNumerator().multiply(fraction.bigNumerator()), this.bigDenominator().multiply(fraction.bigDenominator()));
+	}
+
+	/**
+	 * @param number (Number) whitch will subtract Rational
+	 *
+	 * @return New instance of Rational subtract by number
+	 *
+	 * @throws NullPointerException if number is null
+	 */
+	public Rational subtract (Number number)
+	{
+		if(number == null) throw new NullPointerException(FractionConstants.ERR_NULL_NUMBER);
+
+		return this.subtract(Rational.valueOf(number));
+	}
+
+	/**
+	 * @param fraction (Rational) whitch will subtract Rational
+	 *
+	 * @return New instance of Rational subtract by fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public Rational subtract (Rational fraction)
+	{
+		if(fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.add(fraction.negate());
+	}
+
+	/**
+	 * @param number (Number) whitch will divide Rational
+	 *
+	 * @return New instance of Rational divide by number.
+	 *
+	 * @throws NullPointerException if number is null
+	 * @throws ArithmeticException if number is zero
+	 */
+	public Rational divide (Number number)
+	{
+		if (number == null) throw new NullPointerException(FractionConstants.ERR_NULL_NUMBER);
+
+		return this.divide(Rational.valueOf(number));
+	}
+
+	/**
+	 * @param fraction (Rational) whitch will divide Rational
+	 *
+	 * @return New instance of Rational divide by fraction.
+	 *
+	 * @throws NullPointerException if fraction is null
+	 * @throws ArithmeticException if fraction is zero
+	 */
+	public Rational divide (Rational fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.multiply(fraction.reciprocal());
+	}
+
+	/**
+	 * Returns the bigger fraction. If instance is bigger that inserted fraction return instance else return inserted fraction.
+	 *
+	 * @param fraction (Rational) comparing fractions
+	 *
+	 * @return (Rational)
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public Rational max (Rational fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.compareTo(fraction) >= 0 ? this : fraction;
+	}
+
+	/**
+	 * Returns the smaller fraction. If instance is smaller that inserted fraction return instance else return inserted fraction.
+	 *
+	 * @param fraction (Rational) comparing fractions
+	 *
+	 * @return (Rational)
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public Rational min (Rational fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.compareTo(fraction) <= 0 ? this : fraction;
+	}
+
+	/**
+	 * Create power of fraction.
+	 * <p>
+	 * Examples:<br>
+	 * - (2/3)<sup>0</sup> = 1/1<br>
+	 * - (2/3)<sup>1</sup> = 2/3<br>
+	 * - (2/3)<sup>2</sup> = 4/9<br>
+	 * - (2/3)<sup>-2</sup> = 9/4<br>
+	 * </p>
+	 * @param exponent (Integer)
+	 *
+	 * @return (Rational)
+	 *
+	 * @throws NullPointerException if exponent is null
+	 * @throws ArithmeticException if exponent is negative and fraction is zero or exponent is Integer.MIN_VALUE
+	 */
+	public Rational pow (Integer exponent)
+	{
+		if (exponent == null) throw new NullPointerException("Exponent can't be null.");
+
+		if (exponent == 0)
+		{
+			return new Rational(FractionConstants.ONE, FractionConstants.ONE);
+		}
+		else if (exponent == 1)
+		{
+			return this;
+		}
+		else if (exponent == Integer.MIN_VALUE)
+		{
+			// -Integer.MIN_VALUE is Integer.MIN_VALUE, so the exponent can not be negated
+			throw new ArithmeticException(FractionConstants.ERR_EXPONENT_OUT_OF_RANGE);
+		}
+		else if (exponent < 0)
+		{
+			return this.reciprocal().pow(-exponent);
+		}
+
+		if (this.isSmall())
+		{
+			long num = Rational.powSmall(this.numerator, exponent);
+			long den = Rational.powSmall(this.denominator, exponent);
+
+			if (num != Long.MIN_VALUE && den != Long.MIN_VALUE)
+			{
+				return new Rational(num, den);
+			}
+		}
+
+		return Rational.createReduced(this.bigNumerator().pow(exponent), this.bigDenominator().pow(exponent));
+	}
+
+	/**
+	 * <p>
+	 * Create new reciprocal fraction from instance.
+	 * </p>
+	 * <p>
+	 * Example: 2/3 &rarr; 3/2
+	 * </p>
+	 *
+	 * @return (Rational)
+	 *
+	 * @throws ArithmeticException if numerator of instance is zero
+	 */
+	public Rational reciprocal()
+	{
+		if (this.signum() == 0) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		if (this.isSmall())
+		{
+			return this.numerator < 0 ? new Rational(-this.denominator, -this.numerator) : new Rational(this.denominator, this.numerator);
+		}
+
+		return this.bigNumerator.signum() < 0 ? new Rational(this.bigDenominator.negate(), this.bigNumerator.negate()) : new Rational(this.bigDenominator, this.bigNumerator);
+	}
+
+	/**
+	 * Percentage value of fraction.
+	 *
+	 * @return (Double)
+	 */
+	public Double inPercentage()
+	{
+		return this.doubleValue() * 100;
+	}
+
+	/**
+	 * Natural logarithm of fraction. User <em>Math.log()</em>
+	 *
+	 * @return (Double)
+	 *
+	 * @see Math#log(double)
+	 */
+	public Double log()
+	{
+		if (this.isSmall())
+		{
+			return Math.log(this.numerator) - Math.log(this.denominator);
+		}
+
+		return Math.log(this.bigNumerator.doubleValue()) - Math.log(this.bigDenominator.doubleValue());
+	}
+
+	/**
+	 * Returns fraction which, after the sum with this fraction is 1.
+	 *
+	 * @return (Rational)
+	 */
+	public Rational complement()
+	{
+		return this.complement(1);
+	}
+
+	/**
+	 * Returns fraction which, after the sum with this fraction is inserted number.
+	 *
+	 * @param number (Number)
+	 * @return (Rational)
+	 */
+	public Rational complement(Number number)
+	{
+		if (number == null) throw new NullPointerException(FractionConstants.ERR_NULL_NUMBER);
+
+		return Rational.valueOf(number).subtract(this);
+	}
+
+	/**
+	 * Generate random fraction. Use <em>Math.random()</em>
+	 *
+	 * @return (Rational)
+	 *
+	 * @see Math#random()
+	 */
+	public static Rational random()
+	{
+		return Rational.createFraction(Math.random());
+	}
+
+	/**
+	 * @return Numerator of fraction.
+	 */
+	public BigInteger getNumerator ()
+	{
+		return this.bigNumerator();
+	}
+
+	/**
+	 * @return Detominator of fraction.
+	 */
+	public BigInteger getDenominator ()
+	{
+		return this.bigDenominator();
+	}
+
+	/**
+	 * @return true if numerator and denominator of fraction are stored as two longs
+	 */
+	boolean isSmall ()
+	{
+		return this.bigNumerator == null;
+	}
+
+	/**
+	 * @return -1, 0 or 1 as the value of fraction is negative, zero or positive
+	 */
+	public int signum ()
+	{
+		if (this.isSmall())
+		{
+			return Long.signum(this.numerator);
+		}
+
+		return this.bigNumerator.signum();
+	}
+
+	// -------------------------------------------------------------------------
+	// Overide method
+	// -------------------------------------------------------------------------
+
+	@Override
+	public int compareTo (Rational fraction)
+	{
+		if(fraction == null) throw new NullPointerException();
+
+		if (this.signum() != fraction.signum())
+		{
+			return this.signum() - fraction.signum();
+		}
+
+		if (this.isSmall() && fraction.isSmall())
+		{
+			if (this.denominator == fraction.denominator)
+			{
+				return Long.compare(this.numerator, fraction.numerator);
+			}
+
+			return LongMath.compareProducts(this.numerator, fraction.denominator, fraction.numerator, this.denominator);
+		}
+
+		return this.bigNumerator().multiply(fraction.bigDenominator()).compareTo(fraction.bigNumerator().multiply(this.bigDenominator()));
+	}
+
+	@Override
+	public int intValue ()
+	{
+		if (this.isSmall())
+		{
+			return (int) (this.numerator / this.denominator);
+		}
+
+		return this.bigNumerator.divide(this.bigDenominator).intValue();
+	}
+
+	@Override
+	public long longValue ()
+	{
+		if (this.isSmall())
+		{
+			return this.numerator / this.denominator;
+		}
+
+		return this.bigNumerator.divide(this.bigDenominator).longValue();
+	}
+
+	@Override
+	public float floatValue ()
+	{
+		return (float) this.doubleValue();
+	}
+
+	@Override
+	public double doubleValue ()
+	{
+		if (this.isSmall())
+		{
+			return (double) this.numerator / (double) this.denominator;
+		}
+
+		return this.bigNumerator.doubleValue() / this.bigDenominator.doubleValue();
+	}
+
+	@Override
+	public String toString ()
+	{
+		if (this.isSmall())
+		{
+			if (this.denominator == FractionConstants.ONE)
+			{
+				return String.valueOf(this.numerator);
+			}
+
+			return this.numerator + "/" + this.denominator;
+		}
+
+		if (this.bigDenominator.equals(BigInteger.ONE))
+		{
+			return this.bigNumerator.toString();
+		}
+
+		return this.bigNumerator.toString() + "/" + this.bigDenominator.toString();
+	}
+
+	@Override
+	public int hashCode()
+	{
+		if (this.isSmall())
+		{
+			return LongMath.hash(this.numerator, this.denominator);
+		}
+
+		return LongMath.hash(this.bigNumerator.hashCode(), this.bigDenominator.hashCode());
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if((o == null) || (o.getClass() != this.getClass()))
+		{
+			return false;
+		}
+
+		Rational f = (Rational) o;
+
+		if (this.isSmall() != f.isSmall())
+		{
+			return false;
+		}
+
+		if (this.isSmall())
+		{
+			return this.numerator == f.numerator && this.denominator == f.denominator;
+		}
+
+		return this.bigNumerator.equals(f.bigNumerator) && this.bigDenominator.equals(f.bigDenominator);
+	}
+
+	@Override
+	protected Object clone() throws CloneNotSupportedException
+	{
+		return Rational.createFraction(this);
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	private BigInteger bigNumerator ()
+	{
+		return this.isSmall() ? BigInteger.valueOf(this.numerator) : this.bigNumerator;
+	}
+
+	private BigInteger bigDenominator ()
+	{
+		return this.isSmall() ? BigInteger.valueOf(this.denominator) : this.bigDenominator;
+	}
+
+	private Rational negate ()
+	{
+		if (this.isSmall())
+		{
+			return new Rational(-this.numerator, this.denominator);
+		}
+
+		return new Rational(this.bigNumerator.negate(), this.bigDenominator);
+	}
+
+	/**
+	 * a/b + c/d with reduced operands. Uses gcd of denominators so intermediate results stay small.
+	 *
+	 * @return reduced sum or null when long overflows
+	 */
+	private static Rational addSmall (long a, long b, long c, long d)
+	{
+		long g = LongMath.gcd(b, d);
+
+		if (g == FractionConstants.ONE)
+		{
+			long ad = a * d;
+			long cb = c * b;
+			long den = b * d;
+
+			if (LongMath.isMultiplyOverflow(a, d, ad) ||
+				LongMath.isMultiplyOverflow(c, b, cb) ||
+				LongMath.isMultiplyOverflow(b, d, den))
+			{
+				return null;
+			}
+
+			long num = ad + cb;
+
+			if (LongMath.isAddOverflow(ad, cb, num))
+			{
+				return null;
+			}
+
+			return Rational.smallOrNull(num, num == FractionConstants.ZERO ? FractionConstants.ONE : den);
+		}
+
+		long bg = b / g;
+		long dg = d / g;
+		long adg = a * dg;
+		long cbg = c * bg;
+
+		if (LongMath.isMultiplyOverflow(a, dg, adg) || LongMath.isMultiplyOverflow(c, bg, cbg))
+		{
+			return null;
+		}
+
+		long t = adg + cbg;
+
+		if (LongMath.isAddOverflow(adg, cbg, t))
+		{
+			return null;
+		}
+
+		if (t == FractionConstants.ZERO)
+		{
+			return new Rational(FractionConstants.ZERO, FractionConstants.ONE);
+		}
+
+		long g2 = LongMath.gcd(t, g);
+		long dg2 = d / g2;
+		long den = bg * dg2;
+
+		if (LongMath.isMultiplyOverflow(bg, dg2, den))
+		{
+			return null;
+		}
+
+		return Rational.smallOrNull(t / g2, den);
+	}
+
+	/**
+	 * a/b * c/d with reduced operands. Cross reduction keeps result reduced without gcd of products.
+	 *
+	 * @return reduced product or null when long overflows
+	 */
+	private static Rational multiplySmall (long a, long b, long c, long d)
+	{
+		if (a == FractionConstants.ZERO || c == FractionConstants.ZERO)
+		{
+			return new Rational(FractionConstants.ZERO, FractionConstants.ONE);
+		}
+
+		long g1 = LongMath.gcd(a, d);
+		long g2 = LongMath.gcd(c, b);
+
+		long a1 = a / g1;
+		long c1 = c / g2;
+		long b1 = b / g2;
+		long d1 = d / g1;
+
+		long num = a1 * c1;
+		long den = b1 * d1;
+
+		if (LongMath.isMultiplyOverflow(a1, c1, num) || LongMath.isMultiplyOverflow(b1, d1, den))
+		{
+			return null;
+		}
+
+		return Rational.smallOrNull(num, den);
+	}
+
+	/**
+	 * Exponentiation by squaring.
+	 *
+	 * @return base<sup>exponent</sup> or Long.MIN_VALUE when long overflows
+	 */
+	private static long powSmall (long base, int exponent)
+	{
+		long result = FractionConstants.ONE;
+
+		while (true)
+		{
+			if ((exponent & 1) != 0)
+			{
+				long r = result * base;
+
+				if (LongMath.isMultiplyOverflow(result, base, r)) return Long.MIN_VALUE;
+
+				result = r;
+			}
+
+			exponent >>>= 1;
+
+			if (exponent == 0)
+			{
+				return result;
+			}
+
+			long b = base * base;
+
+			if (LongMath.isMultiplyOverflow(base, base, b)) return Long.MIN_VALUE;
+
+			base = b;
+		}
+	}
+}
@@ -0,0 +1,819 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Polynomial with rational coefficients.
+ * <p>
+ * Polynomial is stored as array of BigInteger numerators and one common positive denominator, so arithmetic works
+ * with integers and is reduced once per operation. Coefficients are indexed by degree, coefficient 0 is the constant.
+ * Long polynomials are multiplied by Karatsuba algorithm.
+ * </p>
+ * <p>
+ * Examples:<br>
+ * - (1/2 x + 1) * (x - 2) = 1/2 x<sup>2</sup> - 2<br>
+ * - polynomial through points (0, 1), (1, 3), (2, 7) is x<sup>2</sup> + x + 1<br>
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+public final class RationalPolynomial implements Serializable
+{
+	private static final int KARATSUBA_THRESHOLD = 32;
+	private static final BigInteger[] EMPTY = new BigInteger[0];
+
+	/**
+	 * Zero polynomial, its degree is -1.
+	 */
+	public static final RationalPolynomial ZERO = new RationalPolynomial(EMPTY, BigInteger.ONE);
+
+	/**
+	 * Constant polynomial 1.
+	 */
+	public static final RationalPolynomial ONE = new RationalPolynomial(new BigInteger[] {BigInteger.ONE}, BigInteger.ONE);
+
+	/**
+	 * Polynomial x.
+	 */
+	public static final RationalPolynomial X = new RationalPolynomial(new BigInteger[] {BigInteger.ZERO, BigInteger.ONE}, BigInteger.ONE);
+
+	private final BigInteger[] numerators;
+	private final BigInteger denominator;
+
+	// -------------------------------------------------------------------------
+	// Construct method
+	// -------------------------------------------------------------------------
+
+	private RationalPolynomial (BigInteger[] numerators, BigInteger denominator)
+	{
+		this.numerators = numerators;
+		this.denominator = denominator;
+	}
+
+	// -------------------------------------------------------------------------
+	// Fabric method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Create polynomial <em>c<sub>0</sub> + c<sub>1</sub>x + c<sub>2</sub>x<sup>2</sup> + ...</em>
+	 *
+	 * @param coefficients (BigFraction...) coefficients from constant to the highest degree
+	 *
+	 * @return (RationalPolynomial)
+	 *
+	 * @throws NullPointerException if some coefficient is null
+	 */
+	public static RationalPolynomial createPolynomial (BigFraction... coefficients)
+	{
+		if (coefficients == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTIONS);
+
+		BigInteger denominator = BigInteger.ONE;
+
+		for (BigFraction coefficient : coefficients)
+		{
+			if (coefficient == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+			BigInteger d = coefficient.getDenominator();
+			denominator = denominator.multiply(d.divide(denominator.gcd(d)));
+		}
+
+		BigInteger[] numerators = new BigInteger[coefficients.length];
+
+		for (int i = 0; i < coefficients.length; i++)
+		{
+			numerators[i] = coefficients[i].getNumerator().multiply(denominator.divide(coefficients[i].getDenominator()));
+		}
+
+		return RationalPolynomial.create(numerators, denominator);
+	}
+
+	/**
+	 * Create polynomial with coefficients <em>numerators[i] / denominator</em>.
+	 *
+	 * @param numerators (BigInteger[]) numerators of coefficients from constant to the highest degree
+	 * @param denominator (BigInteger) common denominator
+	 *
+	 * @return (RationalPolynomial)
+	 *
+	 * @throws NullPointerException if some argument is null
+	 * @throws ArithmeticException if denominator is zero
+	 */
+	public static RationalPolynomial createPolynomial (BigInteger[] numerators, BigInteger denominator)
+	{
+		if (numerators == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+		if (denominator == null) throw new NullPointerException(FractionConstants.ERR_NULL_DENOMINATOR);
+		if (denominator.signum() == 0) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		for (BigInteger numerator : numerators)
+		{
+			if (numerator == null) throw new NullPointerException(FractionConstants.ERR_NULL_NUMERATOR);
+		}
+
+		return RationalPolynomial.create(numerators.clone(), denominator);
+	}
+
+	/**
+	 * Interpolation polynomial through points by Newton divided differences.
+	 *
+	 * @param xs (BigFraction[]) distinct x coordinates
+	 * @param ys (BigFraction[]) y coordinates
+	 *
+	 * @return (RationalPolynomial) polynomial of degree less than number of points
+	 *
+	 * @throws NullPointerException if some array or coordinate is null
+	 * @throws IllegalArgumentException if arrays have different length or x coordinates are not distinct
+	 */
+	public static RationalPolynomial interpolateNewton (BigFraction[] xs, BigFraction[] ys)
+	{
+		RationalPolynomial.checkPoints(xs, ys);
+
+		int n = xs.length;
+		BigFraction[] differences = ys.clone();
+
+		for (int level = 1; level < n; level++)
+		{
+			for (int i = n - 1; i >= level; i--)
+			{
+				differences[i] = differences[i].subtract(differences[i - 1]).divide(xs[i].subtract(xs[i - level]));
+			}
+		}
+
+		RationalPolynomial result = ZERO;
+
+		for (int i = n - 1; i >= 0; i--)
+		{
+			result = result.multiply(RationalPolynomial.linear(xs[i])).add(RationalPolynomial.createPolynomial(differences[i]));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Interpolation polynomial through points in Lagrange form. Product of all linear factors is built once and every
+	 * basis polynomial is exact quotient of the product.
+	 *
+	 * @param xs (BigFraction[]) distinct x coordinates
+	 * @param ys (BigFraction[]) y coordinates
+	 *
+	 * @return (RationalPolynomial) polynomial of degree less than number of points
+	 *
+	 * @throws NullPointerException if some array or coordinate is null
+	 * @throws IllegalArgumentException if arrays have different length or x coordinates are not distinct
+	 */
+	public static RationalPolynomial interpolateLagrange (BigFraction[] xs, BigFraction[] ys)
+	{
+		RationalPolynomial.checkPoints(xs, ys);
+
+		RationalPolynomial[] factors = new RationalPolynomial[xs.length];
+
+		for (int i = 0; i < xs.length; i++)
+		{
+			factors[i] = RationalPolynomial.linear(xs[i]);
+		}
+
+		RationalPolynomial product = RationalPolynomial.productTree(factors, 0, factors.length);
+		RationalPolynomial result = ZERO;
+
+		for (int i = 0; i < xs.length; i++)
+		{
+			if (ys[i].getNumerator().signum() == 0)
+			{
+				continue;
+			}
+
+			RationalPolynomial basis = product.divide(factors[i]);
+			result = result.add(basis.multiply(ys[i].divide(basis.evaluate(xs[i]))));
+		}
+
+		return result;
+	}
+
+	// -------------------------------------------------------------------------
+	// Calculate method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @param polynomial (RationalPolynomial) summand
+	 *
+	 * @return (RationalPolynomial) sum of polynomials
+	 *
+	 * @throws NullPointerException if polynomial is null
+	 */
+	public RationalPolynomial add (RationalPolynomial polynomial)
+	{
+		if (polynomial == null) throw new NullPointerException(FractionConstants.ERR_NULL_POLYNOMIAL);
+
+		return RationalPolynomial.combine(this, polynomial, false);
+	}
+
+	/**
+	 * @param polynomial (RationalPolynomial) subtrahend
+	 *
+	 * @return (RationalPolynomial) difference of polynomials
+	 *
+	 * @throws NullPointerException if polynomial is null
+	 */
+	public RationalPolynomial subtract (RationalPolynomial polynomial)
+	{
+		if (polynomial == null) throw new NullPointerException(FractionConstants.ERR_NULL_POLYNOMIAL);
+
+		return RationalPolynomial.combine(this, polynomial, true);
+	}
+
+	/**
+	 * @return (RationalPolynomial) polynomial with negated coefficients
+	 */
+	public RationalPolynomial negate ()
+	{
+		BigInteger[] result = new BigInteger[this.numerators.length];
+
+		for (int i = 0; i < result.length; i++)
+		{
+			result[i] = this.numerators[i].negate();
+		}
+
+		return new RationalPolynomial(result, this.denominator);
+	}
+
+	/**
+	 * @param polynomial (RationalPolynomial) factor
+	 *
+	 * @return (RationalPolynomial) product of polynomials
+	 *
+	 * @throws NullPointerException if polynomial is null
+	 */
+	public RationalPolynomial multiply (RationalPolynomial polynomial)
+	{
+		if (polynomial == null) throw new NullPointerException(FractionConstants.ERR_NULL_POLYNOMIAL);
+
+		if (this.isZero() || polynomial.isZero())
+		{
+			return ZERO;
+		}
+
+		return RationalPolynomial.create(RationalPolynomial.multiply(this.numerators, polynomial.numerators),
+				this.denominator.multiply(polynomial.denominator));
+	}
+
+	/**
+	 * @param fraction (BigFraction) factor
+	 *
+	 * @return (RationalPolynomial) polynomial with coefficients multiplied by fraction
+	 *
+	 * @throws NullPointerException if fraction is null
+	 */
+	public RationalPolynomial multiply (BigFraction fraction)
+	{
+		if (fraction == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		BigInteger[] result = new BigInteger[this.numerators.length];
+
+		for (int i = 0; i < result.length; i++)
+		{
+			result[i] = this.numerators[i].multiply(fraction.getNumerator());
+		}
+
+		return RationalPolynomial.create(result, this.denominator.multiply(fraction.getDenominator()));
+	}
+
+	/**
+	 * Polynomial division with remainder, <em>this = quotient * divisor + remainder</em> and degree of remainder
+	 * is less than degree of divisor.
+	 *
+	 * @param polynomial (RationalPolynomial) divisor
+	 *
+	 * @return (RationalPolynomial[]) quotient and remainder
+	 *
+	 * @throws NullPointerException if polynomial is null
+	 * @throws ArithmeticException if divisor is zero polynomial
+	 */
+	public RationalPolynomial[] divideAndRemainder (RationalPolynomial polynomial)
+	{
+		if (polynomial == null) throw new NullPointerException(FractionConstants.ERR_NULL_POLYNOMIAL);
+		if (polynomial.isZero()) throw new ArithmeticException(FractionConstants.ERR_DIVITE_BY_ZERO);
+
+		int m = this.degree();
+		int n = polynomial.degree();
+
+		if (m < n)
+		{
+			return new RationalPolynomial[] {ZERO, this};
+		}
+
+		// pseudo-division of integer polynomials: lead^(m - n + 1) * u = q * v + r
+		BigInteger[] u = this.numerators.clone();
+		BigInteger[] v = polynomial.numerators;
+		BigInteger lead = v[n];
+		BigInteger[] q = new BigInteger[m - n + 1];
+
+		for (int k = m - n; k >= 0; k--)
+		{
+			q[k] = u[n + k].multiply(lead.pow(k));
+
+			for (int j = n + k - 1; j >= 0; j--)
+			{
+				u[j] = lead.multiply(u[j]);
+
+				if (j >= k)
+				{
+					u[j] = u[j].subtract(u[n + k].multiply(v[j - k]));
+				}
+			}
+		}
+
+		// this = u / du, divisor = v / dv, so quotient = q * dv / (lead^(m - n + 1) * du)
+		BigInteger denominator = lead.pow(m - n + 1).multiply(this.denominator);
+
+		return new RationalPolynomial[] {
+				RationalPolynomial.create(RationalPolynomial.scale(q, polynomial.denominator), denominator),
+				RationalPolynomial.create(Arrays.copyOf(u, n), denominator)
+		};
+	}
+
+	/**
+	 * @param polynomial (RationalPolynomial) divisor
+	 *
+	 * @return (RationalPolynomial) quotient of polynomial division
+	 *
+	 * @throws NullPointerException if polynomial is null
+	 * @throws ArithmeticException if divisor is zero polynomial
+	 */
+	public RationalPolynomial divide (RationalPolynomial polynomial)
+	{
+		return this.divideAndRemainder(polynomial)[0];
+	}
+
+	/**
+	 * @param polynomial (RationalPolynomial) divisor
+	 *
+	 * @return (RationalPolynomial) remainder of polynomial division
+	 *
+	 * @throws NullPointerException if polynomial is null
+	 * @throws ArithmeticException if divisor is zero polynomial
+	 */
+	public RationalPolynomial remainder (RationalPolynomial polynomial)
+	{
+		return this.divideAndRemainder(polynomial)[1];
+	}
+
+	/**
+	 * Greatest common divisor by Euclidean algorithm with primitive remainders, which keeps coefficients small.
+	 *
+	 * @param polynomial (RationalPolynomial)
+	 *
+	 * @return (RationalPolynomial) monic greatest common divisor, or zero polynomial if both polynomials are zero
+	 *
+	 * @throws NullPointerException if polynomial is null
+	 */
+	public RationalPolynomial gcd (RationalPolynomial polynomial)
+	{
+		if (polynomial == null) throw new NullPointerException(FractionConstants.ERR_NULL_POLYNOMIAL);
+
+		RationalPolynomial a = this.primitive();
+		RationalPolynomial b = polynomial.primitive();
+
+		while (!b.isZero())
+		{
+			RationalPolynomial r = a.remainder(b).primitive();
+			a = b;
+			b = r;
+		}
+
+		if (a.isZero())
+		{
+			return ZERO;
+		}
+
+		return a.multiply(BigFraction.createFraction(a.denominator, a.numerators[a.degree()]));
+	}
+
+	/**
+	 * @return (RationalPolynomial) derivative of polynomial
+	 */
+	public RationalPolynomial derivative ()
+	{
+		if (this.numerators.length <= 1)
+		{
+			return ZERO;
+		}
+
+		BigInteger[] result = new BigInteger[this.numerators.length - 1];
+
+		for (int i = 0; i < result.length; i++)
+		{
+			result[i] = this.numerators[i + 1].multiply(BigInteger.valueOf(i + 1));
+		}
+
+		return RationalPolynomial.create(result, this.denominator);
+	}
+
+	/**
+	 * Value of polynomial by Horner scheme. For <em>x = p/q</em> numerator is evaluated in integers as
+	 * <em>sum c<sub>i</sub> p<sup>i</sup> q<sup>n-i</sup></em> and result is reduced only once.
+	 *
+	 * @param x (BigFraction)
+	 *
+	 * @return (BigFraction) value of polynomial at x
+	 *
+	 * @throws NullPointerException if x is null
+	 */
+	public BigFraction evaluate (BigFraction x)
+	{
+		if (x == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		if (this.isZero())
+		{
+			return BigFraction.createFraction(0);
+		}
+
+		BigInteger p = x.getNumerator();
+		BigInteger q = x.getDenominator();
+		int n = this.degree();
+		BigInteger result = this.numerators[n];
+		BigInteger power = BigInteger.ONE;
+
+		for (int i = n - 1; i >= 0; i--)
+		{
+			power = power.multiply(q);
+			result = result.multiply(p).add(this.numerators[i].multiply(power));
+		}
+
+		return BigFraction.createFraction(result, this.denominator.multiply(power));
+	}
+
+	/**
+	 * @param x (Fraction)
+	 *
+	 * @return (BigFraction) value of polynomial at x
+	 *
+	 * @throws NullPointerException if x is null
+	 *
+	 * @see #evaluate(BigFraction)
+	 */
+	public BigFraction evaluate (Fraction x)
+	{
+		if (x == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+
+		return this.evaluate(x.toBigFraction());
+	}
+
+	// -------------------------------------------------------------------------
+	// Getters
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return (int) degree of polynomial, -1 for zero polynomial
+	 */
+	public int degree ()
+	{
+		return this.numerators.length - 1;
+	}
+
+	/**
+	 * @return true if polynomial is zero polynomial
+	 */
+	public boolean isZero ()
+	{
+		return this.numerators.length == 0;
+	}
+
+	/**
+	 * @param degree (int)
+	 *
+	 * @return (BigFraction) coefficient of <em>x<sup>degree</sup></em>
+	 *
+	 * @throws IllegalArgumentException if degree is negative
+	 */
+	public BigFraction getCoefficient (int degree)
+	{
+		if (degree < 0) throw new IllegalArgumentException("Degree is negative.");
+
+		if (degree >= this.numerators.length)
+		{
+			return BigFraction.createFraction(0);
+		}
+
+		return BigFraction.createFraction(this.numerators[degree], this.denominator);
+	}
+
+	/**
+	 * @return (BigFraction[]) coefficients from constant to the highest degree
+	 */
+	public BigFraction[] getCoefficients ()
+	{
+		BigFraction[] coefficients = new BigFraction[this.numerators.length];
+
+		for (int i = 0; i < coefficients.length; i++)
+		{
+			coefficients[i] = BigFraction.createFraction(this.numerators[i], this.denominator);
+		}
+
+		return coefficients;
+	}
+
+	/**
+	 * @return (BigInteger) common positive denominator of coefficients
+	 */
+	public BigInteger getDenominator ()
+	{
+		return this.denominator;
+	}
+
+	// -------------------------------------------------------------------------
+	// Overide method
+	// -------------------------------------------------------------------------
+
+	@Override
+	public boolean equals (Object o)
+	{
+		if (o == this)
+		{
+			return true;
+		}
+
+		if((o == null) || (o.getClass() != this.getClass()))
+		{
+			return false;
+		}
+
+		RationalPolynomial polynomial = (RationalPolynomial) o;
+
+		return this.denominator.equals(polynomial.denominator) && Arrays.equals(this.numerators, polynomial.numerators);
+	}
+
+	@Override
+	public int hashCode ()
+	{
+		return 31 * this.denominator.hashCode() + Arrays.hashCode(this.numerators);
+	}
+
+	/**
+	 * @return polynomial from the highest degree, for example <em>1/2x^2 - x + 3</em>
+	 */
+	@Override
+	public String toString ()
+	{
+		if (this.isZero())
+		{
+			return "0";
+		}
+
+		StringBuilder sb = new StringBuilder();
+
+		for (int i = this.degree(); i >= 0; i--)
+		{
+			if (this.numerators[i].signum() == 0)
+			{
+				continue;
+			}
+
+			BigFraction coefficient = BigFraction.createFraction(this.numerators[i].abs(), this.denominator);
+
+			if (sb.length() == 0)
+			{
+				sb.append(this.numerators[i].signum() < 0 ? "-" : "");
+			}
+			else
+			{
+				sb.append(this.numerators[i].signum() < 0 ? " - " : " + ");
+			}
+
+			if (i == 0 || !coefficient.equals(BigFraction.createFraction(1)))
+			{
+				sb.append(coefficient.toString());
+			}
+
+			if (i > 0)
+			{
+				sb.append(i == 1 ? "x" : "x^" + i);
+			}
+		}
+
+		return sb.toString();
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Remove zero coefficients of the highest degrees and reduce numerators with denominator.
+	 */
+	private static RationalPolynomial create (BigInteger[] numerators, BigInteger denominator)
+	{
+		int length = numerators.length;
+
+		while (length > 0 && numerators[length - 1].signum() == 0)
+		{
+			length--;
+		}
+
+		if (length == 0)
+		{
+			return ZERO;
+		}
+
+		BigInteger gcd = denominator;
+
+		for (int i = 0; i < length && !gcd.equals(BigInteger.ONE); i++)
+		{
+			gcd = gcd.gcd(numerators[i]);
+		}
+
+		if (denominator.signum() < 0)
+		{
+			gcd = gcd.negate();
+		}
+
+		BigInteger[] result = length == numerators.length ? numerators : Arrays.copyOf(numerators, length);
+
+		if (!gcd.equals(BigInteger.ONE))
+		{
+			for (int i = 0; i < length; i++)
+			{
+				result[i] = result[i].divide(gcd);
+			}
+
+			denominator = denominator.divide(gcd);
+		}
+
+		return new RationalPolynomial(result, denominator);
+	}
+
+	/**
+	 * @return polynomial with the same roots, integer coefficients and gcd of coefficients 1
+	 */
+	private RationalPolynomial primitive ()
+	{
+		if (this.isZero())
+		{
+			return this;
+		}
+
+		BigInteger content = BigInteger.ZERO;
+
+		for (BigInteger numerator : this.numerators)
+		{
+			content = content.gcd(numerator);
+		}
+
+		return RationalPolynomial.create(this.numerators.clone(), content);
+	}
+
+	private static RationalPolynomial combine (RationalPolynomial a, RationalPolynomial b, boolean subtract)
+	{
+		BigInteger g = a.denominator.gcd(b.denominator);
+		BigInteger aScale = b.denominator.divide(g);
+		BigInteger bScale = a.denominator.divide(g);
+		BigInteger[] result = new BigInteger[Math.max(a.numerators.length, b.numerators.length)];
+
+		for (int i = 0; i < result.length; i++)
+		{
+			BigInteger x = i < a.numerators.length ? a.numerators[i].multiply(aScale) : BigInteger.ZERO;
+			BigInteger y = i < b.numerators.length ? b.numerators[i].multiply(bScale) : BigInteger.ZERO;
+			result[i] = subtract ? x.subtract(y) : x.add(y);
+		}
+
+		return RationalPolynomial.create(result, a.denominator.multiply(aScale));
+	}
+
+	private static BigInteger[] scale (BigInteger[] numerators, BigInteger factor)
+	{
+		BigInteger[] result = new BigInteger[numerators.length];
+
+		for (int i = 0; i < result.length; i++)
+		{
+			result[i] = numerators[i].multiply(factor);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Polynomial <em>x - root</em>.
+	 */
+	private static RationalPolynomial linear (BigFraction root)
+	{
+		return RationalPolynomial.create(new BigInteger[] {root.getNumerator().negate(), root.getDenominator()}, root.getDenominator());
+	}
+
+	private static RationalPolynomial productTree (RationalPolynomial[] factors, int from, int to)
+	{
+		if (to - from == 1)
+		{
+			return factors[from];
+		}
+
+		int middle = (from + to) >>> 1;
+
+		return RationalPolynomial.productTree(factors, from, middle).multiply(RationalPolynomial.productTree(factors, middle, to));
+	}
+
+	private static void checkPoints (BigFraction[] xs, BigFraction[] ys)
+	{
+		if (xs == null || ys == null) throw new NullPointerException(FractionConstants.ERR_NULL_ARRAY);
+		if (xs.length != ys.length) throw new IllegalArgumentException(FractionConstants.ERR_ARRAY_LENGTH);
+		if (xs.length == 0) throw new IllegalArgumentException("No points.");
+
+		Set<BigFraction> distinct = new HashSet<BigFraction>();
+
+		for (int i = 0; i < xs.length; i++)
+		{
+			if (xs[i] == null || ys[i] == null) throw new NullPointerException(FractionConstants.ERR_NULL_FRACTION);
+			if (!distinct.add(xs[i])) throw new IllegalArgumentException("X coordinates are not distinct.");
+		}
+	}
+
+	/**
+	 * Product of integer polynomials, Karatsuba algorithm for long polynomials.
+	 */
+	private static BigInteger[] multiply (BigInteger[] a, BigInteger[] b)
+	{
+		if (Math.min(a.length, b.length) < KARATSUBA_THRESHOLD)
+		{
+			return RationalPolynomial.schoolbook(a, b);
+		}
+
+		// a = a0 + x^m a1, b = b0 + x^m b1
+		int m = Math.max(a.length, b.length) / 2;
+		BigInteger[] a0 = Arrays.copyOfRange(a, 0, Math.min(m, a.length));
+		BigInteger[] a1 = m < a.length ? Arrays.copyOfRange(a, m, a.length) : EMPTY;
+		BigInteger[] b0 = Arrays.copyOfRange(b, 0, Math.min(m, b.length));
+		BigInteger[] b1 = m < b.length ? Arrays.copyOfRange(b, m, b.length) : EMPTY;
+
+		BigInteger[] z0 = RationalPolynomial.multiply(a0, b0);
+		BigInteger[] z2 = a1.length == 0 || b1.length == 0 ? EMPTY : RationalPolynomial.multiply(a1, b1);
+		BigInteger[] z1 = RationalPolynomial.multiply(RationalPolynomial.sum(a0, a1), RationalPolynomial.sum(b0, b1));
+
+		BigInteger[] result = new BigInteger[a.length + b.length - 1];
+		Arrays.fill(result, BigInteger.ZERO);
+
+		RationalPolynomial.addShifted(result, z0, 0, BigInteger.ONE);
+		RationalPolynomial.addShifted(result, z1, m, BigInteger.ONE);
+		RationalPolynomial.addShifted(result, z0, m, BigInteger.ONE.negate());
+		RationalPolynomial.addShifted(result, z2, m, BigInteger.ONE.negate());
+		RationalPolynomial.addShifted(result, z2, 2 * m, BigInteger.ONE);
+
+		return result;
+	}
+
+	private static BigInteger[] schoolbook (BigInteger[] a, BigInteger[] b)
+	{
+		if (a.length == 0 || b.length == 0)
+		{
+			return EMPTY;
+		}
+
+		BigInteger[] result = new BigInteger[a.length + b.length - 1];
+		Arrays.fill(result, BigInteger.ZERO);
+
+		for (int i = 0; i < a.length; i++)
+		{
+			if (a[i].signum() == 0)
+			{
+				continue;
+			}
+
+			for (int j = 0; j < b.length; j++)
+			{
+				result[i + j] = result[i + j].add(a[i].multiply(b[j]));
+			}
+		}
+
+		return result;
+	}
+
+	private static BigInteger[] sum (BigInteger[] a, BigInteger[] b)
+	{
+		BigInteger[] result = Arrays.copyOf(a, Math.max(a.length, b.length));
+
+		for (int i = 0; i < b.length; i++)
+		{
+			result[i] = i < a.length ? a[i].add(b[i]) : b[i];
+		}
+
+		return result;
+	}
+
+	/**
+	 * <em>result += sign * x<sup>shift</sup> * values</em>, only nonzero part of values is added.
+	 */
+	private static void addShifted (BigInteger[] result, BigInteger[] values, int shift, BigInteger sign)
+	{
+		for (int i = 0; i < values.length; i++)
+		{
+			if (values[i].signum() != 0)
+			{
+				result[i + shift] = sign.signum() > 0 ? result[i + shift].add(values[i]) : result[i + shift].subtract(values[i]);
+			}
+		}
+	}
+}
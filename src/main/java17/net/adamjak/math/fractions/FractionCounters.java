@@ -0,0 +1,61 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Package private array of concurrent counters used by {@link FractionMetrics}.
+ * <p>
+ * Java 17 version of the class from multi-release JAR. Every counter is <em>LongAdder</em>, so threads which
+ * update the same counter do not contend on one memory location.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+final class FractionCounters
+{
+	private final LongAdder[] counters;
+
+	FractionCounters (int size)
+	{
+		this.counters = new LongAdder[size];
+
+		for (int i = 0; i < size; i++)
+		{
+			this.counters[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * @param index index of counter
+	 * @param value added value
+	 */
+	void add (int index, long value)
+	{
+		this.counters[index].add(value);
+	}
+
+	/**
+	 * @param index index of counter
+	 *
+	 * @return current value of counter
+	 */
+	long get (int index)
+	{
+		return this.counters[index].sum();
+	}
+
+	/**
+	 * Set all counters to zero. Concurrent updates may survive reset.
+	 */
+	void reset ()
+	{
+		for (LongAdder counter : this.counters)
+		{
+			counter.reset();
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import java.util.Set;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingControl;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Package private bridge from BigFraction to Java Flight Recorder.
+ * <p>
+ * Java 17 version of the class from multi-release JAR. Emits event
+ * <em>net.adamjak.math.fractions.BigFractionOperation</em> for operations of BigFraction. Event is configured by
+ * recording settings like any other event, independently of {@link FractionMetrics}. It is enabled by default,
+ * <em>threshold</em> (default 10 ms) is minimal duration and <em>minBitLength</em> (default 0) is minimal bit length
+ * of larger operand of recorded operation. Operation is recorded when it passes both, so for example settings
+ * <em>threshold=0 ms</em> and <em>minBitLength=4096</em> record every operation with large operands.
+ * Events carry stack trace, so recording shows the call site of the operation.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+final class FractionFlightRecorder
+{
+	private static final OperationEvent PROBE = new OperationEvent();
+
+	private FractionFlightRecorder ()
+	{
+	}
+
+	/**
+	 * Start timing of operation.
+	 *
+	 * @return started event, null if event is not enabled in any running recording
+	 */
+	static Object begin ()
+	{
+		if (!FractionFlightRecorder.PROBE.isEnabled()) return null;
+
+		OperationEvent event = new OperationEvent();
+		event.begin();
+
+		return event;
+	}
+
+	/**
+	 * Finish timing of operation and commit event when its duration and bit lengths pass thresholds of recording.
+	 *
+	 * @param event event returned by {@link #begin()}, not null
+	 * @param operation finished operation
+	 * @param leftBitLength bit length of first operand
+	 * @param rightBitLength bit length of second operand, 0 for operations with one operand
+	 */
+	static void end (Object event, FractionMetrics.Operation operation, int leftBitLength, int rightBitLength)
+	{
+		OperationEvent operationEvent = (OperationEvent) event;
+		operationEvent.end();
+
+		// bit lengths are read by setting minBitLength in shouldCommit
+		operationEvent.operation = operation.name();
+		operationEvent.leftBitLength = leftBitLength;
+		operationEvent.rightBitLength = rightBitLength;
+
+		if (operationEvent.shouldCommit())
+		{
+			operationEvent.commit();
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Private class
+	// -------------------------------------------------------------------------
+
+	@Name("net.adamjak.math.fractions.BigFractionOperation")
+	@Label("BigFraction Operation")
+	@Category({"Fractions"})
+	@Description("Operation of BigFraction with long duration or large operands")
+	@Enabled(true)
+	@Threshold("10 ms")
+	@StackTrace(true)
+	private static final class OperationEvent extends Event
+	{
+		@Label("Operation")
+		String operation;
+
+		@Label("Left Operand Bits")
+		@Description("Bit length of first operand, larger of numerator and denominator")
+		int leftBitLength;
+
+		@Label("Right Operand Bits")
+		@Description("Bit length of second operand, 0 for operations with one operand")
+		int rightBitLength;
+
+		@SettingDefinition
+		@Name("minBitLength")
+		protected boolean minBitLength (BitLengthSetting setting)
+		{
+			return Math.max(this.leftBitLength, this.rightBitLength) >= setting.minBitLength;
+		}
+	}
+
+	/**
+	 * Setting <em>minBitLength</em>, minimal bit length of larger operand. Recordings with different values record
+	 * operations over the smallest one.
+	 */
+	@Label("Minimal Bit Length")
+	@Description("Record only operations with operand of at least this bit length")
+	public static final class BitLengthSetting extends SettingControl
+	{
+		private volatile int minBitLength;
+
+		public BitLengthSetting ()
+		{
+		}
+
+		@Override
+		public String combine (Set<String> values)
+		{
+			int min = Integer.MAX_VALUE;
+
+			for (String value : values)
+			{
+				min = Math.min(min, BitLengthSetting.parse(value));
+			}
+
+			return Integer.toString(values.isEmpty() ? 0 : min);
+		}
+
+		@Override
+		public void setValue (String value)
+		{
+			this.minBitLength = BitLengthSetting.parse(value);
+		}
+
+		@Override
+		public String getValue ()
+		{
+			return Integer.toString(this.minBitLength);
+		}
+
+		private static int parse (String value)
+		{
+			try
+			{
+				return Math.max(0, Integer.parseInt(value.trim()));
+			}
+			catch (NumberFormatException e)
+			{
+				return 0;
+			}
+		}
+	}
+}
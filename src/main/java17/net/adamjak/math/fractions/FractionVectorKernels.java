@@ -0,0 +1,304 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Package private vector kernels of {@link FractionArrays}, only in Java 17 classes of multi-release JAR.
+ * <p>
+ * Arrays are processed in blocks of vector length. Block of small fractions, with numerators and positive
+ * denominators below <em>2<sup>26</sup></em>, is computed in vector lanes: every product and sum of such operands is
+ * exact even in double, so no lane can overflow and exact quotients are computed by double division, which has vector
+ * instruction unlike long division. Fractions are reduced by lanewise binary gcd. Comparison needs only products,
+ * so it is computed in vector lanes for operands in int range. Other blocks and the tail of arrays are computed by
+ * scalar code of {@link FractionArrays}, so results and exceptions are the same as without vectors.
+ * </p>
+ * <p>
+ * The class links to <em>jdk.incubator.vector</em> and must be used only through {@link FractionVectors}.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+final class FractionVectorKernels
+{
+	private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+	/**
+	 * Largest absolute value of operand of multiply and add computed in vector lanes.
+	 */
+	private static final long SMALL = (1L << 26) - 1;
+
+	/**
+	 * Largest absolute value of operand of comparison computed in vector lanes.
+	 */
+	private static final long SMALL_COMPARE = Integer.MAX_VALUE;
+
+	private FractionVectorKernels ()
+	{
+	}
+
+	// -------------------------------------------------------------------------
+	// Calculate method
+	// -------------------------------------------------------------------------
+
+	static void multiply (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, long[] resultNumerators, long[] resultDenominators, int length)
+	{
+		int step = SPECIES.length();
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for (; i < bound; i += step)
+		{
+			LongVector a = LongVector.fromArray(SPECIES, aNumerators, i);
+			LongVector b = LongVector.fromArray(SPECIES, aDenominators, i);
+			LongVector c = LongVector.fromArray(SPECIES, bNumerators, i);
+			LongVector d = LongVector.fromArray(SPECIES, bDenominators, i);
+
+			if (FractionVectorKernels.isSmall(a, b, SMALL).and(FractionVectorKernels.isSmall(c, d, SMALL)).allTrue())
+			{
+				LongVector[] product = FractionVectorKernels.multiply(a, b, c, d);
+				product[0].intoArray(resultNumerators, i);
+				product[1].intoArray(resultDenominators, i);
+			}
+			else
+			{
+				for (int j = i; j < i + step; j++)
+				{
+					FractionArrays.multiplyAt(aNumerators[j], aDenominators[j], bNumerators[j], bDenominators[j], resultNumerators, resultDenominators, j);
+				}
+			}
+		}
+
+		for (; i < length; i++)
+		{
+			FractionArrays.multiplyAt(aNumerators[i], aDenominators[i], bNumerators[i], bDenominators[i], resultNumerators, resultDenominators, i);
+		}
+	}
+
+	static void add (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, long[] resultNumerators, long[] resultDenominators, int length)
+	{
+		int step = SPECIES.length();
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for (; i < bound; i += step)
+		{
+			LongVector a = LongVector.fromArray(SPECIES, aNumerators, i);
+			LongVector b = LongVector.fromArray(SPECIES, aDenominators, i);
+			LongVector c = LongVector.fromArray(SPECIES, bNumerators, i);
+			LongVector d = LongVector.fromArray(SPECIES, bDenominators, i);
+
+			if (FractionVectorKernels.isSmall(a, b, SMALL).and(FractionVectorKernels.isSmall(c, d, SMALL)).allTrue())
+			{
+				LongVector[] sum = FractionVectorKernels.add(a, b, c, d);
+				sum[0].intoArray(resultNumerators, i);
+				sum[1].intoArray(resultDenominators, i);
+			}
+			else
+			{
+				for (int j = i; j < i + step; j++)
+				{
+					FractionArrays.addAt(aNumerators[j], aDenominators[j], bNumerators[j], bDenominators[j], resultNumerators, resultDenominators, j);
+				}
+			}
+		}
+
+		for (; i < length; i++)
+		{
+			FractionArrays.addAt(aNumerators[i], aDenominators[i], bNumerators[i], bDenominators[i], resultNumerators, resultDenominators, i);
+		}
+	}
+
+	static void multiplyAdd (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators,
+							 long[] cNumerators, long[] cDenominators, long[] resultNumerators, long[] resultDenominators, int length)
+	{
+		int step = SPECIES.length();
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for (; i < bound; i += step)
+		{
+			LongVector a = LongVector.fromArray(SPECIES, aNumerators, i);
+			LongVector b = LongVector.fromArray(SPECIES, aDenominators, i);
+			LongVector c = LongVector.fromArray(SPECIES, bNumerators, i);
+			LongVector d = LongVector.fromArray(SPECIES, bDenominators, i);
+			LongVector e = LongVector.fromArray(SPECIES, cNumerators, i);
+			LongVector f = LongVector.fromArray(SPECIES, cDenominators, i);
+
+			if (FractionVectorKernels.isSmall(a, b, SMALL).and(FractionVectorKernels.isSmall(c, d, SMALL)).and(FractionVectorKernels.isSmall(e, f, SMALL)).allTrue())
+			{
+				LongVector[] product = FractionVectorKernels.multiply(a, b, c, d);
+
+				// reduced product of small fractions may be too large for the second vector step
+				if (FractionVectorKernels.isSmall(product[0], product[1], SMALL).allTrue())
+				{
+					LongVector[] sum = FractionVectorKernels.add(product[0], product[1], e, f);
+					sum[0].intoArray(resultNumerators, i);
+					sum[1].intoArray(resultDenominators, i);
+					continue;
+				}
+			}
+
+			for (int j = i; j < i + step; j++)
+			{
+				FractionArrays.multiplyAddAt(aNumerators[j], aDenominators[j], bNumerators[j], bDenominators[j], cNumerators[j], cDenominators[j], resultNumerators, resultDenominators, j);
+			}
+		}
+
+		for (; i < length; i++)
+		{
+			FractionArrays.multiplyAddAt(aNumerators[i], aDenominators[i], bNumerators[i], bDenominators[i], cNumerators[i], cDenominators[i], resultNumerators, resultDenominators, i);
+		}
+	}
+
+	static void compare (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, int[] result, int length)
+	{
+		int step = SPECIES.length();
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for (; i < bound; i += step)
+		{
+			LongVector a = LongVector.fromArray(SPECIES, aNumerators, i);
+			LongVector b = LongVector.fromArray(SPECIES, aDenominators, i);
+			LongVector c = LongVector.fromArray(SPECIES, bNumerators, i);
+			LongVector d = LongVector.fromArray(SPECIES, bDenominators, i);
+
+			if (FractionVectorKernels.isSmall(a, b, SMALL_COMPARE).and(FractionVectorKernels.isSmall(c, d, SMALL_COMPARE)).allTrue())
+			{
+				// cross products of small operands fit into long
+				LongVector left = a.mul(d);
+				LongVector right = c.mul(b);
+				long less = left.lt(right).toLong();
+				long greater = left.compare(VectorOperators.GT, right).toLong();
+
+				for (int j = 0; j < step; j++)
+				{
+					result[i + j] = (int) ((greater >>> j) & 1) - (int) ((less >>> j) & 1);
+				}
+			}
+			else
+			{
+				for (int j = i; j < i + step; j++)
+				{
+					result[j] = LongMath.compareProducts(aNumerators[j], bDenominators[j], bNumerators[j], aDenominators[j]);
+				}
+			}
+		}
+
+		for (; i < length; i++)
+		{
+			result[i] = LongMath.compareProducts(aNumerators[i], bDenominators[i], bNumerators[i], aDenominators[i]);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Private method
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @return mask of lanes with absolute value of numerator and positive denominator at most <em>limit</em>
+	 */
+	private static VectorMask<Long> isSmall (LongVector numerator, LongVector denominator, long limit)
+	{
+		return numerator.compare(VectorOperators.GE, -limit)
+				.and(numerator.compare(VectorOperators.LE, limit))
+				.and(denominator.compare(VectorOperators.GT, 0))
+				.and(denominator.compare(VectorOperators.LE, limit));
+	}
+
+	/**
+	 * a/b * c/d with cross reduction of small reduced fractions.
+	 *
+	 * @return reduced numerators and denominators
+	 */
+	private static LongVector[] multiply (LongVector a, LongVector b, LongVector c, LongVector d)
+	{
+		LongVector g1 = FractionVectorKernels.gcd(a.abs(), d);
+		LongVector g2 = FractionVectorKernels.gcd(c.abs(), b);
+
+		LongVector numerator = FractionVectorKernels.divideExact(a, g1).mul(FractionVectorKernels.divideExact(c, g2));
+		LongVector denominator = FractionVectorKernels.divideExact(b, g2).mul(FractionVectorKernels.divideExact(d, g1));
+
+		// zero is reduced to 0/1
+		return new LongVector[] {numerator, denominator.blend(FractionConstants.ONE, numerator.eq(0))};
+	}
+
+	/**
+	 * a/b + c/d of small fractions, one gcd of result.
+	 *
+	 * @return reduced numerators and denominators
+	 */
+	private static LongVector[] add (LongVector a, LongVector b, LongVector c, LongVector d)
+	{
+		LongVector numerator = a.mul(d).add(c.mul(b));
+		LongVector denominator = b.mul(d);
+
+		// gcd(0, denominator) is denominator, so zero is reduced to 0/1
+		LongVector g = FractionVectorKernels.gcd(numerator.abs(), denominator);
+
+		return new LongVector[] {FractionVectorKernels.divideExact(numerator, g), FractionVectorKernels.divideExact(denominator, g)};
+	}
+
+	/**
+	 * Lanewise binary gcd of non negative <em>u</em> and positive <em>v</em>. Every iteration makes one subtraction
+	 * in every lane which is not finished.
+	 */
+	private static LongVector gcd (LongVector u, LongVector v)
+	{
+		// gcd(0, v) is v
+		VectorMask<Long> zero = u.eq(0);
+		u = u.blend(v, zero);
+		v = v.blend(0, zero);
+
+		LongVector shift = FractionVectorKernels.trailingZeros(u.or(v));
+		u = u.lanewise(VectorOperators.ASHR, FractionVectorKernels.trailingZeros(u));
+
+		VectorMask<Long> active = v.compare(VectorOperators.NE, 0);
+
+		// u is odd, v = |u - v| is even after subtraction of two odd numbers
+		while (active.anyTrue())
+		{
+			v = v.lanewise(VectorOperators.ASHR, FractionVectorKernels.trailingZeros(v), active);
+
+			LongVector min = u.min(v);
+			LongVector max = u.max(v);
+			u = u.blend(min, active);
+			v = v.blend(max.sub(min), active);
+
+			active = v.compare(VectorOperators.NE, 0);
+		}
+
+		return u.lanewise(VectorOperators.LSHL, shift);
+	}
+
+	/**
+	 * Number of trailing zero bits of positive lanes, read from exponent of the lowest set bit converted to double.
+	 * Result of zero lanes is undefined.
+	 */
+	private static LongVector trailingZeros (LongVector v)
+	{
+		LongVector lowest = v.and(v.neg());
+		LongVector bits = ((DoubleVector) lowest.convert(VectorOperators.L2D, 0)).reinterpretAsLongs();
+
+		return bits.lanewise(VectorOperators.LSHR, 52).sub(1023);
+	}
+
+	/**
+	 * Exact quotient of non negative or negative multiples of positive divisor, both below <em>2<sup>53</sup></em>
+	 * in absolute value, so double division is exact.
+	 */
+	private static LongVector divideExact (LongVector dividend, LongVector divisor)
+	{
+		DoubleVector quotient = ((DoubleVector) dividend.convert(VectorOperators.L2D, 0)).div((DoubleVector) divisor.convert(VectorOperators.L2D, 0));
+
+		return (LongVector) quotient.convert(VectorOperators.D2L, 0);
+	}
+}
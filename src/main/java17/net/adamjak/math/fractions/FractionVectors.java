@@ -0,0 +1,65 @@
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+package net.adamjak.math.fractions;
+
+/**
+ * Package private bridge from {@link FractionArrays} to vector kernels.
+ * <p>
+ * Java 17 version of the class from multi-release JAR. Vector API is incubator module, which is resolved only when
+ * application is started with <em>--add-modules jdk.incubator.vector</em>. Kernels in {@link FractionVectorKernels}
+ * are used only when the module is present, so the class which links to the module is never loaded without it.
+ * </p>
+ *
+ * @author Tomas Adamjak - thomas.adamjak.net
+ */
+final class FractionVectors
+{
+	private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+	private FractionVectors ()
+	{
+	}
+
+	/**
+	 * @return true if vector kernels are available
+	 */
+	static boolean isAvailable ()
+	{
+		return AVAILABLE;
+	}
+
+	/**
+	 * Elementwise <em>result[i] = a[i] * b[i]</em> for checked arrays of given length.
+	 */
+	static void multiply (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, long[] resultNumerators, long[] resultDenominators, int length)
+	{
+		FractionVectorKernels.multiply(aNumerators, aDenominators, bNumerators, bDenominators, resultNumerators, resultDenominators, length);
+	}
+
+	/**
+	 * Elementwise <em>result[i] = a[i] + b[i]</em> for checked arrays of given length.
+	 */
+	static void add (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, long[] resultNumerators, long[] resultDenominators, int length)
+	{
+		FractionVectorKernels.add(aNumerators, aDenominators, bNumerators, bDenominators, resultNumerators, resultDenominators, length);
+	}
+
+	/**
+	 * Elementwise <em>result[i] = a[i] * b[i] + c[i]</em> for checked arrays of given length.
+	 */
+	static void multiplyAdd (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators,
+							 long[] cNumerators, long[] cDenominators, long[] resultNumerators, long[] resultDenominators, int length)
+	{
+		FractionVectorKernels.multiplyAdd(aNumerators, aDenominators, bNumerators, bDenominators, cNumerators, cDenominators, resultNumerators, resultDenominators, length);
+	}
+
+	/**
+	 * Elementwise comparison of <em>a[i]</em> and <em>b[i]</em> for checked arrays of given length.
+	 */
+	static void compare (long[] aNumerators, long[] aDenominators, long[] bNumerators, long[] bDenominators, int[] result, int length)
+	{
+		FractionVectorKernels.compare(aNumerators, aDenominators, bNumerators, bDenominators, result, length);
+	}
+}
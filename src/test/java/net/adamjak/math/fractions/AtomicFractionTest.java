@@ -0,0 +1,127 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class AtomicFractionTest
+{
+	private static final Fraction LARGE = Fraction.createFraction(1L << 40, 3L);
+
+	@Test
+	public void testGetAndSet()
+	{
+		AtomicFraction instance = new AtomicFraction();
+		assertEquals(Fraction.createFraction(0), instance.get());
+
+		instance.set(Fraction.createFraction(-2, 7));
+		assertEquals(Fraction.createFraction(-2, 7), instance.get());
+
+		assertEquals(Fraction.createFraction(-2, 7), instance.getAndSet(LARGE));
+		assertEquals(LARGE, instance.get());
+		assertEquals(LARGE, instance.getAndSet(Fraction.createFraction(1, 2)));
+		assertEquals(Fraction.createFraction(1, 2), instance.get());
+
+		assertEquals(LARGE, new AtomicFraction(LARGE).get());
+		assertEquals("1/2", instance.toString());
+		assertEquals(0.5, instance.doubleValue(), 0.0);
+	}
+
+	@Test
+	public void testCompareAndSet()
+	{
+		AtomicFraction instance = new AtomicFraction(Fraction.createFraction(1, 2));
+
+		assertFalse(instance.compareAndSet(Fraction.createFraction(1, 3), Fraction.createFraction(1, 4)));
+		assertTrue(instance.compareAndSet(Fraction.createFraction(1, 2), Fraction.createFraction(1, 4)));
+		assertEquals(Fraction.createFraction(1, 4), instance.get());
+
+		assertTrue(instance.compareAndSet(Fraction.createFraction(1, 4), LARGE));
+		assertFalse(instance.compareAndSet(Fraction.createFraction(1, 4), Fraction.createFraction(1, 5)));
+		assertFalse(instance.compareAndSet(Fraction.createFraction(1L << 41, 3L), Fraction.createFraction(1, 5)));
+		assertTrue(instance.compareAndSet(LARGE, Fraction.createFraction(1, 5)));
+		assertEquals(Fraction.createFraction(1, 5), instance.get());
+	}
+
+	@Test
+	public void testAddAndGet()
+	{
+		AtomicFraction instance = new AtomicFraction(Fraction.createFraction(1, 2));
+
+		assertEquals(Fraction.createFraction(5, 6), instance.addAndGet(Fraction.createFraction(1, 3)));
+		assertEquals(Fraction.createFraction(5, 6), instance.getAndAdd(LARGE));
+		assertEquals(LARGE.add(Fraction.createFraction(5, 6)), instance.get());
+		assertEquals(Fraction.createFraction(5, 6), instance.addAndGet(Fraction.createFraction(-(1L << 40), 3L)));
+		assertEquals(Fraction.createFraction(0), instance.addAndGet(Fraction.createFraction(-5, 6)));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testAddAndGet_ArithmeticException()
+	{
+		AtomicFraction instance = new AtomicFraction(Fraction.createFraction(Long.MAX_VALUE));
+		instance.addAndGet(Fraction.createFraction(Long.MAX_VALUE));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testSet_NullPointerException()
+	{
+		new AtomicFraction().set(null);
+	}
+
+	@Test
+	public void testConcurrentAdd() throws InterruptedException
+	{
+		final AtomicFraction instance = new AtomicFraction();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int t = 0; t < 8; t++)
+		{
+			// odd threads move value between packed and large representation
+			final Fraction step = t % 2 == 0 ? Fraction.createFraction(1, t + 2) : LARGE;
+			final Fraction back = t % 2 == 0 ? null : Fraction.createFraction(-(1L << 40), 3L);
+
+			Thread thread = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					for (int i = 0; i < 5000; i++)
+					{
+						instance.addAndGet(step);
+
+						if (back != null)
+						{
+							instance.getAndAdd(back);
+						}
+
+						instance.get();
+					}
+				}
+			});
+
+			thread.start();
+			threads.add(thread);
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		Fraction expected = Fraction.createFraction(0);
+
+		for (int t = 0; t < 8; t += 2)
+		{
+			expected = expected.add(Fraction.createFraction(5000, t + 2));
+		}
+
+		assertEquals(expected, instance.get());
+	}
+}
@@ -0,0 +1,93 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class BigFractionAdderTest
+{
+	@Test
+	public void testSum()
+	{
+		BigFractionAdder adder = new BigFractionAdder();
+		assertEquals(BigFraction.createFraction(0), adder.sum());
+
+		BigInteger big = BigInteger.ONE.shiftLeft(100);
+		adder.add(BigFraction.createFraction(big, BigInteger.valueOf(3)));
+		adder.add(BigFraction.createFraction(1, 6));
+		adder.add(-1);
+		adder.add(BigFraction.createFraction(big.negate(), BigInteger.valueOf(3)));
+
+		assertEquals(BigFraction.createFraction(-5, 6), adder.sum());
+		assertEquals("-5/6", adder.toString());
+	}
+
+	@Test
+	public void testReset()
+	{
+		BigFractionAdder adder = new BigFractionAdder();
+		adder.add(BigFraction.createFraction(1, 2));
+
+		assertEquals(BigFraction.createFraction(1, 2), adder.sumThenReset());
+		assertEquals(BigFraction.createFraction(0), adder.sum());
+
+		adder.add(BigFraction.createFraction(1, 2));
+		adder.reset();
+		assertEquals(BigFraction.createFraction(0), adder.sum());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testAdd_NullPointerException()
+	{
+		new BigFractionAdder().add(null);
+	}
+
+	@Test
+	public void testConcurrentAdd() throws InterruptedException
+	{
+		final BigFractionAdder adder = new BigFractionAdder();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int t = 0; t < 8; t++)
+		{
+			final int denominator = t + 2;
+
+			Thread thread = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					for (int i = 0; i < 5000; i++)
+					{
+						adder.add(BigFraction.createFraction(1, denominator));
+					}
+				}
+			});
+
+			thread.start();
+			threads.add(thread);
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		BigFraction expected = BigFraction.createFraction(0);
+
+		for (int t = 0; t < 8; t++)
+		{
+			expected = expected.add(BigFraction.createFraction(5000, t + 2));
+		}
+
+		assertEquals(expected, adder.sum());
+	}
+}
@@ -0,0 +1,97 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class BigFractionCacheTest
+{
+	@Test
+	public void testPow()
+	{
+		BigFractionCache cache = new BigFractionCache(100);
+		BigFraction f = BigFraction.createFraction(2, 3);
+
+		BigFraction first = cache.pow(f, 50);
+		BigFraction second = cache.pow(BigFraction.createFraction(4, 6), 50);
+
+		assertEquals(f.pow(50), first);
+		assertSame(first, second);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertNotSame(first, cache.pow(f, 51));
+	}
+
+	@Test
+	public void testOperations()
+	{
+		BigFractionCache cache = new BigFractionCache(100);
+		BigFraction a = BigFraction.createFraction(2, 3);
+		BigFraction b = BigFraction.createFraction(5, 7);
+
+		assertEquals(BigFraction.createFraction(3, 2), cache.reciprocal(a));
+		assertEquals(a.divide(b), cache.divide(a, b));
+		assertEquals(b.divide(a), cache.divide(b, a));
+		assertEquals("2/3", cache.toString(a));
+		assertEquals(4, cache.size());
+		assertEquals(0.0, cache.getHitRate(), 0.0);
+
+		cache.divide(a, b);
+		assertEquals(0.2, cache.getHitRate(), 0.0000001);
+	}
+
+	@Test
+	public void testToBigDecimal()
+	{
+		BigFractionCache cache = new BigFractionCache(100);
+		BigFraction f = BigFraction.createFraction(2, 3);
+
+		BigDecimal first = cache.toBigDecimal(f, 20, RoundingMode.HALF_EVEN);
+
+		assertEquals(f.toBigDecimal(20, RoundingMode.HALF_EVEN), first);
+		assertSame(first, cache.toBigDecimal(BigFraction.createFraction(4, 6), 20, RoundingMode.HALF_EVEN));
+		assertEquals(new BigDecimal("0.66666666666666666666"), cache.toBigDecimal(f, 20, RoundingMode.DOWN));
+		assertEquals(new BigDecimal("0.667"), cache.toBigDecimal(f, 3, RoundingMode.HALF_EVEN));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testToBigDecimal_ArithmeticException()
+	{
+		new BigFractionCache(10).toBigDecimal(BigFraction.createFraction(1, 3), 5, RoundingMode.UNNECESSARY);
+	}
+
+	@Test
+	public void testEviction()
+	{
+		BigFractionCache cache = new BigFractionCache(160);
+		BigFraction hot = BigFraction.createFraction(7, 9);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			cache.reciprocal(hot);
+			cache.reciprocal(BigFraction.createFraction(i + 1, 13));
+		}
+
+		assertTrue(cache.size() <= 160);
+		assertEquals(999, cache.getHitCount());
+		assertEquals(1001 - cache.size(), cache.getEvictionCount());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testReciprocal_ArithmeticException()
+	{
+		new BigFractionCache(10).reciprocal(BigFraction.createFraction(0));
+	}
+}
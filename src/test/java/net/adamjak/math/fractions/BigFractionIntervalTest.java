@@ -0,0 +1,150 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class BigFractionIntervalTest
+{
+	private static BigFractionInterval interval (long n1, long d1, long n2, long d2)
+	{
+		return BigFractionInterval.createInterval(BigFraction.createFraction(n1, d1), BigFraction.createFraction(n2, d2));
+	}
+
+	@Test
+	public void testAddSubtract()
+	{
+		assertEquals(interval(5, 6, 3, 2), interval(1, 2, 1, 1).add(interval(1, 3, 1, 2)));
+		assertEquals(interval(0, 1, 2, 3), interval(1, 2, 1, 1).subtract(interval(1, 3, 1, 2)));
+	}
+
+	@Test
+	public void testMultiplyDivide()
+	{
+		assertEquals(interval(-4, 1, 8, 1), interval(-1, 1, 2, 1).multiply(interval(3, 1, 4, 1)));
+		assertEquals(interval(-6, 1, 3, 1), interval(-1, 1, 2, 1).multiply(interval(-3, 1, -1, 1)));
+		assertEquals(interval(-2, 1, 1, 1), interval(-1, 1, 2, 1).negate());
+		assertEquals(interval(-1, 3, 2, 3), interval(-1, 1, 2, 1).divide(interval(3, 1, 4, 1)));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testDivide_ArithmeticException()
+	{
+		interval(1, 1, 2, 1).divide(interval(-1, 1, 1, 1));
+	}
+
+	@Test
+	public void testPow()
+	{
+		assertEquals(interval(0, 1, 4, 1), interval(-1, 1, 2, 1).pow(2));
+		assertEquals(interval(4, 1, 9, 1), interval(-3, 1, -2, 1).pow(2));
+		assertEquals(interval(-27, 1, -8, 1), interval(-3, 1, -2, 1).pow(3));
+		assertEquals(interval(1, 4, 1, 2), interval(2, 1, 4, 1).pow(-1));
+		assertEquals(interval(1, 1, 1, 1), interval(-3, 1, 2, 1).pow(0));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testPow_MinValue()
+	{
+		interval(2, 1, 4, 1).pow(Integer.MIN_VALUE);
+	}
+
+	@Test
+	public void testEquals()
+	{
+		BigFractionInterval a = interval(1, 2, 3, 4);
+
+		assertEquals(a, interval(1, 2, 3, 4));
+		assertEquals(a.hashCode(), interval(1, 2, 3, 4).hashCode());
+		assertFalse(a.equals(interval(1, 2, 4, 5)));
+		assertFalse(a.equals(a.withMaxDenominator(10)));
+		assertFalse(a.equals(null));
+		assertFalse(a.equals("[1/2, 3/4]"));
+	}
+
+	@Test
+	public void testContainsAndIntersection()
+	{
+		BigFractionInterval a = interval(0, 1, 1, 1);
+		BigFractionInterval b = interval(1, 2, 3, 2);
+
+		assertTrue(a.contains(BigFraction.createFraction(1, 3)));
+		assertFalse(a.contains(BigFraction.createFraction(4, 3)));
+		assertTrue(a.contains(interval(1, 4, 3, 4)));
+		assertFalse(a.contains(b));
+		assertTrue(a.intersects(b));
+		assertEquals(interval(1, 2, 1, 1), a.intersection(b));
+		assertEquals(interval(0, 1, 3, 2), a.hull(b));
+		assertNull(a.intersection(interval(2, 1, 3, 1)));
+	}
+
+	@Test
+	public void testBracket()
+	{
+		BigInteger bound = BigInteger.valueOf(100);
+		BigFraction pi = BigFraction.createFraction(3141592653589793L, 1000000000000000L);
+		BigFraction[] bracket = BigFractionInterval.bracket(pi, bound);
+
+		assertEquals(BigFraction.createFraction(311, 99), bracket[0]);
+		assertEquals(BigFraction.createFraction(22, 7), bracket[1]);
+
+		bracket = BigFractionInterval.bracket(pi.multiply(-1), bound);
+
+		assertEquals(BigFraction.createFraction(-22, 7), bracket[0]);
+		assertEquals(BigFraction.createFraction(-311, 99), bracket[1]);
+	}
+
+	@Test
+	public void testBracket_BruteForce()
+	{
+		BigInteger bound = BigInteger.valueOf(30);
+		BigFraction x = BigFraction.createFraction(1234567, 7654321);
+		BigFraction[] bracket = BigFractionInterval.bracket(x, bound);
+		BigFraction below = BigFraction.createFraction(0);
+		BigFraction above = BigFraction.createFraction(1);
+
+		for (int d = 1; d <= 30; d++)
+		{
+			for (int n = 0; n <= d; n++)
+			{
+				BigFraction f = BigFraction.createFraction(n, d);
+
+				if (f.compareTo(x) <= 0) below = below.max(f);
+				if (f.compareTo(x) >= 0) above = above.min(f);
+			}
+		}
+
+		assertEquals(below, bracket[0]);
+		assertEquals(above, bracket[1]);
+	}
+
+	@Test
+	public void testWithMaxDenominator()
+	{
+		BigFractionInterval x = interval(1, 3, 1, 2).withMaxDenominator(10);
+
+		for (int i = 0; i < 50; i++)
+		{
+			BigFractionInterval next = x.multiply(interval(7, 11, 13, 17)).add(interval(1, 7, 2, 9));
+
+			assertTrue(next.exact().contains(x.exact().multiply(interval(7, 11, 13, 17)).add(interval(1, 7, 2, 9))));
+			assertTrue(next.getLower().getDenominator().compareTo(BigInteger.TEN) <= 0);
+			assertTrue(next.getUpper().getDenominator().compareTo(BigInteger.TEN) <= 0);
+			x = next;
+		}
+
+		assertEquals(10, x.getMaxDenominator());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCreateInterval_IllegalArgumentException()
+	{
+		interval(1, 1, 0, 1);
+	}
+}
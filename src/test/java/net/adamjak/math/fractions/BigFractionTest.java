@@ -2,8 +2,14 @@ package net.adamjak.math.fractions;
 
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -268,6 +274,131 @@ public class BigFractionTest
 		instance.divide(zeroFracNum);
 	}
 
+	@Test
+	public void testLongOperations()
+	{
+		long[] numbers = {0, 1, -1, 3, -4, 6, Long.MAX_VALUE, Long.MIN_VALUE};
+		BigFraction[] fractions = {BigFraction.createFraction(0), BigFraction.createFraction(5, 6), BigFraction.createFraction(-7, 4),
+				BigFraction.createFraction(BigInteger.ONE.shiftLeft(80), BigInteger.valueOf(3))};
+
+		for (BigFraction f : fractions)
+		{
+			for (long n : numbers)
+			{
+				BigFraction number = BigFraction.createFraction(BigInteger.valueOf(n), BigInteger.ONE);
+				assertEquals(f.add(number), f.add(n));
+				assertEquals(f.subtract(number), f.subtract(n));
+				assertEquals(f.multiply(number), f.multiply(n));
+
+				if (n != 0)
+				{
+					assertEquals(f.divide(number), f.divide(n));
+				}
+			}
+		}
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testDivideLong_ArithmeticException()
+	{
+		BigFraction.createFraction(1, 2).divide(0L);
+	}
+
+	@Test
+	public void testFma()
+	{
+		BigFraction a = BigFraction.createFraction(2, 3);
+		BigFraction b = BigFraction.createFraction(9, 4);
+		BigFraction c = BigFraction.createFraction(-1, 6);
+		assertEquals(a.multiply(b).add(c), a.fma(b, c));
+		assertEquals(BigFraction.createFraction(5, 6), BigFraction.createFraction(1, 2).fma(BigFraction.createFraction(1, 3), BigFraction.createFraction(2, 3)));
+		assertEquals(BigFraction.createFraction(0), a.fma(BigFraction.createFraction(1, 4), c));
+	}
+
+	@Test
+	public void testDot()
+	{
+		BigInteger big = BigInteger.ONE.shiftLeft(100);
+		BigFraction[] a = {BigFraction.createFraction(1, 2), BigFraction.createFraction(big, BigInteger.valueOf(3)), BigFraction.createFraction(5, 9)};
+		BigFraction[] b = {BigFraction.createFraction(2, 5), BigFraction.createFraction(7, 3), BigFraction.createFraction(1, 10)};
+		BigFraction expResult = BigFraction.createFraction(0);
+
+		for (int i = 0; i < a.length; i++)
+		{
+			expResult = expResult.add(a[i].multiply(b[i]));
+		}
+
+		assertEquals(expResult, BigFraction.dot(a, b));
+		assertEquals(BigFraction.createFraction(0), BigFraction.dot(new BigFraction[0], new BigFraction[0]));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDot_IllegalArgumentException()
+	{
+		BigFraction.dot(new BigFraction[] {BigFraction.createFraction(1)}, new BigFraction[0]);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testFma_NullPointerException()
+	{
+		BigFraction.createFraction(1).fma(null, BigFraction.createFraction(1));
+	}
+
+	@Test
+	public void testSum()
+	{
+		List<BigFraction> fractions = new ArrayList<BigFraction>();
+		BigFraction expResult = BigFraction.createFraction(0);
+
+		for (int i = 1; i <= 200; i++)
+		{
+			BigFraction f = BigFraction.createFraction(i, (i % 7) + 1);
+			fractions.add(f);
+			expResult = expResult.add(f);
+		}
+
+		assertEquals(expResult, BigFraction.sum(fractions));
+		assertEquals(BigFraction.createFraction(0), BigFraction.sum());
+		assertEquals(BigFraction.createFraction(1, 2), BigFraction.sum(BigFraction.createFraction(1, 6), BigFraction.createFraction(1, 3)));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testSum_NullPointerException()
+	{
+		BigFraction.sum(BigFraction.createFraction(1, 2), null);
+	}
+
+	@Test
+	public void testProduct()
+	{
+		List<BigFraction> fractions = new ArrayList<BigFraction>();
+		BigFraction expResult = BigFraction.createFraction(1);
+
+		for (int i = 1; i <= 500; i++)
+		{
+			BigFraction f = BigFraction.createFraction(i % 2 == 0 ? i : -i, i + 3);
+			fractions.add(f);
+			expResult = expResult.multiply(f);
+		}
+
+		assertEquals(expResult, BigFraction.product(fractions));
+		assertEquals(expResult, BigFraction.product(fractions, new ForkJoinPool(4)));
+		assertEquals(BigFraction.createFraction(1), BigFraction.product(new ArrayList<BigFraction>()));
+	}
+
+	@Test
+	public void testProduct_Zero()
+	{
+		List<BigFraction> fractions = Arrays.asList(BigFraction.createFraction(2, 3), BigFraction.createFraction(0), BigFraction.createFraction(5, 7));
+		assertEquals(BigFraction.createFraction(0), BigFraction.product(fractions));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testProduct_NullPointerException()
+	{
+		BigFraction.product(Arrays.asList(BigFraction.createFraction(1, 2), null));
+	}
+
 	@Test
 	public void testMax()
 	{
@@ -533,6 +664,18 @@ public class BigFractionTest
 		assertEquals(expResult, result);
 	}
 
+	@Test
+	public void testLongValue_TruncatesUnlikeFraction()
+	{
+		// BigFraction truncates and Fraction rounds, rules are kept for compatibility
+		assertEquals(2L, BigFraction.createFraction(5, 2).longValue());
+		assertEquals(-2L, BigFraction.createFraction(-7, 3).longValue());
+		assertEquals(3L, Fraction.createFraction(5, 2).longValue());
+		assertEquals(-2L, Fraction.createFraction(-7, 3).longValue());
+		assertEquals(-3L, Fraction.createFraction(-11, 4).longValue());
+		assertEquals(-2L, BigFraction.createFraction(-11, 4).longValue());
+	}
+
 	@Test
 	public void testFloatValue()
 	{
@@ -595,7 +738,7 @@ public class BigFractionTest
 		Integer denominator = 3;
 
 		BigFraction instance = BigFraction.createFraction(numerator, denominator);
-		int expResult = (13 + numerator.hashCode()) * 13 + denominator.hashCode();
+		int expResult = LongMath.hash(numerator, denominator);
 		int result = instance.hashCode();
 		assertEquals(expResult, result);
 	}
@@ -613,4 +756,111 @@ public class BigFractionTest
 		result = instance.toString();
 		assertEquals(expResult, result);
 	}
+
+	@Test
+	public void testFromBigDecimal()
+	{
+		assertEquals(BigFraction.createFraction(-1, 8), BigFraction.fromBigDecimal(new BigDecimal("-0.125")));
+		assertEquals(BigFraction.createFraction(1, 3), BigFraction.fromBigDecimal(new BigDecimal("0.3")).add(BigFraction.createFraction(1, 30)));
+		assertEquals(BigFraction.createFraction(1234, 1), BigFraction.fromBigDecimal(new BigDecimal("1.234E+3")));
+		assertEquals(BigFraction.createFraction(0, 1), BigFraction.fromBigDecimal(new BigDecimal("0.000")));
+		assertEquals(BigFraction.createFraction(7, 2), BigFraction.fromBigDecimal(new BigDecimal("3.50000")));
+
+		BigDecimal decimal = new BigDecimal(BigInteger.valueOf(3).pow(40).multiply(BigInteger.valueOf(5).pow(1500)), 2000);
+		BigFraction expected = BigFraction.createFraction(decimal.unscaledValue(), BigInteger.TEN.pow(2000));
+		BigFraction result = BigFraction.fromBigDecimal(decimal);
+		assertEquals(expected.getNumerator(), result.getNumerator());
+		assertEquals(expected.getDenominator(), result.getDenominator());
+
+		assertEquals(BigFraction.createFraction(1, 4), BigFraction.createFraction(new BigDecimal("0.1"), new BigDecimal("0.4")));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testFromBigDecimal_NullPointerException()
+	{
+		BigFraction.fromBigDecimal(null);
+	}
+
+	@Test
+	public void testToBigDecimal()
+	{
+		BigFraction third = BigFraction.createFraction(-1, 3);
+
+		assertEquals(new BigDecimal("-0.333"), third.toBigDecimal(3, RoundingMode.HALF_UP));
+		assertEquals(new BigDecimal("-0.334"), third.toBigDecimal(3, RoundingMode.UP));
+		assertEquals(new BigDecimal("-0.333"), third.toBigDecimal(3, RoundingMode.CEILING));
+		assertEquals(new BigDecimal("-0.334"), third.toBigDecimal(3, RoundingMode.FLOOR));
+		assertEquals(new BigDecimal("12"), BigFraction.createFraction(25, 2).toBigDecimal(0, RoundingMode.HALF_EVEN));
+		assertEquals(new BigDecimal("14"), BigFraction.createFraction(27, 2).toBigDecimal(0, RoundingMode.HALF_EVEN));
+		assertEquals(new BigDecimal("12"), BigFraction.createFraction(25, 2).toBigDecimal(0, RoundingMode.HALF_DOWN));
+		assertEquals(new BigDecimal("-13"), BigFraction.createFraction(-25, 2).toBigDecimal(0, RoundingMode.HALF_UP));
+		assertEquals(new BigDecimal("1.2E+3"), BigFraction.createFraction(1250, 1).toBigDecimal(-2, RoundingMode.HALF_EVEN));
+		assertEquals(new BigDecimal("5.00"), BigFraction.createFraction(5, 1).toBigDecimal(2, RoundingMode.UNNECESSARY));
+		assertEquals(new BigDecimal("0.125"), BigFraction.createFraction(1, 8).toBigDecimal(3, RoundingMode.UNNECESSARY));
+
+		BigDecimal decimal = new BigDecimal("-123456789.987654321");
+		assertEquals(decimal, BigFraction.fromBigDecimal(decimal).toBigDecimal(decimal.scale(), RoundingMode.UNNECESSARY));
+
+		for (RoundingMode mode : RoundingMode.values())
+		{
+			if (mode == RoundingMode.UNNECESSARY) continue;
+
+			for (int n = -30; n <= 30; n++)
+			{
+				BigDecimal exact = new BigDecimal(n).divide(new BigDecimal(8));
+				assertEquals(exact.setScale(1, mode), BigFraction.createFraction(n, 8).toBigDecimal(1, mode));
+			}
+		}
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testToBigDecimal_ArithmeticException()
+	{
+		BigFraction.createFraction(1, 3).toBigDecimal(10, RoundingMode.UNNECESSARY);
+	}
+
+	@Test
+	public void testFloorCeilRound()
+	{
+		BigFraction instance = BigFraction.createFraction(-7, 2);
+
+		assertEquals(BigInteger.valueOf(-4), instance.floor());
+		assertEquals(BigInteger.valueOf(-3), instance.ceil());
+		assertEquals(BigInteger.valueOf(-3), instance.integerPart());
+		assertEquals(BigFraction.createFraction(-1, 2), instance.fractionalPart());
+		assertEquals(BigInteger.valueOf(-4), instance.round(RoundingMode.HALF_EVEN));
+		assertEquals(BigInteger.valueOf(-3), instance.round(RoundingMode.HALF_DOWN));
+		assertEquals(BigInteger.valueOf(6), BigFraction.createFraction(6, 1).round(RoundingMode.UNNECESSARY));
+		assertEquals(BigFraction.createFraction(0, 1), BigFraction.createFraction(6, 1).fractionalPart());
+
+		for (RoundingMode mode : RoundingMode.values())
+		{
+			if (mode == RoundingMode.UNNECESSARY) continue;
+
+			for (int n = -20; n <= 20; n++)
+			{
+				BigInteger expected = new BigDecimal(n).divide(new BigDecimal(4)).setScale(0, mode).toBigIntegerExact();
+				assertEquals(expected, BigFraction.createFraction(n, 4).round(mode));
+			}
+		}
+	}
+
+	@Test
+	public void testFloorDivFloorMod()
+	{
+		BigFraction x = BigFraction.createFraction(7, 2);
+		BigFraction y = BigFraction.createFraction(-2, 3);
+
+		assertEquals(BigInteger.valueOf(-6), x.floorDiv(y));
+		assertEquals(BigFraction.createFraction(-1, 2), x.floorMod(y));
+		assertEquals(BigInteger.valueOf(5), x.floorDiv(BigFraction.createFraction(2, 3)));
+		assertEquals(BigFraction.createFraction(1, 6), x.floorMod(BigFraction.createFraction(2, 3)));
+		assertEquals(x, y.multiply(BigFraction.createFraction(x.floorDiv(y))).add(x.floorMod(y)));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testFloorMod_ArithmeticException()
+	{
+		BigFraction.createFraction(1, 3).floorMod(BigFraction.createFraction(0));
+	}
 }
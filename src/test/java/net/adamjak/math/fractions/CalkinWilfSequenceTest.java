@@ -0,0 +1,101 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class CalkinWilfSequenceTest
+{
+	@Test
+	public void testIterator()
+	{
+		int[][] terms = {{1, 1}, {1, 2}, {2, 1}, {1, 3}, {3, 2}, {2, 3}, {3, 1}, {1, 4}, {4, 3}, {3, 5}, {5, 2}};
+		Iterator<Fraction> iterator = new CalkinWilfSequence().iterator();
+
+		for (int[] term : terms)
+		{
+			assertEquals(Fraction.createFraction(term[0], term[1]), iterator.next());
+		}
+	}
+
+	@Test
+	public void testTerm()
+	{
+		long index = 1;
+
+		for (Fraction fraction : new CalkinWilfSequence(1, 5000))
+		{
+			assertEquals(fraction, CalkinWilfSequence.term(index++));
+		}
+
+		assertEquals(5001, index);
+	}
+
+	@Test
+	public void testLevels()
+	{
+		// level k contains distinct fractions with sum of continued fraction quotients k + 1
+		Set<Fraction> level = new HashSet<Fraction>();
+
+		for (Fraction fraction : new CalkinWilfSequence(1 << 10, (1 << 11) - 1))
+		{
+			assertTrue(level.add(fraction));
+
+			long a = fraction.getNumerator();
+			long b = fraction.getDenominator();
+			long sum = 0;
+
+			while (b != 0)
+			{
+				sum += a / b;
+				long tmp = a % b;
+				a = b;
+				b = tmp;
+			}
+
+			assertEquals(11, sum);
+		}
+
+		assertEquals(1 << 10, level.size());
+		assertTrue(level.contains(Fraction.createFraction(1, 11)));
+		assertTrue(level.contains(Fraction.createFraction(11, 1)));
+	}
+
+	@Test
+	public void testSplit()
+	{
+		CalkinWilfSequence[] parts = new CalkinWilfSequence(3, 10).split();
+
+		assertEquals(4, parts[0].size());
+		assertEquals(4, parts[1].size());
+		assertEquals(CalkinWilfSequence.term(7), parts[1].iterator().next());
+		assertNull(new CalkinWilfSequence(5, 5).split());
+	}
+
+	@Test
+	public void testFill()
+	{
+		CalkinWilfSequence.Cursor cursor = new CalkinWilfSequence(100, 199).iterator();
+		long[] numerators = new long[64];
+		long[] denominators = new long[64];
+
+		assertEquals(64, cursor.fill(numerators, denominators));
+		assertEquals(CalkinWilfSequence.term(163), Fraction.createFraction(numerators[63], denominators[63]));
+		assertEquals(36, cursor.fill(numerators, denominators));
+		assertEquals(0, cursor.fill(numerators, denominators));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_IllegalArgumentException()
+	{
+		new CalkinWilfSequence(0, 5);
+	}
+}
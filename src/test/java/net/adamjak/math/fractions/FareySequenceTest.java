@@ -0,0 +1,150 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FareySequenceTest
+{
+	private static List<Fraction> toList (Iterable<Fraction> sequence)
+	{
+		List<Fraction> list = new ArrayList<Fraction>();
+
+		for (Fraction fraction : sequence)
+		{
+			list.add(fraction);
+		}
+
+		return list;
+	}
+
+	private static List<Fraction> bruteForce (int order)
+	{
+		TreeSet<Fraction> set = new TreeSet<Fraction>();
+
+		for (int d = 1; d <= order; d++)
+		{
+			for (int n = 0; n <= d; n++)
+			{
+				set.add(Fraction.createFraction(n, d));
+			}
+		}
+
+		return new ArrayList<Fraction>(set);
+	}
+
+	@Test
+	public void testIterator()
+	{
+		List<Fraction> expected = new ArrayList<Fraction>();
+		int[][] terms = {{0, 1}, {1, 5}, {1, 4}, {1, 3}, {2, 5}, {1, 2}, {3, 5}, {2, 3}, {3, 4}, {4, 5}, {1, 1}};
+
+		for (int[] term : terms)
+		{
+			expected.add(Fraction.createFraction(term[0], term[1]));
+		}
+
+		assertEquals(expected, toList(new FareySequence(5)));
+		assertEquals(bruteForce(40), toList(new FareySequence(40)));
+		assertEquals(toList(new FareySequence(1)), bruteForce(1));
+	}
+
+	@Test
+	public void testSplit()
+	{
+		List<FareySequence> parts = new ArrayList<FareySequence>();
+		parts.add(new FareySequence(37));
+
+		for (int round = 0; round < 4; round++)
+		{
+			List<FareySequence> next = new ArrayList<FareySequence>();
+
+			for (FareySequence part : parts)
+			{
+				FareySequence[] split = part.split();
+
+				if (split == null)
+				{
+					next.add(part);
+				}
+				else
+				{
+					assertTrue(split[0].getLast().compareTo(split[1].getFirst()) < 0);
+					Collections.addAll(next, split);
+				}
+			}
+
+			parts = next;
+		}
+
+		assertEquals(16, parts.size());
+
+		List<Fraction> all = new ArrayList<Fraction>();
+
+		for (FareySequence part : parts)
+		{
+			List<Fraction> terms = toList(part);
+			assertFalse(terms.isEmpty());
+			all.addAll(terms);
+		}
+
+		assertEquals(bruteForce(37), all);
+	}
+
+	@Test
+	public void testSplit_OneTerm()
+	{
+		FareySequence[] parts = new FareySequence(2).split();
+
+		assertEquals(Fraction.createFraction(1, 2), parts[0].getLast());
+		assertEquals(Fraction.createFraction(1), parts[1].getFirst());
+		assertNull(parts[1].split());
+	}
+
+	@Test
+	public void testFill()
+	{
+		FareySequence.Cursor cursor = new FareySequence(100).iterator();
+		List<Fraction> expected = bruteForce(100);
+		long[] numerators = new long[64];
+		long[] denominators = new long[64];
+		int index = 0;
+		int count;
+
+		while ((count = cursor.fill(numerators, denominators)) > 0)
+		{
+			for (int i = 0; i < count; i++)
+			{
+				assertEquals(expected.get(index++), Fraction.createFraction(numerators[i], denominators[i]));
+			}
+		}
+
+		assertEquals(expected.size(), index);
+		assertFalse(cursor.hasNext());
+	}
+
+	@Test(expected = java.util.NoSuchElementException.class)
+	public void testNext_NoSuchElementException()
+	{
+		Iterator<Fraction> iterator = new FareySequence(1).iterator();
+		iterator.next();
+		iterator.next();
+		iterator.next();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_IllegalArgumentException()
+	{
+		new FareySequence(0);
+	}
+}
@@ -0,0 +1,148 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionAdderTest
+{
+	@Test
+	public void testSum()
+	{
+		FractionAdder adder = new FractionAdder();
+		assertEquals(Fraction.createFraction(0), adder.sum());
+
+		adder.add(Fraction.createFraction(1, 3));
+		adder.add(Fraction.createFraction(1, 6));
+		adder.add(2);
+		adder.add(Fraction.createFraction(-1, 4));
+
+		assertEquals(Fraction.createFraction(9, 4), adder.sum());
+		assertEquals("9/4", adder.toString());
+	}
+
+	@Test
+	public void testSum_Overflow_In_Cell()
+	{
+		FractionAdder adder = new FractionAdder();
+		adder.add(Long.MAX_VALUE);
+		adder.add(Long.MAX_VALUE);
+		adder.add(Fraction.createFraction(1, 3));
+		adder.add(-Long.MAX_VALUE);
+		adder.add(-Long.MAX_VALUE);
+
+		assertEquals(Fraction.createFraction(1, 3), adder.sum());
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testSum_ArithmeticException()
+	{
+		FractionAdder adder = new FractionAdder();
+		adder.add(Long.MAX_VALUE);
+		adder.add(Long.MAX_VALUE);
+		adder.sum();
+	}
+
+	@Test
+	public void testSumThenReset_ArithmeticException()
+	{
+		FractionAdder adder = new FractionAdder();
+		adder.add(Long.MAX_VALUE);
+		adder.add(Long.MAX_VALUE);
+
+		try
+		{
+			adder.sumThenReset();
+			fail();
+		}
+		catch (ArithmeticException e)
+		{
+		}
+
+		// failed sumThenReset keeps the sum
+		adder.add(-Long.MAX_VALUE);
+		assertEquals(Fraction.createFraction(Long.MAX_VALUE, 1L), adder.sumThenReset());
+		assertEquals(Fraction.createFraction(0), adder.sum());
+	}
+
+	@Test
+	public void testReset()
+	{
+		FractionAdder adder = new FractionAdder();
+		adder.add(Fraction.createFraction(1, 2));
+
+		assertEquals(Fraction.createFraction(1, 2), adder.sumThenReset());
+		assertEquals(Fraction.createFraction(0), adder.sum());
+
+		adder.add(Fraction.createFraction(1, 2));
+		adder.reset();
+		assertEquals(Fraction.createFraction(0), adder.sum());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testAdd_NullPointerException()
+	{
+		new FractionAdder().add(null);
+	}
+
+	@Test
+	public void testConcurrentAdd() throws InterruptedException
+	{
+		final FractionAdder adder = new FractionAdder();
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int t = 0; t < 8; t++)
+		{
+			final int denominator = t + 2;
+
+			Thread thread = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					try
+					{
+						start.await();
+					}
+					catch (InterruptedException e)
+					{
+						return;
+					}
+
+					for (int i = 0; i < 10000; i++)
+					{
+						adder.add(Fraction.createFraction(1, denominator));
+					}
+				}
+			});
+
+			thread.start();
+			threads.add(thread);
+		}
+
+		start.countDown();
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		Fraction expected = Fraction.createFraction(0);
+
+		for (int t = 0; t < 8; t++)
+		{
+			expected = expected.add(Fraction.createFraction(10000, t + 2));
+		}
+
+		assertEquals(expected, adder.sum());
+	}
+}
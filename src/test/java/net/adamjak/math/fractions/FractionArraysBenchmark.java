@@ -0,0 +1,75 @@
+package net.adamjak.math.fractions;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ *
+ * Simple timing harness, not a unit test. Compares loop of {@link Fraction#multiply(Fraction)} with
+ * {@link FractionArrays#multiply(long[], long[], long[], long[], long[], long[])} and checks that results agree.
+ * Run it against packaged multi-release JAR, with vector kernels:
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp target/Fractions-0.6.4.jar:target/test-classes net.adamjak.math.fractions.FractionArraysBenchmark
+ * </pre>
+ * and without <em>--add-modules</em> for scalar kernels.
+ */
+public class FractionArraysBenchmark
+{
+	private static final int SIZE = 1 << 16;
+	private static final int ROUNDS = 50;
+
+	public static void main (String[] args)
+	{
+		Random random = new Random(42);
+		Fraction[] a = new Fraction[SIZE];
+		Fraction[] b = new Fraction[SIZE];
+
+		for (int i = 0; i < SIZE; i++)
+		{
+			a[i] = Fraction.createFraction(random.nextInt(2000001) - 1000000, random.nextInt(1000000) + 1);
+			b[i] = Fraction.createFraction(random.nextInt(2000001) - 1000000, random.nextInt(1000000) + 1);
+		}
+
+		long[] an = new long[SIZE];
+		long[] ad = new long[SIZE];
+		long[] bn = new long[SIZE];
+		long[] bd = new long[SIZE];
+		long[] rn = new long[SIZE];
+		long[] rd = new long[SIZE];
+		FractionArrays.split(a, an, ad);
+		FractionArrays.split(b, bn, bd);
+
+		Fraction[] products = new Fraction[SIZE];
+
+		System.out.println("Vector kernels: " + FractionVectors.isAvailable());
+
+		for (int round = 0; round < ROUNDS; round++)
+		{
+			long start = System.nanoTime();
+
+			for (int i = 0; i < SIZE; i++)
+			{
+				products[i] = a[i].multiply(b[i]);
+			}
+
+			long scalar = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			FractionArrays.multiply(an, ad, bn, bd, rn, rd);
+			long bulk = System.nanoTime() - start;
+
+			if ((round + 1) % 10 == 0)
+			{
+				System.out.printf("round %2d: Fraction.multiply %6.1f ns/op, FractionArrays.multiply %6.1f ns/op%n",
+						round, (double) scalar / SIZE, (double) bulk / SIZE);
+			}
+		}
+
+		if (!Arrays.equals(products, FractionArrays.toFractions(rn, rd)))
+		{
+			throw new AssertionError("Results of Fraction.multiply and FractionArrays.multiply differ.");
+		}
+	}
+}
@@ -0,0 +1,355 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionArraysTest
+{
+	private static final Fraction[] A = {
+			Fraction.createFraction(1, 2), Fraction.createFraction(-2, 3), Fraction.createFraction(0),
+			Fraction.createFraction(7, 100), Fraction.createFraction(5, 8)
+	};
+
+	private static final Fraction[] B = {
+			Fraction.createFraction(3, 4), Fraction.createFraction(9, 10), Fraction.createFraction(4, 7),
+			Fraction.createFraction(-100, 7), Fraction.createFraction(8, 5)
+	};
+
+	private static final Fraction[] C = {
+			Fraction.createFraction(1, 8), Fraction.createFraction(3, 5), Fraction.createFraction(-1, 3),
+			Fraction.createFraction(2), Fraction.createFraction(-1)
+	};
+
+	private static long[][] columns (Fraction[] fractions)
+	{
+		long[][] columns = new long[2][fractions.length];
+		FractionArrays.split(fractions, columns[0], columns[1]);
+		return columns;
+	}
+
+	@Test
+	public void testSplitAndToFractions()
+	{
+		long[][] a = columns(A);
+		assertArrayEquals(A, FractionArrays.toFractions(a[0], a[1]));
+	}
+
+	@Test
+	public void testReduce()
+	{
+		long[] numerators = {4, 3, 0, -10};
+		long[] denominators = {6, -9, 5, 4};
+		FractionArrays.reduce(numerators, denominators);
+		assertArrayEquals(new long[] {2, -1, 0, -5}, numerators);
+		assertArrayEquals(new long[] {3, 3, 1, 2}, denominators);
+	}
+
+	@Test
+	public void testMultiply()
+	{
+		long[][] a = columns(A);
+		long[][] b = columns(B);
+		long[][] result = new long[2][A.length];
+		FractionArrays.multiply(a[0], a[1], b[0], b[1], result[0], result[1]);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			assertEquals(A[i].multiply(B[i]), Fraction.createFraction(result[0][i], result[1][i]));
+			assertEquals(Long.valueOf(result[1][i]), Fraction.createFraction(result[0][i], result[1][i]).getDenominator());
+		}
+	}
+
+	@Test
+	public void testAdd()
+	{
+		long[][] a = columns(A);
+		long[][] b = columns(B);
+		FractionArrays.add(a[0], a[1], b[0], b[1], a[0], a[1]);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			assertEquals(A[i].add(B[i]), Fraction.createFraction(a[0][i], a[1][i]));
+			assertEquals(Long.valueOf(a[1][i]), Fraction.createFraction(a[0][i], a[1][i]).getDenominator());
+		}
+	}
+
+	@Test
+	public void testMultiplyAdd()
+	{
+		long[][] a = columns(A);
+		long[][] b = columns(B);
+		long[][] c = columns(C);
+		FractionArrays.multiplyAdd(a[0], a[1], b[0], b[1], c[0], c[1], c[0], c[1]);
+
+		assertArrayEquals(new Fraction[] {
+				A[0].multiply(B[0]).add(C[0]), A[1].multiply(B[1]).add(C[1]), A[2].multiply(B[2]).add(C[2]),
+				A[3].multiply(B[3]).add(C[3]), A[4].multiply(B[4]).add(C[4])
+		}, FractionArrays.toFractions(c[0], c[1]));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testMultiply_ArithmeticException()
+	{
+		long[] numerators = {Long.MAX_VALUE};
+		long[] denominators = {1};
+		FractionArrays.multiply(numerators, denominators, numerators, denominators, new long[1], new long[1]);
+	}
+
+	@Test
+	public void testMultiply_MinValue()
+	{
+		long[] aNumerators = {Long.MIN_VALUE, Long.MIN_VALUE, 1};
+		long[] aDenominators = {1, 1, 6};
+		long[] bNumerators = {1, 3, Long.MIN_VALUE};
+		long[] bDenominators = {6, 4, 1};
+		long[][] result = new long[2][3];
+		FractionArrays.multiply(aNumerators, aDenominators, bNumerators, bDenominators, result[0], result[1]);
+
+		for (int i = 0; i < 3; i++)
+		{
+			BigFraction x = BigFraction.createFraction(aNumerators[i], aDenominators[i]);
+			BigFraction y = BigFraction.createFraction(bNumerators[i], bDenominators[i]);
+
+			assertFraction(x.multiply(y), result[0][i], result[1][i]);
+		}
+	}
+
+	@Test
+	public void testVectors_WithoutAvailabilityCheck()
+	{
+		long[][] a = columns(A);
+		long[][] b = columns(B);
+		long[][] c = columns(C);
+		long[][] expected = new long[2][A.length];
+		long[][] result = new long[2][A.length];
+		int[] expectedCompare = new int[A.length];
+		int[] compare = new int[A.length];
+
+		for (int i = 0; i < A.length; i++)
+		{
+			FractionArrays.multiplyAt(a[0][i], a[1][i], b[0][i], b[1][i], expected[0], expected[1], i);
+		}
+
+		FractionVectors.multiply(a[0], a[1], b[0], b[1], result[0], result[1], A.length);
+		assertArrayEquals(expected[0], result[0]);
+		assertArrayEquals(expected[1], result[1]);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			FractionArrays.addAt(a[0][i], a[1][i], b[0][i], b[1][i], expected[0], expected[1], i);
+		}
+
+		FractionVectors.add(a[0], a[1], b[0], b[1], result[0], result[1], A.length);
+		assertArrayEquals(expected[0], result[0]);
+		assertArrayEquals(expected[1], result[1]);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			FractionArrays.multiplyAddAt(a[0][i], a[1][i], b[0][i], b[1][i], c[0][i], c[1][i], expected[0], expected[1], i);
+			expectedCompare[i] = Integer.signum(A[i].compareTo(B[i]));
+		}
+
+		FractionVectors.multiplyAdd(a[0], a[1], b[0], b[1], c[0], c[1], result[0], result[1], A.length);
+		assertArrayEquals(expected[0], result[0]);
+		assertArrayEquals(expected[1], result[1]);
+
+		FractionVectors.compare(a[0], a[1], b[0], b[1], compare, A.length);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			assertEquals(expectedCompare[i], Integer.signum(compare[i]));
+		}
+	}
+
+	@Test
+	public void testCompare()
+	{
+		long[] aNumerators = {1, Long.MAX_VALUE - 1, -3, 2};
+		long[] aDenominators = {2, Long.MAX_VALUE, 4, 3};
+		long[] bNumerators = {1, Long.MAX_VALUE - 2, 1, 4};
+		long[] bDenominators = {3, Long.MAX_VALUE - 1, 4, 6};
+		int[] result = new int[4];
+		FractionArrays.compare(aNumerators, aDenominators, bNumerators, bDenominators, result);
+
+		assertTrue(result[0] > 0);
+		assertTrue(result[1] > 0);
+		assertTrue(result[2] < 0);
+		assertTrue(result[3] == 0);
+	}
+
+	/**
+	 * Fractions in runs of the same magnitude, so some blocks of vector kernels are small and some are not.
+	 */
+	private static long[][] kernelColumns (int length, long[] bounds, long seed)
+	{
+		Random random = new Random(seed);
+		long[][] columns = new long[2][length];
+
+		for (int i = 0; i < length; i++)
+		{
+			long bound = bounds[(i / 11) % bounds.length];
+
+			if (i % 13 == 0)
+			{
+				// operands on the bound itself
+				columns[0][i] = random.nextBoolean() ? bound : -bound;
+				columns[1][i] = i % 2 == 0 ? bound : bound - 1;
+			}
+			else
+			{
+				columns[0][i] = (random.nextLong() >>> 1) % (2 * bound + 1) - bound;
+				columns[1][i] = 1 + (random.nextLong() >>> 1) % bound;
+			}
+		}
+
+		FractionArrays.reduce(columns[0], columns[1]);
+		return columns;
+	}
+
+	private static void assertFraction (BigFraction expected, long numerator, long denominator)
+	{
+		assertEquals(expected.getNumerator(), BigInteger.valueOf(numerator));
+		assertEquals(expected.getDenominator(), BigInteger.valueOf(denominator));
+	}
+
+	@Test
+	public void testKernels_Random()
+	{
+		long[] bounds = {1 << 8, (1 << 26) - 1, 1 << 26, 1 << 29, Integer.MAX_VALUE, 1L << 31};
+		long[][] a = kernelColumns(1000, bounds, 4);
+		long[][] b = kernelColumns(1000, bounds, 5);
+		long[][] product = new long[2][1000];
+		long[][] sum = new long[2][1000];
+		int[] compare = new int[1000];
+
+		FractionArrays.multiply(a[0], a[1], b[0], b[1], product[0], product[1]);
+		FractionArrays.add(a[0], a[1], b[0], b[1], sum[0], sum[1]);
+		FractionArrays.compare(a[0], a[1], b[0], b[1], compare);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			BigFraction x = BigFraction.createFraction(a[0][i], a[1][i]);
+			BigFraction y = BigFraction.createFraction(b[0][i], b[1][i]);
+
+			assertFraction(x.multiply(y), product[0][i], product[1][i]);
+			assertFraction(x.add(y), sum[0][i], sum[1][i]);
+			assertEquals(Integer.signum(x.compareTo(y)), Integer.signum(compare[i]));
+		}
+
+		long[] smallBounds = {1 << 4, 1 << 12, 1 << 13, 1 << 14};
+		a = kernelColumns(1000, smallBounds, 6);
+		b = kernelColumns(1000, smallBounds, 7);
+		long[][] c = kernelColumns(1000, smallBounds, 8);
+		long[][] original = {c[0].clone(), c[1].clone()};
+
+		FractionArrays.multiplyAdd(a[0], a[1], b[0], b[1], c[0], c[1], c[0], c[1]);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			BigFraction x = BigFraction.createFraction(a[0][i], a[1][i]);
+			BigFraction y = BigFraction.createFraction(b[0][i], b[1][i]);
+			BigFraction z = BigFraction.createFraction(original[0][i], original[1][i]);
+
+			assertFraction(x.multiply(y).add(z), c[0][i], c[1][i]);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCheckLength_IllegalArgumentException()
+	{
+		FractionArrays.add(new long[1], new long[1], new long[2], new long[2], new long[1], new long[1]);
+	}
+
+	private static long[][] randomColumns (int length, long bound, long seed)
+	{
+		Random random = new Random(seed);
+		long[][] columns = new long[2][length];
+
+		for (int i = 0; i < length; i++)
+		{
+			long k = 1 + (random.nextLong() >>> 1) % bound;
+
+			switch (i % 3)
+			{
+				case 0:
+					// neighbours k/(k+1) and (k+1)/(k+2) have the same double value
+					columns[0][i] = random.nextBoolean() ? k : -k;
+					columns[1][i] = k + 1;
+					break;
+				case 1:
+					columns[0][i] = random.nextLong() % bound;
+					columns[1][i] = k;
+					break;
+				default:
+					columns[0][i] = random.nextInt(7) - 3;
+					columns[1][i] = 1 + random.nextInt(5);
+			}
+		}
+
+		FractionArrays.reduce(columns[0], columns[1]);
+		return columns;
+	}
+
+	private static void assertSorted (long[][] columns, long[][] original)
+	{
+		Fraction[] expected = FractionArrays.toFractions(original[0], original[1]);
+		Arrays.sort(expected);
+
+		assertArrayEquals(expected, FractionArrays.toFractions(columns[0], columns[1]));
+	}
+
+	@Test
+	public void testSort()
+	{
+		long[][] columns = randomColumns(5000, 1L << 40, 1);
+		long[][] original = {columns[0].clone(), columns[1].clone()};
+		FractionArrays.sort(columns[0], columns[1]);
+
+		assertSorted(columns, original);
+	}
+
+	@Test
+	public void testSort_LargeValues()
+	{
+		long[][] columns = randomColumns(5000, Long.MAX_VALUE - 1, 2);
+		long[][] original = {columns[0].clone(), columns[1].clone()};
+		FractionArrays.sort(columns[0], columns[1]);
+
+		assertSorted(columns, original);
+	}
+
+	@Test
+	public void testParallelSort()
+	{
+		long[][] columns = randomColumns(50000, 1L << 40, 3);
+		long[][] original = {columns[0].clone(), columns[1].clone()};
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try
+		{
+			FractionArrays.parallelSort(columns[0], columns[1], pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		assertSorted(columns, original);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSort_IllegalArgumentException()
+	{
+		FractionArrays.sort(new long[] {1, 2}, new long[] {1, 0});
+	}
+}
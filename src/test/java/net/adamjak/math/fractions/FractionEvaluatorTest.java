@@ -0,0 +1,186 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionEvaluatorTest
+{
+	@Test
+	public void testEvaluateAll() throws Exception
+	{
+		FractionEvaluator evaluator = new FractionEvaluator();
+		FractionExpression expression = FractionExpression.compile("x * y + 1", "x", "y");
+		List<BigFraction[]> rows = new ArrayList<BigFraction[]>();
+
+		for (int i = 1; i <= 100; i++)
+		{
+			rows.add(new BigFraction[] {BigFraction.createFraction(i, 3), BigFraction.createFraction(2, i + 1)});
+		}
+
+		try
+		{
+			List<Future<BigFraction>> results = evaluator.evaluateAll(expression, rows);
+			assertEquals(rows.size(), results.size());
+
+			for (int i = 0; i < rows.size(); i++)
+			{
+				BigFraction[] row = rows.get(i);
+				assertEquals(row[0].multiply(row[1]).add(BigFraction.createFraction(1)), results.get(i).get());
+			}
+		}
+		finally
+		{
+			evaluator.shutdown();
+		}
+	}
+
+	@Test
+	public void testEvaluate_ArithmeticException() throws Exception
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		FractionEvaluator evaluator = new FractionEvaluator(executor, 1, 64);
+
+		try
+		{
+			evaluator.evaluate(FractionExpression.compile("1 / x"), BigFraction.createFraction(0)).get();
+			fail();
+		}
+		catch (ExecutionException e)
+		{
+			assertTrue(e.getCause() instanceof ArithmeticException);
+		}
+		finally
+		{
+			evaluator.shutdown();
+			assertFalse(executor.isShutdown());
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testSubmit_LargeJobs() throws Exception
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		FractionEvaluator evaluator = new FractionEvaluator(executor, 2, 64);
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		List<Future<BigFraction>> results = new ArrayList<Future<BigFraction>>();
+
+		for (int i = 0; i < 16; i++)
+		{
+			results.add(evaluator.submit(new Callable<BigFraction>()
+			{
+				@Override
+				public BigFraction call() throws Exception
+				{
+					int current = running.incrementAndGet();
+
+					while (true)
+					{
+						int max = maxRunning.get();
+
+						if (current <= max || maxRunning.compareAndSet(max, current))
+						{
+							break;
+						}
+					}
+
+					Thread.sleep(5);
+					running.decrementAndGet();
+
+					return BigFraction.createFraction(BigInteger.ONE.shiftLeft(100), BigInteger.valueOf(3)).pow(2);
+				}
+			}, true));
+		}
+
+		for (Future<BigFraction> result : results)
+		{
+			assertEquals(BigFraction.createFraction(BigInteger.ONE.shiftLeft(200), BigInteger.valueOf(9)), result.get());
+		}
+
+		assertTrue(maxRunning.get() <= evaluator.getMaxLargeJobs());
+		executor.shutdown();
+	}
+
+	@Test
+	public void testSubmit_SmallJobWhileLargeJobsWait() throws Exception
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		FractionEvaluator evaluator = new FractionEvaluator(executor, 1, 64);
+		final CountDownLatch largeStarted = new CountDownLatch(1);
+		final CountDownLatch finishLarge = new CountDownLatch(1);
+		final AtomicInteger started = new AtomicInteger();
+		List<Future<BigFraction>> results = new ArrayList<Future<BigFraction>>();
+
+		try
+		{
+			for (int i = 0; i < 4; i++)
+			{
+				results.add(evaluator.submit(new Callable<BigFraction>()
+				{
+					@Override
+					public BigFraction call() throws Exception
+					{
+						started.incrementAndGet();
+						largeStarted.countDown();
+						finishLarge.await();
+
+						return BigFraction.createFraction(1, 2);
+					}
+				}, true));
+			}
+
+			assertTrue(largeStarted.await(10, TimeUnit.SECONDS));
+
+			// waiting large jobs do not hold the second thread, so small job runs while first large job holds permit
+			Future<BigFraction> small = evaluator.submit(new Callable<BigFraction>()
+			{
+				@Override
+				public BigFraction call()
+				{
+					return BigFraction.createFraction(1, 3);
+				}
+			}, false);
+
+			assertEquals(BigFraction.createFraction(1, 3), small.get(10, TimeUnit.SECONDS));
+			assertEquals(1, started.get());
+
+			finishLarge.countDown();
+
+			for (Future<BigFraction> result : results)
+			{
+				assertEquals(BigFraction.createFraction(1, 2), result.get(10, TimeUnit.SECONDS));
+			}
+
+			assertEquals(4, started.get());
+		}
+		finally
+		{
+			finishLarge.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_IllegalArgumentException()
+	{
+		new FractionEvaluator(Executors.newSingleThreadExecutor(), 0, 64);
+	}
+}
@@ -0,0 +1,189 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionExpressionTest
+{
+	@Test
+	public void testEvaluate() throws ParseException
+	{
+		FractionExpression expression = FractionExpression.compile("(a + b/3) * c - 7/8");
+		Fraction a = Fraction.createFraction(1, 2);
+		Fraction b = Fraction.createFraction(3, 4);
+		Fraction c = Fraction.createFraction(-2, 5);
+
+		assertArrayEquals(new String[] {"a", "b", "c"}, expression.getVariables());
+		assertEquals(a.add(b.divide(3)).multiply(c).subtract(Fraction.createFraction(7, 8)), expression.evaluate(a, b, c));
+		assertEquals(a.toBigFraction().add(b.toBigFraction().divide(3)).multiply(c.toBigFraction()).subtract(BigFraction.createFraction(7, 8)),
+				expression.evaluateBig(a.toBigFraction(), b.toBigFraction(), c.toBigFraction()));
+	}
+
+	@Test
+	public void testOperators() throws ParseException
+	{
+		Fraction x = Fraction.createFraction(2, 3);
+
+		assertEquals(Fraction.createFraction(-4, 9), FractionExpression.compile("-x^2").evaluate(x));
+		assertEquals(Fraction.createFraction(27, 8), FractionExpression.compile("x^-3").evaluate(x));
+		assertEquals(Fraction.createFraction(9, 8), FractionExpression.compile("1.125").evaluate());
+		assertEquals(Fraction.createFraction(1, 6), FractionExpression.compile("x - 0.5").evaluate(x));
+		assertEquals(Fraction.createFraction(3, 2), FractionExpression.compile("1 / x").evaluate(x));
+		assertEquals(Fraction.createFraction(-1), FractionExpression.compile("x - (1 - -x) + 0").evaluate(x));
+	}
+
+	@Test
+	public void testConstantFolding() throws ParseException
+	{
+		assertEquals("(x + (7/6))", FractionExpression.compile("1/2 + x + 2/3").toString());
+		assertEquals("(3 * x * y)", FractionExpression.compile("2 * x * (y * 3/2)").toString());
+		assertEquals("(-x)", FractionExpression.compile("-(x * 1)").toString());
+		assertEquals("1", FractionExpression.compile("(2/3)^0 * 4 / 4").toString());
+	}
+
+	@Test
+	public void testVariablesOrder() throws ParseException
+	{
+		FractionExpression expression = FractionExpression.compile("a - b", "b", "a");
+
+		assertEquals(Fraction.createFraction(1), expression.evaluate(Fraction.createFraction(1), Fraction.createFraction(2)));
+	}
+
+	@Test
+	public void testEvaluateColumns() throws ParseException
+	{
+		FractionExpression expression = FractionExpression.compile("a/b + c*d - a^2");
+		Random random = new Random(5);
+		int rows = 1000;
+		long[][] numerators = new long[4][rows];
+		long[][] denominators = new long[4][rows];
+
+		for (int i = 0; i < 4; i++)
+		{
+			for (int row = 0; row < rows; row++)
+			{
+				numerators[i][row] = random.nextInt(2001) - 1000;
+				denominators[i][row] = 1 + random.nextInt(1000);
+
+				if (i == 1 && numerators[i][row] == 0)
+				{
+					numerators[i][row] = 1;
+				}
+			}
+
+			FractionArrays.reduce(numerators[i], denominators[i]);
+		}
+
+		long[] resultNumerators = new long[rows];
+		long[] resultDenominators = new long[rows];
+		expression.evaluateColumns(numerators, denominators, resultNumerators, resultDenominators);
+
+		BigFraction[][] columns = new BigFraction[4][rows];
+
+		for (int i = 0; i < 4; i++)
+		{
+			for (int row = 0; row < rows; row++)
+			{
+				columns[i][row] = BigFraction.createFraction(numerators[i][row], denominators[i][row]);
+			}
+		}
+
+		BigFraction[] expected = expression.evaluateBigColumns(columns);
+
+		for (int row = 0; row < rows; row++)
+		{
+			assertEquals(expected[row], BigFraction.createFraction(resultNumerators[row], resultDenominators[row]));
+			assertEquals(1, LongMath.gcd(resultNumerators[row], resultDenominators[row]));
+			assertTrue(resultDenominators[row] > 0);
+		}
+	}
+
+	@Test
+	public void testEvaluateColumns_Overflow() throws ParseException
+	{
+		// x * x overflows longs, row is evaluated again with BigIntegers
+		FractionExpression expression = FractionExpression.compile("x * x / (y * y) - z");
+		long[] resultNumerators = new long[2];
+		long[] resultDenominators = new long[2];
+		expression.evaluateColumns(new long[][] {{1L << 40, 3}, {1L << 39, 1}, {1, 5}}, new long[][] {{3, 2}, {1, 1}, {1, 2}},
+				resultNumerators, resultDenominators);
+
+		assertArrayEquals(new long[] {-5, -1}, resultNumerators);
+		assertArrayEquals(new long[] {9, 4}, resultDenominators);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testEvaluateColumns_ArithmeticException() throws ParseException
+	{
+		FractionExpression expression = FractionExpression.compile("x * x");
+		expression.evaluateColumns(new long[][] {{Long.MAX_VALUE}}, new long[][] {{1}}, new long[1], new long[1]);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testEvaluate_DivideByZero() throws ParseException
+	{
+		FractionExpression.compile("1 / x").evaluate(Fraction.createFraction(0));
+	}
+
+	@Test
+	public void testFolding_KeepsDivideByZero() throws ParseException
+	{
+		FractionExpression inverse = FractionExpression.compile("1/(1/a)", "a");
+		FractionExpression power = FractionExpression.compile("(1/a)^0", "a");
+		assertEquals(Fraction.createFraction(2), inverse.evaluate(Fraction.createFraction(2)));
+		assertEquals(Fraction.createFraction(1), power.evaluate(Fraction.createFraction(2)));
+
+		try
+		{
+			inverse.evaluate(Fraction.createFraction(0));
+			fail();
+		}
+		catch (ArithmeticException e)
+		{
+		}
+
+		try
+		{
+			power.evaluate(Fraction.createFraction(0));
+			fail();
+		}
+		catch (ArithmeticException e)
+		{
+		}
+
+		try
+		{
+			power.evaluateBig(BigFraction.createFraction(0));
+			fail();
+		}
+		catch (ArithmeticException e)
+		{
+		}
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testCompile_DivideByZero() throws ParseException
+	{
+		FractionExpression.compile("x / (1 - 1)");
+	}
+
+	@Test(expected = ParseException.class)
+	public void testCompile_ParseException() throws ParseException
+	{
+		FractionExpression.compile("(a + b");
+	}
+
+	@Test(expected = ParseException.class)
+	public void testCompile_UnknownVariable() throws ParseException
+	{
+		FractionExpression.compile("a + c", "a", "b");
+	}
+}
@@ -0,0 +1,146 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionHashMapTest
+{
+	@Test
+	public void testPutGet()
+	{
+		FractionHashMap<String> map = new FractionHashMap<String>();
+		assertNull(map.put(1, 2, "half"));
+		assertEquals("half", map.get(2, 4));
+		assertEquals("half", map.get(-1, -2));
+		assertEquals("half", map.get(Fraction.createFraction(1, 2)));
+		assertEquals("half", map.put(Fraction.createFraction(1, 2), "one half"));
+		assertEquals("one half", map.get(1, 2));
+		assertEquals(1, map.size());
+		assertNull(map.get(1, 3));
+		assertFalse(map.containsKey(-1, 2));
+	}
+
+	@Test
+	public void testNullValue()
+	{
+		FractionHashMap<String> map = new FractionHashMap<String>();
+		map.put(0, 5, null);
+		assertTrue(map.containsKey(0, 1));
+		assertNull(map.get(0, 1));
+	}
+
+	@Test
+	public void testRemove()
+	{
+		FractionHashMap<Integer> map = new FractionHashMap<Integer>(4);
+
+		for (int i = 1; i <= 100; i++)
+		{
+			map.put(i, 7, i);
+		}
+
+		for (int i = 1; i <= 100; i += 2)
+		{
+			assertEquals(Integer.valueOf(i), map.remove(i, 7));
+		}
+
+		assertNull(map.remove(1, 7));
+		assertEquals(50, map.size());
+
+		for (int i = 1; i <= 100; i++)
+		{
+			assertEquals(i % 2 == 0 ? Integer.valueOf(i) : null, map.get(i, 7));
+		}
+
+		assertEquals(50, map.keys().length);
+		map.clear();
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void testAgainstHashMap()
+	{
+		Random random = new Random(42);
+		FractionHashMap<Integer> map = new FractionHashMap<Integer>();
+		Map<Fraction, Integer> expected = new HashMap<Fraction, Integer>();
+
+		for (int i = 0; i < 20000; i++)
+		{
+			long numerator = random.nextInt(200) - 100;
+			long denominator = random.nextInt(50) + 1;
+			Fraction key = Fraction.createFraction(numerator, denominator);
+
+			if (random.nextInt(3) == 0)
+			{
+				assertEquals(expected.remove(key), map.remove(numerator, denominator));
+			}
+			else
+			{
+				assertEquals(expected.put(key, i), map.put(numerator, denominator, i));
+			}
+		}
+
+		assertEquals(expected.size(), map.size());
+
+		for (Map.Entry<Fraction, Integer> entry : expected.entrySet())
+		{
+			assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testPut_ArithmeticException()
+	{
+		new FractionHashMap<String>().put(1, 0, "x");
+	}
+
+	@Test
+	public void testPut_MinValue()
+	{
+		Fraction key = Fraction.createFraction(-(1L << 62), 3L);
+		FractionHashMap<String> map = new FractionHashMap<String>();
+		assertNull(map.put(Long.MIN_VALUE, 6, "v"));
+		assertEquals("v", map.get(key));
+		assertTrue(map.containsKey(key));
+		assertEquals("v", map.get(-(1L << 62), 3));
+		assertArrayEquals(new Fraction[] {key}, map.keys());
+		assertNull(map.put(Long.MIN_VALUE, -6, "w"));
+		assertEquals("w", map.get(Fraction.createFraction(1L << 62, 3L)));
+		assertEquals("v", map.remove(key));
+
+		FractionHashSet set = new FractionHashSet();
+		assertTrue(set.add(Long.MIN_VALUE, 6));
+		assertTrue(set.contains(key));
+		assertFalse(set.add(key));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testPut_MinValueDenominator()
+	{
+		// 1 / Long.MIN_VALUE is -1/2^63 and 2^63 does not fit into long
+		new FractionHashMap<String>().put(1, Long.MIN_VALUE, "x");
+	}
+
+	@Test
+	public void testHashSet()
+	{
+		FractionHashSet set = new FractionHashSet();
+		assertTrue(set.add(1, 2));
+		assertFalse(set.add(Fraction.createFraction(2, 4)));
+		assertTrue(set.add(1, 3));
+		assertTrue(set.contains(3, 9));
+		assertEquals(2, set.size());
+		assertTrue(set.remove(Fraction.createFraction(1, 3)));
+		assertFalse(set.contains(1, 3));
+		assertArrayEquals(new Fraction[] {Fraction.createFraction(1, 2)}, set.toArray());
+	}
+}
@@ -0,0 +1,138 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionIndexTest
+{
+	private static long[][] randomFractions (int size)
+	{
+		Random random = new Random(7);
+		long[][] fractions = new long[2][size];
+
+		for (int i = 0; i < size; i++)
+		{
+			fractions[0][i] = random.nextInt(2000) - 1000;
+			fractions[1][i] = random.nextInt(100) + 1;
+		}
+
+		return fractions;
+	}
+
+	private static void assertSorted (FractionIndex index, Fraction[] expected)
+	{
+		Fraction[] sorted = expected.clone();
+		Arrays.sort(sorted);
+		assertEquals(sorted.length, index.size());
+
+		for (int i = 0; i < sorted.length; i++)
+		{
+			assertEquals(sorted[i], index.get(i));
+		}
+	}
+
+	@Test
+	public void testBuild()
+	{
+		long[][] fractions = randomFractions(5000);
+		FractionIndex index = FractionIndex.build(fractions[0], fractions[1]);
+		assertSorted(index, FractionArrays.toFractions(fractions[0], fractions[1]));
+	}
+
+	@Test
+	public void testBuild_Parallel()
+	{
+		long[][] fractions = randomFractions(50000);
+		FractionIndex index = FractionIndex.build(fractions[0], fractions[1], new ForkJoinPool(4));
+		assertSorted(index, FractionArrays.toFractions(fractions[0], fractions[1]));
+	}
+
+	@Test
+	public void testInsert()
+	{
+		long[][] fractions = randomFractions(500);
+		FractionIndex index = new FractionIndex();
+
+		for (int i = 0; i < 500; i++)
+		{
+			index.insert(fractions[0][i], fractions[1][i]);
+		}
+
+		assertSorted(index, FractionArrays.toFractions(fractions[0], fractions[1]));
+	}
+
+	@Test
+	public void testInsert_MinValue()
+	{
+		Fraction key = Fraction.createFraction(-(1L << 62), 3L);
+		FractionIndex index = new FractionIndex();
+		index.insert(1, 2);
+		index.insert(Long.MIN_VALUE, 6);
+		index.insert(Long.MIN_VALUE, Long.MIN_VALUE);
+
+		assertEquals(key, index.get(0));
+		assertEquals(3L, index.getDenominator(0));
+		assertEquals(0, index.lowerBound(key.getNumerator(), key.getDenominator()));
+		assertEquals(Fraction.createFraction(1), index.get(2));
+	}
+
+	@Test
+	public void testFloorCeiling()
+	{
+		FractionIndex index = FractionIndex.build(new Fraction[] {
+				Fraction.createFraction(1, 3), Fraction.createFraction(1, 2), Fraction.createFraction(1, 2), Fraction.createFraction(3, 4)
+		});
+
+		assertEquals(2, index.floor(1, 2));
+		assertEquals(1, index.ceiling(2, 4));
+		assertEquals(0, index.floor(2, 5));
+		assertEquals(1, index.ceiling(2, 5));
+		assertEquals(-1, index.floor(1, 4));
+		assertEquals(-1, index.ceiling(4, 5));
+		assertEquals(3, index.rangeCount(1, 3, 1, 2));
+		assertEquals(0, index.rangeCount(1, 2, 1, 3));
+	}
+
+	@Test
+	public void testRange()
+	{
+		long[][] fractions = randomFractions(2000);
+		FractionIndex index = FractionIndex.build(fractions[0], fractions[1]);
+		Fraction low = Fraction.createFraction(3, 7);
+		Fraction high = Fraction.createFraction(5, 11);
+
+		int count = 0;
+
+		for (Fraction f : FractionArrays.toFractions(fractions[0], fractions[1]))
+		{
+			if (f.compareTo(low) >= 0 && f.compareTo(high) <= 0)
+			{
+				count++;
+			}
+		}
+
+		Fraction[] range = index.range(low, high);
+		assertEquals(count, range.length);
+		assertEquals(count, index.rangeCount(3, 7, 5, 11));
+
+		for (Fraction f : range)
+		{
+			assertTrue(f.compareTo(low) >= 0 && f.compareTo(high) <= 0);
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGet_IndexOutOfBoundsException()
+	{
+		new FractionIndex().get(0);
+	}
+}
@@ -0,0 +1,76 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionInternerTest
+{
+	@Test
+	public void testIntern()
+	{
+		FractionInterner interner = new FractionInterner(100);
+		Fraction first = Fraction.createFraction(1, 2);
+		Fraction second = Fraction.createFraction(2, 4);
+
+		assertNotSame(first, second);
+		assertSame(first, interner.intern(first));
+		assertSame(first, interner.intern(second));
+		assertEquals(1, interner.size());
+		assertEquals(1, interner.getHitCount());
+		assertEquals(1, interner.getMissCount());
+		assertEquals(0.5, interner.getHitRate(), 0.0);
+	}
+
+	@Test
+	public void testEviction()
+	{
+		FractionInterner interner = new FractionInterner(32);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			interner.intern(Fraction.createFraction(i, 7));
+		}
+
+		assertTrue(interner.size() <= 32);
+		assertEquals(1000 - interner.size(), interner.getEvictionCount());
+
+		interner.clear();
+		interner.resetStatistics();
+		assertEquals(0, interner.size());
+		assertEquals(0.0, interner.getHitRate(), 0.0);
+	}
+
+	@Test
+	public void testFractionInterner()
+	{
+		FractionInterner interner = new FractionInterner(100);
+		Fraction.setInterner(interner);
+
+		try
+		{
+			Fraction first = Fraction.createFraction(3, 4);
+			Fraction second = Fraction.createFraction(1, 4).add(Fraction.createFraction(1, 2));
+
+			assertSame(first, second);
+			assertSame(interner, Fraction.getInterner());
+			assertTrue(interner.getHitCount() > 0);
+		}
+		finally
+		{
+			Fraction.setInterner(null);
+		}
+
+		assertNotSame(Fraction.createFraction(3, 4), Fraction.createFraction(3, 4));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_IllegalArgumentException()
+	{
+		new FractionInterner(0);
+	}
+}
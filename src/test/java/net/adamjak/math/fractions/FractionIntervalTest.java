@@ -0,0 +1,92 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionIntervalTest
+{
+	private static FractionInterval interval (long n1, long d1, long n2, long d2)
+	{
+		return FractionInterval.createInterval(Fraction.createFraction(n1, d1), Fraction.createFraction(n2, d2));
+	}
+
+	@Test
+	public void testCalculate()
+	{
+		assertEquals(interval(5, 6, 3, 2), interval(1, 2, 1, 1).add(interval(1, 3, 1, 2)));
+		assertEquals(interval(0, 1, 2, 3), interval(1, 2, 1, 1).subtract(interval(1, 3, 1, 2)));
+		assertEquals(interval(-4, 1, 8, 1), interval(-1, 1, 2, 1).multiply(interval(3, 1, 4, 1)));
+		assertEquals(interval(-1, 3, 2, 3), interval(-1, 1, 2, 1).divide(interval(3, 1, 4, 1)));
+		assertEquals(interval(-2, 1, 1, 1), interval(-1, 1, 2, 1).negate());
+		assertEquals(interval(0, 1, 4, 1), interval(-1, 1, 2, 1).pow(2));
+		assertEquals(interval(-27, 1, -8, 1), interval(-3, 1, -2, 1).pow(3));
+		assertEquals(interval(1, 16, 1, 4), interval(2, 1, 4, 1).pow(-2));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testPow_MinValue()
+	{
+		interval(2, 1, 4, 1).pow(Integer.MIN_VALUE);
+	}
+
+	@Test
+	public void testEquals()
+	{
+		FractionInterval a = interval(1, 2, 3, 4);
+
+		assertEquals(a, interval(1, 2, 3, 4));
+		assertEquals(a.hashCode(), interval(1, 2, 3, 4).hashCode());
+		assertFalse(a.equals(interval(1, 2, 4, 5)));
+		assertFalse(a.equals(a.withMaxDenominator(10)));
+		assertFalse(a.equals(null));
+		assertFalse(a.equals("[1/2, 3/4]"));
+	}
+
+	@Test
+	public void testSet()
+	{
+		FractionInterval a = interval(0, 1, 1, 1);
+		FractionInterval b = interval(1, 2, 3, 2);
+
+		assertTrue(a.contains(Fraction.createFraction(1, 3)));
+		assertFalse(a.contains(b));
+		assertTrue(a.intersects(b));
+		assertEquals(interval(1, 2, 1, 1), a.intersection(b));
+		assertEquals(interval(0, 1, 3, 2), a.hull(b));
+		assertNull(a.intersection(interval(2, 1, 3, 1)));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testMultiply_ArithmeticException()
+	{
+		FractionInterval big = interval(1, Long.MAX_VALUE, 1, Long.MAX_VALUE - 1);
+		big.multiply(big);
+	}
+
+	@Test
+	public void testWithMaxDenominator()
+	{
+		FractionInterval big = interval(1, Long.MAX_VALUE, 1, Long.MAX_VALUE - 1).withMaxDenominator(1000);
+		FractionInterval square = big.multiply(big);
+
+		assertEquals(interval(0, 1, 1, 1000), square.exact());
+		assertEquals(1000, square.getMaxDenominator());
+
+		FractionInterval x = interval(1, 3, 1, 2).withMaxDenominator(50);
+
+		for (int i = 0; i < 100; i++)
+		{
+			FractionInterval next = x.multiply(interval(7, 11, 13, 17)).add(interval(1, 7, 2, 9));
+
+			assertTrue(next.contains(x.exact().multiply(interval(7, 11, 13, 17)).add(interval(1, 7, 2, 9))));
+			assertTrue(next.getLower().getDenominator() <= 50);
+			assertTrue(next.getUpper().getDenominator() <= 50);
+			x = next;
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package net.adamjak.math.fractions;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionMetricsTest
+{
+	private static final String FLIGHT_RECORDER_EVENT = "net.adamjak.math.fractions.BigFractionOperation";
+
+	@After
+	public void tearDown()
+	{
+		FractionMetrics.setListener(null);
+	}
+
+	@Test
+	public void testIsEnabled()
+	{
+		assertEquals(Boolean.getBoolean(FractionMetrics.ENABLED_PROPERTY), FractionMetrics.isEnabled());
+	}
+
+	@Test
+	public void testRecord()
+	{
+		FractionMetrics.Operation operation = FractionMetrics.Operation.BIG_FRACTION_TO_STRING;
+		long count = FractionMetrics.getCount(operation);
+		long[] histogram = FractionMetrics.getHistogram(operation);
+
+		FractionMetrics.record(operation, 0, 0, System.nanoTime());
+		FractionMetrics.record(operation, 100, 3, System.nanoTime());
+		FractionMetrics.record(operation, 1, 64, System.nanoTime());
+
+		long[] after = FractionMetrics.getHistogram(operation);
+
+		assertTrue(FractionMetrics.getCount(operation) >= count + 3);
+		assertTrue(FractionMetrics.getNanos(operation) >= 0);
+		assertEquals(FractionMetrics.HISTOGRAM_BUCKETS, after.length);
+		assertTrue(after[0] >= histogram[0] + 1);
+		assertTrue(after[7] >= histogram[7] + 2);
+	}
+
+	@Test
+	public void testRecord_NearOverflow()
+	{
+		long nearOverflow = FractionMetrics.getNearOverflowCount();
+
+		FractionMetrics.record(FractionMetrics.Operation.FRACTION_MULTIPLY, 3, FractionMetrics.NEAR_OVERFLOW_BIT_LENGTH, System.nanoTime());
+
+		assertTrue(FractionMetrics.getNearOverflowCount() >= nearOverflow + 1);
+	}
+
+	@Test
+	public void testListener()
+	{
+		final List<FractionMetrics.Operation> operations = new ArrayList<FractionMetrics.Operation>();
+
+		FractionMetrics.Listener listener = new FractionMetrics.Listener()
+		{
+			@Override
+			public void operation(FractionMetrics.Operation operation, int leftBitLength, int rightBitLength, long nanos)
+			{
+				operations.add(operation);
+			}
+		};
+
+		FractionMetrics.setListener(listener);
+		assertSame(listener, FractionMetrics.getListener());
+
+		FractionMetrics.record(FractionMetrics.Operation.BIG_FRACTION_ADD, 10, 20, System.nanoTime());
+		assertTrue(operations.contains(FractionMetrics.Operation.BIG_FRACTION_ADD));
+
+		FractionMetrics.setListener(null);
+		assertNull(FractionMetrics.getListener());
+	}
+
+	@Test
+	public void testHooks() throws Exception
+	{
+		long add = FractionMetrics.getCount(FractionMetrics.Operation.FRACTION_ADD);
+		long parse = FractionMetrics.getCount(FractionMetrics.Operation.BIG_FRACTION_PARSE);
+		long normalize = FractionMetrics.getCount(FractionMetrics.Operation.BIG_FRACTION_NORMALIZE);
+
+		assertEquals(Fraction.createFraction(5, 6), Fraction.createFraction(1, 2).add(Fraction.createFraction(1, 3)));
+		assertEquals(Fraction.createFraction(7, 2), Fraction.createFraction(1, 2).add(3));
+		assertEquals(BigFraction.createFraction(5, 3), BigFraction.tryParse("1/2/3"));
+
+		long expected = FractionMetrics.isEnabled() ? 1 : 0;
+
+		assertTrue(FractionMetrics.getCount(FractionMetrics.Operation.FRACTION_ADD) >= add + 2 * expected);
+		assertTrue(FractionMetrics.getCount(FractionMetrics.Operation.BIG_FRACTION_PARSE) >= parse + expected);
+		assertTrue(FractionMetrics.getCount(FractionMetrics.Operation.BIG_FRACTION_NORMALIZE) >= normalize + expected);
+	}
+
+	@Test
+	public void testFlightRecorder() throws Exception
+	{
+		// Java Flight Recorder API is used by reflection, so the test compiles with Java 7
+		Class<?> recordingClass;
+
+		try
+		{
+			recordingClass = Class.forName("jdk.jfr.Recording");
+		}
+		catch (ClassNotFoundException e)
+		{
+			Assume.assumeNoException(e);
+			return;
+		}
+
+		// baseline classes have no flight recorder, only Java 17 classes of multi-release JAR emit events
+		boolean java17 = Integer.getInteger(LongMathTest.RELEASE_PROPERTY, 7) == 17;
+		assertNull(FractionFlightRecorder.begin());
+
+		Object recording = recordingClass.getConstructor().newInstance();
+		Path path = File.createTempFile("fractions", ".jfr").toPath();
+
+		try
+		{
+			Object settings = recordingClass.getMethod("enable", String.class).invoke(recording, FLIGHT_RECORDER_EVENT);
+			Class<?> settingsClass = Class.forName("jdk.jfr.EventSettings");
+			settingsClass.getMethod("withoutThreshold").invoke(settings);
+			settingsClass.getMethod("with", String.class, String.class).invoke(settings, "minBitLength", "1024");
+			recordingClass.getMethod("start").invoke(recording);
+
+			Object event = FractionFlightRecorder.begin();
+			assertEquals(java17, event != null);
+
+			if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_MULTIPLY, 2048, 10);
+
+			// operands under minBitLength are not recorded
+			event = FractionFlightRecorder.begin();
+
+			if (event != null) FractionFlightRecorder.end(event, FractionMetrics.Operation.BIG_FRACTION_MULTIPLY, 10, 1023);
+
+			recordingClass.getMethod("disable", String.class).invoke(recording, FLIGHT_RECORDER_EVENT);
+			assertNull(FractionFlightRecorder.begin());
+
+			recordingClass.getMethod("stop").invoke(recording);
+			recordingClass.getMethod("dump", Path.class).invoke(recording, path);
+
+			int count = 0;
+
+			for (Object recorded : (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile").getMethod("readAllEvents", Path.class).invoke(null, path))
+			{
+				Object type = recorded.getClass().getMethod("getEventType").invoke(recorded);
+
+				if (FLIGHT_RECORDER_EVENT.equals(type.getClass().getMethod("getName").invoke(type))) count++;
+			}
+
+			assertEquals(java17 ? 1 : 0, count);
+		}
+		finally
+		{
+			recordingClass.getMethod("close").invoke(recording);
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void testBitLength()
+	{
+		assertEquals(0, FractionMetrics.bitLength(0L));
+		assertEquals(0, FractionMetrics.bitLength(-1L));
+		assertEquals(BigInteger.valueOf(1000).bitLength(), FractionMetrics.bitLength(1000L));
+		assertEquals(BigInteger.valueOf(-1000).bitLength(), FractionMetrics.bitLength(-1000L));
+		assertEquals(63, FractionMetrics.bitLength(Long.MAX_VALUE));
+		assertEquals(63, FractionMetrics.bitLength(Long.MIN_VALUE));
+		assertEquals(4, FractionMetrics.bitLength(Fraction.createFraction(3, 10)));
+		assertEquals(7, FractionMetrics.bitLength(BigFraction.createFraction(-100, 3)));
+	}
+}
@@ -0,0 +1,178 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class FractionStatisticsTest
+{
+	private static final long[] NUMERATORS = {1, -3, 5, 7, 2};
+	private static final long[] DENOMINATORS = {2, 4, 6, 1, 3};
+
+	@Test
+	public void testMeanAndVariance()
+	{
+		FractionStatistics statistics = FractionStatistics.of(NUMERATORS, DENOMINATORS);
+		BigFraction mean = BigFraction.createFraction(0);
+
+		for (int i = 0; i < NUMERATORS.length; i++)
+		{
+			mean = mean.add(BigFraction.createFraction(NUMERATORS[i], DENOMINATORS[i]));
+		}
+
+		mean = mean.divide(NUMERATORS.length);
+		BigFraction squares = BigFraction.createFraction(0);
+
+		for (int i = 0; i < NUMERATORS.length; i++)
+		{
+			BigFraction deviation = BigFraction.createFraction(NUMERATORS[i], DENOMINATORS[i]).subtract(mean);
+			squares = squares.add(deviation.multiply(deviation));
+		}
+
+		assertEquals(5, statistics.getCount());
+		assertEquals(mean, statistics.getMean());
+		assertEquals(squares.divide(5), statistics.getVariance());
+		assertEquals(squares.divide(4), statistics.getSampleVariance());
+	}
+
+	@Test
+	public void testVariance_Overflow()
+	{
+		FractionStatistics statistics = new FractionStatistics();
+		statistics.add(Fraction.createFraction(Long.MAX_VALUE, 3L));
+		statistics.add(Fraction.createFraction(-Long.MAX_VALUE, 7L));
+
+		BigFraction a = BigFraction.createFraction(Long.MAX_VALUE, 3L);
+		BigFraction b = BigFraction.createFraction(-Long.MAX_VALUE, 7L);
+		BigFraction half = a.subtract(b).divide(2);
+
+		assertEquals(a.add(b).divide(2), statistics.getMean());
+		assertEquals(half.multiply(half), statistics.getVariance());
+	}
+
+	@Test
+	public void testCombine()
+	{
+		FractionStatistics left = FractionStatistics.of(Arrays.copyOf(NUMERATORS, 2), Arrays.copyOf(DENOMINATORS, 2));
+		FractionStatistics right = FractionStatistics.of(Arrays.copyOfRange(NUMERATORS, 2, 5), Arrays.copyOfRange(DENOMINATORS, 2, 5));
+		FractionStatistics all = FractionStatistics.of(NUMERATORS, DENOMINATORS);
+
+		left.combine(right);
+
+		assertEquals(all.getCount(), left.getCount());
+		assertEquals(all.getSum(), left.getSum());
+		assertEquals(all.getVariance(), left.getVariance());
+	}
+
+	@Test
+	public void testParallel()
+	{
+		Random random = new Random(47);
+		long[] numerators = new long[50000];
+		long[] denominators = new long[numerators.length];
+
+		for (int i = 0; i < numerators.length; i++)
+		{
+			numerators[i] = random.nextInt(2001) - 1000;
+			denominators[i] = random.nextInt(60) + 1;
+		}
+
+		FractionStatistics sequential = FractionStatistics.of(numerators, denominators);
+		FractionStatistics parallel = FractionStatistics.of(numerators, denominators, new ForkJoinPool(4));
+
+		assertEquals(sequential.getCount(), parallel.getCount());
+		assertEquals(sequential.getMean(), parallel.getMean());
+		assertEquals(sequential.getVariance(), parallel.getVariance());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testMean_IllegalStateException()
+	{
+		new FractionStatistics().getMean();
+	}
+
+	@Test
+	public void testWeightedMean()
+	{
+		long[] weightNumerators = {1, 2, 1, 0, 3};
+		long[] weightDenominators = {1, 1, 2, 1, 4};
+		BigFraction sum = BigFraction.createFraction(0);
+		BigFraction weights = BigFraction.createFraction(0);
+
+		for (int i = 0; i < NUMERATORS.length; i++)
+		{
+			BigFraction weight = BigFraction.createFraction(weightNumerators[i], weightDenominators[i]);
+			sum = sum.add(BigFraction.createFraction(NUMERATORS[i], DENOMINATORS[i]).multiply(weight));
+			weights = weights.add(weight);
+		}
+
+		assertEquals(sum.divide(weights), FractionStatistics.weightedMean(NUMERATORS, DENOMINATORS, weightNumerators, weightDenominators));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testWeightedMean_ArithmeticException()
+	{
+		FractionStatistics.weightedMean(new long[] {1, 2}, new long[] {1, 1}, new long[] {1, -1}, new long[] {1, 1});
+	}
+
+	@Test
+	public void testMedianAndQuantile()
+	{
+		// sorted values: -3/4, 1/2, 2/3, 5/6, 7
+		assertEquals(BigFraction.createFraction(2, 3), FractionStatistics.median(NUMERATORS, DENOMINATORS));
+		assertEquals(BigFraction.createFraction(-3, 4), FractionStatistics.quantile(NUMERATORS, DENOMINATORS, Fraction.createFraction(0)));
+		assertEquals(BigFraction.createFraction(7), FractionStatistics.quantile(NUMERATORS, DENOMINATORS, Fraction.createFraction(1)));
+		// rank 4 * 3/8 = 3/2, between 1/2 and 2/3
+		assertEquals(BigFraction.createFraction(7, 12), FractionStatistics.quantile(NUMERATORS, DENOMINATORS, Fraction.createFraction(3, 8)));
+		assertEquals(BigFraction.createFraction(7, 12), FractionStatistics.median(new long[] {2, 1}, new long[] {3, 2}));
+
+		long[] copy = NUMERATORS.clone();
+		FractionStatistics.median(copy, DENOMINATORS.clone());
+		assertArrayEquals(NUMERATORS, copy);
+	}
+
+	@Test
+	public void testMedian_Random()
+	{
+		Random random = new Random(7);
+
+		for (int round = 0; round < 50; round++)
+		{
+			int length = random.nextInt(40) + 1;
+			long[] numerators = new long[length];
+			long[] denominators = new long[length];
+			Fraction[] fractions = new Fraction[length];
+
+			for (int i = 0; i < length; i++)
+			{
+				numerators[i] = random.nextInt(11) - 5;
+				denominators[i] = random.nextInt(4) + 1;
+				fractions[i] = Fraction.createFraction(numerators[i], denominators[i]);
+			}
+
+			Arrays.sort(fractions);
+			BigFraction expected = fractions[(length - 1) / 2].toBigFraction();
+
+			if (length % 2 == 0)
+			{
+				expected = expected.add(fractions[length / 2].toBigFraction()).divide(2);
+			}
+
+			assertEquals(expected, FractionStatistics.median(numerators, denominators));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testQuantile_IllegalArgumentException()
+	{
+		FractionStatistics.quantile(NUMERATORS, DENOMINATORS, Fraction.createFraction(3, 2));
+	}
+}
@@ -6,7 +6,11 @@ package net.adamjak.math.fractions;
 
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.ParseException;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -352,6 +356,209 @@ public class FractionTest
 		instance.divide(zeroFracNum);
 	}
 	
+	/**
+	 * Test of sum method, of class Fraction.
+	 */
+	@Test
+	public void testSum()
+	{
+		Fraction result = Fraction.sum(Fraction.createFraction(1, 100), Fraction.createFraction(3, 8),
+				Fraction.createFraction(7, 100), Fraction.createFraction(5, 64), Fraction.createFraction(1, 8));
+		Fraction expResult = Fraction.createFraction(1, 100).add(Fraction.createFraction(3, 8))
+				.add(Fraction.createFraction(7, 100)).add(Fraction.createFraction(5, 64)).add(Fraction.createFraction(1, 8));
+		assertEquals(expResult, result);
+		assertEquals(Fraction.createFraction(0), Fraction.sum());
+		assertEquals(Fraction.createFraction(0), Fraction.sum(Fraction.createFraction(1, 3), Fraction.createFraction(-1, 3)));
+	}
+
+	/**
+	 * Test of sum method, of class Fraction when numerator sum overflows in the middle.
+	 */
+	@Test
+	public void testSum_Overflow_In_Group()
+	{
+		Fraction max = Fraction.createFraction(Long.MAX_VALUE);
+		Fraction min = Fraction.createFraction(-Long.MAX_VALUE);
+		Fraction result = Fraction.sum(max, max, Fraction.createFraction(1, 2), min, min);
+		assertEquals(Fraction.createFraction(1, 2), result);
+	}
+
+	/**
+	 * Test of exception in sum method, of class Fraction.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testSum_ArithmeticException()
+	{
+		Fraction max = Fraction.createFraction(Long.MAX_VALUE);
+		Fraction.sum(max, max);
+	}
+
+	/**
+	 * Test of exception in sum method, of class Fraction.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testSum_NullPointerException()
+	{
+		Fraction.sum(Fraction.createFraction(1, 2), null);
+	}
+
+	/**
+	 * Test of add, subtract, multiply and divide methods with long, of class Fraction.
+	 */
+	@Test
+	public void testLongOperations()
+	{
+		long[] numbers = {0, 1, -1, 3, -4, 6, 1000000007L};
+		Fraction[] fractions = {Fraction.createFraction(0), Fraction.createFraction(5, 6), Fraction.createFraction(-7, 4), Fraction.createFraction(9)};
+
+		for (Fraction f : fractions)
+		{
+			for (long n : numbers)
+			{
+				Fraction number = Fraction.createFraction(n, 1L);
+				assertEquals(f.add(number), f.add(n));
+				assertEquals(f.subtract(number), f.subtract(n));
+				assertEquals(f.multiply(number), f.multiply(n));
+
+				if (n != 0)
+				{
+					assertEquals(f.divide(number), f.divide(n));
+				}
+			}
+		}
+
+		Fraction result = Fraction.createFraction(5, 6).multiply(4);
+		assertEquals(10L, result.getNumerator().longValue());
+		assertEquals(3L, result.getDenominator().longValue());
+		result = Fraction.createFraction(-4, 3).divide(-6);
+		assertEquals(2L, result.getNumerator().longValue());
+		assertEquals(9L, result.getDenominator().longValue());
+
+		result = Fraction.createFraction(1, 6).multiply(Long.MIN_VALUE);
+		assertEquals(-(1L << 62), result.getNumerator().longValue());
+		assertEquals(3L, result.getDenominator().longValue());
+		assertEquals(Fraction.createFraction(-(1L << 62), 3L), result);
+		assertEquals(Fraction.createFraction(-(1L << 62), 3L).hashCode(), result.hashCode());
+		result = Fraction.createFraction(1).multiply(Long.MIN_VALUE);
+		assertEquals(Long.MIN_VALUE, result.getNumerator().longValue());
+		assertEquals(1L, result.getDenominator().longValue());
+		assertEquals(result, Fraction.createFraction(0).add(Long.MIN_VALUE));
+		assertEquals(Fraction.createFraction(-3L, 1L << 62), Fraction.createFraction(6).divide(Long.MIN_VALUE));
+		assertEquals(Fraction.createFraction(0), Fraction.createFraction(0).divide(Long.MIN_VALUE));
+		assertEquals(Fraction.createFraction(1), result.divide(Long.MIN_VALUE));
+	}
+
+	/**
+	 * Test of exception in divide method with long when negated numerator does not fit into long.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testDivideLong_MinValue()
+	{
+		Fraction.createFraction(1).multiply(Long.MIN_VALUE).divide(-1);
+	}
+
+	/**
+	 * Test of exception in add method with long, of class Fraction.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testAddLong_ArithmeticException()
+	{
+		Fraction.createFraction(1, 2).add(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Test of exception in divide method with long, of class Fraction.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testDivideLong_ArithmeticException()
+	{
+		Fraction.createFraction(1, 2).divide(0L);
+	}
+
+	/**
+	 * Test of fma method, of class Fraction.
+	 */
+	@Test
+	public void testFma()
+	{
+		Fraction a = Fraction.createFraction(2, 3);
+		Fraction b = Fraction.createFraction(9, 4);
+		Fraction c = Fraction.createFraction(-1, 6);
+		assertEquals(a.multiply(b).add(c), a.fma(b, c));
+		assertEquals(Fraction.createFraction(0), a.fma(Fraction.createFraction(1, 4), Fraction.createFraction(-1, 6)));
+		assertEquals(c, Fraction.createFraction(0).fma(b, c));
+	}
+
+	/**
+	 * Test of fma method, of class Fraction when product overflows long and result fits.
+	 */
+	@Test
+	public void testFma_Overflow()
+	{
+		Fraction max = Fraction.createFraction(Long.MAX_VALUE);
+		Fraction result = max.fma(Fraction.createFraction(3, 2), Fraction.createFraction(-Long.MAX_VALUE, 2));
+		assertEquals(max, result);
+	}
+
+	/**
+	 * Test of exception in fma method, of class Fraction.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testFma_ArithmeticException()
+	{
+		Fraction max = Fraction.createFraction(Long.MAX_VALUE);
+		max.fma(max, Fraction.createFraction(1));
+	}
+
+	/**
+	 * Test of dot method, of class Fraction.
+	 */
+	@Test
+	public void testDot()
+	{
+		Fraction[] a = {Fraction.createFraction(1, 2), Fraction.createFraction(-3, 7), Fraction.createFraction(5, 9), Fraction.createFraction(4)};
+		Fraction[] b = {Fraction.createFraction(2, 5), Fraction.createFraction(7, 3), Fraction.createFraction(1, 10), Fraction.createFraction(-1, 8)};
+		Fraction expResult = Fraction.createFraction(0);
+
+		for (int i = 0; i < a.length; i++)
+		{
+			expResult = expResult.add(a[i].multiply(b[i]));
+		}
+
+		assertEquals(expResult, Fraction.dot(a, b));
+		assertEquals(Fraction.createFraction(0), Fraction.dot(new Fraction[0], new Fraction[0]));
+	}
+
+	/**
+	 * Test of dot method, of class Fraction when accumulator overflows long in the middle.
+	 */
+	@Test
+	public void testDot_Overflow()
+	{
+		Fraction max = Fraction.createFraction(Long.MAX_VALUE);
+		Fraction[] a = {max, Fraction.createFraction(1, 3), max};
+		Fraction[] b = {Fraction.createFraction(2), Fraction.createFraction(1, 5), Fraction.createFraction(-2)};
+		assertEquals(Fraction.createFraction(1, 15), Fraction.dot(a, b));
+	}
+
+	/**
+	 * Test of exception in dot method, of class Fraction.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testDot_IllegalArgumentException()
+	{
+		Fraction.dot(new Fraction[] {Fraction.createFraction(1)}, new Fraction[0]);
+	}
+
+	/**
+	 * Test of exception in dot method, of class Fraction.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testDot_NullPointerException()
+	{
+		Fraction.dot(new Fraction[] {Fraction.createFraction(1)}, new Fraction[] {null});
+	}
+
 	/**
 	 * Test of max method, of class Fraction.
 	 */
@@ -767,6 +974,18 @@ public class FractionTest
 		assertTrue(result == 0);
 	}
 
+	/**
+	 * Test of compareTo method, of class Fraction when cross products overflow long.
+	 */
+	@Test
+	public void testCompareToOverflow()
+	{
+		Fraction f = Fraction.createFraction(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1);
+		Fraction instance = Fraction.createFraction(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+		assertTrue(instance.compareTo(f) > 0);
+		assertTrue(f.compareTo(instance) < 0);
+	}
+
 	/**
 	 * Test of equals method, of class Fraction.
 	 */
@@ -790,11 +1009,36 @@ public class FractionTest
 		Integer denominator = 3;
 		
 		Fraction instance = Fraction.createFraction(numerator, denominator);
-		int expResult = (13 + numerator.hashCode()) * 13 + denominator.hashCode();
+		int expResult = LongMath.hash(numerator, denominator);
 		int result = instance.hashCode();
 		assertEquals(expResult, result);
 	}
 
+	/**
+	 * Test of hashCode method, of class Fraction. Small fractions should have distinct hash codes.
+	 */
+	@Test
+	public void testHashCode_Distribution()
+	{
+		Set<Fraction> fractions = new HashSet<Fraction>();
+		Set<Integer> hashCodes = new HashSet<Integer>();
+
+		for (int numerator = -100; numerator <= 100; numerator++)
+		{
+			for (int denominator = 1; denominator <= 100; denominator++)
+			{
+				Fraction f = Fraction.createFraction(numerator, denominator);
+
+				if (fractions.add(f))
+				{
+					hashCodes.add(f.hashCode());
+				}
+			}
+		}
+
+		assertEquals(fractions.size(), hashCodes.size());
+	}
+
 	/**
 	 * Test of toString method, of class Fraction.
 	 */
@@ -811,4 +1055,92 @@ public class FractionTest
 		result = instance.toString();
 		assertEquals(expResult, result);
 	}
+
+	@Test
+	public void testFloorCeilRound()
+	{
+		Fraction instance = Fraction.createFraction(-7, 2);
+
+		assertEquals(-4L, instance.floor());
+		assertEquals(-3L, instance.ceil());
+		assertEquals(-3L, instance.integerPart());
+		assertEquals(Fraction.createFraction(-1, 2), instance.fractionalPart());
+		assertEquals(-4L, instance.round(RoundingMode.HALF_EVEN));
+		assertEquals(-4L, instance.round(RoundingMode.HALF_UP));
+		assertEquals(-3L, instance.round(RoundingMode.HALF_DOWN));
+		assertEquals(-3L, instance.longValue());
+		assertEquals(4L, Fraction.createFraction(7, 2).longValue());
+
+		for (RoundingMode mode : RoundingMode.values())
+		{
+			if (mode == RoundingMode.UNNECESSARY) continue;
+
+			for (int n = -20; n <= 20; n++)
+			{
+				long expected = new BigDecimal(n).divide(new BigDecimal(4)).setScale(0, mode).longValueExact();
+				assertEquals(expected, Fraction.createFraction(n, 4).round(mode));
+			}
+		}
+
+		// numerator above 2^53 is not exact as double
+		Fraction big = Fraction.createFraction(Long.MAX_VALUE - 1, 2);
+		assertEquals(Long.MAX_VALUE / 2, big.floor());
+		assertEquals(Long.MAX_VALUE / 2, big.longValue());
+		assertEquals(Long.MAX_VALUE / 2 + 1, Fraction.createFraction(Long.MAX_VALUE, 2).ceil());
+		assertEquals(5L, Fraction.createFraction(5, 1).round(RoundingMode.UNNECESSARY));
+		assertEquals(Fraction.createFraction(0, 1), Fraction.createFraction(5, 1).fractionalPart());
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testRound_ArithmeticException()
+	{
+		Fraction.createFraction(1, 3).round(RoundingMode.UNNECESSARY);
+	}
+
+	@Test
+	public void testFloorDivFloorMod()
+	{
+		Fraction x = Fraction.createFraction(7, 2);
+		Fraction y = Fraction.createFraction(-2, 3);
+
+		assertEquals(-6L, x.floorDiv(y));
+		assertEquals(Fraction.createFraction(-1, 2), x.floorMod(y));
+		assertEquals(x, y.multiply(Fraction.createFraction(x.floorDiv(y))).add(x.floorMod(y)));
+
+		for (int a = -9; a <= 9; a++)
+		{
+			for (int c = -9; c <= 9; c++)
+			{
+				if (c == 0) continue;
+
+				Fraction left = Fraction.createFraction(a, 4);
+				Fraction right = Fraction.createFraction(c, 6);
+				long div = left.floorDiv(right);
+
+				assertEquals(left.toBigFraction().floorDiv(right.toBigFraction()).longValue(), div);
+				assertEquals(left.toBigFraction().floorMod(right.toBigFraction()), left.floorMod(right).toBigFraction());
+				assertEquals(left, right.multiply(Fraction.createFraction(div)).add(left.floorMod(right)));
+			}
+		}
+
+		Fraction max = Fraction.createFraction(Long.MAX_VALUE, 3);
+		Fraction small = Fraction.createFraction(1, Long.MAX_VALUE - 1);
+
+		assertEquals(Long.MAX_VALUE / 3, max.floorDiv(Fraction.createFraction(1)));
+		assertEquals(Fraction.createFraction(1, 3), max.floorMod(Fraction.createFraction(1)));
+		assertEquals(0L, small.floorDiv(max));
+		assertEquals(small, small.floorMod(max));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testFloorDiv_ArithmeticException()
+	{
+		Fraction.createFraction(1, 3).floorDiv(Fraction.createFraction(0));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testFloorDiv_Overflow()
+	{
+		Fraction.createFraction(Long.MAX_VALUE).floorDiv(Fraction.createFraction(1, 2));
+	}
 }
@@ -0,0 +1,218 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class LongMathTest
+{
+	/**
+	 * Set to 17 by java17 profile, which runs tests with Java 17 classes of multi-release JAR.
+	 */
+	static final String RELEASE_PROPERTY = "net.adamjak.math.fractions.release";
+
+	private static final long[] VALUES = {0, 1, -1, 2, -2, 3, 1L << 31, -(1L << 31), 1L << 32, (1L << 32) + 7,
+			Integer.MAX_VALUE, Integer.MIN_VALUE, 3037000499L, 3037000500L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1};
+
+	@Test
+	public void testGcd()
+	{
+		assertEquals(6, LongMath.gcd(12, 18));
+		assertEquals(6, LongMath.gcd(-12, 18));
+		assertEquals(5, LongMath.gcd(0, -5));
+		assertEquals(0, LongMath.gcd(0, 0));
+		assertEquals(2, LongMath.gcd(Long.MIN_VALUE, 6));
+		assertEquals(2, LongMath.gcd(6, Long.MIN_VALUE));
+		assertEquals(1, LongMath.gcd(Long.MIN_VALUE, -3));
+		assertEquals(1L << 62, LongMath.gcd(Long.MIN_VALUE, 1L << 62));
+		assertEquals(Long.MIN_VALUE, LongMath.gcd(Long.MIN_VALUE, 0));
+	}
+
+	@Test
+	public void testIsMultiplyOverflow()
+	{
+		for (long x : VALUES)
+		{
+			for (long y : VALUES)
+			{
+				BigInteger exact = BigInteger.valueOf(x).multiply(BigInteger.valueOf(y));
+				boolean overflow = exact.bitLength() > 63;
+				assertEquals(x + " * " + y, overflow, LongMath.isMultiplyOverflow(x, y, x * y));
+			}
+		}
+	}
+
+	@Test
+	public void testIsAddOverflow()
+	{
+		for (long x : VALUES)
+		{
+			for (long y : VALUES)
+			{
+				BigInteger exact = BigInteger.valueOf(x).add(BigInteger.valueOf(y));
+				boolean overflow = exact.bitLength() > 63;
+				assertEquals(x + " + " + y, overflow, LongMath.isAddOverflow(x, y, x + y));
+			}
+		}
+	}
+
+	@Test
+	public void testMultiplyHigh()
+	{
+		for (long x : VALUES)
+		{
+			for (long y : VALUES)
+			{
+				long expResult = BigInteger.valueOf(x).multiply(BigInteger.valueOf(y)).shiftRight(64).longValue();
+				assertEquals(x + " * " + y, expResult, LongMath.multiplyHigh(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testCompareProducts()
+	{
+		for (long a : VALUES)
+		{
+			for (long b : VALUES)
+			{
+				BigInteger left = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b));
+				BigInteger right = BigInteger.valueOf(b).multiply(BigInteger.valueOf(3));
+				assertEquals(left.compareTo(right), Integer.signum(LongMath.compareProducts(a, b, b, 3)));
+			}
+		}
+	}
+
+	@Test
+	public void testExact()
+	{
+		for (long x : VALUES)
+		{
+			for (long y : VALUES)
+			{
+				BigInteger product = BigInteger.valueOf(x).multiply(BigInteger.valueOf(y));
+				BigInteger sum = BigInteger.valueOf(x).add(BigInteger.valueOf(y));
+
+				assertEquals(x + " * " + y, product.bitLength() > 63 ? null : product.longValue(), LongMathTest.multiplyExact(x, y));
+				assertEquals(x + " + " + y, sum.bitLength() > 63 ? null : sum.longValue(), LongMathTest.addExact(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testRelease()
+	{
+		String location = LongMath.class.getProtectionDomain().getCodeSource().getLocation().toString();
+
+		assertEquals(location, Integer.getInteger(RELEASE_PROPERTY, 7) == 17, location.contains("versions/17"));
+	}
+
+	/**
+	 * Baseline class is loaded from root of class path by own class loader. In java17 profile class under test is
+	 * Java 17 class, otherwise both classes are the same.
+	 */
+	@Test
+	public void testAgreesWithBaseline() throws Exception
+	{
+		URL root = FractionConstants.class.getProtectionDomain().getCodeSource().getLocation();
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] {root}, null))
+		{
+			Class<?> baseline = loader.loadClass(LongMath.class.getName());
+			Method isMultiplyOverflow = LongMathTest.method(baseline, "isMultiplyOverflow", long.class, long.class, long.class);
+			Method isAddOverflow = LongMathTest.method(baseline, "isAddOverflow", long.class, long.class, long.class);
+			Method multiplyHigh = LongMathTest.method(baseline, "multiplyHigh", long.class, long.class);
+			Method compareProducts = LongMathTest.method(baseline, "compareProducts", long.class, long.class, long.class, long.class);
+			Method multiplyExact = LongMathTest.method(baseline, "multiplyExact", long.class, long.class);
+
+			for (long x : VALUES)
+			{
+				for (long y : VALUES)
+				{
+					String message = x + ", " + y;
+
+					assertEquals(message, isMultiplyOverflow.invoke(null, x, y, x * y), LongMath.isMultiplyOverflow(x, y, x * y));
+					assertEquals(message, isAddOverflow.invoke(null, x, y, x + y), LongMath.isAddOverflow(x, y, x + y));
+					assertEquals(message, multiplyHigh.invoke(null, x, y), LongMath.multiplyHigh(x, y));
+					assertEquals(message, Integer.signum((Integer) compareProducts.invoke(null, x, y, y, 3L)), Integer.signum(LongMath.compareProducts(x, y, y, 3)));
+					assertEquals(message, LongMathTest.invokeExact(multiplyExact, x, y), LongMathTest.multiplyExact(x, y));
+				}
+			}
+		}
+	}
+
+	private static Method method (Class<?> type, String name, Class<?>... parameterTypes) throws NoSuchMethodException
+	{
+		Method method = type.getDeclaredMethod(name, parameterTypes);
+		method.setAccessible(true);
+		return method;
+	}
+
+	/**
+	 * @return product or null on overflow
+	 */
+	private static Long invokeExact (Method method, long x, long y) throws IllegalAccessException
+	{
+		try
+		{
+			return (Long) method.invoke(null, x, y);
+		}
+		catch (InvocationTargetException e)
+		{
+			assertTrue(e.getCause() instanceof ArithmeticException);
+			return null;
+		}
+	}
+
+	/**
+	 * @return product or null on overflow
+	 */
+	private static Long multiplyExact (long x, long y)
+	{
+		try
+		{
+			return LongMath.multiplyExact(x, y);
+		}
+		catch (ArithmeticException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * @return sum or null on overflow
+	 */
+	private static Long addExact (long x, long y)
+	{
+		try
+		{
+			return LongMath.addExact(x, y);
+		}
+		catch (ArithmeticException e)
+		{
+			return null;
+		}
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testMultiplyExact_ArithmeticException()
+	{
+		LongMath.multiplyExact(Long.MAX_VALUE, 2);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testAddExact_ArithmeticException()
+	{
+		LongMath.addExact(Long.MAX_VALUE, 1);
+	}
+}
@@ -0,0 +1,112 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class MediantWindowTest
+{
+	@Test
+	public void testAdd()
+	{
+		MediantWindow window = new MediantWindow(3);
+		assertTrue(window.isEmpty());
+
+		window.add(1, 2);
+		window.add(2, 4);
+		assertEquals(Fraction.createFraction(1, 2), window.getValue());
+		assertEquals(BigInteger.valueOf(3), window.getNumeratorSum());
+		assertEquals(BigInteger.valueOf(6), window.getDenominatorSum());
+
+		window.add(Fraction.createFraction(3, 4));
+		window.add(5, 0);
+		assertEquals(3, window.size());
+		assertEquals(3, window.getCapacity());
+		assertEquals(Fraction.createFraction(10, 8), window.getValue());
+		assertEquals(BigFraction.createFraction(5, 4), window.getBigValue());
+	}
+
+	@Test
+	public void testEvict()
+	{
+		MediantWindow window = new MediantWindow(10);
+		window.add(1, 3);
+		window.add(-7, 5);
+		window.evict();
+
+		assertEquals(Fraction.createFraction(-7, 5), window.getValue());
+
+		window.evict();
+		assertTrue(window.isEmpty());
+		assertEquals(BigInteger.ZERO, window.getNumeratorSum());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testEvict_NoSuchElementException()
+	{
+		new MediantWindow(1).evict();
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testGetValue_ArithmeticException()
+	{
+		MediantWindow window = new MediantWindow(2);
+		window.add(1, 0);
+		window.getValue();
+	}
+
+	@Test
+	public void testLargeSums()
+	{
+		MediantWindow window = new MediantWindow(4);
+		window.add(Long.MAX_VALUE, Long.MAX_VALUE);
+		window.add(Long.MAX_VALUE, Long.MAX_VALUE);
+		window.add(Long.MIN_VALUE, 1);
+
+		BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+		assertEquals(max.add(max).add(BigInteger.valueOf(Long.MIN_VALUE)), window.getNumeratorSum());
+		assertEquals(max.add(max).add(BigInteger.ONE), window.getDenominatorSum());
+
+		window.evict();
+		window.evict();
+		window.add(-1, 1);
+		assertEquals(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE), window.getNumeratorSum());
+		assertEquals(BigFraction.createFraction(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE), BigInteger.valueOf(2)), window.getBigValue());
+	}
+
+	@Test
+	public void testRandom()
+	{
+		Random random = new Random(48);
+		MediantWindow window = new MediantWindow(16);
+		long[] numerators = new long[2000];
+		long[] denominators = new long[numerators.length];
+
+		for (int i = 0; i < numerators.length; i++)
+		{
+			numerators[i] = random.nextLong();
+			denominators[i] = random.nextLong() & Long.MAX_VALUE;
+			window.add(numerators[i], denominators[i]);
+
+			BigInteger numeratorSum = BigInteger.ZERO;
+			BigInteger denominatorSum = BigInteger.ZERO;
+
+			for (int j = Math.max(0, i - 15); j <= i; j++)
+			{
+				numeratorSum = numeratorSum.add(BigInteger.valueOf(numerators[j]));
+				denominatorSum = denominatorSum.add(BigInteger.valueOf(denominators[j]));
+			}
+
+			assertEquals(numeratorSum, window.getNumeratorSum());
+			assertEquals(denominatorSum, window.getDenominatorSum());
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class RationalPolynomialTest
+{
+	private static BigFraction f (long numerator, long denominator)
+	{
+		return BigFraction.createFraction(numerator, denominator);
+	}
+
+	private static RationalPolynomial random (Random random, int length)
+	{
+		BigFraction[] coefficients = new BigFraction[length];
+
+		for (int i = 0; i < length; i++)
+		{
+			coefficients[i] = f(random.nextInt(201) - 100, 1 + random.nextInt(20));
+		}
+
+		return RationalPolynomial.createPolynomial(coefficients);
+	}
+
+	@Test
+	public void testCreate()
+	{
+		RationalPolynomial p = RationalPolynomial.createPolynomial(f(3, 1), f(-1, 1), f(1, 2), f(0, 1));
+
+		assertEquals(2, p.degree());
+		assertEquals(f(1, 2), p.getCoefficient(2));
+		assertEquals(f(0, 1), p.getCoefficient(5));
+		assertEquals(BigInteger.valueOf(2), p.getDenominator());
+		assertEquals("1/2x^2 - x + 3", p.toString());
+		assertEquals(RationalPolynomial.ZERO, RationalPolynomial.createPolynomial(f(0, 1)));
+		assertEquals(-1, RationalPolynomial.ZERO.degree());
+	}
+
+	@Test
+	public void testCalculate()
+	{
+		RationalPolynomial a = RationalPolynomial.createPolynomial(f(1, 1), f(1, 2));
+		RationalPolynomial b = RationalPolynomial.createPolynomial(f(-2, 1), f(1, 1));
+
+		assertEquals(RationalPolynomial.createPolynomial(f(-2, 1), f(0, 1), f(1, 2)), a.multiply(b));
+		assertEquals(RationalPolynomial.createPolynomial(f(-1, 1), f(3, 2)), a.add(b));
+		assertEquals(RationalPolynomial.createPolynomial(f(3, 1), f(-1, 2)), a.subtract(b));
+		assertEquals(RationalPolynomial.ZERO, a.subtract(a));
+		assertEquals(RationalPolynomial.createPolynomial(f(1, 2)), a.derivative());
+		assertEquals(a.multiply(RationalPolynomial.createPolynomial(f(-1, 3))), a.negate().multiply(f(1, 3)));
+	}
+
+	@Test
+	public void testMultiply_Karatsuba()
+	{
+		Random random = new Random(7);
+		RationalPolynomial a = random(random, 150);
+		RationalPolynomial b = random(random, 97);
+		RationalPolynomial product = a.multiply(b);
+
+		assertEquals(a.degree() + b.degree(), product.degree());
+
+		for (int i = 0; i < 10; i++)
+		{
+			BigFraction x = f(random.nextInt(21) - 10, 1 + random.nextInt(5));
+			assertEquals(a.evaluate(x).multiply(b.evaluate(x)), product.evaluate(x));
+		}
+	}
+
+	@Test
+	public void testEvaluate()
+	{
+		RationalPolynomial p = RationalPolynomial.createPolynomial(f(3, 1), f(-1, 1), f(1, 2));
+
+		assertEquals(f(3, 1), p.evaluate(f(0, 1)));
+		assertEquals(f(5, 2), p.evaluate(Fraction.createFraction(1)));
+		assertEquals(f(9, 8).subtract(f(3, 2)).add(f(3, 1)), p.evaluate(f(3, 2)));
+		assertEquals(f(0, 1), RationalPolynomial.ZERO.evaluate(f(3, 2)));
+	}
+
+	@Test
+	public void testDivideAndRemainder()
+	{
+		Random random = new Random(11);
+
+		for (int i = 0; i < 20; i++)
+		{
+			RationalPolynomial a = random(random, 1 + random.nextInt(12));
+			RationalPolynomial b = random(random, 1 + random.nextInt(6));
+
+			if (b.isZero())
+			{
+				continue;
+			}
+
+			RationalPolynomial[] qr = a.divideAndRemainder(b);
+
+			assertEquals(a, qr[0].multiply(b).add(qr[1]));
+			assertTrue(qr[1].degree() < b.degree());
+		}
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testDivide_ArithmeticException()
+	{
+		RationalPolynomial.X.divide(RationalPolynomial.ZERO);
+	}
+
+	@Test
+	public void testGcd()
+	{
+		RationalPolynomial common = RationalPolynomial.createPolynomial(f(-1, 3), f(1, 1));
+		RationalPolynomial a = common.multiply(RationalPolynomial.createPolynomial(f(2, 1), f(0, 1), f(5, 7)));
+		RationalPolynomial b = common.multiply(RationalPolynomial.createPolynomial(f(1, 2), f(3, 1)));
+
+		assertEquals(common, a.gcd(b));
+		assertEquals(RationalPolynomial.ONE, a.gcd(RationalPolynomial.createPolynomial(f(1, 1), f(1, 1))));
+		assertEquals(RationalPolynomial.ZERO, RationalPolynomial.ZERO.gcd(RationalPolynomial.ZERO));
+	}
+
+	@Test
+	public void testInterpolate()
+	{
+		BigFraction[] xs = {f(0, 1), f(1, 1), f(2, 1)};
+		BigFraction[] ys = {f(1, 1), f(3, 1), f(7, 1)};
+		RationalPolynomial expected = RationalPolynomial.createPolynomial(f(1, 1), f(1, 1), f(1, 1));
+
+		assertEquals(expected, RationalPolynomial.interpolateNewton(xs, ys));
+		assertEquals(expected, RationalPolynomial.interpolateLagrange(xs, ys));
+
+		Random random = new Random(3);
+		xs = new BigFraction[15];
+		ys = new BigFraction[15];
+
+		for (int i = 0; i < xs.length; i++)
+		{
+			xs[i] = f(i * 7 - 50, 1 + i % 4);
+			ys[i] = f(random.nextInt(1000) - 500, 1 + random.nextInt(9));
+		}
+
+		RationalPolynomial newton = RationalPolynomial.interpolateNewton(xs, ys);
+
+		assertEquals(newton, RationalPolynomial.interpolateLagrange(xs, ys));
+
+		for (int i = 0; i < xs.length; i++)
+		{
+			assertEquals(ys[i], newton.evaluate(xs[i]));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInterpolate_IllegalArgumentException()
+	{
+		RationalPolynomial.interpolateNewton(new BigFraction[] {f(1, 2), f(2, 4)}, new BigFraction[] {f(1, 1), f(2, 1)});
+	}
+}
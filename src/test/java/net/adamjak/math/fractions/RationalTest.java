@@ -0,0 +1,280 @@
+package net.adamjak.math.fractions;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.text.ParseException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Copyright 2016, Tomas Adamjak
+ * License: The BSD 3-Clause License
+ */
+public class RationalTest
+{
+	@Test
+	public void testCreateFraction_Number_Number()
+	{
+		Rational result = Rational.createFraction(4, 6);
+		assertEquals(BigInteger.valueOf(2), result.getNumerator());
+		assertEquals(BigInteger.valueOf(3), result.getDenominator());
+		assertTrue(result.isSmall());
+	}
+
+	@Test
+	public void testCreateFraction_Number_Number_Negative_Denominator()
+	{
+		Rational result = Rational.createFraction(4, -6);
+		assertEquals(BigInteger.valueOf(-2), result.getNumerator());
+		assertEquals(BigInteger.valueOf(3), result.getDenominator());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testCreateFraction_Number_Number_NullPointerException_Numerator()
+	{
+		Integer numerator = null;
+		Rational.createFraction(numerator, 6);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testCreateFraction_Number_Number_ArithmeticException()
+	{
+		Rational.createFraction(4, 0);
+	}
+
+	@Test
+	public void testCreateFraction_Number_BigInteger()
+	{
+		BigInteger big = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TEN);
+		Rational result = Rational.createFraction(big);
+		assertFalse(result.isSmall());
+		assertEquals(big, result.getNumerator());
+		assertEquals(BigInteger.ONE, result.getDenominator());
+	}
+
+	@Test
+	public void testCreateFraction_Number_Double()
+	{
+		Rational result = Rational.createFraction(2.5);
+		assertEquals(Rational.createFraction(5, 2), result);
+	}
+
+	@Test
+	public void testCreateFraction_Long_Min_Value()
+	{
+		Rational result = Rational.createFraction(Long.MIN_VALUE);
+		assertFalse(result.isSmall());
+		assertEquals(BigInteger.valueOf(Long.MIN_VALUE), result.getNumerator());
+	}
+
+	@Test
+	public void testToFraction()
+	{
+		Rational instance = Rational.createFraction(1, 2);
+		assertEquals(Fraction.createFraction(1, 2), instance.toFraction());
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testToFraction_ArithmeticException()
+	{
+		Rational instance = Rational.createFraction(Long.MAX_VALUE).add(1);
+		instance.toFraction();
+	}
+
+	@Test
+	public void testToBigFraction()
+	{
+		Rational instance = Rational.createFraction(1, 2);
+		assertEquals(BigFraction.createFraction(1, 2), instance.toBigFraction());
+	}
+
+	@Test
+	public void testFromFraction()
+	{
+		assertEquals(Rational.createFraction(2, 3), Fraction.createFraction(2, 3).toRational());
+		assertEquals(Rational.createFraction(2, 3), BigFraction.createFraction(2, 3).toRational());
+	}
+
+	@Test
+	public void testAdd_Number()
+	{
+		Rational instance = Rational.createFraction(4, 6);
+		assertEquals(Rational.createFraction(20, 3), instance.add(6));
+	}
+
+	@Test
+	public void testAdd_Fraction()
+	{
+		Rational instance = Rational.createFraction(4, 5);
+		assertEquals(Rational.createFraction(22, 15), instance.add(Rational.createFraction(2, 3)));
+		assertEquals(Rational.createFraction(1, 2), Rational.createFraction(1, 6).add(Rational.createFraction(1, 3)));
+		assertEquals(Rational.createFraction(0), Rational.createFraction(1, 6).add(Rational.createFraction(-1, 6)));
+	}
+
+	@Test
+	public void testAdd_Overflow()
+	{
+		Rational max = Rational.createFraction(Long.MAX_VALUE);
+		Rational result = max.add(1);
+		assertFalse(result.isSmall());
+		assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), result.getNumerator());
+
+		Rational back = result.subtract(1);
+		assertTrue(back.isSmall());
+		assertEquals(max, back);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testAdd_Fraction_NullPointerException()
+	{
+		Rational nullFrac = null;
+		Rational.createFraction(2, 3).add(nullFrac);
+	}
+
+	@Test
+	public void testMultiply_Fraction()
+	{
+		Rational instance = Rational.createFraction(4, 5);
+		assertEquals(Rational.createFraction(8, 15), instance.multiply(Rational.createFraction(2, 3)));
+		assertEquals(Rational.createFraction(10, 3), Rational.createFraction(2, 3).multiply(5));
+	}
+
+	@Test
+	public void testMultiply_Overflow()
+	{
+		Rational instance = Rational.createFraction(Long.MAX_VALUE, 3);
+		Rational result = instance.multiply(instance);
+		BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+		assertEquals(BigFraction.createFraction(max.multiply(max), BigInteger.valueOf(9)), result.toBigFraction());
+	}
+
+	@Test
+	public void testSubtract_Fraction()
+	{
+		Rational instance = Rational.createFraction(10, 3);
+		assertEquals(Rational.createFraction(2, 3), instance.subtract(Rational.createFraction(8, 3)));
+		assertEquals(Rational.createFraction(1, 3), Rational.createFraction(7, 3).subtract(2));
+	}
+
+	@Test
+	public void testDivide_Fraction()
+	{
+		Rational instance = Rational.createFraction(2, 3);
+		assertEquals(Rational.createFraction(5, 6), instance.divide(Rational.createFraction(4, 5)));
+		assertEquals(Rational.createFraction(-5, 6), instance.divide(Rational.createFraction(-4, 5)));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testDivide_Fraction_ArithmeticException()
+	{
+		Rational.createFraction(2, 3).divide(Rational.createFraction(0, 2));
+	}
+
+	@Test
+	public void testMaxMin()
+	{
+		Rational f = Rational.createFraction(1, 2);
+		Rational instance = Rational.createFraction(2, 3);
+		assertEquals(instance, instance.max(f));
+		assertEquals(f, instance.min(f));
+	}
+
+	@Test
+	public void testPow()
+	{
+		Rational instance = Rational.createFraction(2, 3);
+		assertEquals(Rational.createFraction(8, 27), instance.pow(3));
+		assertEquals(Rational.createFraction(2, 3), instance.pow(1));
+		assertEquals(Rational.createFraction(1, 1), instance.pow(0));
+		assertEquals(Rational.createFraction(9, 4), instance.pow(-2));
+		assertEquals(Rational.createFraction(9, 4), Rational.createFraction(-2, 3).pow(-2));
+	}
+
+	@Test
+	public void testPow_Overflow()
+	{
+		Rational result = Rational.createFraction(2, 3).pow(100);
+		assertFalse(result.isSmall());
+		assertEquals(BigFraction.createFraction(2, 3).pow(100), result.toBigFraction());
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testPow_MinValue()
+	{
+		Rational.createFraction(2, 3).pow(Integer.MIN_VALUE);
+	}
+
+	@Test
+	public void testReciprocal()
+	{
+		assertEquals(Rational.createFraction(3, 2), Rational.createFraction(2, 3).reciprocal());
+		assertEquals(Rational.createFraction(-3, 2), Rational.createFraction(-2, 3).reciprocal());
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testReciprocal_ArithmeticException()
+	{
+		Rational.createFraction(0, 3).reciprocal();
+	}
+
+	@Test
+	public void testComplement()
+	{
+		assertEquals(Rational.createFraction(1, 4), Rational.createFraction(3, 4).complement());
+		assertEquals(Rational.createFraction(3, 4), Rational.createFraction(3, 4).complement(Rational.createFraction(3, 2)));
+	}
+
+	@Test
+	public void testTryParse() throws ParseException
+	{
+		assertEquals(Rational.createFraction(5, 3), Rational.tryParse("1/2/3"));
+		assertEquals(Rational.createFraction(5, 3), Rational.tryParse("1:2:3", ':'));
+		assertEquals(Rational.createFraction(9, 8), Rational.tryParse("1.125"));
+	}
+
+	@Test
+	public void testLongValue()
+	{
+		assertEquals(1L, Rational.createFraction(5, 4).longValue());
+		assertEquals(1, Rational.createFraction(5, 4).intValue());
+		assertEquals(1.25, Rational.createFraction(5, 4).doubleValue(), 0.00000001);
+	}
+
+	@Test
+	public void testCompareTo()
+	{
+		Rational a = Rational.createFraction(2, 3);
+		Rational b = Rational.createFraction(3, 4);
+		assertTrue(b.compareTo(a) > 0);
+		assertTrue(a.compareTo(b) < 0);
+		assertTrue(a.compareTo(Rational.createFraction(4, 6)) == 0);
+		assertTrue(a.compareTo(Rational.createFraction(-1, 6)) > 0);
+	}
+
+	@Test
+	public void testCompareTo_Overflow()
+	{
+		Rational a = Rational.createFraction(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+		Rational b = Rational.createFraction(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1);
+		assertTrue(a.compareTo(b) > 0);
+		assertTrue(b.compareTo(a) < 0);
+	}
+
+	@Test
+	public void testEqualsAndHashCode()
+	{
+		Rational a = Rational.createFraction(Long.MAX_VALUE).add(1).subtract(1);
+		Rational b = Rational.createFraction(Long.MAX_VALUE);
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+
+	@Test
+	public void testToString()
+	{
+		assertEquals("2/3", Rational.createFraction(4, 6).toString());
+		assertEquals("2", Rational.createFraction(2, 1).toString());
+		assertEquals("9223372036854775808", Rational.createFraction(Long.MAX_VALUE).add(1).toString());
+	}
+}